@@ -0,0 +1,119 @@
+package chaij.bench;
+
+
+import chaij.DoubleArrayExpectation;
+import chaij.IntArrayExpectation;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static chaij.ChaiJ.expect;
+
+/**
+ * Compares the bulk checks of the array expectations with
+ * checking every element through its own expectation, and
+ * the sequential checks with the parallel ones.
+ *
+ * <p>
+ * Run with {@code sbt benchmark} to also get the allocation rate per operation.
+ *
+ * @since 0.3.1
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArrayExpectationBenchmark {
+	
+	@Param({"1000", "1000000"})
+	private int length;
+	
+	private int[] ints;
+	
+	private double[] doubles;
+	
+	private double[] nearDoubles;
+	
+	
+	@Setup
+	public void setUp() {
+		
+		ints = new int[length];
+		doubles = new double[length];
+		nearDoubles = new double[length];
+		for(int i = 0; i < length; ++i) {
+			ints[i] = i % 1000;
+			doubles[i] = i % 1000;
+			nearDoubles[i] = (i % 1000) + 0.25;
+		}
+	}
+	
+	
+	@Benchmark
+	public IntArrayExpectation intAllWithin() {
+		
+		return expect(ints).to.allWithin(0, 1000);
+	}
+	
+	
+	@Benchmark
+	public void intWithinPerElement() {
+		
+		for(int i : ints) {
+			expect(i).to.be.within(0, 1000);
+		}
+	}
+	
+	
+	@Benchmark
+	public DoubleArrayExpectation doubleAllWithin() {
+		
+		return expect(doubles).to.allWithin(0.0, 1000.0);
+	}
+	
+	
+	@Benchmark
+	public void doubleWithinPerElement() {
+		
+		for(double d : doubles) {
+			expect(d).to.be.within(0.0, 1000.0);
+		}
+	}
+	
+	
+	@Benchmark
+	public DoubleArrayExpectation doubleNoNaN() {
+		
+		return expect(doubles).to.have.noNaN();
+	}
+	
+	
+	@Benchmark
+	public DoubleArrayExpectation doubleAllFinite() {
+		
+		return expect(doubles).to.allFinite();
+	}
+	
+	
+	@Benchmark
+	public DoubleArrayExpectation doubleElementwiseCloseTo() {
+		
+		return expect(doubles).to.be.elementwiseCloseTo(nearDoubles, 0.5);
+	}
+	
+	
+	@Benchmark
+	public DoubleArrayExpectation doubleAllWithinParallel() {
+		
+		return expect(doubles).parallel().to.allWithin(0.0, 1000.0);
+	}
+	
+	
+	@Benchmark
+	public DoubleArrayExpectation doubleNoNaNParallel() {
+		
+		return expect(doubles).parallel().to.have.noNaN();
+	}
+}
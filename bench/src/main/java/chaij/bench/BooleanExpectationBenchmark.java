@@ -0,0 +1,104 @@
+package chaij.bench;
+
+
+import chaij.BooleanExpectation;
+import chaij.UnmetExpectationException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static chaij.ChaiJ.expect;
+
+/**
+ * Measures the pass and the fail path of every check on {@link chaij.BooleanExpectation},
+ * including the call to {@link chaij.ChaiJ#expect(boolean)} and the linker fields.
+ *
+ * <p>
+ * Run with {@code sbt benchmark} to also get the allocation rate per operation.
+ *
+ * @since 0.3.1
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BooleanExpectationBenchmark {
+	
+	private boolean yes = true;
+	
+	private boolean no = false;
+	
+	
+	@Benchmark
+	public BooleanExpectation okPass() {
+		
+		return expect(yes).to.be.ok();
+	}
+	
+	
+	@Benchmark
+	public Object okFail() {
+		
+		try {
+			return expect(no).to.be.ok();
+		} catch (UnmetExpectationException e) {
+			return e;
+		}
+	}
+	
+	
+	@Benchmark
+	public BooleanExpectation _truePass() {
+		
+		return expect(yes).to.be._true();
+	}
+	
+	
+	@Benchmark
+	public Object _trueFail() {
+		
+		try {
+			return expect(no).to.be._true();
+		} catch (UnmetExpectationException e) {
+			return e;
+		}
+	}
+	
+	
+	@Benchmark
+	public BooleanExpectation _falsePass() {
+		
+		return expect(no).to.be._false();
+	}
+	
+	
+	@Benchmark
+	public Object _falseFail() {
+		
+		try {
+			return expect(yes).to.be._false();
+		} catch (UnmetExpectationException e) {
+			return e;
+		}
+	}
+	
+	
+	@Benchmark
+	public BooleanExpectation equalPass() {
+		
+		return expect(yes).to.equal(yes);
+	}
+	
+	
+	@Benchmark
+	public Object equalFail() {
+		
+		try {
+			return expect(yes).to.equal(no);
+		} catch (UnmetExpectationException e) {
+			return e;
+		}
+	}
+}
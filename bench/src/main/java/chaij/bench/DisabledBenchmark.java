@@ -0,0 +1,49 @@
+package chaij.bench;
+
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static chaij.ChaiJ.expect;
+
+/**
+ * Measures what a check costs when the expectations are enabled and when they
+ * are {@linkplain chaij.ChaiJ#isDisabled() disabled}, compared to the bare comparison.
+ *
+ * @since 0.3.1
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DisabledBenchmark {
+	
+	private int value = 42;
+	
+	private int bigger = 43;
+	
+	
+	@Benchmark
+	public boolean baseline() {
+		
+		return value < bigger;
+	}
+	
+	
+	@Benchmark
+	public Object enabled() {
+		
+		return expect(value).to.be.below(bigger);
+	}
+	
+	
+	@Benchmark
+	@Fork(value = 1, jvmArgsAppend = "-Dchaij.disabled=true")
+	public Object disabled() {
+		
+		return expect(value).to.be.below(bigger);
+	}
+}
@@ -0,0 +1,281 @@
+package chaij.bench;
+
+
+import chaij.DoubleExpectation;
+import chaij.UnmetExpectationException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoublePredicate;
+
+import static chaij.ChaiJ.expect;
+
+/**
+ * Measures the pass and the fail path of every check on {@link chaij.DoubleExpectation},
+ * including the call to {@link chaij.ChaiJ#expect(double)} and the linker fields.
+ *
+ * <p>
+ * Run with {@code sbt benchmark} to also get the allocation rate per operation.
+ *
+ * @since 0.3.1
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DoubleExpectationBenchmark {
+	
+	private double value = 42.0;
+	
+	private double smaller = 41.0;
+	
+	private double bigger = 43.0;
+	
+	private double infinity = Double.POSITIVE_INFINITY;
+	
+	private double nan = Double.NaN;
+	
+	private double[] candidates = {41.0, 42.0, 43.0};
+	
+	private double[] others = {40.0, 41.0, 43.0};
+	
+	private DoublePredicate yes = d -> true;
+	
+	private DoublePredicate no = d -> false;
+	
+	
+	@Benchmark
+	public DoubleExpectation finitePass() {
+		
+		return expect(value).to.be.finite();
+	}
+	
+	
+	@Benchmark
+	public Object finiteFail() {
+		
+		try {
+			return expect(infinity).to.be.finite();
+		} catch (UnmetExpectationException e) {
+			return e;
+		}
+	}
+	
+	
+	@Benchmark
+	public DoubleExpectation infinitePass() {
+		
+		return expect(infinity).to.be.infinite();
+	}
+	
+	
+	@Benchmark
+	public Object infiniteFail() {
+		
+		try {
+			return expect(value).to.be.infinite();
+		} catch (UnmetExpectationException e) {
+			return e;
+		}
+	}
+	
+	
+	@Benchmark
+	public DoubleExpectation NaNPass() {
+		
+		return expect(nan).to.be.NaN();
+	}
+	
+	
+	@Benchmark
+	public Object NaNFail() {
+		
+		try {
+			return expect(value).to.be.NaN();
+		} catch (UnmetExpectationException e) {
+			return e;
+		}
+	}
+	
+	
+	@Benchmark
+	public DoubleExpectation equalPass() {
+		
+		return expect(value).to.equal(value);
+	}
+	
+	
+	@Benchmark
+	public Object equalFail() {
+		
+		try {
+			return expect(value).to.equal(bigger);
+		} catch (UnmetExpectationException e) {
+			return e;
+		}
+	}
+	
+	
+	@Benchmark
+	public DoubleExpectation abovePass() {
+		
+		return expect(value).to.be.above(smaller);
+	}
+	
+	
+	@Benchmark
+	public Object aboveFail() {
+		
+		try {
+			return expect(value).to.be.above(bigger);
+		} catch (UnmetExpectationException e) {
+			return e;
+		}
+	}
+	
+	
+	@Benchmark
+	public DoubleExpectation leastPass() {
+		
+		return expect(value).to.be.at.least(value);
+	}
+	
+	
+	@Benchmark
+	public Object leastFail() {
+		
+		try {
+			return expect(value).to.be.at.least(bigger);
+		} catch (UnmetExpectationException e) {
+			return e;
+		}
+	}
+	
+	
+	@Benchmark
+	public DoubleExpectation belowPass() {
+		
+		return expect(value).to.be.below(bigger);
+	}
+	
+	
+	@Benchmark
+	public Object belowFail() {
+		
+		try {
+			return expect(value).to.be.below(smaller);
+		} catch (UnmetExpectationException e) {
+			return e;
+		}
+	}
+	
+	
+	@Benchmark
+	public DoubleExpectation mostPass() {
+		
+		return expect(value).to.be.at.most(value);
+	}
+	
+	
+	@Benchmark
+	public Object mostFail() {
+		
+		try {
+			return expect(value).to.be.at.most(smaller);
+		} catch (UnmetExpectationException e) {
+			return e;
+		}
+	}
+	
+	
+	@Benchmark
+	public DoubleExpectation withinPass() {
+		
+		return expect(value).to.be.within(smaller, bigger);
+	}
+	
+	
+	@Benchmark
+	public Object withinFail() {
+		
+		try {
+			return expect(value).to.be.within(bigger, bigger);
+		} catch (UnmetExpectationException e) {
+			return e;
+		}
+	}
+	
+	
+	@Benchmark
+	public DoubleExpectation matchPass() {
+		
+		return expect(value).to.match(yes);
+	}
+	
+	
+	@Benchmark
+	public Object matchFail() {
+		
+		try {
+			return expect(value).to.match(no);
+		} catch (UnmetExpectationException e) {
+			return e;
+		}
+	}
+	
+	
+	@Benchmark
+	public DoubleExpectation satisfyPass() {
+		
+		return expect(value).to.satisfy(yes);
+	}
+	
+	
+	@Benchmark
+	public Object satisfyFail() {
+		
+		try {
+			return expect(value).to.satisfy(no);
+		} catch (UnmetExpectationException e) {
+			return e;
+		}
+	}
+	
+	
+	@Benchmark
+	public DoubleExpectation closeToPass() {
+		
+		return expect(value).to.be.closeTo(bigger, 1.0);
+	}
+	
+	
+	@Benchmark
+	public Object closeToFail() {
+		
+		try {
+			return expect(value).to.be.closeTo(bigger, 0.5);
+		} catch (UnmetExpectationException e) {
+			return e;
+		}
+	}
+	
+	
+	@Benchmark
+	public DoubleExpectation oneOfPass() {
+		
+		return expect(value).to.be.oneOf(candidates);
+	}
+	
+	
+	@Benchmark
+	public Object oneOfFail() {
+		
+		try {
+			return expect(value).to.be.oneOf(others);
+		} catch (UnmetExpectationException e) {
+			return e;
+		}
+	}
+}
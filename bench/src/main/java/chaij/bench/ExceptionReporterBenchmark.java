@@ -0,0 +1,88 @@
+package chaij.bench;
+
+
+import chaij.ChaiJException;
+import chaij.ExceptionReporter;
+import chaij.ExceptionReporter.MultipleException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static chaij.ChaiJ.expect;
+
+/**
+ * Compares the single and the multiple expectation mode of
+ * {@link chaij.ExceptionReporter}, both for a batch of passing checks
+ * and for a batch of failing ones.
+ *
+ * <p>
+ * Run with {@code sbt benchmark} to also get the allocation rate per operation.
+ *
+ * @since 0.3.1
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExceptionReporterBenchmark {
+	
+	@Param({"1", "10", "100"})
+	private int checks;
+	
+	private int value = 42;
+	
+	private int bigger = 43;
+	
+	
+	@Benchmark
+	public void singlePass() {
+		
+		for(int i = 0; i < checks; ++i) {
+			expect(value).to.be.below(bigger);
+		}
+	}
+	
+	
+	@Benchmark
+	public Object singleFail() {
+		
+		ChaiJException last = null;
+		for(int i = 0; i < checks; ++i) {
+			try {
+				expect(value).to.be.above(bigger);
+			} catch (ChaiJException e) {
+				last = e;
+			}
+		}
+		return last;
+	}
+	
+	
+	@Benchmark
+	public void multiplePass() {
+		
+		ExceptionReporter.runMultipleAndReport(() -> {
+			for(int i = 0; i < checks; ++i) {
+				expect(value).to.be.below(bigger);
+			}
+		});
+	}
+	
+	
+	@Benchmark
+	public Object multipleFail() {
+		
+		try {
+			ExceptionReporter.runMultipleAndReport(() -> {
+				for(int i = 0; i < checks; ++i) {
+					expect(value).to.be.above(bigger);
+				}
+			});
+			return null;
+		} catch (ChaiJException | MultipleException e) {
+			return e;
+		}
+	}
+}
@@ -0,0 +1,71 @@
+package chaij.bench;
+
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static chaij.ChaiJ.expect;
+
+/**
+ * Measures what the {@link chaij.ExpectationMetrics} cost a passing check, with the
+ * metrics disabled, enabled, and enabled with every predicate being timed.
+ *
+ * <p>
+ * The metrics are switched on in the forked JVMs only, so the {@code disabled} runs
+ * are the overhead ceiling of having the metrics at all, which should not differ
+ * from the timings of the {@link chaij.bench.IntExpectationBenchmark}.
+ *
+ * @since 0.3.1
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ExpectationMetricsBenchmark {
+	
+	private int value = 42;
+	
+	private int bigger = 43;
+	
+	
+	@Benchmark
+	@Fork(1)
+	public Object disabled() {
+		
+		return expect(value).to.be.within(0, bigger);
+	}
+	
+	
+	@Benchmark
+	@Fork(1)
+	public Object disabledSatisfy() {
+		
+		return expect(value).to.satisfy(v -> v < bigger);
+	}
+	
+	
+	@Benchmark
+	@Fork(value = 1, jvmArgsAppend = "-Dchaij.metrics=true")
+	public Object enabled() {
+		
+		return expect(value).to.be.within(0, bigger);
+	}
+	
+	
+	@Benchmark
+	@Fork(value = 1, jvmArgsAppend = "-Dchaij.metrics=true")
+	public Object enabledSatisfy() {
+		
+		return expect(value).to.satisfy(v -> v < bigger);
+	}
+	
+	
+	@Benchmark
+	@Fork(value = 1, jvmArgsAppend = {"-Dchaij.metrics=true", "-Dchaij.metrics.timingInterval=1"})
+	public Object enabledSatisfyTimed() {
+		
+		return expect(value).to.satisfy(v -> v < bigger);
+	}
+}
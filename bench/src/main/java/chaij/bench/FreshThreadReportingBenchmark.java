@@ -0,0 +1,94 @@
+package chaij.bench;
+
+
+import chaij.ExceptionReporter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import static chaij.ChaiJ.expect;
+
+/**
+ * Measures what it costs to enter and leave the multiple expectation mode of
+ * {@link chaij.ExceptionReporter} on fresh threads that only do so once,
+ * as a test running on its own virtual thread would.
+ *
+ * <p>
+ * The difference between {@link #enterExit()} and {@link #baseline()} is what
+ * the reporting context costs a fresh thread. The {@code virtual} threads need
+ * Java 21 or later, so the {@code benchmark} alias of the build only measures
+ * the {@code platform} ones on older JVMs, and so should
+ * {@code sbt "bench/jmh:run -p threads=platform FreshThreadReportingBenchmark"}.
+ *
+ * @since 0.3.1
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FreshThreadReportingBenchmark {
+	
+	@Param({"platform", "virtual"})
+	private String threads;
+	
+	private ThreadFactory factory;
+	
+	private int value = 42;
+	
+	private int bigger = 43;
+	
+	
+	@Setup
+	public void createFactory() {
+		
+		factory = "virtual".equals(threads) ? virtualThreads() : Thread::new;
+	}
+	
+	
+	/**
+	 * Returns {@code Thread.ofVirtual().factory()}, which cannot be referenced directly on Java 8.
+	 *
+	 * @return the factory for virtual threads
+	 *
+	 * @throws java.lang.UnsupportedOperationException if this JVM has no virtual threads
+	 */
+	private static ThreadFactory virtualThreads() {
+		
+		try {
+			Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+			return (ThreadFactory) Class.forName("java.lang.Thread$Builder")
+			                            .getMethod("factory")
+			                            .invoke(builder);
+		} catch (ReflectiveOperationException e) {
+			throw new UnsupportedOperationException(
+					"Virtual threads need Java 21 or later, run with -p threads=platform on Java "
+					+ System.getProperty("java.specification.version")
+			);
+		}
+	}
+	
+	
+	@Benchmark
+	public void baseline()
+			throws InterruptedException {
+		
+		Thread thread = factory.newThread(() -> expect(value).to.be.below(bigger));
+		thread.start();
+		thread.join();
+	}
+	
+	
+	@Benchmark
+	public void enterExit()
+			throws InterruptedException {
+		
+		Thread thread = factory.newThread(
+				() -> ExceptionReporter.runMultipleAndReport(() -> expect(value).to.be.below(bigger))
+		);
+		thread.start();
+		thread.join();
+	}
+}
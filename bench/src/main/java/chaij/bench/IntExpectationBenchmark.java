@@ -0,0 +1,303 @@
+package chaij.bench;
+
+
+import chaij.IntExpectation;
+import chaij.IntSet;
+import chaij.UnmetExpectationException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntPredicate;
+
+import static chaij.ChaiJ.expect;
+
+/**
+ * Measures the pass and the fail path of every check on {@link chaij.IntExpectation},
+ * including the call to {@link chaij.ChaiJ#expect(int)} and the linker fields.
+ *
+ * <p>
+ * Run with {@code sbt benchmark} to also get the allocation rate per operation.
+ *
+ * @since 0.3.1
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IntExpectationBenchmark {
+	
+	private int value = 42;
+	
+	private int smaller = 41;
+	
+	private int bigger = 43;
+	
+	private int wide = 100_000;
+	
+	private int[] candidates = {41, 42, 43};
+	
+	private int[] others = {40, 41, 43};
+	
+	private int[] allowList = new int[10_000];
+	
+	private int allowed = 10_000;
+	
+	private IntSet allowSet;
+	
+	private IntPredicate yes = i -> true;
+	
+	private IntPredicate no = i -> false;
+	
+	
+	@Setup
+	public void setUp() {
+		
+		for(int i = 0; i < allowList.length; ++i) {
+			allowList[i] = 2 * i;
+		}
+		allowSet = IntSet.of(allowList);
+	}
+	
+	
+	@Benchmark
+	public IntExpectation equalPass() {
+		
+		return expect(value).to.equal(value);
+	}
+	
+	
+	@Benchmark
+	public Object equalFail() {
+		
+		try {
+			return expect(value).to.equal(bigger);
+		} catch (UnmetExpectationException e) {
+			return e;
+		}
+	}
+	
+	
+	@Benchmark
+	public IntExpectation abovePass() {
+		
+		return expect(value).to.be.above(smaller);
+	}
+	
+	
+	@Benchmark
+	public Object aboveFail() {
+		
+		try {
+			return expect(value).to.be.above(bigger);
+		} catch (UnmetExpectationException e) {
+			return e;
+		}
+	}
+	
+	
+	@Benchmark
+	public IntExpectation leastPass() {
+		
+		return expect(value).to.be.at.least(value);
+	}
+	
+	
+	@Benchmark
+	public Object leastFail() {
+		
+		try {
+			return expect(value).to.be.at.least(bigger);
+		} catch (UnmetExpectationException e) {
+			return e;
+		}
+	}
+	
+	
+	@Benchmark
+	public IntExpectation belowPass() {
+		
+		return expect(value).to.be.below(bigger);
+	}
+	
+	
+	@Benchmark
+	public Object belowFail() {
+		
+		try {
+			return expect(value).to.be.below(smaller);
+		} catch (UnmetExpectationException e) {
+			return e;
+		}
+	}
+	
+	
+	@Benchmark
+	public IntExpectation mostPass() {
+		
+		return expect(value).to.be.at.most(value);
+	}
+	
+	
+	@Benchmark
+	public Object mostFail() {
+		
+		try {
+			return expect(value).to.be.at.most(smaller);
+		} catch (UnmetExpectationException e) {
+			return e;
+		}
+	}
+	
+	
+	@Benchmark
+	public IntExpectation withinPass() {
+		
+		return expect(value).to.be.within(smaller, bigger);
+	}
+	
+	
+	@Benchmark
+	public Object withinFail() {
+		
+		try {
+			return expect(value).to.be.within(bigger, bigger);
+		} catch (UnmetExpectationException e) {
+			return e;
+		}
+	}
+	
+	
+	@Benchmark
+	public IntExpectation matchPass() {
+		
+		return expect(value).to.match(yes);
+	}
+	
+	
+	@Benchmark
+	public Object matchFail() {
+		
+		try {
+			return expect(value).to.match(no);
+		} catch (UnmetExpectationException e) {
+			return e;
+		}
+	}
+	
+	
+	@Benchmark
+	public IntExpectation satisfyPass() {
+		
+		return expect(value).to.satisfy(yes);
+	}
+	
+	
+	@Benchmark
+	public Object satisfyFail() {
+		
+		try {
+			return expect(value).to.satisfy(no);
+		} catch (UnmetExpectationException e) {
+			return e;
+		}
+	}
+	
+	
+	@Benchmark
+	public IntExpectation closeToPass() {
+		
+		return expect(value).to.be.closeTo(bigger, 1);
+	}
+	
+	
+	@Benchmark
+	public Object closeToFail() {
+		
+		try {
+			return expect(value).to.be.closeTo(bigger, 0);
+		} catch (UnmetExpectationException e) {
+			return e;
+		}
+	}
+	
+	
+	@Benchmark
+	public IntExpectation oneOfPass() {
+		
+		return expect(value).to.be.oneOf(candidates);
+	}
+	
+	
+	@Benchmark
+	public Object oneOfFail() {
+		
+		try {
+			return expect(value).to.be.oneOf(others);
+		} catch (UnmetExpectationException e) {
+			return e;
+		}
+	}
+	
+	
+	@Benchmark
+	public IntExpectation oneOfLargeArrayPass() {
+		
+		return expect(allowed).to.be.oneOf(allowList);
+	}
+	
+	
+	@Benchmark
+	public IntExpectation oneOfLargeSetPass() {
+		
+		return expect(allowed).to.be.oneOf(allowSet);
+	}
+	
+	
+	@Benchmark
+	public Object oneOfLargeSetFail() {
+		
+		try {
+			return expect(bigger).to.be.oneOf(allowSet);
+		} catch (UnmetExpectationException e) {
+			return e;
+		}
+	}
+	
+	
+	@Benchmark
+	public IntExpectation validBytePass() {
+		
+		return expect(value).to.be.validByte();
+	}
+	
+	
+	@Benchmark
+	public Object validByteFail() {
+		
+		try {
+			return expect(wide).to.be.validByte();
+		} catch (UnmetExpectationException e) {
+			return e;
+		}
+	}
+	
+	
+	@Benchmark
+	public IntExpectation validShortPass() {
+		
+		return expect(value).to.be.validShort();
+	}
+	
+	
+	@Benchmark
+	public Object validShortFail() {
+		
+		try {
+			return expect(wide).to.be.validShort();
+		} catch (UnmetExpectationException e) {
+			return e;
+		}
+	}
+}
@@ -0,0 +1,279 @@
+package chaij.bench;
+
+
+import chaij.LongExpectation;
+import chaij.UnmetExpectationException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongPredicate;
+
+import static chaij.ChaiJ.expect;
+
+/**
+ * Measures the pass and the fail path of every check on {@link chaij.LongExpectation},
+ * including the call to {@link chaij.ChaiJ#expect(long)} and the linker fields.
+ *
+ * <p>
+ * Run with {@code sbt benchmark} to also get the allocation rate per operation.
+ *
+ * @since 0.3.1
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LongExpectationBenchmark {
+	
+	private long value = 42L;
+	
+	private long smaller = 41L;
+	
+	private long bigger = 43L;
+	
+	private long wide = 10_000_000_000L;
+	
+	private long[] candidates = {41L, 42L, 43L};
+	
+	private long[] others = {40L, 41L, 43L};
+	
+	private LongPredicate yes = l -> true;
+	
+	private LongPredicate no = l -> false;
+	
+	
+	@Benchmark
+	public LongExpectation equalPass() {
+		
+		return expect(value).to.equal(value);
+	}
+	
+	
+	@Benchmark
+	public Object equalFail() {
+		
+		try {
+			return expect(value).to.equal(bigger);
+		} catch (UnmetExpectationException e) {
+			return e;
+		}
+	}
+	
+	
+	@Benchmark
+	public LongExpectation abovePass() {
+		
+		return expect(value).to.be.above(smaller);
+	}
+	
+	
+	@Benchmark
+	public Object aboveFail() {
+		
+		try {
+			return expect(value).to.be.above(bigger);
+		} catch (UnmetExpectationException e) {
+			return e;
+		}
+	}
+	
+	
+	@Benchmark
+	public LongExpectation leastPass() {
+		
+		return expect(value).to.be.at.least(value);
+	}
+	
+	
+	@Benchmark
+	public Object leastFail() {
+		
+		try {
+			return expect(value).to.be.at.least(bigger);
+		} catch (UnmetExpectationException e) {
+			return e;
+		}
+	}
+	
+	
+	@Benchmark
+	public LongExpectation belowPass() {
+		
+		return expect(value).to.be.below(bigger);
+	}
+	
+	
+	@Benchmark
+	public Object belowFail() {
+		
+		try {
+			return expect(value).to.be.below(smaller);
+		} catch (UnmetExpectationException e) {
+			return e;
+		}
+	}
+	
+	
+	@Benchmark
+	public LongExpectation mostPass() {
+		
+		return expect(value).to.be.at.most(value);
+	}
+	
+	
+	@Benchmark
+	public Object mostFail() {
+		
+		try {
+			return expect(value).to.be.at.most(smaller);
+		} catch (UnmetExpectationException e) {
+			return e;
+		}
+	}
+	
+	
+	@Benchmark
+	public LongExpectation withinPass() {
+		
+		return expect(value).to.be.within(smaller, bigger);
+	}
+	
+	
+	@Benchmark
+	public Object withinFail() {
+		
+		try {
+			return expect(value).to.be.within(bigger, bigger);
+		} catch (UnmetExpectationException e) {
+			return e;
+		}
+	}
+	
+	
+	@Benchmark
+	public LongExpectation matchPass() {
+		
+		return expect(value).to.match(yes);
+	}
+	
+	
+	@Benchmark
+	public Object matchFail() {
+		
+		try {
+			return expect(value).to.match(no);
+		} catch (UnmetExpectationException e) {
+			return e;
+		}
+	}
+	
+	
+	@Benchmark
+	public LongExpectation satisfyPass() {
+		
+		return expect(value).to.satisfy(yes);
+	}
+	
+	
+	@Benchmark
+	public Object satisfyFail() {
+		
+		try {
+			return expect(value).to.satisfy(no);
+		} catch (UnmetExpectationException e) {
+			return e;
+		}
+	}
+	
+	
+	@Benchmark
+	public LongExpectation closeToPass() {
+		
+		return expect(value).to.be.closeTo(bigger, 1L);
+	}
+	
+	
+	@Benchmark
+	public Object closeToFail() {
+		
+		try {
+			return expect(value).to.be.closeTo(bigger, 0L);
+		} catch (UnmetExpectationException e) {
+			return e;
+		}
+	}
+	
+	
+	@Benchmark
+	public LongExpectation oneOfPass() {
+		
+		return expect(value).to.be.oneOf(candidates);
+	}
+	
+	
+	@Benchmark
+	public Object oneOfFail() {
+		
+		try {
+			return expect(value).to.be.oneOf(others);
+		} catch (UnmetExpectationException e) {
+			return e;
+		}
+	}
+	
+	
+	@Benchmark
+	public LongExpectation validBytePass() {
+		
+		return expect(value).to.be.validByte();
+	}
+	
+	
+	@Benchmark
+	public Object validByteFail() {
+		
+		try {
+			return expect(wide).to.be.validByte();
+		} catch (UnmetExpectationException e) {
+			return e;
+		}
+	}
+	
+	
+	@Benchmark
+	public LongExpectation validShortPass() {
+		
+		return expect(value).to.be.validShort();
+	}
+	
+	
+	@Benchmark
+	public Object validShortFail() {
+		
+		try {
+			return expect(wide).to.be.validShort();
+		} catch (UnmetExpectationException e) {
+			return e;
+		}
+	}
+	
+	
+	@Benchmark
+	public LongExpectation validIntPass() {
+		
+		return expect(value).to.be.validInt();
+	}
+	
+	
+	@Benchmark
+	public Object validIntFail() {
+		
+		try {
+			return expect(wide).to.be.validInt();
+		} catch (UnmetExpectationException e) {
+			return e;
+		}
+	}
+}
@@ -0,0 +1,49 @@
+package chaij.bench;
+
+
+import chaij.ExceptionReporter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static chaij.ChaiJ.expect;
+
+/**
+ * Measures what it costs to enter and leave the multiple expectation mode of
+ * {@link chaij.ExceptionReporter} on a thread that does so over and over.
+ * See {@link chaij.bench.FreshThreadReportingBenchmark} for fresh threads
+ * that only do so once.
+ *
+ * <p>
+ * On Java 25 and later, {@link #enterExit()} binds the context of every run
+ * to its scope, while {@link #enterExitThreadLocal()} keeps it in the thread local.
+ *
+ * @since 0.3.1
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReportingContextBenchmark {
+	
+	private int value = 42;
+	
+	private int bigger = 43;
+	
+	
+	@Benchmark
+	public void enterExit() {
+		
+		ExceptionReporter.runMultipleAndReport(() -> expect(value).to.be.below(bigger));
+	}
+	
+	
+	@Benchmark
+	@Fork(value = 1, jvmArgsAppend = "-Dchaij.scopedContexts=false")
+	public void enterExitThreadLocal() {
+		
+		ExceptionReporter.runMultipleAndReport(() -> expect(value).to.be.below(bigger));
+	}
+}
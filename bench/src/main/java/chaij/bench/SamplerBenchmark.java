@@ -0,0 +1,52 @@
+package chaij.bench;
+
+
+import chaij.Sampler;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static chaij.ChaiJ.expect;
+
+/**
+ * Measures what an invariant check costs in production code, when it is always
+ * evaluated and when only one in a thousand is, through a {@link chaij.Sampler}
+ * of its own or the global one.
+ *
+ * @since 0.3.1
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dchaij.sampling.rate=1000")
+public class SamplerBenchmark {
+	
+	private static final Sampler SAMPLER = Sampler.oneIn(1000);
+	
+	private int value = 42;
+	
+	private int bigger = 43;
+	
+	
+	@Benchmark
+	public Object always() {
+		
+		return expect(value).to.be.below(bigger);
+	}
+	
+	
+	@Benchmark
+	public Object sampled() {
+		
+		return SAMPLER.expect(value).to.be.below(bigger);
+	}
+	
+	
+	@Benchmark
+	public Object sampledGlobally() {
+		
+		return Sampler.global().expect(value).to.be.below(bigger);
+	}
+}
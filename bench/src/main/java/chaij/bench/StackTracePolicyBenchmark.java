@@ -0,0 +1,66 @@
+package chaij.bench;
+
+
+import chaij.ExceptionReporter;
+import chaij.ExceptionReporter.MultipleException;
+import chaij.StackTracePolicy;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static chaij.ChaiJ.expect;
+
+/**
+ * Compares the cost of many failing checks in multiple expectation
+ * mode under each {@link chaij.StackTracePolicy}.
+ *
+ * @since 0.3.1
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StackTracePolicyBenchmark {
+	
+	@Param({"FULL", "CALLER", "NONE"})
+	private StackTracePolicy policy;
+	
+	@Param({"1000"})
+	private int failures;
+	
+	private int value = 42;
+	
+	private int bigger = 43;
+	
+	
+	@Setup
+	public void setUp() {
+		
+		StackTracePolicy.setForCurrentThread(policy);
+	}
+	
+	
+	@TearDown
+	public void tearDown() {
+		
+		StackTracePolicy.setForCurrentThread(null);
+	}
+	
+	
+	@Benchmark
+	public Object multipleFail() {
+		
+		try {
+			ExceptionReporter.runMultipleAndReport(() -> {
+				for(int i = 0; i < failures; ++i) {
+					expect(value).to.be.above(bigger);
+				}
+			});
+			return null;
+		} catch (MultipleException e) {
+			return e;
+		}
+	}
+}
@@ -0,0 +1,10 @@
+/**
+ * JMH benchmarks for the hot paths of ChaiJ, i.e. getting an expectation,
+ * walking its linker words and running a single check on it.
+ *
+ * <p>
+ * These are not published; run them through {@code sbt benchmark}.
+ *
+ * @since 0.3.1
+ */
+package chaij.bench;
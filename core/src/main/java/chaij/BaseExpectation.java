@@ -8,6 +8,13 @@ import java.util.function.Supplier;
  * such as {@link #test(boolean, String, String)} and the {@link #not()} toggle
  * and all the standard linker words.
  *
+ * <p>
+ * The linker words are deliberately fields and not methods, as that is what
+ * makes {@code expect(x).to.be.above(y)} possible in Java. They are the bulk
+ * of an expectation's footprint, which is why no further state should be added
+ * to expectations lightly. In the common case of an expectation that is created,
+ * checked and dropped in one statement, the JIT removes the allocation entirely.
+ *
  * @param <Self> this should be a self-referential type, i.e. if you extend
  *               this class with class {@code A}, extend
  *               it by {@code extends BaseExpectation<A>}
@@ -82,13 +89,51 @@ public abstract class BaseExpectation<Self extends BaseExpectation<Self>> {
 	 */
 	public final Self same = (Self) this;
 	
+	/**
+	 * A plain expectation, whose failures go to the {@link chaij.ExceptionReporter}.
+	 */
+	private static final byte LIVE = 0;
+	
+	/**
+	 * A recycled expectation that must not be used any more, see {@link #retire()}.
+	 */
+	private static final byte RETIRED = 1;
+	
+	/**
+	 * An expectation all of whose checks pass, see {@link #makeInert()}.
+	 */
+	private static final byte INERT = 2;
+	
+	/**
+	 * An expectation whose failures go to the {@link chaij.Sampler}, see {@link #makeSampled()}.
+	 */
+	private static final byte SAMPLED = 3;
+	
+	/**
+	 * A recycled expectation that has been handed out, but not checked yet,
+	 * see {@link #handOut()}.
+	 */
+	private static final byte ISSUED = 4;
+	
+	/**
+	 * A recycled expectation that must never be handed out again, as someone
+	 * may still hold on to it, see {@link #isReusable()}.
+	 */
+	private static final byte RETAINED = 5;
+	
 	private boolean notFlag = false;
 	
+	private byte state = LIVE;
+	
 	/**
 	 * A custom text that is associated with
 	 * this expectation (or null if none is).
+	 *
+	 * <p>
+	 * This is only ever reassigned when a recycled
+	 * expectation is handed out again, see {@link chaij.ExpectationRecycling}.
 	 */
-	protected final String customText;
+	protected String customText;
 	
 	
 	/**
@@ -141,7 +186,7 @@ public abstract class BaseExpectation<Self extends BaseExpectation<Self>> {
 	                          String firstPart,
 	                          String secondPart) {
 		
-		return test(result, null, firstPart, () -> secondPart);
+		return test(result, null, firstPart, secondPart);
 	}
 	
 	
@@ -187,7 +232,10 @@ public abstract class BaseExpectation<Self extends BaseExpectation<Self>> {
 	                          String firstPart,
 	                          String secondPart) {
 		
-		return test(result, message, firstPart, () -> secondPart);
+		if(fails(result)) {
+			fail(message, firstPart, secondPart);
+		}
+		return (Self) this;
 	}
 	
 	
@@ -240,33 +288,284 @@ public abstract class BaseExpectation<Self extends BaseExpectation<Self>> {
 	                          String firstPart,
 	                          Supplier<String> secondPart) {
 		
-		if(result == notFlag) {
-			//noinspection StringConcatenationMissingWhitespace
-			BaseExpectation.signalError(
-					new UnmetExpectationException((message == null ?
-					                               customText == null ?
-					                               "" :
-					                               customText + ": " :
-					                               message + ": ")
-					                              + firstPart
-					                              + (notFlag ? " not " : " ")
-					                              + secondPart.get()
-					));
+		if(fails(result)) {
+			fail(message, firstPart, secondPart.get());
 		}
 		return (Self) this;
 	}
 	
 	
 	/**
-	 * Signals an exception to the {@link chaij.ExceptionReporter} facility.
+	 * Decides whether a check with the given {@code result} fails,
+	 * taking the current {@link #notFlag} value into account.
+	 *
+	 * <p>
+	 * The check is counted in the {@link chaij.ExpectationMetrics} as an
+	 * {@linkplain chaij.ExpectationMetrics#UNNAMED unnamed} one, see
+	 * {@link #fails(String, boolean)} to name it.
+	 *
+	 * @param result the result of the test that called this method
+	 *
+	 * @return whether the check failed and {@link #fail(String, String, String)}
+	 * should be called
+	 *
+	 * @see #not()
+	 */
+	protected final boolean fails(boolean result) {
+		
+		return fails(ExpectationMetrics.UNNAMED, result);
+	}
+	
+	
+	/**
+	 * Decides whether the named check with the given {@code result} fails,
+	 * taking the current {@link #notFlag} value into account.
+	 *
+	 * <p>
+	 * Together with {@link #fail(String, String, String)}, this allows
+	 * expectations to only build their message once the check has actually
+	 * failed, so that a passing check does not allocate anything:
+	 *
+	 * <div class="example"><pre>
+	 * public IntExpectation equal(int expected, String message) {
+	 *     if(fails("equal", my == expected)) {
+	 *         fail(message, "Expected " + my + " to", "equal " + expected + '.');
+	 *     }
+	 *     return this;
+	 * }
+	 * </pre></div>
+	 *
+	 * <p>
+	 * If the {@link chaij.ExpectationMetrics} are enabled, the check is counted under
+	 * the class of this expectation and the given name, which should be the name of
+	 * the method, as a constant. Otherwise, the name is not used at all.
+	 *
+	 * <p>
+	 * While all expectations are {@linkplain chaij.ChaiJ#isDisabled() disabled},
+	 * no check fails.
+	 *
+	 * @param check  the name of the check
+	 * @param result the result of the test that called this method
+	 *
+	 * @return whether the check failed and {@link #fail(String, String, String)}
+	 * should be called
+	 *
+	 * @see #not()
+	 * @since 0.3.1
+	 */
+	protected final boolean fails(String check, boolean result) {
+		
+		if(ChaiJ.DISABLED) {
+			return false;
+		}
+		if(state != LIVE) {
+			if(state == ISSUED) {
+				state = LIVE;
+			} else if(state == INERT) {
+				return false;
+			} else if(state != SAMPLED) {
+				throw retainedError();
+			}
+		}
+		boolean failed = result == notFlag;
+		if(ExpectationMetrics.ENABLED) {
+			ExpectationMetrics.record(getClass(), check, failed);
+		}
+		return failed;
+	}
+	
+	
+	/**
+	 * Signals the failure of a check, after {@link #fails(boolean)} has decided
+	 * that it did fail.
+	 *
+	 * <p>
+	 * Between the two string parts, either {@code " not "} or {@code " "} will be inserted,
+	 * depending on the value of the {@linkplain #notFlag not} flag.
+	 *
+	 * @param message    a custom message that is prepended (if null,
+	 *                   the custom text of the expectation is used instead)
+	 * @param firstPart  the first part of the string, preferably describing
+	 *                   or including the actual state
+	 * @param secondPart the second part of the string, preferably describing
+	 *                   the expectation
+	 */
+	protected final void fail(String message,
+	                          String firstPart,
+	                          String secondPart) {
+		
+		fail(message, firstPart, secondPart, null);
+	}
+	
+	
+	/**
+	 * Signals the failure of a check, after {@link #fails(boolean)} has decided
+	 * that it did fail, because of another exception.
+	 *
+	 * <p>
+	 * While a Flight Recorder recording has the {@code chaij.ExpectationFailure}
+	 * event enabled, the failure is recorded as well, see {@link chaij.ExpectationEvents}.
+	 * The failures of expectations from a {@link chaij.Sampler} go to its failure sink
+	 * instead of the {@link chaij.ExceptionReporter}.
+	 *
+	 * @param message    a custom message that is prepended (if null,
+	 *                   the custom text of the expectation is used instead)
+	 * @param firstPart  the first part of the string, preferably describing
+	 *                   or including the actual state
+	 * @param secondPart the second part of the string, preferably describing
+	 *                   the expectation
+	 * @param cause      what made the check fail, or {@code null}
+	 *
+	 * @see #fail(String, String, String)
+	 * @since 0.3.1
+	 */
+	protected final void fail(String message,
+	                          String firstPart,
+	                          String secondPart,
+	                          Throwable cause) {
+		
+		UnmetExpectationException exception =
+				unmet(message, firstPart, secondPart, notFlag, StackTracePolicy.current(), cause);
+		if(ExpectationEvents.recordsFailures()) {
+			recordFailure(secondPart, notFlag, exception, callSite());
+		}
+		if(state == SAMPLED) {
+			Sampler.report(exception);
+		} else {
+			ExceptionReporter.reportException(exception);
+		}
+	}
+	
+	
+	/**
+	 * Records a failure with the Flight Recorder, while a recording has the
+	 * {@code chaij.ExpectationFailure} event enabled, see {@link chaij.ExpectationEvents}.
+	 *
+	 * @param secondPart the part of the message describing the expectation
+	 * @param negated    whether the check was negated
+	 * @param exception  the failure
+	 * @param callSite   the frame that made the check, or {@code null}
+	 */
+	final void recordFailure(String secondPart,
+	                         boolean negated,
+	                         UnmetExpectationException exception,
+	                         StackTraceElement callSite) {
+		
+		ExpectationEvents.failed(getClass(), secondPart, negated, exception.getMessage(), callSite);
+	}
+	
+	
+	/**
+	 * Finds the frame that made the current check, for the
+	 * {@linkplain #recordFailure Flight Recorder events}.
+	 *
+	 * @return the frame, or {@code null} if there is none
+	 */
+	final StackTraceElement callSite() {
+		
+		return StackFrames.callerOf(this::isOwnFrame);
+	}
+	
+	
+	/**
+	 * Returns the state of the {@linkplain #not() not} flag, for checks that
+	 * only decide later, on another thread, whether they failed.
+	 *
+	 * @return whether the following checks are negated
+	 */
+	final boolean negated() {
+		
+		if((state == RETIRED) || (state == RETAINED)) {
+			throw retainedError();
+		}
+		return notFlag;
+	}
+	
+	
+	/**
+	 * Creates the exception for an unmet expectation, capturing as much of the
+	 * stack trace as the {@link chaij.StackTracePolicy} asks for, without reporting it.
+	 *
+	 * <p>
+	 * Checks that only decide later, on another thread, whether they failed, pass
+	 * the {@linkplain #negated() not flag} and the policy they captured when they
+	 * were made, and report the exception to the {@link chaij.ExceptionReporter}
+	 * context of the thread that made them.
+	 *
+	 * @param message    a custom message that is prepended (if null,
+	 *                   the custom text of the expectation is used instead)
+	 * @param firstPart  the first part of the string, preferably describing
+	 *                   or including the actual state
+	 * @param secondPart the second part of the string, preferably describing
+	 *                   the expectation
+	 * @param negated    whether the check was negated
+	 * @param policy     how much of the stack trace to capture
+	 * @param cause      what made the check fail, or {@code null}
+	 *
+	 * @return the exception
+	 */
+	final UnmetExpectationException unmet(String message,
+	                                      String firstPart,
+	                                      String secondPart,
+	                                      boolean negated,
+	                                      StackTracePolicy policy,
+	                                      Throwable cause) {
+		
+		//noinspection StringConcatenationMissingWhitespace
+		UnmetExpectationException exception = new UnmetExpectationException(
+				(message == null ?
+				 customText == null ?
+				 "" :
+				 customText + ": " :
+				 message + ": ")
+				+ firstPart
+				+ (negated ? " not " : " ")
+				+ secondPart,
+				cause,
+				policy
+		);
+		if(policy == StackTracePolicy.CALLER) {
+			exception.setStackTrace(callerTrace());
+		}
+		return exception;
+	}
+	
+	
+	/**
+	 * Finds the frame that called into this expectation, skipping all
+	 * frames of {@code BaseExpectation} and the concrete expectation type.
 	 *
-	 * @param exception the expectation that was not met, either containing a
-	 *                  description of the mismatch or, if any method called
-	 *                  during the test throws an exception, it wraps that method.
+	 * @return a stack trace with only the calling frame, or an empty
+	 * one if there was no such frame
 	 */
-	private static void signalError(ChaiJException exception) {
+	private StackTraceElement[] callerTrace() {
 		
-		ExceptionReporter.reportException(exception);
+		StackTraceElement caller = callSite();
+		return (caller == null) ?
+		       new StackTraceElement[0] :
+		       new StackTraceElement[] {caller};
+	}
+	
+	
+	/**
+	 * Checks whether a class name belongs to this expectation's
+	 * class hierarchy, up to and including {@code BaseExpectation},
+	 * or to one of the classes nested in them.
+	 *
+	 * @param className the name of the class of a stack frame
+	 *
+	 * @return whether the frame is part of the expectation itself
+	 */
+	private boolean isOwnFrame(String className) {
+		
+		for(Class<?> c = getClass(); c != null && c != Object.class; c = c.getSuperclass()) {
+			String name = c.getName();
+			if(className.startsWith(name)
+			   && ((className.length() == name.length()) || (className.charAt(name.length()) == '$'))) {
+				return true;
+			}
+		}
+		return false;
 	}
 	
 	//@formatter:off
@@ -294,7 +593,114 @@ public abstract class BaseExpectation<Self extends BaseExpectation<Self>> {
 	//@formatter:on
 	public final Self not() {
 		
+		if(ChaiJ.DISABLED) {
+			return (Self) this;
+		}
+		if((state == RETIRED) || (state == RETAINED)) {
+			throw retainedError();
+		}
 		notFlag = !notFlag;
 		return (Self) this;
 	}
+	
+	
+	/**
+	 * Prepares a recycled expectation for being handed out again,
+	 * resetting the {@linkplain #not() not} flag and the custom text.
+	 *
+	 * @param customText the custom text for this expectation,
+	 *                   or {@code null} if none is wished.
+	 */
+	final void recycle(String customText) {
+		
+		this.customText = customText;
+		notFlag = false;
+	}
+	
+	
+	/**
+	 * Marks a recycled expectation as handed out, so that its first
+	 * check shows that it has been used before it was retired.
+	 */
+	final void handOut() {
+		
+		state = ISSUED;
+	}
+	
+	
+	/**
+	 * Marks a recycled expectation as no longer usable, because another
+	 * {@code expect} call has been made since it was handed out.
+	 *
+	 * <p>
+	 * One that has not been checked at all has most likely been stored
+	 * for later, so it is retained and never handed out again.
+	 */
+	final void retire() {
+		
+		state = (state == LIVE) ? RETIRED : RETAINED;
+	}
+	
+	
+	/**
+	 * Returns whether a retired expectation may be handed out again. That is only
+	 * the case if it has been checked before it was retired, and not been used since.
+	 *
+	 * @return whether it can be recycled
+	 */
+	final boolean isReusable() {
+		
+		return state == RETIRED;
+	}
+	
+	
+	/**
+	 * Makes this expectation inert, so that all of its checks pass without
+	 * reporting anything, whatever its value and {@linkplain #not() not} flag are.
+	 * An inert expectation is shared by all threads, see {@link chaij.InertExpectations}.
+	 */
+	final void makeInert() {
+		
+		state = INERT;
+	}
+	
+	
+	/**
+	 * Returns whether this expectation is inert, or all of them are
+	 * {@linkplain chaij.ChaiJ#isDisabled() disabled}, so that checks which run
+	 * code of their callers, like {@code satisfy}, can skip that as well.
+	 *
+	 * @return whether it is inert
+	 */
+	final boolean isInert() {
+		
+		return ChaiJ.DISABLED || (state == INERT);
+	}
+	
+	
+	/**
+	 * Makes the failures of this expectation go to the failure sink of the
+	 * {@link chaij.Sampler}, instead of the {@link chaij.ExceptionReporter}.
+	 */
+	final void makeSampled() {
+		
+		state = SAMPLED;
+	}
+	
+	
+	/**
+	 * Creates the error for a recycled expectation that has been
+	 * used after it was {@linkplain #retire() retired}, and retains it,
+	 * as whoever used it evidently still holds on to it.
+	 *
+	 * @return the exception to throw
+	 */
+	private IllegalStateException retainedError() {
+		
+		state = RETAINED;
+		return new IllegalStateException(
+				"This " + getClass().getSimpleName() + " was recycled and used again after a later "
+				+ "expect call. Recycled expectations must not be stored, see ExpectationRecycling."
+		);
+	}
 }
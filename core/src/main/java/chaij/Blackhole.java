@@ -0,0 +1,139 @@
+package chaij;
+
+
+/**
+ * Consumes the results of a measured task, so that the JIT compiler
+ * cannot remove their computation as dead code.
+ *
+ * <p>
+ * Without it, a measured task like {@code () -> codec.encode(buf)} whose
+ * result is never used may be optimized away entirely, and it would then
+ * seemingly complete in no time at all:
+ *
+ * <pre>
+ * expect(bh -&gt; bh.consume(codec.encode(buf))).to.completeWithin(Duration.ofNanos(50_000));
+ * </pre>
+ *
+ * <p>
+ * Consuming a value is cheap, it is only folded into a field that is
+ * published once the measurement is over.
+ *
+ * <p>
+ * Every thread that runs the task has its own blackhole, which also tells
+ * the task its {@linkplain #thread() index}, e.g. to pick a shard of its own.
+ *
+ * @since 0.3.1
+ */
+public final class Blackhole {
+	
+	/**
+	 * Where the consumed values finally escape to.
+	 */
+	@SuppressWarnings("unused")
+	private static volatile Object sink;
+	
+	private final int thread;
+	
+	private long folded = 0;
+	
+	private Object last = null;
+	
+	
+	/**
+	 * Only the measuring expectations create blackholes.
+	 */
+	Blackhole() {
+		
+		this(0);
+	}
+	
+	
+	/**
+	 * Only the measuring expectations create blackholes.
+	 *
+	 * @param thread the index of the thread that uses it
+	 */
+	Blackhole(int thread) {
+		
+		this.thread = thread;
+	}
+	
+	
+	/**
+	 * Returns the index of the thread that runs the task, from {@code 0} up to
+	 * the number of {@linkplain chaij.RunnableExpectation#threads(int) threads},
+	 * exclusive. It is always {@code 0} if the task is run by a single thread.
+	 *
+	 * @return the index of the thread
+	 */
+	public int thread() {
+		
+		return thread;
+	}
+	
+	
+	/**
+	 * Consumes an {@code int}.
+	 *
+	 * @param value the value
+	 */
+	public void consume(int value) {
+		
+		folded += value;
+	}
+	
+	
+	/**
+	 * Consumes a {@code long}.
+	 *
+	 * @param value the value
+	 */
+	public void consume(long value) {
+		
+		folded += value;
+	}
+	
+	
+	/**
+	 * Consumes a {@code double}.
+	 *
+	 * @param value the value
+	 */
+	public void consume(double value) {
+		
+		folded += Double.doubleToRawLongBits(value);
+	}
+	
+	
+	/**
+	 * Consumes a {@code boolean}.
+	 *
+	 * @param value the value
+	 */
+	public void consume(boolean value) {
+		
+		folded += value ? 1 : 0;
+	}
+	
+	
+	/**
+	 * Consumes an object, which therefore also escapes the
+	 * measured task and has to be allocated.
+	 *
+	 * @param value the value
+	 */
+	public void consume(Object value) {
+		
+		last = value;
+	}
+	
+	
+	/**
+	 * Lets everything consumed so far finally escape.
+	 */
+	void publish() {
+		
+		sink = (last == null) ? Long.valueOf(folded) : last;
+		last = null;
+	}
+}
@@ -13,7 +13,7 @@ package chaij;
  */
 public final class BooleanExpectation extends BaseExpectation<BooleanExpectation> {
 	
-	private final boolean my;
+	private boolean my;
 	
 	
 	/**
@@ -34,6 +34,23 @@ public final class BooleanExpectation extends BaseExpectation<BooleanExpectation
 	}
 	
 	
+	/**
+	 * Reuses this expectation for a new value, as done
+	 * by {@link chaij.ExpectationRecycling}.
+	 *
+	 * @param value the {@code boolean} that is used for all further operations
+	 * @param s     an optional custom expectation message.
+	 *
+	 * @return the expectation itself
+	 */
+	BooleanExpectation reuse(boolean value, String s) {
+		
+		recycle(s);
+		my = value;
+		return this;
+	}
+	
+	
 	/**
 	 * Checks whether the {@code boolean} is {@code true}.
 	 *
@@ -59,11 +76,10 @@ public final class BooleanExpectation extends BaseExpectation<BooleanExpectation
 	 */
 	public BooleanExpectation ok(String message) {
 		
-		return test(my,
-		            message,
-		            "Expected a",
-		            "ok-ish boolean."
-		);
+		if(fails("ok", my)) {
+			fail(message, "Expected a", "ok-ish boolean.");
+		}
+		return this;
 	}
 	
 	
@@ -92,11 +108,10 @@ public final class BooleanExpectation extends BaseExpectation<BooleanExpectation
 	 */
 	public BooleanExpectation _true(String message) {
 		
-		return test(my,
-		            message,
-		            "Expected a",
-		            "true boolean."
-		);
+		if(fails("_true", my)) {
+			fail(message, "Expected a", "true boolean.");
+		}
+		return this;
 	}
 	
 	
@@ -121,11 +136,10 @@ public final class BooleanExpectation extends BaseExpectation<BooleanExpectation
 	 */
 	public BooleanExpectation _false(String message) {
 		
-		return test(!my,
-		            message,
-		            "Expected a",
-		            "false boolean."
-		);
+		if(fails("_false", !my)) {
+			fail(message, "Expected a", "false boolean.");
+		}
+		return this;
 	}
 	
 	
@@ -162,11 +176,13 @@ public final class BooleanExpectation extends BaseExpectation<BooleanExpectation
 	 */
 	public BooleanExpectation equal(boolean expected, String message) {
 		
-		return test(my == expected,
-		            message,
-		            "Expected " + my + " to",
-		            "equal " + expected + '.'
-		);
+		if(fails("equal", my == expected)) {
+			fail(message,
+			     "Expected " + my + " to",
+			     "equal " + expected + '.'
+			);
+		}
+		return this;
 	}
 	
 	
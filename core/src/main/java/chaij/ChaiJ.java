@@ -1,13 +1,45 @@
 package chaij;
 
 
+import chaij.function.UnreliableConsumer;
+import chaij.function.UnreliableRunnable;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletionStage;
+import java.util.function.LongSupplier;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
 /**
  * The collection of all expect methods offered by ChaiJ itself.
  *
+ * <p>
+ * The primitive {@code expect} methods hand out recycled expectations
+ * when called inside of {@link chaij.ExpectationRecycling#runRecycled}.
+ *
+ * <p>
+ * Like assertions without {@code -ea}, all expectations can be disabled with the
+ * {@code chaij.disabled} system property. The primitive {@code expect} methods then
+ * return shared expectations whose checks do nothing. All other checks, and
+ * {@code eventually}, return right away without reporting anything, before they
+ * scan an array or a stream, run a task, start a thread or register a callback.
+ * As the switch is read once into a {@code static final} field, the JIT inlines
+ * a check like {@code expect(depth).to.be.below(limit, "Queue full")} without any
+ * allocation, recycling or reporting, leaving little more than a few field loads.
+ * The arguments are still computed before the check is called, so a message
+ * built by concatenation is better left out of hot code.
+ *
  * @since 0.0.1
  */
 public final class ChaiJ {
 	
+	/**
+	 * Whether all expectations are disabled, by the {@code chaij.disabled} system property.
+	 */
+	static final boolean DISABLED = Boolean.getBoolean("chaij.disabled");
+	
 	/**
 	 * Don't instantiate.
 	 *
@@ -20,6 +52,19 @@ public final class ChaiJ {
 	}
 	
 	
+	/**
+	 * Returns whether all expectations are disabled, by the {@code chaij.disabled} system property.
+	 *
+	 * @return whether they are disabled
+	 *
+	 * @since 0.3.1
+	 */
+	public static boolean isDisabled() {
+		
+		return DISABLED;
+	}
+	
+	
 	/**
 	 * Returns an integer expectation, offering most of the basic tests.
 	 *
@@ -33,7 +78,13 @@ public final class ChaiJ {
 	 */
 	public static IntExpectation expect(int value) {
 		
-		return new IntExpectation(value, null);
+		if(DISABLED) {
+			return InertExpectations.INT;
+		}
+		ExpectationRecycling.Recycler recycler = ExpectationRecycling.current();
+		return (recycler == null) ?
+		       new IntExpectation(value, null) :
+		       recycler.ofInt(value, null);
 	}
 	
 	
@@ -53,7 +104,13 @@ public final class ChaiJ {
 	 */
 	public static IntExpectation expect(int value, String message) {
 		
-		return new IntExpectation(value, message);
+		if(DISABLED) {
+			return InertExpectations.INT;
+		}
+		ExpectationRecycling.Recycler recycler = ExpectationRecycling.current();
+		return (recycler == null) ?
+		       new IntExpectation(value, message) :
+		       recycler.ofInt(value, message);
 	}
 	
 	
@@ -70,7 +127,13 @@ public final class ChaiJ {
 	 */
 	public static LongExpectation expect(long value) {
 		
-		return new LongExpectation(value, null);
+		if(DISABLED) {
+			return InertExpectations.LONG;
+		}
+		ExpectationRecycling.Recycler recycler = ExpectationRecycling.current();
+		return (recycler == null) ?
+		       new LongExpectation(value, null) :
+		       recycler.ofLong(value, null);
 	}
 	
 	
@@ -90,7 +153,13 @@ public final class ChaiJ {
 	 */
 	public static LongExpectation expect(long value, String message) {
 		
-		return new LongExpectation(value, message);
+		if(DISABLED) {
+			return InertExpectations.LONG;
+		}
+		ExpectationRecycling.Recycler recycler = ExpectationRecycling.current();
+		return (recycler == null) ?
+		       new LongExpectation(value, message) :
+		       recycler.ofLong(value, message);
 	}
 	
 	
@@ -107,7 +176,13 @@ public final class ChaiJ {
 	 */
 	public static DoubleExpectation expect(double value) {
 		
-		return new DoubleExpectation(value, null);
+		if(DISABLED) {
+			return InertExpectations.DOUBLE;
+		}
+		ExpectationRecycling.Recycler recycler = ExpectationRecycling.current();
+		return (recycler == null) ?
+		       new DoubleExpectation(value, null) :
+		       recycler.ofDouble(value, null);
 	}
 	
 	
@@ -127,7 +202,13 @@ public final class ChaiJ {
 	 */
 	public static DoubleExpectation expect(double value, String message) {
 		
-		return new DoubleExpectation(value, message);
+		if(DISABLED) {
+			return InertExpectations.DOUBLE;
+		}
+		ExpectationRecycling.Recycler recycler = ExpectationRecycling.current();
+		return (recycler == null) ?
+		       new DoubleExpectation(value, message) :
+		       recycler.ofDouble(value, message);
 	}
 	
 	
@@ -140,7 +221,13 @@ public final class ChaiJ {
 	 */
 	public static BooleanExpectation expect(boolean value) {
 		
-		return new BooleanExpectation(value, null);
+		if(DISABLED) {
+			return InertExpectations.BOOLEAN;
+		}
+		ExpectationRecycling.Recycler recycler = ExpectationRecycling.current();
+		return (recycler == null) ?
+		       new BooleanExpectation(value, null) :
+		       recycler.ofBoolean(value, null);
 	}
 	
 	
@@ -156,6 +243,501 @@ public final class ChaiJ {
 	 */
 	public static BooleanExpectation expect(boolean value, String message) {
 		
-		return new BooleanExpectation(value, message);
+		if(DISABLED) {
+			return InertExpectations.BOOLEAN;
+		}
+		ExpectationRecycling.Recycler recycler = ExpectationRecycling.current();
+		return (recycler == null) ?
+		       new BooleanExpectation(value, message) :
+		       recycler.ofBoolean(value, message);
+	}
+	
+	
+	/**
+	 * Returns an expectation for a whole {@code int[]}, checking all of its
+	 * elements at once.
+	 *
+	 * <p>
+	 * This is much cheaper than calling {@link #expect(int)} for every element
+	 * of a big array.
+	 *
+	 * @param values the array that is tested in this expectation
+	 *
+	 * @return the expectation
+	 *
+	 * @since 0.3.1
+	 */
+	public static IntArrayExpectation expect(int[] values) {
+		
+		return new IntArrayExpectation(values, null);
+	}
+	
+	
+	/**
+	 * Returns an expectation for a whole {@code int[]}, checking all of its
+	 * elements at once.
+	 *
+	 * <p>
+	 * This is much cheaper than calling {@link #expect(int, String)} for every
+	 * element of a big array.
+	 *
+	 * @param values  the array that is tested in this expectation
+	 * @param message a custom message that is prepended in front of all
+	 *                the error messages. Use this to better describe your
+	 *                intent with the expectation
+	 *
+	 * @return the expectation
+	 *
+	 * @since 0.3.1
+	 */
+	public static IntArrayExpectation expect(int[] values, String message) {
+		
+		return new IntArrayExpectation(values, message);
+	}
+	
+	
+	/**
+	 * Returns an expectation for a whole {@code long[]}, checking all of its
+	 * elements at once.
+	 *
+	 * <p>
+	 * This is much cheaper than calling {@link #expect(long)} for every element
+	 * of a big array.
+	 *
+	 * @param values the array that is tested in this expectation
+	 *
+	 * @return the expectation
+	 *
+	 * @since 0.3.1
+	 */
+	public static LongArrayExpectation expect(long[] values) {
+		
+		return new LongArrayExpectation(values, null);
+	}
+	
+	
+	/**
+	 * Returns an expectation for a whole {@code long[]}, checking all of its
+	 * elements at once.
+	 *
+	 * <p>
+	 * This is much cheaper than calling {@link #expect(long, String)} for every
+	 * element of a big array.
+	 *
+	 * @param values  the array that is tested in this expectation
+	 * @param message a custom message that is prepended in front of all
+	 *                the error messages. Use this to better describe your
+	 *                intent with the expectation
+	 *
+	 * @return the expectation
+	 *
+	 * @since 0.3.1
+	 */
+	public static LongArrayExpectation expect(long[] values, String message) {
+		
+		return new LongArrayExpectation(values, message);
+	}
+	
+	
+	/**
+	 * Returns an expectation for a whole {@code double[]}, checking all of its
+	 * elements at once, e.g. whether none of them is NaN.
+	 *
+	 * <p>
+	 * This is much cheaper than calling {@link #expect(double)} for every element
+	 * of a big array.
+	 *
+	 * @param values the array that is tested in this expectation
+	 *
+	 * @return the expectation
+	 *
+	 * @since 0.3.1
+	 */
+	public static DoubleArrayExpectation expect(double[] values) {
+		
+		return new DoubleArrayExpectation(values, null);
+	}
+	
+	
+	/**
+	 * Returns an expectation for a whole {@code double[]}, checking all of its
+	 * elements at once, e.g. whether none of them is NaN.
+	 *
+	 * <p>
+	 * This is much cheaper than calling {@link #expect(double, String)} for every
+	 * element of a big array.
+	 *
+	 * @param values  the array that is tested in this expectation
+	 * @param message a custom message that is prepended in front of all
+	 *                the error messages. Use this to better describe your
+	 *                intent with the expectation
+	 *
+	 * @return the expectation
+	 *
+	 * @since 0.3.1
+	 */
+	public static DoubleArrayExpectation expect(double[] values, String message) {
+		
+		return new DoubleArrayExpectation(values, message);
+	}
+	
+	
+	/**
+	 * Returns an expectation for a {@code IntStream}, checking its elements
+	 * in a single pass without collecting them.
+	 *
+	 * <p>
+	 * The stream is consumed by the first check, so only one check can be
+	 * made per expectation.
+	 *
+	 * @param values the stream that is tested in this expectation
+	 *
+	 * @return the expectation
+	 *
+	 * @since 0.3.1
+	 */
+	public static IntStreamExpectation expect(IntStream values) {
+		
+		return new IntStreamExpectation(values, null);
+	}
+	
+	
+	/**
+	 * Returns an expectation for a {@code IntStream}, checking its elements
+	 * in a single pass without collecting them.
+	 *
+	 * <p>
+	 * The stream is consumed by the first check, so only one check can be
+	 * made per expectation.
+	 *
+	 * @param values  the stream that is tested in this expectation
+	 * @param message a custom message that is prepended in front of all
+	 *                the error messages. Use this to better describe your
+	 *                intent with the expectation
+	 *
+	 * @return the expectation
+	 *
+	 * @since 0.3.1
+	 */
+	public static IntStreamExpectation expect(IntStream values, String message) {
+		
+		return new IntStreamExpectation(values, message);
+	}
+	
+	
+	/**
+	 * Returns an expectation for a {@code LongStream}, checking its elements
+	 * in a single pass without collecting them.
+	 *
+	 * <p>
+	 * The stream is consumed by the first check, so only one check can be
+	 * made per expectation.
+	 *
+	 * @param values the stream that is tested in this expectation
+	 *
+	 * @return the expectation
+	 *
+	 * @since 0.3.1
+	 */
+	public static LongStreamExpectation expect(LongStream values) {
+		
+		return new LongStreamExpectation(values, null);
+	}
+	
+	
+	/**
+	 * Returns an expectation for a {@code LongStream}, checking its elements
+	 * in a single pass without collecting them.
+	 *
+	 * <p>
+	 * The stream is consumed by the first check, so only one check can be
+	 * made per expectation.
+	 *
+	 * @param values  the stream that is tested in this expectation
+	 * @param message a custom message that is prepended in front of all
+	 *                the error messages. Use this to better describe your
+	 *                intent with the expectation
+	 *
+	 * @return the expectation
+	 *
+	 * @since 0.3.1
+	 */
+	public static LongStreamExpectation expect(LongStream values, String message) {
+		
+		return new LongStreamExpectation(values, message);
+	}
+	
+	
+	/**
+	 * Returns an expectation for a {@code DoubleStream}, checking its elements
+	 * in a single pass without collecting them, e.g. whether all of them are finite.
+	 *
+	 * <p>
+	 * The stream is consumed by the first check, so only one check can be
+	 * made per expectation.
+	 *
+	 * @param values the stream that is tested in this expectation
+	 *
+	 * @return the expectation
+	 *
+	 * @since 0.3.1
+	 */
+	public static DoubleStreamExpectation expect(DoubleStream values) {
+		
+		return new DoubleStreamExpectation(values, null);
+	}
+	
+	
+	/**
+	 * Returns an expectation for a {@code DoubleStream}, checking its elements
+	 * in a single pass without collecting them, e.g. whether all of them are finite.
+	 *
+	 * <p>
+	 * The stream is consumed by the first check, so only one check can be
+	 * made per expectation.
+	 *
+	 * @param values  the stream that is tested in this expectation
+	 * @param message a custom message that is prepended in front of all
+	 *                the error messages. Use this to better describe your
+	 *                intent with the expectation
+	 *
+	 * @return the expectation
+	 *
+	 * @since 0.3.1
+	 */
+	public static DoubleStreamExpectation expect(DoubleStream values, String message) {
+		
+		return new DoubleStreamExpectation(values, message);
+	}
+	
+	
+	/**
+	 * Returns an expectation for how a stage completes, whose checks do not block
+	 * until it does.
+	 *
+	 * <p>
+	 * The failures of the checks are reported once the current thread
+	 * {@linkplain chaij.ExceptionReporter#awaitAsync() waits} for them.
+	 *
+	 * @param stage the stage that is checked in this expectation
+	 * @param <T>   the type of the result of the stage
+	 *
+	 * @return the expectation
+	 *
+	 * @since 0.3.1
+	 */
+	public static <T> StageExpectation<T> expect(CompletionStage<T> stage) {
+		
+		return new StageExpectation<>(stage, null);
+	}
+	
+	
+	/**
+	 * Returns an expectation for how a stage completes, whose checks do not block
+	 * until it does.
+	 *
+	 * <p>
+	 * The failures of the checks are reported once the current thread
+	 * {@linkplain chaij.ExceptionReporter#awaitAsync() waits} for them.
+	 *
+	 * @param stage   the stage that is checked in this expectation
+	 * @param message a custom message that is prepended in front of all
+	 *                the error messages. Use this to better describe your
+	 *                intent with the expectation
+	 * @param <T>     the type of the result of the stage
+	 *
+	 * @return the expectation
+	 *
+	 * @since 0.3.1
+	 */
+	public static <T> StageExpectation<T> expect(CompletionStage<T> stage, String message) {
+		
+		return new StageExpectation<>(stage, message);
+	}
+	
+	
+	/**
+	 * Returns an expectation for the percentiles of the latencies in a histogram.
+	 *
+	 * @param histogram the histogram that is checked in this expectation
+	 *
+	 * @return the expectation
+	 *
+	 * @since 0.3.1
+	 */
+	public static HistogramExpectation expect(LatencyHistogram histogram) {
+		
+		return new HistogramExpectation(histogram, null);
+	}
+	
+	
+	/**
+	 * Returns an expectation for the percentiles of the latencies in a histogram.
+	 *
+	 * @param histogram the histogram that is checked in this expectation
+	 * @param message   a custom message that is prepended in front of all
+	 *                  the error messages. Use this to better describe your
+	 *                  intent with the expectation
+	 *
+	 * @return the expectation
+	 *
+	 * @since 0.3.1
+	 */
+	public static HistogramExpectation expect(LatencyHistogram histogram, String message) {
+		
+		return new HistogramExpectation(histogram, message);
+	}
+	
+	
+	/**
+	 * Returns an expectation for how a task performs, e.g. whether
+	 * it {@linkplain chaij.RunnableExpectation#completeWithin(java.time.Duration)
+	 * completes within} a time budget.
+	 *
+	 * <p>
+	 * If the task computes a result, use {@link #expect(chaij.function.UnreliableConsumer)}
+	 * instead and let it consume the result, so that its computation cannot be removed
+	 * by the JIT compiler.
+	 *
+	 * @param task the task that is measured in this expectation
+	 *
+	 * @return the expectation
+	 *
+	 * @since 0.3.1
+	 */
+	public static RunnableExpectation expect(UnreliableRunnable task) {
+		
+		return new RunnableExpectation(blackhole -> task.run(), null);
+	}
+	
+	
+	/**
+	 * Returns an expectation for how a task performs, e.g. whether
+	 * it {@linkplain chaij.RunnableExpectation#completeWithin(java.time.Duration)
+	 * completes within} a time budget.
+	 *
+	 * <p>
+	 * If the task computes a result, use {@link #expect(chaij.function.UnreliableConsumer, String)}
+	 * instead and let it consume the result, so that its computation cannot be removed
+	 * by the JIT compiler.
+	 *
+	 * @param task    the task that is measured in this expectation
+	 * @param message a custom message that is prepended in front of all
+	 *                the error messages. Use this to better describe your
+	 *                intent with the expectation
+	 *
+	 * @return the expectation
+	 *
+	 * @since 0.3.1
+	 */
+	public static RunnableExpectation expect(UnreliableRunnable task, String message) {
+		
+		return new RunnableExpectation(blackhole -> task.run(), message);
+	}
+	
+	
+	/**
+	 * Returns an expectation for how a task performs, e.g. whether
+	 * it {@linkplain chaij.RunnableExpectation#completeWithin(java.time.Duration)
+	 * completes within} a time budget.
+	 *
+	 * <p>
+	 * The task gets a {@link chaij.Blackhole} to consume its results with,
+	 * e.g. {@code expect(bh -> bh.consume(codec.encode(buf)))}.
+	 *
+	 * @param task the task that is measured in this expectation
+	 *
+	 * @return the expectation
+	 *
+	 * @since 0.3.1
+	 */
+	public static RunnableExpectation expect(UnreliableConsumer<Blackhole> task) {
+		
+		return new RunnableExpectation(task, null);
+	}
+	
+	
+	/**
+	 * Returns an expectation for how a task performs, e.g. whether
+	 * it {@linkplain chaij.RunnableExpectation#completeWithin(java.time.Duration)
+	 * completes within} a time budget.
+	 *
+	 * <p>
+	 * The task gets a {@link chaij.Blackhole} to consume its results with,
+	 * e.g. {@code expect(bh -> bh.consume(codec.encode(buf)), "encoding")}.
+	 *
+	 * @param task    the task that is measured in this expectation
+	 * @param message a custom message that is prepended in front of all
+	 *                the error messages. Use this to better describe your
+	 *                intent with the expectation
+	 *
+	 * @return the expectation
+	 *
+	 * @since 0.3.1
+	 */
+	public static RunnableExpectation expect(UnreliableConsumer<Blackhole> task, String message) {
+		
+		return new RunnableExpectation(task, message);
+	}
+	
+	
+	/**
+	 * Runs a block of expectations until all of them pass, e.g. to wait for
+	 * the state of another thread to converge:
+	 *
+	 * <pre>
+	 * eventually(Duration.ofSeconds(5), () -&gt; {
+	 *     expect(queue.size()).to.equal(0);
+	 *     expect(processed.get()).to.equal(1000);
+	 * });
+	 * </pre>
+	 *
+	 * <p>
+	 * The failures of all attempts but the last one are suppressed, even within
+	 * {@link chaij.ExceptionReporter#runMultipleAndReport(UnreliableRunnable)}.
+	 * Only if the block still fails once {@code timeout} has passed, its last failure
+	 * is reported. Between the attempts, this waits for exponentially longer, from
+	 * 0.1 milliseconds up to 100 milliseconds. Any other exception of the block ends
+	 * the retries right away, and is rethrown as is if it is unchecked, or wrapped
+	 * inside a {@link chaij.WrappedCheckedException} otherwise.
+	 *
+	 * @param timeout how long to retry the block
+	 * @param block   the expectations
+	 *
+	 * @since 0.3.1
+	 */
+	public static void eventually(Duration timeout, UnreliableRunnable block) {
+		
+		Eventually.retry(timeout.toNanos(), null, block);
+	}
+	
+	
+	/**
+	 * Runs a block of expectations until all of them pass, retrying it as soon
+	 * as a monitored value changes, e.g. {@code counter::get} of an
+	 * {@link java.util.concurrent.atomic.AtomicLong} or {@code adder::sum} of a
+	 * {@link java.util.concurrent.atomic.LongAdder}:
+	 *
+	 * <pre>
+	 * eventually(Duration.ofSeconds(5), processed::sum, () -&gt; {
+	 *     expect(processed.sum()).to.equal(1000);
+	 * });
+	 * </pre>
+	 *
+	 * <p>
+	 * This works just as {@link #eventually(Duration, UnreliableRunnable)}, but also
+	 * reads the monitored value a few times while waiting between two attempts. If it
+	 * changed since the last attempt, the block is retried right away, and the waits
+	 * start over from the shortest one.
+	 *
+	 * @param timeout how long to retry the block
+	 * @param monitor the value whose changes trigger another attempt
+	 * @param block   the expectations
+	 *
+	 * @since 0.3.1
+	 */
+	public static void eventually(Duration timeout, LongSupplier monitor, UnreliableRunnable block) {
+		
+		Eventually.retry(timeout.toNanos(), Objects.requireNonNull(monitor, "monitor"), block);
 	}
 }
@@ -33,4 +33,37 @@ public abstract class ChaiJException extends RuntimeException {
 		
 		super(cause);
 	}
+	
+	
+	/**
+	 * The constructor.<br>
+	 * Any questions?
+	 *
+	 * @param expectationMessage the message of this exception.
+	 * @param writableStackTrace whether the stack trace should be captured,
+	 *                           see {@link chaij.StackTracePolicy#NONE}.
+	 *
+	 * @since 0.3.1
+	 */
+	protected ChaiJException(String expectationMessage, boolean writableStackTrace) {
+		
+		this(expectationMessage, null, writableStackTrace);
+	}
+	
+	
+	/**
+	 * The constructor.<br>
+	 * Any questions?
+	 *
+	 * @param expectationMessage the message of this exception.
+	 * @param cause              the cause, or {@code null} if there is none.
+	 * @param writableStackTrace whether the stack trace should be captured,
+	 *                           see {@link chaij.StackTracePolicy#NONE}.
+	 *
+	 * @since 0.3.1
+	 */
+	protected ChaiJException(String expectationMessage, Throwable cause, boolean writableStackTrace) {
+		
+		super(expectationMessage, cause, true, writableStackTrace);
+	}
 }
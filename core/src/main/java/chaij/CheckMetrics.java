@@ -0,0 +1,122 @@
+package chaij;
+
+
+/**
+ * The {@link chaij.ExpectationMetrics} of a single check at one point in time.
+ *
+ * @since 0.3.1
+ */
+public final class CheckMetrics {
+	
+	private final String expectation;
+	
+	private final String check;
+	
+	private final long evaluations;
+	
+	private final long failures;
+	
+	private final long timedEvaluations;
+	
+	private final long timedNanos;
+	
+	
+	/**
+	 * Creates the metrics of a check.
+	 *
+	 * @param expectation      the name of the expectation class
+	 * @param check            the name of the check
+	 * @param evaluations      how often the check has been evaluated
+	 * @param failures         how often the check has failed
+	 * @param timedEvaluations how many evaluations have been timed
+	 * @param timedNanos       the time spent in the timed evaluations in nanoseconds
+	 */
+	CheckMetrics(String expectation, String check, long evaluations, long failures,
+	             long timedEvaluations, long timedNanos) {
+		
+		this.expectation = expectation;
+		this.check = check;
+		this.evaluations = evaluations;
+		this.failures = failures;
+		this.timedEvaluations = timedEvaluations;
+		this.timedNanos = timedNanos;
+	}
+	
+	
+	/**
+	 * Returns the name of the expectation class, e.g. {@code chaij.IntExpectation}.
+	 *
+	 * @return the name of the class
+	 */
+	public String getExpectation() {
+		
+		return expectation;
+	}
+	
+	
+	/**
+	 * Returns the name of the check, e.g. {@code within}, or
+	 * {@value chaij.ExpectationMetrics#UNNAMED} for unnamed ones.
+	 *
+	 * @return the name of the check
+	 */
+	public String getCheck() {
+		
+		return check;
+	}
+	
+	
+	/**
+	 * Returns how often the check has been evaluated.
+	 *
+	 * @return the number of evaluations
+	 */
+	public long getEvaluations() {
+		
+		return evaluations;
+	}
+	
+	
+	/**
+	 * Returns how often the check has failed.
+	 *
+	 * @return the number of failures
+	 */
+	public long getFailures() {
+		
+		return failures;
+	}
+	
+	
+	/**
+	 * Returns how many evaluations of the predicate of the check have been timed,
+	 * which only {@code satisfy} and {@code match} do if enabled.
+	 *
+	 * @return the number of timed evaluations
+	 */
+	public long getTimedEvaluations() {
+		
+		return timedEvaluations;
+	}
+	
+	
+	/**
+	 * Returns the time spent in the timed evaluations.
+	 *
+	 * @return the time in nanoseconds
+	 */
+	public long getTimedNanos() {
+		
+		return timedNanos;
+	}
+	
+	
+	@Override
+	public String toString() {
+		
+		return String.format("CheckMetrics(expectation=%s, check=%s, evaluations=%d, failures=%d, "
+		                     + "timedEvaluations=%d, timedNanos=%d)",
+		                     expectation, check, evaluations, failures, timedEvaluations, timedNanos
+		);
+	}
+}
@@ -0,0 +1,68 @@
+package chaij;
+
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs actions at their deadlines, e.g. to fail the checks of a
+ * {@link chaij.StageExpectation} that did not complete in time.
+ *
+ * <p>
+ * All deadlines share a single daemon thread, so that thousands of checks
+ * can wait for their deadlines without a thread each. A deadline that is
+ * cancelled because its check has been decided before is removed right away.
+ *
+ * @since 0.3.1
+ */
+final class Deadlines {
+	
+	private static final ScheduledThreadPoolExecutor TIMER = timer();
+	
+	
+	/**
+	 * Don't instantiate.
+	 *
+	 * @throws java.lang.IllegalAccessException ....don't instantiate it.
+	 */
+	private Deadlines()
+			throws IllegalAccessException {
+		
+		throw new IllegalAccessException("Don't!");
+	}
+	
+	
+	/**
+	 * Runs the action once the delay has passed.
+	 *
+	 * <p>
+	 * The action runs on the shared timer thread, so it must be short.
+	 *
+	 * @param action     the action
+	 * @param delayNanos the delay in nanoseconds
+	 *
+	 * @return the scheduled action, for cancelling it
+	 */
+	static ScheduledFuture<?> schedule(Runnable action, long delayNanos) {
+		
+		return TIMER.schedule(action, delayNanos, TimeUnit.NANOSECONDS);
+	}
+	
+	
+	/**
+	 * Creates the timer with its daemon thread.
+	 *
+	 * @return the timer
+	 */
+	private static ScheduledThreadPoolExecutor timer() {
+		
+		ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+			Thread thread = new Thread(runnable, "chaij-deadlines");
+			thread.setDaemon(true);
+			return thread;
+		});
+		timer.setRemoveOnCancelPolicy(true);
+		return timer;
+	}
+}
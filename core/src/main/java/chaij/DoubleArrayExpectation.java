@@ -0,0 +1,841 @@
+package chaij;
+
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.DoublePredicate;
+
+/**
+ * A {@code double[]} expectation checks all elements of an array at once,
+ * e.g. with {@link #allWithin(double, double)}, {@link #noNaN()} or
+ * {@link #elementwiseCloseTo(double[], double)}.
+ *
+ * <p>
+ * The checks run as plain loops over the array without creating an
+ * expectation per element, and the message describing the offending
+ * elements is only built once a check has failed.
+ *
+ * <p>
+ * For really big arrays, {@link #parallel()} splits the checks
+ * across a {@link java.util.concurrent.ForkJoinPool}.
+ *
+ * <p>
+ * Note that {@link #not()} negates the whole check, i.e.
+ * {@code expect(arr).not().allAbove(0)} expects at least
+ * one element that is not above zero.
+ *
+ * @since 0.3.1
+ */
+public final class DoubleArrayExpectation extends BaseExpectation<DoubleArrayExpectation> {
+	
+	private final double[] my;
+	
+	private ForkJoinPool pool = null;
+	
+	private int threshold = ParallelScan.DEFAULT_THRESHOLD;
+	
+	
+	/**
+	 * Constructs a new DoubleArrayExpectation.
+	 *
+	 * <p>
+	 * You should not use this constructor directly, but instead get
+	 * an expectation through {@link chaij.ChaiJ#expect(double[])} or
+	 * {@link chaij.ChaiJ#expect(double[], java.lang.String)}
+	 *
+	 * @param arr the {@code double[]} that is used for all operations
+	 * @param s   an optional custom expectation message.
+	 */
+	DoubleArrayExpectation(double[] arr, String s) {
+		
+		super(s);
+		my = arr;
+	}
+	
+	
+	/**
+	 * Runs all further checks of this expectation in parallel on the
+	 * {@linkplain java.util.concurrent.ForkJoinPool#commonPool() common pool}.
+	 *
+	 * <p>
+	 * Arrays that are smaller than a default threshold are still checked
+	 * sequentially, see {@link #parallel(int)}.
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public DoubleArrayExpectation parallel() {
+		
+		return parallel(ForkJoinPool.commonPool(), ParallelScan.DEFAULT_THRESHOLD);
+	}
+	
+	
+	/**
+	 * Runs all further checks of this expectation in parallel on the
+	 * {@linkplain java.util.concurrent.ForkJoinPool#commonPool() common pool},
+	 * splitting the array into parts of at most {@code threshold} elements.
+	 *
+	 * @param threshold the number of elements below which a part of
+	 *                  the array is not split any further
+	 *
+	 * @return the expectation itself for chaining
+	 *
+	 * @throws java.lang.IllegalArgumentException if {@code threshold} is not positive
+	 */
+	public DoubleArrayExpectation parallel(int threshold) {
+		
+		return parallel(ForkJoinPool.commonPool(), threshold);
+	}
+	
+	
+	/**
+	 * Runs all further checks of this expectation in parallel on the given
+	 * {@code pool}, splitting the array into parts of at most {@code threshold}
+	 * elements.
+	 *
+	 * <p>
+	 * As soon as one part has found an offending element, the parts after it
+	 * are skipped. The offending elements reported in the message are the same
+	 * as for a sequential check.
+	 *
+	 * @param pool      the pool to run the checks on
+	 * @param threshold the number of elements below which a part of
+	 *                  the array is not split any further
+	 *
+	 * @return the expectation itself for chaining
+	 *
+	 * @throws java.lang.IllegalArgumentException if {@code threshold} is not positive
+	 */
+	public DoubleArrayExpectation parallel(ForkJoinPool pool, int threshold) {
+		
+		if(threshold < 1) {
+			throw new IllegalArgumentException("The threshold must be positive, got " + threshold);
+		}
+		this.pool = Objects.requireNonNull(pool);
+		this.threshold = threshold;
+		return this;
+	}
+	
+	
+	/**
+	 * Checks whether all elements are within {@code min} and
+	 * {@code max}, both inclusive.
+	 *
+	 * @param min the minimum value
+	 * @param max the maximum value
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public DoubleArrayExpectation allWithin(double min, double max) {
+		
+		return allWithin(min, max, null);
+	}
+	
+	
+	/**
+	 * Checks whether all elements are within {@code min} and
+	 * {@code max}, both inclusive with a custom message.
+	 *
+	 * @param min     the minimum value
+	 * @param max     the maximum value
+	 * @param message a custom message specifically for this check
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public DoubleArrayExpectation allWithin(double min, double max, String message) {
+		
+		if(isInert()) {
+			return this;
+		}
+		int first = (pool == null) ?
+		            firstOutside(my, 0, my.length, min, max) :
+		            inParallel(0, (from, to) -> firstOutside(my, from, to, min, max));
+		if(fails("allWithin", first < 0)) {
+			fail(message,
+			     "Expected " + describe() + " to",
+			     "have all elements within " + min + " and " + max
+			     + Offenders.describe(first, my.length,
+			                          i -> !((min <= my[i]) && (my[i] <= max)),
+			                          this::element)
+			     + '.'
+			);
+		}
+		return this;
+	}
+	
+	
+	/**
+	 * Checks whether all elements are above {@code lowerBound}.
+	 *
+	 * @param lowerBound the biggest value that is too small
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public DoubleArrayExpectation allAbove(double lowerBound) {
+		
+		return allAbove(lowerBound, null);
+	}
+	
+	
+	/**
+	 * Checks whether all elements are above {@code lowerBound}
+	 * with a custom message.
+	 *
+	 * @param lowerBound the biggest value that is too small
+	 * @param message    a custom message specifically for this check
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public DoubleArrayExpectation allAbove(double lowerBound, String message) {
+		
+		if(isInert()) {
+			return this;
+		}
+		int first = (pool == null) ?
+		            firstNotAbove(my, 0, my.length, lowerBound) :
+		            inParallel(0, (from, to) -> firstNotAbove(my, from, to, lowerBound));
+		if(fails("allAbove", first < 0)) {
+			fail(message,
+			     "Expected " + describe() + " to",
+			     "have all elements above " + lowerBound
+			     + Offenders.describe(first, my.length,
+			                          i -> !(my[i] > lowerBound),
+			                          this::element)
+			     + '.'
+			);
+		}
+		return this;
+	}
+	
+	
+	/**
+	 * Checks whether all elements are below {@code upperBound}.
+	 *
+	 * @param upperBound the smallest value that is too big
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public DoubleArrayExpectation allBelow(double upperBound) {
+		
+		return allBelow(upperBound, null);
+	}
+	
+	
+	/**
+	 * Checks whether all elements are below {@code upperBound}
+	 * with a custom message.
+	 *
+	 * @param upperBound the smallest value that is too big
+	 * @param message    a custom message specifically for this check
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public DoubleArrayExpectation allBelow(double upperBound, String message) {
+		
+		if(isInert()) {
+			return this;
+		}
+		int first = (pool == null) ?
+		            firstNotBelow(my, 0, my.length, upperBound) :
+		            inParallel(0, (from, to) -> firstNotBelow(my, from, to, upperBound));
+		if(fails("allBelow", first < 0)) {
+			fail(message,
+			     "Expected " + describe() + " to",
+			     "have all elements below " + upperBound
+			     + Offenders.describe(first, my.length,
+			                          i -> !(my[i] < upperBound),
+			                          this::element)
+			     + '.'
+			);
+		}
+		return this;
+	}
+	
+	
+	/**
+	 * Checks whether the elements are sorted in ascending order,
+	 * i.e. no element is smaller than the one before it.
+	 *
+	 * <p>
+	 * The order is the one of {@link java.util.Arrays#sort(double[])},
+	 * i.e. {@code -0.0} comes before {@code 0.0} and {@link Double#NaN}
+	 * after everything else.
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public DoubleArrayExpectation sorted() {
+		
+		return sorted(null);
+	}
+	
+	
+	/**
+	 * Checks whether the elements are sorted in ascending order,
+	 * i.e. no element is smaller than the one before it
+	 * with a custom message.
+	 *
+	 * <p>
+	 * The order is the one of {@link java.util.Arrays#sort(double[])},
+	 * i.e. {@code -0.0} comes before {@code 0.0} and {@link Double#NaN}
+	 * after everything else.
+	 *
+	 * @param message a custom message specifically for this check
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public DoubleArrayExpectation sorted(String message) {
+		
+		if(isInert()) {
+			return this;
+		}
+		int first = (pool == null) ?
+		            firstDescent(my, 1, my.length) :
+		            inParallel(1, (from, to) -> firstDescent(my, from, to));
+		if(fails("sorted", first < 0)) {
+			fail(message,
+			     "Expected " + describe() + " to",
+			     "be sorted"
+			     + Offenders.describe(first, my.length,
+			                          i -> Double.compare(my[i - 1], my[i]) > 0,
+			                          i -> my[i] + " after " + my[i - 1])
+			     + '.'
+			);
+		}
+		return this;
+	}
+	
+	
+	/**
+	 * Checks whether none of the elements is {@link Double#NaN}.
+	 *
+	 * @return the expectation itself for chaining
+	 *
+	 * @see Double#isNaN(double)
+	 */
+	public DoubleArrayExpectation noNaN() {
+		
+		return noNaN(null);
+	}
+	
+	
+	/**
+	 * Checks whether none of the elements is {@link Double#NaN}
+	 * with a custom message.
+	 *
+	 * @param message a custom message specifically for this check
+	 *
+	 * @return the expectation itself for chaining
+	 *
+	 * @see Double#isNaN(double)
+	 */
+	public DoubleArrayExpectation noNaN(String message) {
+		
+		if(isInert()) {
+			return this;
+		}
+		int first = (pool == null) ?
+		            firstNaN(my, 0, my.length) :
+		            inParallel(0, (from, to) -> firstNaN(my, from, to));
+		if(fails("noNaN", first < 0)) {
+			fail(message,
+			     "Expected " + describe() + " to",
+			     "have no NaN elements"
+			     + Offenders.describe(first, my.length,
+			                          i -> Double.isNaN(my[i]),
+			                          this::element)
+			     + '.'
+			);
+		}
+		return this;
+	}
+	
+	
+	/**
+	 * Checks whether all elements are finite, i.e. real numbers
+	 * and neither {@link Double#POSITIVE_INFINITY},
+	 * {@link Double#NEGATIVE_INFINITY} nor {@link Double#NaN}.
+	 *
+	 * @return the expectation itself for chaining
+	 *
+	 * @see Double#isFinite(double)
+	 */
+	public DoubleArrayExpectation allFinite() {
+		
+		return allFinite(null);
+	}
+	
+	
+	/**
+	 * Checks whether all elements are finite, i.e. real numbers
+	 * and neither {@link Double#POSITIVE_INFINITY},
+	 * {@link Double#NEGATIVE_INFINITY} nor {@link Double#NaN}
+	 * with a custom message.
+	 *
+	 * @param message a custom message specifically for this check
+	 *
+	 * @return the expectation itself for chaining
+	 *
+	 * @see Double#isFinite(double)
+	 */
+	public DoubleArrayExpectation allFinite(String message) {
+		
+		if(isInert()) {
+			return this;
+		}
+		int first = (pool == null) ?
+		            firstNonFinite(my, 0, my.length) :
+		            inParallel(0, (from, to) -> firstNonFinite(my, from, to));
+		if(fails("allFinite", first < 0)) {
+			fail(message,
+			     "Expected " + describe() + " to",
+			     "have all elements finite"
+			     + Offenders.describe(first, my.length,
+			                          i -> !Double.isFinite(my[i]),
+			                          this::element)
+			     + '.'
+			);
+		}
+		return this;
+	}
+	
+	
+	/**
+	 * Checks whether all elements are close to {@code expected}
+	 * with a maximum distance of {@code delta}.
+	 *
+	 * @param expected the expected value to which the elements should be close
+	 * @param delta    the maximum distance an element can have
+	 *
+	 * @return the expectation itself for chaining
+	 *
+	 * @see chaij.DoubleExpectation#closeTo(double, double)
+	 */
+	public DoubleArrayExpectation allCloseTo(double expected, double delta) {
+		
+		return allCloseTo(expected, delta, null);
+	}
+	
+	
+	/**
+	 * Checks whether all elements are close to {@code expected}
+	 * with a maximum distance of {@code delta} with a custom message.
+	 *
+	 * @param expected the expected value to which the elements should be close
+	 * @param delta    the maximum distance an element can have
+	 * @param message  a custom message specifically for this check
+	 *
+	 * @return the expectation itself for chaining
+	 *
+	 * @see chaij.DoubleExpectation#closeTo(double, double)
+	 */
+	public DoubleArrayExpectation allCloseTo(double expected, double delta, String message) {
+		
+		if(isInert()) {
+			return this;
+		}
+		int first = (pool == null) ?
+		            firstFar(my, 0, my.length, expected, delta) :
+		            inParallel(0, (from, to) -> firstFar(my, from, to, expected, delta));
+		if(fails("allCloseTo", first < 0)) {
+			fail(message,
+			     "Expected " + describe() + " to",
+			     "have all elements close to " + expected + " with a delta of " + delta
+			     + Offenders.describe(first, my.length,
+			                          i -> !(Math.abs(my[i] - expected) <= delta),
+			                          this::element)
+			     + '.'
+			);
+		}
+		return this;
+	}
+	
+	
+	/**
+	 * Checks whether the array has the same length as {@code expected}
+	 * and every element is close to the one at the same index in
+	 * {@code expected}, with a maximum distance of {@code delta}.
+	 *
+	 * @param expected the expected values to which the elements should be close
+	 * @param delta    the maximum distance two elements can have
+	 *
+	 * @return the expectation itself for chaining
+	 *
+	 * @see chaij.DoubleExpectation#closeTo(double, double)
+	 */
+	public DoubleArrayExpectation elementwiseCloseTo(double[] expected, double delta) {
+		
+		return elementwiseCloseTo(expected, delta, null);
+	}
+	
+	
+	/**
+	 * Checks whether the array has the same length as {@code expected}
+	 * and every element is close to the one at the same index in
+	 * {@code expected}, with a maximum distance of {@code delta}
+	 * with a custom message.
+	 *
+	 * <p>
+	 * If the check fails, the message also names the element
+	 * that is furthest away.
+	 *
+	 * @param expected the expected values to which the elements should be close
+	 * @param delta    the maximum distance two elements can have
+	 * @param message  a custom message specifically for this check
+	 *
+	 * @return the expectation itself for chaining
+	 *
+	 * @see chaij.DoubleExpectation#closeTo(double, double)
+	 */
+	public DoubleArrayExpectation elementwiseCloseTo(double[] expected, double delta, String message) {
+		
+		if(isInert()) {
+			return this;
+		}
+		boolean sameLength = my.length == expected.length;
+		int first = !sameLength ? -1 :
+		            (pool == null) ?
+		            firstApart(my, expected, 0, my.length, delta) :
+		            inParallel(0, (from, to) -> firstApart(my, expected, from, to, delta));
+		if(fails("elementwiseCloseTo", sameLength && (first < 0))) {
+			fail(message,
+			     "Expected " + describe() + " to",
+			     "be element-wise close to double[" + expected.length + "] with a delta of " + delta
+			     + (sameLength ?
+			        Offenders.describe(first, my.length,
+			                           i -> !(Math.abs(my[i] - expected[i]) <= delta),
+			                           i -> my[i] + " instead of " + expected[i])
+			        + furthest(expected, first) :
+			        "; the lengths differ")
+			     + '.'
+			);
+		}
+		return this;
+	}
+	
+	
+	/**
+	 * Describes the element that is furthest away from the expected one,
+	 * for the message of {@link #elementwiseCloseTo(double[], double, String)}.
+	 *
+	 * @param expected the expected values, of the same length
+	 * @param first    the index of the first element that is too far away,
+	 *                 or a negative value if there is none
+	 *
+	 * @return the description, starting with {@code "; "}, or an
+	 * empty string if no element is too far away
+	 */
+	private String furthest(double[] expected, int first) {
+		
+		if(first < 0) {
+			return "";
+		}
+		int furthest = first;
+		double distance = Math.abs(my[first] - expected[first]);
+		// A NaN distance is as far away as it gets.
+		//noinspection FloatingPointEquality
+		for(int i = first + 1; (i < my.length) && (distance == distance); ++i) {
+			double d = Math.abs(my[i] - expected[i]);
+			if(!(d <= distance)) {
+				furthest = i;
+				distance = d;
+			}
+		}
+		return "; the largest distance is " + distance + " at [" + furthest + ']';
+	}
+	
+	
+	/**
+	 * Checks whether all elements satisfy the given {@code predicate}.
+	 *
+	 * @param predicate the predicate to check the elements with
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public DoubleArrayExpectation allSatisfy(DoublePredicate predicate) {
+		
+		return allSatisfy(predicate, null);
+	}
+	
+	
+	/**
+	 * Checks whether all elements satisfy the given {@code predicate}
+	 * with a custom message.
+	 *
+	 * <p>
+	 * The predicate is called again for the offending elements in order to
+	 * describe them, and it must be thread-safe for {@link #parallel()} checks.
+	 *
+	 * @param predicate the predicate to check the elements with
+	 * @param message   a custom message specifically for this check
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public DoubleArrayExpectation allSatisfy(DoublePredicate predicate, String message) {
+		
+		if(isInert()) {
+			return this;
+		}
+		int first = (pool == null) ?
+		            firstUnsatisfied(my, 0, my.length, predicate) :
+		            inParallel(0, (from, to) -> firstUnsatisfied(my, from, to, predicate));
+		if(fails("allSatisfy", first < 0)) {
+			fail(message,
+			     "Expected " + describe() + " to",
+			     "have all elements satisfy a custom predicate"
+			     + Offenders.describe(first, my.length,
+			                          i -> !predicate.test(my[i]),
+			                          this::element)
+			     + '.'
+			);
+		}
+		return this;
+	}
+	
+	
+	/**
+	 * Finds the first element in the range that is not within {@code min} and {@code max},
+	 * including {@link Double#NaN}.
+	 *
+	 * @param a    the array
+	 * @param from the first index, inclusive
+	 * @param to   the last index, exclusive
+	 * @param min  the minimum value
+	 * @param max  the maximum value
+	 *
+	 * @return the index, or {@code -1} if there is none
+	 */
+	static int firstOutside(double[] a, int from, int to, double min, double max) {
+		
+		for(int i = from; i < to; ++i) {
+			double v = a[i];
+			if(!((min <= v) && (v <= max))) {
+				return i;
+			}
+		}
+		return -1;
+	}
+	
+	
+	/**
+	 * Finds the first element in the range that is not above {@code bound},
+	 * including {@link Double#NaN}.
+	 *
+	 * @param a     the array
+	 * @param from  the first index, inclusive
+	 * @param to    the last index, exclusive
+	 * @param bound the bound
+	 *
+	 * @return the index, or {@code -1} if there is none
+	 */
+	static int firstNotAbove(double[] a, int from, int to, double bound) {
+		
+		for(int i = from; i < to; ++i) {
+			if(!(a[i] > bound)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+	
+	
+	/**
+	 * Finds the first element in the range that is not below {@code bound},
+	 * including {@link Double#NaN}.
+	 *
+	 * @param a     the array
+	 * @param from  the first index, inclusive
+	 * @param to    the last index, exclusive
+	 * @param bound the bound
+	 *
+	 * @return the index, or {@code -1} if there is none
+	 */
+	static int firstNotBelow(double[] a, int from, int to, double bound) {
+		
+		for(int i = from; i < to; ++i) {
+			if(!(a[i] < bound)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+	
+	
+	/**
+	 * Finds the first element in the range that is smaller than the one before it,
+	 * in the order of {@link java.lang.Double#compare(double, double)}.
+	 *
+	 * @param a    the array
+	 * @param from the first index, inclusive, at least {@code 1}
+	 * @param to   the last index, exclusive
+	 *
+	 * @return the index, or {@code -1} if there is none
+	 */
+	static int firstDescent(double[] a, int from, int to) {
+		
+		for(int i = from; i < to; ++i) {
+			if(Double.compare(a[i - 1], a[i]) > 0) {
+				return i;
+			}
+		}
+		return -1;
+	}
+	
+	
+	/**
+	 * Finds the first element in the range that is {@link Double#NaN}.
+	 *
+	 * @param a    the array
+	 * @param from the first index, inclusive
+	 * @param to   the last index, exclusive
+	 *
+	 * @return the index, or {@code -1} if there is none
+	 */
+	static int firstNaN(double[] a, int from, int to) {
+		
+		for(int i = from; i < to; ++i) {
+			double v = a[i];
+			//noinspection FloatingPointEquality
+			if(v != v) {
+				return i;
+			}
+		}
+		return -1;
+	}
+	
+	
+	/**
+	 * Finds the first element in the range that is not finite.
+	 *
+	 * @param a    the array
+	 * @param from the first index, inclusive
+	 * @param to   the last index, exclusive
+	 *
+	 * @return the index, or {@code -1} if there is none
+	 */
+	static int firstNonFinite(double[] a, int from, int to) {
+		
+		for(int i = from; i < to; ++i) {
+			double v = a[i];
+			// Infinity - Infinity and NaN - NaN both are NaN.
+			//noinspection FloatingPointEquality
+			if((v - v) != 0.0) {
+				return i;
+			}
+		}
+		return -1;
+	}
+	
+	
+	/**
+	 * Finds the first element in the range that is further than {@code delta}
+	 * away from {@code expected}.
+	 *
+	 * @param a        the array
+	 * @param from     the first index, inclusive
+	 * @param to       the last index, exclusive
+	 * @param expected the expected value
+	 * @param delta    the maximum distance
+	 *
+	 * @return the index, or {@code -1} if there is none
+	 */
+	static int firstFar(double[] a, int from, int to, double expected, double delta) {
+		
+		for(int i = from; i < to; ++i) {
+			if(!(Math.abs(a[i] - expected) <= delta)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+	
+	
+	/**
+	 * Finds the first element in the range that is further than {@code delta}
+	 * away from the element at the same index of {@code b}.
+	 *
+	 * @param a     the array
+	 * @param b     the expected values, at least as long as {@code to}
+	 * @param from  the first index, inclusive
+	 * @param to    the last index, exclusive
+	 * @param delta the maximum distance
+	 *
+	 * @return the index, or {@code -1} if there is none
+	 */
+	static int firstApart(double[] a, double[] b, int from, int to, double delta) {
+		
+		for(int i = from; i < to; ++i) {
+			if(!(Math.abs(a[i] - b[i]) <= delta)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+	
+	
+	/**
+	 * Finds the first element in the range that does not satisfy {@code predicate}.
+	 *
+	 * @param a         the array
+	 * @param from      the first index, inclusive
+	 * @param to        the last index, exclusive
+	 * @param predicate the predicate
+	 *
+	 * @return the index, or {@code -1} if there is none
+	 */
+	static int firstUnsatisfied(double[] a, int from, int to, DoublePredicate predicate) {
+		
+		for(int i = from; i < to; ++i) {
+			if(!predicate.test(a[i])) {
+				return i;
+			}
+		}
+		return -1;
+	}
+	
+	
+	/**
+	 * Searches the whole array from {@code from} on in parallel,
+	 * after {@link #parallel(ForkJoinPool, int)} has been called.
+	 *
+	 * @param from   the first index, inclusive
+	 * @param search the sequential search for a part of the array
+	 *
+	 * @return the lowest offending index, or {@code -1} if there is none
+	 */
+	private int inParallel(int from, ParallelScan.RangeSearch search) {
+		
+		return ParallelScan.first(pool, threshold, from, my.length, search);
+	}
+	
+	
+	/**
+	 * Describes the array for the messages, without listing all of its elements.
+	 *
+	 * @return the description
+	 */
+	private String describe() {
+		
+		return "double[" + my.length + ']';
+	}
+	
+	
+	/**
+	 * Describes a single element for the messages.
+	 *
+	 * @param index the index of the element
+	 *
+	 * @return the description
+	 */
+	private String element(int index) {
+		
+		return Double.toString(my[index]);
+	}
+	
+	
+	@Override
+	public String toString() {
+		
+		return String.format("DoubleArrayExpectation(length=%d, customText=%s)",
+		                     my.length, customText
+		);
+	}
+}
@@ -18,7 +18,7 @@ import java.util.function.DoublePredicate;
  */
 public final class DoubleExpectation extends BaseExpectation<DoubleExpectation> {
 	
-	private final double my;
+	private double my;
 	
 	
 	/**
@@ -39,6 +39,23 @@ public final class DoubleExpectation extends BaseExpectation<DoubleExpectation>
 	}
 	
 	
+	/**
+	 * Reuses this expectation for a new value, as done
+	 * by {@link chaij.ExpectationRecycling}.
+	 *
+	 * @param value the {@code double} that is used for all further operations
+	 * @param s     an optional custom expectation message.
+	 *
+	 * @return the expectation itself
+	 */
+	DoubleExpectation reuse(double value, String s) {
+		
+		recycle(s);
+		my = value;
+		return this;
+	}
+	
+	
 	/**
 	 * Checks whether the {@code double} is finite, i.e. a real number
 	 * and neither {@link Double#POSITIVE_INFINITY},
@@ -68,11 +85,13 @@ public final class DoubleExpectation extends BaseExpectation<DoubleExpectation>
 	 */
 	public DoubleExpectation finite(String message) {
 		
-		return test(Double.isFinite(my),
-		            message,
-		            "Expected " + my + " to",
-		            "be finite."
-		);
+		if(fails("finite", Double.isFinite(my))) {
+			fail(message,
+			     "Expected " + my + " to",
+			     "be finite."
+			);
+		}
+		return this;
 	}
 	
 	
@@ -105,11 +124,13 @@ public final class DoubleExpectation extends BaseExpectation<DoubleExpectation>
 	 */
 	public DoubleExpectation infinite(String message) {
 		
-		return test(Double.isInfinite(my),
-		            message,
-		            "Expected " + my + " to",
-		            "be infinite."
-		);
+		if(fails("infinite", Double.isInfinite(my))) {
+			fail(message,
+			     "Expected " + my + " to",
+			     "be infinite."
+			);
+		}
+		return this;
 	}
 	
 	
@@ -140,11 +161,13 @@ public final class DoubleExpectation extends BaseExpectation<DoubleExpectation>
 	@SuppressWarnings("InstanceMethodNamingConvention")
 	public DoubleExpectation NaN(String message) {
 		
-		return test(Double.isNaN(my),
-		            message,
-		            "Expected " + my + " to",
-		            "be NaN."
-		);
+		if(fails("NaN", Double.isNaN(my))) {
+			fail(message,
+			     "Expected " + my + " to",
+			     "be NaN."
+			);
+		}
+		return this;
 	}
 	
 	
@@ -174,11 +197,13 @@ public final class DoubleExpectation extends BaseExpectation<DoubleExpectation>
 	public DoubleExpectation equal(double expected, String message) {
 		
 		//noinspection FloatingPointEquality
-		return test(my == expected,
-		            message,
-		            "Expected " + my + " to",
-		            "equal " + expected + '.'
-		);
+		if(fails("equal", my == expected)) {
+			fail(message,
+			     "Expected " + my + " to",
+			     "equal " + expected + '.'
+			);
+		}
+		return this;
 	}
 	
 	
@@ -206,11 +231,13 @@ public final class DoubleExpectation extends BaseExpectation<DoubleExpectation>
 	 */
 	public DoubleExpectation above(double lowerBound, String message) {
 		
-		return test(my > lowerBound,
-		            message,
-		            "Expected " + my + " to",
-		            "be above " + lowerBound + '.'
-		);
+		if(fails("above", my > lowerBound)) {
+			fail(message,
+			     "Expected " + my + " to",
+			     "be above " + lowerBound + '.'
+			);
+		}
+		return this;
 	}
 	
 	
@@ -238,11 +265,13 @@ public final class DoubleExpectation extends BaseExpectation<DoubleExpectation>
 	 */
 	public DoubleExpectation least(double lowerBound, String message) {
 		
-		return test(my >= lowerBound,
-		            message,
-		            "Expected " + my + " to",
-		            "be at least " + lowerBound + '.'
-		);
+		if(fails("least", my >= lowerBound)) {
+			fail(message,
+			     "Expected " + my + " to",
+			     "be at least " + lowerBound + '.'
+			);
+		}
+		return this;
 	}
 	
 	
@@ -270,11 +299,13 @@ public final class DoubleExpectation extends BaseExpectation<DoubleExpectation>
 	 */
 	public DoubleExpectation below(double upperBound, String message) {
 		
-		return test(my < upperBound,
-		            message,
-		            "Expected " + my + " to",
-		            "be below " + upperBound + '.'
-		);
+		if(fails("below", my < upperBound)) {
+			fail(message,
+			     "Expected " + my + " to",
+			     "be below " + upperBound + '.'
+			);
+		}
+		return this;
 	}
 	
 	
@@ -302,11 +333,13 @@ public final class DoubleExpectation extends BaseExpectation<DoubleExpectation>
 	 */
 	public DoubleExpectation most(double upperBound, String message) {
 		
-		return test(my <= upperBound,
-		            message,
-		            "Expected " + my + " to",
-		            "be at most " + upperBound + '.'
-		);
+		if(fails("most", my <= upperBound)) {
+			fail(message,
+			     "Expected " + my + " to",
+			     "be at most " + upperBound + '.'
+			);
+		}
+		return this;
 	}
 	
 	
@@ -337,11 +370,13 @@ public final class DoubleExpectation extends BaseExpectation<DoubleExpectation>
 	 */
 	public DoubleExpectation within(double min, double max, String message) {
 		
-		return test((min <= my) && (my <= max),
-		            message,
-		            "Expected " + my + " to",
-		            "be within " + min + " and " + max + '.'
-		);
+		if(fails("within", (min <= my) && (my <= max))) {
+			fail(message,
+			     "Expected " + my + " to",
+			     "be within " + min + " and " + max + '.'
+			);
+		}
+		return this;
 	}
 	
 	
@@ -370,11 +405,19 @@ public final class DoubleExpectation extends BaseExpectation<DoubleExpectation>
 	 */
 	public DoubleExpectation match(DoublePredicate predicate, String message) {
 		
-		return test(predicate.test(my),
-		            message,
-		            "Expected " + my + " to",
-		            "match a custom predicate."
-		);
+		if(isInert()) {
+			return this;
+		}
+		long start = ExpectationMetrics.startTiming();
+		boolean result = predicate.test(my);
+		ExpectationMetrics.stopTiming(DoubleExpectation.class, "match", start);
+		if(fails("match", result)) {
+			fail(message,
+			     "Expected " + my + " to",
+			     "match a custom predicate."
+			);
+		}
+		return this;
 	}
 	
 	
@@ -403,11 +446,19 @@ public final class DoubleExpectation extends BaseExpectation<DoubleExpectation>
 	 */
 	public DoubleExpectation satisfy(DoublePredicate predicate, String message) {
 		
-		return test(predicate.test(my),
-		            message,
-		            "Expected " + my + " to",
-		            "satisfy a custom predicate."
-		);
+		if(isInert()) {
+			return this;
+		}
+		long start = ExpectationMetrics.startTiming();
+		boolean result = predicate.test(my);
+		ExpectationMetrics.stopTiming(DoubleExpectation.class, "satisfy", start);
+		if(fails("satisfy", result)) {
+			fail(message,
+			     "Expected " + my + " to",
+			     "satisfy a custom predicate."
+			);
+		}
+		return this;
 	}
 	
 	
@@ -438,11 +489,13 @@ public final class DoubleExpectation extends BaseExpectation<DoubleExpectation>
 	 */
 	public DoubleExpectation closeTo(double expected, double delta, String message) {
 		
-		return test(Math.abs(my - expected) <= delta,
-		            message,
-		            "Expected " + my + " to",
-		            "be close to " + expected + " with a delta of " + delta + '.'
-		);
+		if(fails("closeTo", Math.abs(my - expected) <= delta)) {
+			fail(message,
+			     "Expected " + my + " to",
+			     "be close to " + expected + " with a delta of " + delta + '.'
+			);
+		}
+		return this;
 	}
 	
 	
@@ -481,17 +534,69 @@ public final class DoubleExpectation extends BaseExpectation<DoubleExpectation>
 			//noinspection FloatingPointEquality
 			found = arr[i] == my;
 		}
-		return test(found,
-		            message,
-		            "Expected " + my + " to",
-		            "be one of " + Arrays.toString(arr) + '.'
-		);
+		if(fails("oneOf", found)) {
+			fail(message,
+			     "Expected " + my + " to",
+			     "be one of " + Arrays.toString(arr) + '.'
+			);
+		}
+		return this;
+	}
+	
+	
+	/**
+	 * Checks whether the {@code double} is part of the set.
+	 *
+	 * <p>
+	 * Build the set once with {@link chaij.DoubleSet#of(double...)} and reuse it
+	 * for many checks, each of them taking constant time.
+	 *
+	 * <p>
+	 * Contrary to {@link #oneOf(double...)}, the values are compared
+	 * bit by bit, see {@link chaij.DoubleSet}.
+	 *
+	 * @param allowed the set of the possible values
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public DoubleExpectation oneOf(DoubleSet allowed) {
+		
+		return oneOf(allowed, null);
+	}
+	
+	
+	/**
+	 * Checks whether the {@code double} is part of the set
+	 * with a custom message.
+	 *
+	 * <p>
+	 * Build the set once with {@link chaij.DoubleSet#of(double...)} and reuse it
+	 * for many checks, each of them taking constant time.
+	 *
+	 * <p>
+	 * Contrary to {@link #oneOf(double...)}, the values are compared
+	 * bit by bit, see {@link chaij.DoubleSet}.
+	 *
+	 * @param allowed the set of the possible values
+	 * @param message a custom message specifically for this check
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public DoubleExpectation oneOf(DoubleSet allowed, String message) {
+		
+		if(fails("oneOf", allowed.contains(my))) {
+			fail(message,
+			     "Expected " + my + " to",
+			     "be one of " + allowed + '.'
+			);
+		}
+		return this;
 	}
 	
 	
 	@Override
 	public String toString() {
-
+		
 		return String.format("DoubleExpectation(value=%.5f, customText=%s)",
 		                     my, customText
 		);
@@ -0,0 +1,128 @@
+package chaij;
+
+
+import java.util.Arrays;
+
+/**
+ * An immutable set of {@code double} values, meant to be built once and
+ * then passed to {@link chaij.DoubleExpectation#oneOf(DoubleSet)} many times.
+ *
+ * <p>
+ * The values are compared bit by bit, as by {@link Double#doubleToLongBits(double)}
+ * and {@link Double#equals(Object)}, and kept in a {@link chaij.LongSet} of their
+ * bits. So contrary to {@link chaij.DoubleExpectation#oneOf(double...)},
+ * {@code -0.0} and {@code 0.0} are different values, and {@link Double#NaN}
+ * can be part of the set.
+ *
+ * <p>
+ * The set is only rendered as a string once a check has failed, showing
+ * at most the first {@value #RENDERED} values.
+ *
+ * @since 0.3.1
+ */
+public final class DoubleSet {
+	
+	/**
+	 * How many values are shown at most when the set is rendered.
+	 */
+	private static final int RENDERED = 10;
+	
+	private final LongSet bits;
+	
+	/**
+	 * The distinct values in the order of {@link java.util.Arrays#sort(double[])},
+	 * for rendering the set.
+	 */
+	private final double[] values;
+	
+	private String rendered = null;
+	
+	
+	/**
+	 * Creates a set of the distinct, sorted values.
+	 *
+	 * @param bits   the bits of the values
+	 * @param values the distinct values in ascending order
+	 */
+	private DoubleSet(LongSet bits, double[] values) {
+		
+		this.bits = bits;
+		this.values = values;
+	}
+	
+	
+	/**
+	 * Creates a new set of the given values, ignoring any duplicates.
+	 *
+	 * @param values the values of the set
+	 *
+	 * @return the set
+	 */
+	public static DoubleSet of(double... values) {
+		
+		double[] sorted = values.clone();
+		Arrays.sort(sorted);
+		long[] bits = new long[sorted.length];
+		int distinct = 0;
+		for(int i = 0; i < sorted.length; ++i) {
+			long b = Double.doubleToLongBits(sorted[i]);
+			if((distinct == 0) || (b != bits[distinct - 1])) {
+				bits[distinct] = b;
+				sorted[distinct++] = sorted[i];
+			}
+		}
+		return new DoubleSet(LongSet.of(Arrays.copyOf(bits, distinct)),
+		                     Arrays.copyOf(sorted, distinct)
+		);
+	}
+	
+	
+	/**
+	 * Checks whether the value is part of this set.
+	 *
+	 * @param value the value to look up
+	 *
+	 * @return whether it is part of this set
+	 */
+	public boolean contains(double value) {
+		
+		return bits.contains(Double.doubleToLongBits(value));
+	}
+	
+	
+	/**
+	 * Returns the number of distinct values in this set.
+	 *
+	 * @return the size of this set
+	 */
+	public int size() {
+		
+		return values.length;
+	}
+	
+	
+	/**
+	 * Renders the set with at most its first {@value #RENDERED}
+	 * values in ascending order, followed by the number of all
+	 * values if there are more, e.g. {@code [1.0, 2.0, NaN]}.
+	 *
+	 * @return the rendered set
+	 */
+	@Override
+	public String toString() {
+		
+		String r = rendered;
+		if(r == null) {
+			StringBuilder sb = new StringBuilder("[");
+			int shown = Math.min(values.length, RENDERED);
+			for(int i = 0; i < shown; ++i) {
+				sb.append((i == 0) ? "" : ", ").append(values[i]);
+			}
+			if(shown < values.length) {
+				sb.append(", ... (").append(values.length).append(" values)");
+			}
+			rendered = r = sb.append(']').toString();
+		}
+		return r;
+	}
+}
@@ -0,0 +1,618 @@
+package chaij;
+
+
+import java.util.OptionalDouble;
+import java.util.PrimitiveIterator;
+import java.util.stream.DoubleStream;
+
+/**
+ * A {@link java.util.stream.DoubleStream} expectation checks all elements of a
+ * stream in a single pass, without collecting them first.
+ *
+ * <p>
+ * As a stream can only be consumed once, every check of this expectation
+ * is a terminal operation, i.e. there can only be one check per expectation.
+ * Like the checks of {@link chaij.DoubleExpectation}, {@link Double#NaN}
+ * is never within any bounds.
+ * The checks on all elements, e.g. {@link #allWithin(double, double)} or
+ * {@link #allFinite()}, stop consuming the stream at the first offending element.
+ *
+ * @since 0.3.1
+ */
+public final class DoubleStreamExpectation extends BaseExpectation<DoubleStreamExpectation> {
+	
+	private final DoubleStream my;
+	
+	
+	/**
+	 * Constructs a new DoubleStreamExpectation.
+	 *
+	 * <p>
+	 * You should not use this constructor directly, but instead get
+	 * an expectation through {@link chaij.ChaiJ#expect(java.util.stream.DoubleStream)} or
+	 * {@link chaij.ChaiJ#expect(java.util.stream.DoubleStream, java.lang.String)}
+	 *
+	 * @param stream the {@code DoubleStream} that is consumed by the check
+	 * @param s      an optional custom expectation message.
+	 */
+	DoubleStreamExpectation(DoubleStream stream, String s) {
+		
+		super(s);
+		my = stream;
+	}
+	
+	
+	/**
+	 * Checks whether all elements are within {@code min} and
+	 * {@code max}, both inclusive.
+	 *
+	 * @param min the minimum value
+	 * @param max the maximum value
+	 *
+	 * @return the expectation itself for chaining
+	 *
+	 * @see chaij.DoubleExpectation#within(double, double)
+	 */
+	public DoubleStreamExpectation allWithin(double min, double max) {
+		
+		return allWithin(min, max, null);
+	}
+	
+	
+	/**
+	 * Checks whether all elements are within {@code min} and
+	 * {@code max}, both inclusive with a custom message.
+	 *
+	 * @param min     the minimum value
+	 * @param max     the maximum value
+	 * @param message a custom message specifically for this check
+	 *
+	 * @return the expectation itself for chaining
+	 *
+	 * @see chaij.DoubleExpectation#within(double, double, String)
+	 */
+	public DoubleStreamExpectation allWithin(double min, double max, String message) {
+		
+		if(isInert()) {
+			return this;
+		}
+		PrimitiveIterator.OfDouble it = my.iterator();
+		long index = 0;
+		double offending = 0;
+		boolean found = false;
+		while(!found && it.hasNext()) {
+			offending = it.nextDouble();
+			found = !((min <= offending) && (offending <= max));
+			++index;
+		}
+		if(fails("allWithin", !found)) {
+			fail(message,
+			     "Expected DoubleStream to",
+			     "have all elements within " + min + " and " + max
+			     + offender(found, index - 1, offending) + '.'
+			);
+		}
+		return this;
+	}
+	
+	
+	/**
+	 * Checks whether all elements are above {@code lowerBound}.
+	 *
+	 * @param lowerBound the biggest value that is too small
+	 *
+	 * @return the expectation itself for chaining
+	 *
+	 * @see chaij.DoubleExpectation#above(double)
+	 */
+	public DoubleStreamExpectation allAbove(double lowerBound) {
+		
+		return allAbove(lowerBound, null);
+	}
+	
+	
+	/**
+	 * Checks whether all elements are above {@code lowerBound}
+	 * with a custom message.
+	 *
+	 * @param lowerBound the biggest value that is too small
+	 * @param message    a custom message specifically for this check
+	 *
+	 * @return the expectation itself for chaining
+	 *
+	 * @see chaij.DoubleExpectation#above(double, String)
+	 */
+	public DoubleStreamExpectation allAbove(double lowerBound, String message) {
+		
+		if(isInert()) {
+			return this;
+		}
+		PrimitiveIterator.OfDouble it = my.iterator();
+		long index = 0;
+		double offending = 0;
+		boolean found = false;
+		while(!found && it.hasNext()) {
+			offending = it.nextDouble();
+			found = !(offending > lowerBound);
+			++index;
+		}
+		if(fails("allAbove", !found)) {
+			fail(message,
+			     "Expected DoubleStream to",
+			     "have all elements above " + lowerBound
+			     + offender(found, index - 1, offending) + '.'
+			);
+		}
+		return this;
+	}
+	
+	
+	/**
+	 * Checks whether all elements are below {@code upperBound}.
+	 *
+	 * @param upperBound the smallest value that is too big
+	 *
+	 * @return the expectation itself for chaining
+	 *
+	 * @see chaij.DoubleExpectation#below(double)
+	 */
+	public DoubleStreamExpectation allBelow(double upperBound) {
+		
+		return allBelow(upperBound, null);
+	}
+	
+	
+	/**
+	 * Checks whether all elements are below {@code upperBound}
+	 * with a custom message.
+	 *
+	 * @param upperBound the smallest value that is too big
+	 * @param message    a custom message specifically for this check
+	 *
+	 * @return the expectation itself for chaining
+	 *
+	 * @see chaij.DoubleExpectation#below(double, String)
+	 */
+	public DoubleStreamExpectation allBelow(double upperBound, String message) {
+		
+		if(isInert()) {
+			return this;
+		}
+		PrimitiveIterator.OfDouble it = my.iterator();
+		long index = 0;
+		double offending = 0;
+		boolean found = false;
+		while(!found && it.hasNext()) {
+			offending = it.nextDouble();
+			found = !(offending < upperBound);
+			++index;
+		}
+		if(fails("allBelow", !found)) {
+			fail(message,
+			     "Expected DoubleStream to",
+			     "have all elements below " + upperBound
+			     + offender(found, index - 1, offending) + '.'
+			);
+		}
+		return this;
+	}
+	
+	
+	/**
+	 * Checks whether all elements are finite, i.e. real numbers
+	 * and neither {@link Double#POSITIVE_INFINITY},
+	 * {@link Double#NEGATIVE_INFINITY} nor {@link Double#NaN}.
+	 *
+	 * @return the expectation itself for chaining
+	 *
+	 * @see chaij.DoubleExpectation#finite()
+	 */
+	public DoubleStreamExpectation allFinite() {
+		
+		return allFinite(null);
+	}
+	
+	
+	/**
+	 * Checks whether all elements are finite, i.e. real numbers
+	 * and neither {@link Double#POSITIVE_INFINITY},
+	 * {@link Double#NEGATIVE_INFINITY} nor {@link Double#NaN}
+	 * with a custom message.
+	 *
+	 * @param message a custom message specifically for this check
+	 *
+	 * @return the expectation itself for chaining
+	 *
+	 * @see chaij.DoubleExpectation#finite(String)
+	 */
+	public DoubleStreamExpectation allFinite(String message) {
+		
+		if(isInert()) {
+			return this;
+		}
+		PrimitiveIterator.OfDouble it = my.iterator();
+		long index = 0;
+		double offending = 0.0;
+		boolean found = false;
+		while(!found && it.hasNext()) {
+			offending = it.nextDouble();
+			found = !Double.isFinite(offending);
+			++index;
+		}
+		if(fails("allFinite", !found)) {
+			fail(message,
+			     "Expected DoubleStream to",
+			     "have all elements finite"
+			     + offender(found, index - 1, offending) + '.'
+			);
+		}
+		return this;
+	}
+	
+	
+	/**
+	 * Checks whether none of the elements is {@link Double#NaN}.
+	 *
+	 * @return the expectation itself for chaining
+	 *
+	 * @see chaij.DoubleExpectation#NaN()
+	 */
+	public DoubleStreamExpectation noNaN() {
+		
+		return noNaN(null);
+	}
+	
+	
+	/**
+	 * Checks whether none of the elements is {@link Double#NaN}
+	 * with a custom message.
+	 *
+	 * @param message a custom message specifically for this check
+	 *
+	 * @return the expectation itself for chaining
+	 *
+	 * @see chaij.DoubleExpectation#NaN(String)
+	 */
+	public DoubleStreamExpectation noNaN(String message) {
+		
+		if(isInert()) {
+			return this;
+		}
+		PrimitiveIterator.OfDouble it = my.iterator();
+		long index = 0;
+		boolean found = false;
+		while(!found && it.hasNext()) {
+			found = Double.isNaN(it.nextDouble());
+			++index;
+		}
+		if(fails("noNaN", !found)) {
+			fail(message,
+			     "Expected DoubleStream to",
+			     "have no NaN elements"
+			     + offender(found, index - 1, Double.NaN) + '.'
+			);
+		}
+		return this;
+	}
+	
+	
+	/**
+	 * Checks whether the elements are in ascending order,
+	 * i.e. no element is smaller than the one before it.
+	 *
+	 * <p>
+	 * The order is the one of {@link java.lang.Double#compare(double, double)},
+	 * i.e. {@code -0.0} is smaller than {@code 0.0} and {@link Double#NaN}
+	 * is bigger than everything else.
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public DoubleStreamExpectation increasing() {
+		
+		return increasing(null);
+	}
+	
+	
+	/**
+	 * Checks whether the elements are in ascending order,
+	 * i.e. no element is smaller than the one before it
+	 * with a custom message.
+	 *
+	 * <p>
+	 * The order is the one of {@link java.lang.Double#compare(double, double)},
+	 * i.e. {@code -0.0} is smaller than {@code 0.0} and {@link Double#NaN}
+	 * is bigger than everything else.
+	 *
+	 * @param message a custom message specifically for this check
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public DoubleStreamExpectation increasing(String message) {
+		
+		if(isInert()) {
+			return this;
+		}
+		PrimitiveIterator.OfDouble it = my.iterator();
+		long index = 0;
+		double previous = 0.0;
+		double offending = 0;
+		boolean found = false;
+		while(!found && it.hasNext()) {
+			offending = it.nextDouble();
+			found = (index > 0) && (Double.compare(previous, offending) > 0);
+			previous = found ? previous : offending;
+			++index;
+		}
+		if(fails("increasing", !found)) {
+			fail(message,
+			     "Expected DoubleStream to",
+			     "be increasing"
+			     + offender(found, index - 1, offending + " after " + previous) + '.'
+			);
+		}
+		return this;
+	}
+	
+	
+	/**
+	 * Checks whether the elements are in descending order,
+	 * i.e. no element is bigger than the one before it.
+	 *
+	 * <p>
+	 * The order is the one of {@link java.lang.Double#compare(double, double)},
+	 * i.e. {@code -0.0} is smaller than {@code 0.0} and {@link Double#NaN}
+	 * is bigger than everything else.
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public DoubleStreamExpectation decreasing() {
+		
+		return decreasing(null);
+	}
+	
+	
+	/**
+	 * Checks whether the elements are in descending order,
+	 * i.e. no element is bigger than the one before it
+	 * with a custom message.
+	 *
+	 * <p>
+	 * The order is the one of {@link java.lang.Double#compare(double, double)},
+	 * i.e. {@code -0.0} is smaller than {@code 0.0} and {@link Double#NaN}
+	 * is bigger than everything else.
+	 *
+	 * @param message a custom message specifically for this check
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public DoubleStreamExpectation decreasing(String message) {
+		
+		if(isInert()) {
+			return this;
+		}
+		PrimitiveIterator.OfDouble it = my.iterator();
+		long index = 0;
+		double previous = 0.0;
+		double offending = 0;
+		boolean found = false;
+		while(!found && it.hasNext()) {
+			offending = it.nextDouble();
+			found = (index > 0) && (Double.compare(offending, previous) > 0);
+			previous = found ? previous : offending;
+			++index;
+		}
+		if(fails("decreasing", !found)) {
+			fail(message,
+			     "Expected DoubleStream to",
+			     "be decreasing"
+			     + offender(found, index - 1, offending + " after " + previous) + '.'
+			);
+		}
+		return this;
+	}
+	
+	
+	/**
+	 * Checks whether the stream has exactly {@code expected} elements.
+	 *
+	 * @param expected the expected number of elements
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public DoubleStreamExpectation haveCount(long expected) {
+		
+		return haveCount(expected, null);
+	}
+	
+	
+	/**
+	 * Checks whether the stream has exactly {@code expected} elements
+	 * with a custom message.
+	 *
+	 * @param expected the expected number of elements
+	 * @param message  a custom message specifically for this check
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public DoubleStreamExpectation haveCount(long expected, String message) {
+		
+		if(isInert()) {
+			return this;
+		}
+		long count = my.count();
+		if(fails("haveCount", count == expected)) {
+			fail(message,
+			     "Expected DoubleStream to",
+			     "have " + expected + " elements; it had " + count + '.'
+			);
+		}
+		return this;
+	}
+	
+	
+	/**
+	 * Checks whether the elements sum up to {@code expected}
+	 * with a maximum distance of {@code delta}.
+	 *
+	 * <p>
+	 * The sum is computed by {@link java.util.stream.DoubleStream#sum()},
+	 * which compensates for most of the rounding errors.
+	 *
+	 * @param expected the expected sum
+	 * @param delta    the maximum distance of the sum to {@code expected}
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public DoubleStreamExpectation sumTo(double expected, double delta) {
+		
+		return sumTo(expected, delta, null);
+	}
+	
+	
+	/**
+	 * Checks whether the elements sum up to {@code expected}
+	 * with a maximum distance of {@code delta} with a custom message.
+	 *
+	 * <p>
+	 * The sum is computed by {@link java.util.stream.DoubleStream#sum()},
+	 * which compensates for most of the rounding errors.
+	 *
+	 * @param expected the expected sum
+	 * @param delta    the maximum distance of the sum to {@code expected}
+	 * @param message  a custom message specifically for this check
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public DoubleStreamExpectation sumTo(double expected, double delta, String message) {
+		
+		if(isInert()) {
+			return this;
+		}
+		double sum = my.sum();
+		if(fails("sumTo", Math.abs(sum - expected) <= delta)) {
+			fail(message,
+			     "Expected DoubleStream to",
+			     "sum up to " + expected + " with a delta of " + delta
+			     + "; it summed up to " + sum + '.'
+			);
+		}
+		return this;
+	}
+	
+	
+	/**
+	 * Checks whether the smallest element is {@code expected}.
+	 *
+	 * <p>
+	 * An empty stream has no smallest element, so this always fails for it.
+	 * If any element is {@link Double#NaN}, the smallest element is {@code NaN}.
+	 *
+	 * @param expected the expected minimum
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public DoubleStreamExpectation haveMin(double expected) {
+		
+		return haveMin(expected, null);
+	}
+	
+	
+	/**
+	 * Checks whether the smallest element is {@code expected}
+	 * with a custom message.
+	 *
+	 * <p>
+	 * An empty stream has no smallest element, so this always fails for it.
+	 * If any element is {@link Double#NaN}, the smallest element is {@code NaN}.
+	 *
+	 * @param expected the expected minimum
+	 * @param message  a custom message specifically for this check
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public DoubleStreamExpectation haveMin(double expected, String message) {
+		
+		if(isInert()) {
+			return this;
+		}
+		OptionalDouble min = my.min();
+		if(fails("haveMin", min.isPresent() && (Double.compare(min.getAsDouble(), expected) == 0))) {
+			fail(message,
+			     "Expected DoubleStream to",
+			     "have a minimum of " + expected
+			     + (min.isPresent() ? "; it was " + min.getAsDouble() : "; it was empty") + '.'
+			);
+		}
+		return this;
+	}
+	
+	
+	/**
+	 * Checks whether the biggest element is {@code expected}.
+	 *
+	 * <p>
+	 * An empty stream has no biggest element, so this always fails for it.
+	 * If any element is {@link Double#NaN}, the biggest element is {@code NaN}.
+	 *
+	 * @param expected the expected maximum
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public DoubleStreamExpectation haveMax(double expected) {
+		
+		return haveMax(expected, null);
+	}
+	
+	
+	/**
+	 * Checks whether the biggest element is {@code expected}
+	 * with a custom message.
+	 *
+	 * <p>
+	 * An empty stream has no biggest element, so this always fails for it.
+	 * If any element is {@link Double#NaN}, the biggest element is {@code NaN}.
+	 *
+	 * @param expected the expected maximum
+	 * @param message  a custom message specifically for this check
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public DoubleStreamExpectation haveMax(double expected, String message) {
+		
+		if(isInert()) {
+			return this;
+		}
+		OptionalDouble max = my.max();
+		if(fails("haveMax", max.isPresent() && (Double.compare(max.getAsDouble(), expected) == 0))) {
+			fail(message,
+			     "Expected DoubleStream to",
+			     "have a maximum of " + expected
+			     + (max.isPresent() ? "; it was " + max.getAsDouble() : "; it was empty") + '.'
+			);
+		}
+		return this;
+	}
+	
+	
+	/**
+	 * Describes the first offending element for the messages.
+	 *
+	 * @param found   whether there was an offending element
+	 * @param index   the index of the offending element
+	 * @param element the description of the offending element
+	 *
+	 * @return the description, starting with {@code "; "}, or an
+	 * empty string if there was no offending element
+	 */
+	private static String offender(boolean found, long index, Object element) {
+		
+		return found ? "; the element [" + index + "]=" + element + " violates it" : "";
+	}
+	
+	
+	@Override
+	public String toString() {
+		
+		return String.format("DoubleStreamExpectation(customText=%s)", customText);
+	}
+}
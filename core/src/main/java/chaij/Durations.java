@@ -0,0 +1,77 @@
+package chaij;
+
+
+import java.math.BigDecimal;
+import java.util.Locale;
+
+/**
+ * Formats measured durations and percentiles for the messages of the measuring expectations.
+ *
+ * @since 0.3.1
+ */
+final class Durations {
+	
+	/**
+	 * Don't instantiate.
+	 *
+	 * @throws java.lang.IllegalAccessException ....don't instantiate it.
+	 */
+	private Durations()
+			throws IllegalAccessException {
+		
+		throw new IllegalAccessException("Don't!");
+	}
+	
+	
+	/**
+	 * Formats a duration with three significant digits in the
+	 * biggest unit that keeps it at least 1, e.g. {@code 850ns},
+	 * {@code 12.3us} or {@code 1.50s}.
+	 *
+	 * @param nanos the duration in nanoseconds
+	 *
+	 * @return the formatted duration
+	 */
+	static String format(long nanos) {
+		
+		long abs = Math.abs(nanos);
+		if(abs < 1_000L) {
+			return nanos + "ns";
+		} else if(abs < 1_000_000L) {
+			return scaled(nanos / 1e3) + "us";
+		} else if(abs < 1_000_000_000L) {
+			return scaled(nanos / 1e6) + "ms";
+		} else {
+			return scaled(nanos / 1e9) + 's';
+		}
+	}
+	
+	
+	/**
+	 * Names a percentile, e.g. {@code the median}, {@code p99} or {@code p99.9}.
+	 *
+	 * @param percentile the percentile
+	 *
+	 * @return the name
+	 */
+	static String percentile(double percentile) {
+		
+		return (percentile == 50) ?
+		       "the median" :
+		       'p' + BigDecimal.valueOf(percentile).stripTrailingZeros().toPlainString();
+	}
+	
+	
+	/**
+	 * Rounds a value between 1 and 1000 to three significant digits.
+	 *
+	 * @param value the value
+	 *
+	 * @return the rounded value
+	 */
+	private static String scaled(double value) {
+		
+		double abs = Math.abs(value);
+		return String.format(Locale.ROOT, (abs < 10) ? "%.2f" : (abs < 100) ? "%.1f" : "%.0f", value);
+	}
+}
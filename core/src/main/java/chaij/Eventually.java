@@ -0,0 +1,136 @@
+package chaij;
+
+
+import chaij.function.UnreliableRunnable;
+
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+
+/**
+ * Retries a block of expectations until it passes, for
+ * {@link chaij.ChaiJ#eventually(java.time.Duration, UnreliableRunnable)}.
+ *
+ * <p>
+ * The waits between the attempts start short and double up to a maximum, so that
+ * a block that passes quickly is not held up, and one that takes a while does not
+ * burn the CPU. If a monitored value is given, it is read during the waits, and any
+ * change of it ends the wait early and starts over with the shortest one, as the
+ * state the block checks has most likely changed as well. Reading a value is far
+ * cheaper than running the block, so it is read a few times per wait.
+ *
+ * @since 0.3.1
+ */
+final class Eventually {
+	
+	/**
+	 * The first wait between two attempts in nanoseconds.
+	 */
+	private static final long INITIAL_BACKOFF = 100_000L;
+	
+	/**
+	 * The longest wait between two attempts in nanoseconds.
+	 */
+	private static final long MAX_BACKOFF = 100_000_000L;
+	
+	/**
+	 * How many times the monitored value is read per wait.
+	 */
+	private static final int READS_PER_WAIT = 8;
+	
+	
+	/**
+	 * Don't instantiate.
+	 *
+	 * @throws java.lang.IllegalAccessException ....don't instantiate it.
+	 */
+	private Eventually()
+			throws IllegalAccessException {
+		
+		throw new IllegalAccessException("Don't!");
+	}
+	
+	
+	/**
+	 * Runs the block until it passes, or reports its last failure once
+	 * the timeout has passed or the current thread is interrupted.
+	 * While all expectations are {@linkplain chaij.ChaiJ#isDisabled() disabled},
+	 * the block is not run at all.
+	 *
+	 * @param timeoutNanos how long to retry in nanoseconds
+	 * @param monitor      the value that ends a wait early when it changes,
+	 *                     or {@code null}
+	 * @param block        the expectations to retry
+	 *
+	 * @throws chaij.WrappedCheckedException if the block throws a checked exception.
+	 */
+	static void retry(long timeoutNanos, LongSupplier monitor, UnreliableRunnable block) {
+		
+		if(ChaiJ.DISABLED) {
+			return;
+		}
+		long deadline = System.nanoTime() + timeoutNanos;
+		long backoff = INITIAL_BACKOFF;
+		while(true) {
+			long seen = (monitor == null) ? 0 : monitor.getAsLong();
+			UnmetExpectationException failure = attempt(block);
+			if(failure == null) {
+				return;
+			}
+			long left = deadline - System.nanoTime();
+			if((left <= 0) || Thread.currentThread().isInterrupted()) {
+				ExceptionReporter.reportException(failure);
+				return;
+			}
+			backoff = pause(Math.min(backoff, left), monitor, seen) ?
+			          INITIAL_BACKOFF :
+			          Math.min(backoff << 1, MAX_BACKOFF);
+		}
+	}
+	
+	
+	/**
+	 * Runs the block once, with its failures thrown right away.
+	 *
+	 * @param block the expectations
+	 *
+	 * @return the first failure of the block, or {@code null} if it passed
+	 *
+	 * @throws chaij.WrappedCheckedException if the block throws a checked exception.
+	 */
+	private static UnmetExpectationException attempt(UnreliableRunnable block) {
+		
+		try {
+			ExceptionReporter.runThrowing(block);
+			return null;
+		} catch (UnmetExpectationException e) {
+			return e;
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable t) {
+			throw new WrappedCheckedException(t);
+		}
+	}
+	
+	
+	/**
+	 * Waits between two attempts.
+	 *
+	 * @param nanos   how long to wait
+	 * @param monitor the value that ends the wait early when it changes, or {@code null}
+	 * @param seen    the monitored value before the last attempt
+	 *
+	 * @return whether the wait ended early, because the monitored value changed
+	 */
+	private static boolean pause(long nanos, LongSupplier monitor, long seen) {
+		
+		long end = System.nanoTime() + nanos;
+		long slice = (monitor == null) ? nanos : Math.max(nanos / READS_PER_WAIT, 1);
+		for(long left = nanos; (left > 0) && !Thread.currentThread().isInterrupted(); left = end - System.nanoTime()) {
+			LockSupport.parkNanos(Math.min(slice, left));
+			if((monitor != null) && (monitor.getAsLong() != seen)) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
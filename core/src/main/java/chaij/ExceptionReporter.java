@@ -3,20 +3,48 @@ package chaij;
 
 import chaij.function.UnreliableRunnable;
 
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 
 /**
  * This utility class enables the usage of multiple exceptions in one unit test.
  *
+ * <p>
+ * By default, all failures of a run are kept in memory until the end. For huge
+ * data-driven runs, {@link #runMultipleAndReport(int, int, UnreliableRunnable)}
+ * limits how many of them are retained and can abort the run after too many.
+ * The defaults for these limits can also be set through the
+ * {@code chaij.maxRetainedFailures} and {@code chaij.abortAfterFailures}
+ * system properties. To keep all failures of such a run nonetheless, e.g. on the disk,
+ * pass them on to a {@link chaij.FailureSink} with
+ * {@link #runMultipleAndReport(int, int, FailureSink, UnreliableRunnable)}.
+ *
+ * <p>
+ * Asynchronous checks, e.g. of a {@link chaij.StageExpectation}, are only decided
+ * once what they check completes, on another thread. Their failures are reported
+ * to the thread that made them once it {@linkplain #awaitAsync() waits} for them,
+ * which {@link #runMultipleAndReport(UnreliableRunnable)} and
+ * {@link #runSingleAndReport(UnreliableRunnable)} do on their own at the end,
+ * for the checks made within them only.
+ *
  * @since 0.0.1
  */
 public final class ExceptionReporter {
 	
-	private static final ThreadLocal<Boolean>
-			USE_MULTIPLE = ThreadLocal.withInitial(() -> Boolean.FALSE);
+	/**
+	 * Use this as a limit for {@link #runMultipleAndReport(int, int, UnreliableRunnable)}
+	 * to not limit the failures at all.
+	 */
+	public static final int UNLIMITED = Integer.MAX_VALUE;
 	
-	private static final ThreadLocal<List<ChaiJException>>
-			EXCEPTIONS = ThreadLocal.withInitial(LinkedList::new);
+	private static final int DEFAULT_MAX_RETAINED =
+			Integer.getInteger("chaij.maxRetainedFailures", UNLIMITED);
+	
+	private static final int DEFAULT_ABORT_AFTER =
+			Integer.getInteger("chaij.abortAfterFailures", UNLIMITED);
 	
 	
 	/**
@@ -32,40 +60,41 @@ public final class ExceptionReporter {
 	
 	
 	/**
-	 * Enables the catching of multiple
-	 * {@link chaij.ChaiJException ChaiJExceptions}.
+	 * Restores the state of the current thread from before a run.
+	 *
+	 * @param enclosing       the collector of an enclosing run, or {@code null}
+	 * @param enclosingChecks the asynchronous checks made before the run, or {@code null}
 	 */
-	private static void enableMultiple() {
+	private static void restore(FailureCollector enclosing, PendingChecks enclosingChecks) {
 		
-		USE_MULTIPLE.set(Boolean.TRUE);
+		ReportingContext context = ReportingContext.obtain();
+		context.collector = enclosing;
+		context.pending = enclosingChecks;
+		context.releaseIfIdle();
 	}
 	
 	
 	/**
-	 * Resets the multiplicity state and checks for any caught exceptions.
+	 * Returns the collector of the run the current thread is in.
 	 *
-	 * <p>
-	 * If there was no exception, nothing will be thrown.
-	 *
-	 * <p>
-	 * If there was one {@link chaij.UnmetExpectationException}, this method rethrows it.
+	 * @return the collector, or {@code null} if the failures are thrown right away
+	 */
+	static FailureCollector currentCollector() {
+		
+		ReportingContext context = ReportingContext.current();
+		return (context == null) ? null : context.collector;
+	}
+	
+	
+	/**
+	 * Creates a collector with the limits of the {@code chaij.maxRetainedFailures}
+	 * and {@code chaij.abortAfterFailures} system properties.
 	 *
-	 * <p>
-	 * If there were two or more exceptions, they will be wrapped
-	 * inside a {@link MultipleException} exception.
-	 */
-	private static void resetAndVerify() {
-		
-		USE_MULTIPLE.set(Boolean.FALSE);
-		List<ChaiJException> errors = EXCEPTIONS.get();
-		EXCEPTIONS.remove();
-		if(!errors.isEmpty()) {
-			if(errors.size() == 1) {
-				throw errors.get(0);
-			} else {
-				throw new MultipleException(errors);
-			}
-		}
+	 * @return the collector
+	 */
+	static FailureCollector defaultCollector() {
+		
+		return new FailureCollector(DEFAULT_MAX_RETAINED, DEFAULT_ABORT_AFTER);
 	}
 	
 	
@@ -73,6 +102,11 @@ public final class ExceptionReporter {
 	 * Reports an exception, either caching or rethrowing the exception
 	 * based on the current multiplicity for the thread.
 	 *
+	 * <p>
+	 * If this exception reaches the abort threshold of the current
+	 * {@link #runMultipleAndReport(int, int, UnreliableRunnable)}, the code
+	 * under test is aborted by an exception that unwinds it up to there.
+	 *
 	 * @param e the exception that occurred, either an
 	 *          {@link chaij.UnmetExpectationException} or a
 	 *          {@link chaij.WrappedCheckedException}
@@ -80,8 +114,9 @@ public final class ExceptionReporter {
 	public static void reportException(ChaiJException e) {
 		
 		Objects.requireNonNull(e);
-		if(USE_MULTIPLE.get().booleanValue()) {
-			EXCEPTIONS.get().add(e);
+		ReportingContext context = ReportingContext.current();
+		if((context != null) && (context.collector != null)) {
+			context.collector.add(e);
 		} else {
 			throw e;
 		}
@@ -91,17 +126,401 @@ public final class ExceptionReporter {
 	/**
 	 * Runs the given code safely while expecting multiple reported exceptions.
 	 *
+	 * <p>
+	 * The limits for the failures are taken from the {@code chaij.maxRetainedFailures}
+	 * and {@code chaij.abortAfterFailures} system properties, if they are set.
+	 *
 	 * @param r the runnable that may also throw any exceptions.
 	 */
 	public static void runMultipleAndReport(UnreliableRunnable r) {
 		
-		enableMultiple();
+		runMultipleAndReport(DEFAULT_MAX_RETAINED, DEFAULT_ABORT_AFTER, r);
+	}
+	
+	
+	/**
+	 * Runs the given code safely while expecting multiple reported exceptions,
+	 * keeping the memory used for them bounded.
+	 *
+	 * <p>
+	 * Only the first {@code maxRetained} failures are kept for the final
+	 * {@link MultipleException}, the remaining ones are only counted. Once
+	 * {@code abortAfter} failures have been reported, the code under test is
+	 * aborted and the failures up to then are reported.
+	 *
+	 * @param maxRetained how many failures are kept for the final report,
+	 *                    or {@link #UNLIMITED}
+	 * @param abortAfter  after how many failures the code is aborted,
+	 *                    or {@link #UNLIMITED}
+	 * @param r           the runnable that may also throw any exceptions.
+	 *
+	 * @throws java.lang.IllegalArgumentException if either limit is not positive
+	 */
+	public static void runMultipleAndReport(int maxRetained, int abortAfter, UnreliableRunnable r) {
+		
+		FailureCollector collector = new FailureCollector(maxRetained, abortAfter);
+		runCollecting(collector, r);
+		collector.verify();
+	}
+	
+	
+	/**
+	 * Runs the given code safely while expecting multiple reported exceptions,
+	 * passing every failure on to a sink as it happens.
+	 *
+	 * <p>
+	 * Only the first {@code maxRetained} failures are kept in memory for the final
+	 * {@link MultipleException}, as a summary of what the sink has received. The sink
+	 * is {@linkplain FailureSink#flush() flushed} at the end of the run, but not closed,
+	 * so that it can be shared by several runs.
+	 *
+	 * <pre>
+	 * try(JsonLinesFailureSink sink = JsonLinesFailureSink.open(Paths.get("failures.jsonl"))) {
+	 *     runMultipleAndReport(10, UNLIMITED, sink, () -&gt; {
+	 *         for(Row row : rows) {
+	 *             expect(row.amount).to.be.above(0);
+	 *         }
+	 *     });
+	 * }
+	 * </pre>
+	 *
+	 * @param maxRetained how many failures are kept for the final report,
+	 *                    or {@link #UNLIMITED}
+	 * @param abortAfter  after how many failures the code is aborted,
+	 *                    or {@link #UNLIMITED}
+	 * @param sink        the sink for every failure
+	 * @param r           the runnable that may also throw any exceptions.
+	 *
+	 * @throws java.lang.IllegalArgumentException if either limit is not positive
+	 * @see #runMultipleAndReport(int, int, UnreliableRunnable)
+	 * @since 0.3.1
+	 */
+	public static void runMultipleAndReport(int maxRetained, int abortAfter, FailureSink sink, UnreliableRunnable r) {
+		
+		FailureCollector collector = new FailureCollector(maxRetained, abortAfter, Objects.requireNonNull(sink));
+		runCollecting(collector, r);
+		sink.flush();
+		collector.verify();
+	}
+	
+	
+	/**
+	 * Runs the given code with every failure thrown right away, even within
+	 * {@link #runMultipleAndReport(UnreliableRunnable)}, and then
+	 * {@linkplain #awaitAsync() waits} for its asynchronous checks
+	 * and reports their failures, as a test that expects a single failure needs.
+	 *
+	 * <p>
+	 * Only the asynchronous checks of the code itself are awaited, the ones
+	 * the current thread has made before are restored afterwards, as is its mode.
+	 * If the code throws, its asynchronous checks are dropped.
+	 *
+	 * @param r the runnable that may also throw any exceptions.
+	 *
+	 * @throws java.lang.Throwable whatever the code throws, including the
+	 *                             first failed expectation
+	 * @since 0.3.1
+	 */
+	public static void runSingleAndReport(UnreliableRunnable r)
+			throws Throwable {
+		
+		ReportingContext context = ReportingContext.obtain();
+		FailureCollector enclosing = context.collector;
+		PendingChecks enclosingChecks = context.pending;
+		context.collector = null;
+		context.pending = null;
+		try {
+			r.run();
+			awaitAsync();
+		} finally {
+			restore(enclosing, enclosingChecks);
+		}
+	}
+	
+	
+	/**
+	 * Runs the given code with all its failures, including any unexpected
+	 * exception and its asynchronous checks, reported to the given collector.
+	 * The mode of the current thread and the asynchronous checks it has made
+	 * before are restored afterwards.
+	 *
+	 * @param collector the collector of the run
+	 * @param r         the runnable that may also throw any exceptions.
+	 */
+	static void runCollecting(FailureCollector collector, UnreliableRunnable r) {
+		
+		if(ReportingContext.bindsScope()) {
+			ReportingContext.runScoped(() -> runCollecting(collector, r));
+			return;
+		}
+		ReportingContext context = ReportingContext.obtain();
+		FailureCollector enclosing = context.collector;
+		PendingChecks enclosingChecks = context.pending;
+		context.collector = collector;
+		context.pending = null;
 		try {
 			r.run();
+		} catch (FailureCollector.Aborted aborted) {
+			// The failures up to here have already been collected.
 		} catch (Throwable t) {
-			reportException(new WrappedCheckedException(t));
+			try {
+				reportException(new WrappedCheckedException(t));
+			} catch (FailureCollector.Aborted aborted) {
+				// The unexpected exception was the last one allowed.
+			}
+		}
+		try {
+			awaitAsync();
+		} catch (FailureCollector.Aborted aborted) {
+			// The failures up to the abort threshold have been collected.
+		} finally {
+			restore(enclosing, enclosingChecks);
+		}
+	}
+	
+	
+	/**
+	 * Runs the given code with every failure thrown right away, even within
+	 * {@link #runMultipleAndReport(UnreliableRunnable)}, e.g. to retry the
+	 * code until it passes without collecting the failures of every attempt.
+	 * The mode of the current thread is restored afterwards.
+	 *
+	 * @param r the runnable that may also throw any exceptions.
+	 *
+	 * @throws java.lang.Throwable whatever the code throws, including the
+	 *                             first failed expectation
+	 */
+	static void runThrowing(UnreliableRunnable r)
+			throws Throwable {
+		
+		ReportingContext context = ReportingContext.current();
+		FailureCollector collector = (context == null) ? null : context.collector;
+		if(collector == null) {
+			r.run();
+			return;
+		}
+		context.collector = null;
+		try {
+			r.run();
+		} finally {
+			context.collector = collector;
+		}
+	}
+	
+	
+	/**
+	 * Wraps a task so that its failures are reported to the run of
+	 * {@link #runMultipleAndReport(UnreliableRunnable)} that the current
+	 * thread is in, no matter which thread runs the task later on.
+	 *
+	 * <p>
+	 * Any exception the task throws is reported as a {@link chaij.WrappedCheckedException}
+	 * as well, instead of being lost on a worker thread. The task has to finish
+	 * before the run ends for its failures to be part of the report, so wait for
+	 * it, or use an {@link chaij.ExpectationScope} which does so on its own.
+	 *
+	 * <p>
+	 * Outside of a run, the task is returned as is.
+	 *
+	 * @param task the task to wrap
+	 *
+	 * @return the wrapped task
+	 *
+	 * @since 0.3.1
+	 */
+	public static Runnable propagating(Runnable task) {
+		
+		Objects.requireNonNull(task);
+		FailureCollector collector = currentCollector();
+		if(collector == null) {
+			return task;
+		}
+		return () -> runCollecting(collector, task::run);
+	}
+	
+	
+	/**
+	 * Wraps a task so that its failed expectations are reported to the run of
+	 * {@link #runMultipleAndReport(UnreliableRunnable)} that the current thread
+	 * is in, no matter which thread runs the task later on.
+	 *
+	 * <p>
+	 * Contrary to {@link #propagating(Runnable)}, any other exception the
+	 * task throws is passed on as is, e.g. to complete its {@link java.util.concurrent.Future}.
+	 *
+	 * <p>
+	 * Outside of a run, the task is returned as is.
+	 *
+	 * @param task the task to wrap
+	 * @param <V>  the type of the result of the task
+	 *
+	 * @return the wrapped task
+	 *
+	 * @since 0.3.1
+	 */
+	public static <V> Callable<V> propagating(Callable<V> task) {
+		
+		Objects.requireNonNull(task);
+		FailureCollector collector = currentCollector();
+		if(collector == null) {
+			return task;
+		}
+		return new Callable<V>() {
+			@Override
+			public V call()
+					throws Exception {
+				
+				if(ReportingContext.bindsScope()) {
+					return ReportingContext.callScoped(this);
+				}
+				ReportingContext context = ReportingContext.obtain();
+				FailureCollector enclosing = context.collector;
+				PendingChecks enclosingChecks = context.pending;
+				context.collector = collector;
+				context.pending = null;
+				try {
+					try {
+						return task.call();
+					} finally {
+						awaitAsync();
+					}
+				} finally {
+					restore(enclosing, enclosingChecks);
+				}
+			}
+		};
+	}
+	
+	
+	/**
+	 * Wraps an executor so that every task it is given {@linkplain #propagating(Runnable)
+	 * reports its failures} to the run of the thread that has given it the task.
+	 *
+	 * @param executor the executor to wrap
+	 *
+	 * @return the wrapped executor
+	 *
+	 * @since 0.3.1
+	 */
+	public static Executor propagating(Executor executor) {
+		
+		Objects.requireNonNull(executor);
+		return task -> executor.execute(propagating(task));
+	}
+	
+	
+	/**
+	 * Wraps an executor service so that every task it is given reports its failures
+	 * to the run of the thread that has given it the task, see {@link #propagating(Runnable)}
+	 * and {@link #propagating(Callable)}.
+	 *
+	 * <p>
+	 * Shutting down the wrapped service shuts down the given one.
+	 *
+	 * @param executor the executor service to wrap
+	 *
+	 * @return the wrapped executor service
+	 *
+	 * @since 0.3.1
+	 */
+	public static ExecutorService propagating(ExecutorService executor) {
+		
+		return new PropagatingExecutorService(Objects.requireNonNull(executor));
+	}
+	
+	
+	/**
+	 * Waits until all asynchronous checks that the current thread has made
+	 * have been decided, and reports their failures.
+	 *
+	 * <p>
+	 * Within {@link #runMultipleAndReport(UnreliableRunnable)}, the failures are
+	 * collected with all others, which it does on its own at the end. Otherwise,
+	 * a single failure is thrown as is, and several ones together as a
+	 * {@link MultipleException}.
+	 *
+	 * <p>
+	 * This waits as long as it takes, so give the checks a deadline, e.g.
+	 * with {@link chaij.StageExpectation#completeWithin(Duration)}, or use
+	 * {@link #awaitAsync(Duration)}.
+	 *
+	 * @since 0.3.1
+	 */
+	public static void awaitAsync() {
+		
+		awaitAsync(-1);
+	}
+	
+	
+	/**
+	 * Waits until all asynchronous checks that the current thread has made
+	 * have been decided, or the timeout has passed, and reports their failures.
+	 *
+	 * <p>
+	 * Any checks that are still pending after the timeout are reported as one more failure.
+	 *
+	 * @param timeout how long to wait at most
+	 *
+	 * @see #awaitAsync()
+	 * @since 0.3.1
+	 */
+	public static void awaitAsync(Duration timeout) {
+		
+		awaitAsync(Math.max(timeout.toNanos(), 0));
+	}
+	
+	
+	/**
+	 * Waits for the asynchronous checks of the current thread and reports their failures.
+	 *
+	 * @param timeoutNanos how long to wait at most, or a negative value to wait
+	 *                     as long as it takes
+	 */
+	private static void awaitAsync(long timeoutNanos) {
+		
+		ReportingContext context = ReportingContext.current();
+		PendingChecks checks = (context == null) ? null : context.pending;
+		if(checks == null) {
+			return;
+		}
+		context.pending = null;
+		context.releaseIfIdle();
+		int left = checks.await(timeoutNanos);
+		List<ChaiJException> failures = checks.failures();
+		if(left > 0) {
+			failures.add(new UnmetExpectationException(
+					((left == 1) ? "1 asynchronous check was" : left + " asynchronous checks were")
+					+ ((timeoutNanos < 0) ?
+					   " still pending when waiting for them was interrupted." :
+					   " still pending after " + Durations.format(timeoutNanos) + '.')
+			));
+		}
+		if(context.collector != null) {
+			for(ChaiJException failure : failures) {
+				reportException(failure);
+			}
+		} else {
+			FailureCollector collector = new FailureCollector(UNLIMITED, UNLIMITED);
+			for(ChaiJException failure : failures) {
+				collector.add(failure);
+			}
+			collector.verify();
+		}
+	}
+	
+	
+	/**
+	 * Returns the asynchronous checks of the current thread, to register another one.
+	 *
+	 * @return the checks
+	 */
+	static PendingChecks pendingChecks() {
+		
+		ReportingContext context = ReportingContext.obtain();
+		if(context.pending == null) {
+			context.pending = new PendingChecks();
 		}
-		resetAndVerify();
+		return context.pending;
 	}
 	
 	
@@ -114,6 +533,10 @@ public final class ExceptionReporter {
 		
 		private final Collection<? extends Throwable> errors;
 		
+		private final long dropped;
+		
+		private final boolean aborted;
+		
 		
 		/**
 		 * Constructs a new exception. You probably shouldn't use this directly.
@@ -122,14 +545,73 @@ public final class ExceptionReporter {
 		 */
 		public MultipleException(Collection<? extends Throwable> errors) {
 			
+			this(errors, 0, false);
+		}
+		
+		
+		/**
+		 * Constructs a new exception. You probably shouldn't use this directly.
+		 *
+		 * @param errors  the exceptions that were retained!
+		 * @param dropped how many more exceptions there were, but were not retained
+		 * @param aborted whether the code under test was aborted because of too many exceptions
+		 */
+		public MultipleException(Collection<? extends Throwable> errors, long dropped, boolean aborted) {
+			
 			this.errors = new ArrayList<>(errors);
+			this.dropped = dropped;
+			this.aborted = aborted;
+		}
+		
+		
+		/**
+		 * Returns the exceptions that were retained.
+		 *
+		 * @return an unmodifiable view of the exceptions
+		 */
+		public Collection<? extends Throwable> getErrors() {
+			
+			return Collections.unmodifiableCollection(errors);
+		}
+		
+		
+		/**
+		 * Returns how many exceptions were not retained.
+		 *
+		 * @return the number of dropped exceptions
+		 */
+		public long getDroppedCount() {
+			
+			return dropped;
+		}
+		
+		
+		/**
+		 * Returns whether the code under test was aborted
+		 * after reaching the maximum number of exceptions.
+		 *
+		 * @return whether it was aborted
+		 */
+		public boolean isAborted() {
+			
+			return aborted;
 		}
 		
 		
 		@Override
 		public String getMessage() {
 			
-			StringBuilder sb = new StringBuilder(String.format("There were %d errors:", errors.size()));
+			StringBuilder sb = new StringBuilder(String.format("There were %d errors", errors.size() + dropped));
+			if(aborted) {
+				sb.append(", aborted after the last one");
+			}
+			if(dropped > 0) {
+				sb.append((errors.size() == 1) ?
+				          ", only the first failure is shown" :
+				          String.format(", only the first %d are shown", errors.size())
+				);
+			}
+			sb.append(':');
 			return errors.stream().map(error -> {
 				Throwable cause = error.getCause();
 				return (cause != null) ?
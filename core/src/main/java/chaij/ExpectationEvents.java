@@ -0,0 +1,180 @@
+package chaij;
+
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Emits the JDK Flight Recorder events of ChaiJ, {@code chaij.ExpectationFailure} for every
+ * failed check and {@code chaij.SlowPredicate} for every evaluation of the predicate of
+ * {@code satisfy} or {@code match} that takes at least {@code chaij.jfr.slowPredicateMillis}
+ * milliseconds, 10 by default.
+ *
+ * <p>
+ * As ChaiJ itself still targets Java 8, on which the Flight Recorder is optional, the
+ * event classes are only loaded reflectively, by {@code chaij.FlightRecorderEvents},
+ * if the Flight Recorder is available. That class is compiled from {@code src/main/jfr},
+ * and only if the JDK of the build has the {@code jdk.jfr} API. That keeps the current {@link Recorder} up to
+ * date as recordings start and stop, so while none of the events are enabled,
+ * all that a check pays is reading a single {@code volatile} field.
+ *
+ * @since 0.3.1
+ */
+final class ExpectationEvents {
+	
+	/**
+	 * How long an evaluation of a predicate has to take to be recorded as slow.
+	 */
+	static final long SLOW_PREDICATE_NANOS =
+			TimeUnit.MILLISECONDS.toNanos(Long.getLong("chaij.jfr.slowPredicateMillis", 10));
+	
+	/**
+	 * Records the events, or {@code null} while none of them are enabled.
+	 */
+	private static volatile Recorder recorder = null;
+	
+	static {
+		try {
+			Class.forName("chaij.FlightRecorderEvents", true, ExpectationEvents.class.getClassLoader());
+		} catch (ReflectiveOperationException | LinkageError e) {
+			// No Flight Recorder, no events.
+		}
+	}
+	
+	
+	/**
+	 * Don't instantiate.
+	 *
+	 * @throws java.lang.IllegalAccessException ....don't instantiate it.
+	 */
+	private ExpectationEvents()
+			throws IllegalAccessException {
+		
+		throw new IllegalAccessException("Don't!");
+	}
+	
+	
+	/**
+	 * Replaces the current recorder, whenever a recording starts or stops.
+	 *
+	 * @param current the recorder, or {@code null} if none of the events are enabled
+	 */
+	static void use(Recorder current) {
+		
+		recorder = current;
+	}
+	
+	
+	/**
+	 * Returns whether failures are being recorded, so that the call site
+	 * of a failure is only looked up if it is.
+	 *
+	 * @return whether they are recorded
+	 */
+	static boolean recordsFailures() {
+		
+		Recorder current = recorder;
+		return (current != null) && current.recordsFailures();
+	}
+	
+	
+	/**
+	 * Returns whether slow predicates are being recorded, so that
+	 * the predicates are only timed if they are.
+	 *
+	 * @return whether they are recorded
+	 */
+	static boolean recordsSlowPredicates() {
+		
+		Recorder current = recorder;
+		return (current != null) && current.recordsSlowPredicates();
+	}
+	
+	
+	/**
+	 * Records a failed check, if failures are being recorded.
+	 *
+	 * @param expectation the class of the expectation
+	 * @param expected    the part of the message describing what was expected
+	 * @param negated     whether the check was negated
+	 * @param message     the message of the failure
+	 * @param callSite    the frame that called the check, or {@code null}
+	 */
+	static void failed(Class<?> expectation,
+	                   String expected,
+	                   boolean negated,
+	                   String message,
+	                   StackTraceElement callSite) {
+		
+		Recorder current = recorder;
+		if((current != null) && current.recordsFailures()) {
+			current.failure(expectation, expected, negated, message, callSite);
+		}
+	}
+	
+	
+	/**
+	 * Records an evaluation of a predicate if it was slow
+	 * and slow predicates are being recorded.
+	 *
+	 * @param expectation the class of the expectation
+	 * @param check       the name of the check
+	 * @param nanos       how long the evaluation took
+	 */
+	static void evaluated(Class<?> expectation, String check, long nanos) {
+		
+		if(nanos >= SLOW_PREDICATE_NANOS) {
+			Recorder current = recorder;
+			if((current != null) && current.recordsSlowPredicates()) {
+				current.slowPredicate(expectation, check, nanos);
+			}
+		}
+	}
+	
+	
+	/**
+	 * Records the events that are currently enabled.
+	 */
+	interface Recorder {
+		
+		/**
+		 * Returns whether failures are recorded.
+		 *
+		 * @return whether they are recorded
+		 */
+		boolean recordsFailures();
+		
+		
+		/**
+		 * Returns whether slow predicates are recorded.
+		 *
+		 * @return whether they are recorded
+		 */
+		boolean recordsSlowPredicates();
+		
+		
+		/**
+		 * Records a failed check.
+		 *
+		 * @param expectation the class of the expectation
+		 * @param expected    the part of the message describing what was expected
+		 * @param negated     whether the check was negated
+		 * @param message     the message of the failure
+		 * @param callSite    the frame that called the check, or {@code null}
+		 */
+		void failure(Class<?> expectation,
+		             String expected,
+		             boolean negated,
+		             String message,
+		             StackTraceElement callSite);
+		
+		
+		/**
+		 * Records a slow evaluation of a predicate.
+		 *
+		 * @param expectation the class of the expectation
+		 * @param check       the name of the check
+		 * @param nanos       how long the evaluation took
+		 */
+		void slowPredicate(Class<?> expectation, String check, long nanos);
+	}
+}
@@ -0,0 +1,306 @@
+package chaij;
+
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts how often every check of every expectation class is evaluated and how
+ * often it fails, e.g. {@code IntExpectation.within}, to tell how many checks
+ * a suite or the invariant checks of an application actually execute.
+ *
+ * <p>
+ * The metrics are disabled by default, and are enabled with the {@code chaij.metrics}
+ * system property. The switch is a {@code static final} field, which the JIT treats
+ * as a constant, so while the metrics are disabled, a compiled check does exactly
+ * the same work as without them, and the names of the checks are unused constants.
+ * Only an interpreted check pays one more read of a field.
+ *
+ * <p>
+ * While the metrics are enabled, every check looks up its counters by the class
+ * of its expectation and its name, and increments striped
+ * {@link java.util.concurrent.atomic.LongAdder LongAdders}, so that threads checking
+ * at the same time do not contend on a single counter. The time spent in the
+ * predicates of {@code satisfy} and {@code match} is only measured if the
+ * {@code chaij.metrics.timingInterval} system property is set, for one in that many
+ * evaluations at random. The metrics are also published as an
+ * {@link chaij.ExpectationMetricsMXBean} under {@value #OBJECT_NAME}.
+ *
+ * @since 0.3.1
+ */
+public final class ExpectationMetrics {
+	
+	/**
+	 * The name of the {@link chaij.ExpectationMetricsMXBean} in the platform MBean server.
+	 */
+	public static final String OBJECT_NAME = "chaij:type=ExpectationMetrics";
+	
+	/**
+	 * The name of the checks that have not been named, see {@link chaij.BaseExpectation#fails(boolean)}.
+	 */
+	public static final String UNNAMED = "(unnamed)";
+	
+	/**
+	 * Whether the metrics are enabled, by the {@code chaij.metrics} system property.
+	 */
+	static final boolean ENABLED = Boolean.getBoolean("chaij.metrics");
+	
+	/**
+	 * Measures the time of one in this many evaluations of a predicate,
+	 * or none at all if it is not positive.
+	 */
+	private static final int TIMING_INTERVAL = Integer.getInteger("chaij.metrics.timingInterval", 0);
+	
+	/**
+	 * Marks an evaluation whose time is not measured.
+	 */
+	private static final long NOT_TIMED = Long.MIN_VALUE;
+	
+	/**
+	 * The counters of all checks that have been evaluated, in the order
+	 * their expectation classes have been seen first. They only know the
+	 * names of these classes, so that they don't keep their class loaders alive.
+	 */
+	private static final Queue<Checks> ALL = new ConcurrentLinkedQueue<>();
+	
+	private static final ClassValue<Checks> CHECKS = new ClassValue<Checks>() {
+		@Override
+		protected Checks computeValue(Class<?> type) {
+			
+			Checks checks = new Checks(type.getName());
+			ALL.add(checks);
+			return checks;
+		}
+	};
+	
+	static {
+		if(ENABLED) {
+			try {
+				ManagementFactory.getPlatformMBeanServer()
+				                 .registerMBean(new Bean(), new ObjectName(OBJECT_NAME));
+			} catch (JMException e) {
+				// Another copy of ChaiJ has already registered its metrics.
+			}
+		}
+	}
+	
+	
+	/**
+	 * Don't instantiate.
+	 *
+	 * @throws java.lang.IllegalAccessException ....don't instantiate it.
+	 */
+	private ExpectationMetrics()
+			throws IllegalAccessException {
+		
+		throw new IllegalAccessException("Don't!");
+	}
+	
+	
+	/**
+	 * Returns whether the metrics are enabled, by the {@code chaij.metrics} system property.
+	 *
+	 * @return whether they are enabled
+	 */
+	public static boolean isEnabled() {
+		
+		return ENABLED;
+	}
+	
+	
+	/**
+	 * Returns the metrics of all checks that have been evaluated so far,
+	 * sorted by the names of their expectations and checks.
+	 *
+	 * <p>
+	 * The counters are read one after the other while the checks go on,
+	 * so the snapshot is not atomic.
+	 *
+	 * @return the metrics, which are empty if the metrics are disabled
+	 */
+	public static List<CheckMetrics> snapshot() {
+		
+		List<CheckMetrics> metrics = new ArrayList<>();
+		for(Checks checks : ALL) {
+			for(Map.Entry<String, Counters> entry : checks.byName.entrySet()) {
+				Counters counters = entry.getValue();
+				metrics.add(new CheckMetrics(checks.type, entry.getKey(),
+				                             counters.evaluations.sum(), counters.failures.sum(),
+				                             counters.timed.sum(), counters.timedNanos.sum()
+				));
+			}
+		}
+		metrics.sort(Comparator.comparing(CheckMetrics::getExpectation).thenComparing(CheckMetrics::getCheck));
+		return metrics;
+	}
+	
+	
+	/**
+	 * Resets the counters of all checks to zero.
+	 */
+	public static void reset() {
+		
+		for(Checks checks : ALL) {
+			for(Counters counters : checks.byName.values()) {
+				counters.evaluations.reset();
+				counters.failures.reset();
+				counters.timed.reset();
+				counters.timedNanos.reset();
+			}
+		}
+	}
+	
+	
+	/**
+	 * Counts an evaluation of a check.
+	 *
+	 * @param type   the class of the expectation
+	 * @param check  the name of the check
+	 * @param failed whether the check has failed
+	 */
+	static void record(Class<?> type, String check, boolean failed) {
+		
+		Counters counters = CHECKS.get(type).counters(check);
+		counters.evaluations.increment();
+		if(failed) {
+			counters.failures.increment();
+		}
+	}
+	
+	
+	/**
+	 * Starts measuring the time of an evaluation of a predicate, if it is sampled
+	 * for the metrics or slow predicates are recorded by the Flight Recorder,
+	 * see {@link chaij.ExpectationEvents}.
+	 *
+	 * @return the start time, to be passed to {@link #stopTiming(Class, String, long)}
+	 */
+	static long startTiming() {
+		
+		if(ENABLED && (TIMING_INTERVAL > 0) && (ThreadLocalRandom.current().nextInt(TIMING_INTERVAL) == 0)) {
+			return System.nanoTime();
+		}
+		return ExpectationEvents.recordsSlowPredicates() ? System.nanoTime() : NOT_TIMED;
+	}
+	
+	
+	/**
+	 * Stops measuring the time of an evaluation of a predicate, if it is measured.
+	 *
+	 * <p>
+	 * While slow predicates are recorded, every evaluation is measured, and counted
+	 * in the metrics as well, so only the average time of the timed evaluations
+	 * is meaningful, not their number.
+	 *
+	 * @param type  the class of the expectation
+	 * @param check the name of the check
+	 * @param start the result of {@link #startTiming()}
+	 */
+	static void stopTiming(Class<?> type, String check, long start) {
+		
+		if(start != NOT_TIMED) {
+			long elapsed = System.nanoTime() - start;
+			if(ENABLED) {
+				Counters counters = CHECKS.get(type).counters(check);
+				counters.timed.increment();
+				counters.timedNanos.add(elapsed);
+			}
+			ExpectationEvents.evaluated(type, check, elapsed);
+		}
+	}
+	
+	
+	/**
+	 * The counters of all checks of one expectation class.
+	 */
+	private static final class Checks {
+		
+		final String type;
+		
+		final ConcurrentHashMap<String, Counters> byName = new ConcurrentHashMap<>();
+		
+		
+		/**
+		 * Creates the counters for an expectation class.
+		 *
+		 * @param type the name of the class of the expectation
+		 */
+		Checks(String type) {
+			
+			this.type = type;
+		}
+		
+		
+		/**
+		 * Returns the counters of a check, creating them if needed.
+		 *
+		 * @param check the name of the check
+		 *
+		 * @return the counters
+		 */
+		Counters counters(String check) {
+			
+			Counters counters = byName.get(check);
+			return (counters != null) ? counters : byName.computeIfAbsent(check, name -> new Counters());
+		}
+	}
+	
+	
+	/**
+	 * The counters of a single check.
+	 */
+	private static final class Counters {
+		
+		final LongAdder evaluations = new LongAdder();
+		
+		final LongAdder failures = new LongAdder();
+		
+		final LongAdder timed = new LongAdder();
+		
+		final LongAdder timedNanos = new LongAdder();
+	}
+	
+	
+	/**
+	 * Publishes the metrics over JMX.
+	 */
+	private static final class Bean implements ExpectationMetricsMXBean {
+		
+		@Override
+		public long getEvaluations() {
+			
+			return snapshot().stream().mapToLong(CheckMetrics::getEvaluations).sum();
+		}
+		
+		
+		@Override
+		public long getFailures() {
+			
+			return snapshot().stream().mapToLong(CheckMetrics::getFailures).sum();
+		}
+		
+		
+		@Override
+		public CheckMetrics[] getChecks() {
+			
+			return snapshot().toArray(new CheckMetrics[0]);
+		}
+		
+		
+		@Override
+		public void reset() {
+			
+			ExpectationMetrics.reset();
+		}
+	}
+}
@@ -0,0 +1,40 @@
+package chaij;
+
+
+/**
+ * Publishes the {@link chaij.ExpectationMetrics} over JMX, under
+ * {@value chaij.ExpectationMetrics#OBJECT_NAME}.
+ *
+ * @since 0.3.1
+ */
+public interface ExpectationMetricsMXBean {
+	
+	/**
+	 * Returns how often all checks have been evaluated.
+	 *
+	 * @return the number of evaluations
+	 */
+	long getEvaluations();
+	
+	
+	/**
+	 * Returns how often all checks have failed.
+	 *
+	 * @return the number of failures
+	 */
+	long getFailures();
+	
+	
+	/**
+	 * Returns the metrics of every single check.
+	 *
+	 * @return the metrics, see {@link chaij.ExpectationMetrics#snapshot()}
+	 */
+	CheckMetrics[] getChecks();
+	
+	
+	/**
+	 * Resets the counters of all checks to zero.
+	 */
+	void reset();
+}
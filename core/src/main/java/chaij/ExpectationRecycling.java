@@ -0,0 +1,272 @@
+package chaij;
+
+
+import chaij.function.UnreliableRunnable;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This utility class enables the reuse of expectations for tight verification loops.
+ *
+ * <p>
+ * Inside of {@link #runRecycled(UnreliableRunnable)}, the primitive
+ * {@code expect} methods of {@link chaij.ChaiJ} do not allocate a new
+ * expectation on every call, but hand out one of a few expectations that
+ * are kept per thread, with the value, the custom text and the
+ * {@linkplain BaseExpectation#not() not} flag reset.
+ *
+ * <pre>
+ * ExpectationRecycling.runRecycled(() -&gt; {
+ *     for(int row : rows) {
+ *         expect(row).to.be.within(0, limit); // No allocation here.
+ *     }
+ * });
+ * </pre>
+ *
+ * <p>
+ * This only works as long as an expectation is not used anymore once
+ * the next expectation has been requested, i.e. it must never be stored
+ * in a variable or a field for later use. Any expectation that has been
+ * handed out before the latest {@code expect} call of the thread is retired,
+ * and using it throws an {@link java.lang.IllegalStateException}.
+ *
+ * <p>
+ * A retired expectation is only handed out again if it had been checked
+ * before it was retired and has not been used since. An expectation that is
+ * stored before any check, or that is used after it was retired, is never
+ * handed out again, so it keeps throwing instead of silently checking another
+ * value. Only an expectation that is checked, stored, and then not touched until
+ * it has been handed out again cannot be told apart from its new user.
+ *
+ * @since 0.3.1
+ */
+public final class ExpectationRecycling {
+	
+	/**
+	 * How many expectations are kept per type and thread. Must be a power of two.
+	 */
+	private static final int SLOTS = 4;
+	
+	private static final AtomicInteger ACTIVE_THREADS = new AtomicInteger();
+	
+	private static final ThreadLocal<Recycler> RECYCLER = new ThreadLocal<>();
+	
+	
+	/**
+	 * Don't instantiate.
+	 *
+	 * @throws java.lang.IllegalAccessException ....don't instantiate it.
+	 */
+	private ExpectationRecycling()
+			throws IllegalAccessException {
+		
+		throw new IllegalAccessException("Don't!");
+	}
+	
+	
+	/**
+	 * Runs the given code with recycled expectations for the current thread.
+	 *
+	 * <p>
+	 * Calls can be nested, the expectations are only released once the
+	 * outermost call ends.
+	 *
+	 * @param r the runnable that may also throw any exceptions.
+	 *
+	 * @throws chaij.WrappedCheckedException if {@code r} throws a checked exception.
+	 */
+	public static void runRecycled(UnreliableRunnable r) {
+		
+		Recycler recycler = RECYCLER.get();
+		boolean outermost = recycler == null;
+		if(outermost) {
+			recycler = new Recycler();
+			RECYCLER.set(recycler);
+			ACTIVE_THREADS.incrementAndGet();
+		}
+		try {
+			r.run();
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable t) {
+			throw new WrappedCheckedException(t);
+		} finally {
+			if(outermost) {
+				recycler.retireLast();
+				RECYCLER.remove();
+				ACTIVE_THREADS.decrementAndGet();
+			}
+		}
+	}
+	
+	
+	/**
+	 * Checks whether the current thread is running inside of
+	 * {@link #runRecycled(UnreliableRunnable)}.
+	 *
+	 * @return whether expectations are currently recycled
+	 */
+	public static boolean isActive() {
+		
+		return current() != null;
+	}
+	
+	
+	/**
+	 * Returns the recycler of the current thread.
+	 *
+	 * <p>
+	 * As long as no thread uses recycling at all, this does
+	 * not even look at the thread local.
+	 *
+	 * @return the recycler, or {@code null} if the current
+	 * thread does not recycle its expectations.
+	 */
+	static Recycler current() {
+		
+		return (ACTIVE_THREADS.get() == 0) ? null : RECYCLER.get();
+	}
+	
+	
+	/**
+	 * Holds the recycled expectations of one thread.
+	 */
+	static final class Recycler {
+		
+		private final IntExpectation[] ints = new IntExpectation[SLOTS];
+		
+		private final LongExpectation[] longs = new LongExpectation[SLOTS];
+		
+		private final DoubleExpectation[] doubles = new DoubleExpectation[SLOTS];
+		
+		private final BooleanExpectation[] booleans = new BooleanExpectation[SLOTS];
+		
+		private int nextInt = 0;
+		
+		private int nextLong = 0;
+		
+		private int nextDouble = 0;
+		
+		private int nextBoolean = 0;
+		
+		private BaseExpectation<?> last = null;
+		
+		
+		/**
+		 * Hands out a recycled int expectation.
+		 *
+		 * @param value   the int value that is tested in this expectation
+		 * @param message the custom message, or {@code null}
+		 *
+		 * @return the expectation
+		 */
+		IntExpectation ofInt(int value, String message) {
+			
+			int slot = nextInt;
+			nextInt = (slot + 1) & (SLOTS - 1);
+			IntExpectation expectation = ints[slot];
+			if((expectation != null) && expectation.isReusable()) {
+				expectation.reuse(value, message);
+			} else {
+				expectation = ints[slot] = new IntExpectation(value, message);
+			}
+			return issue(expectation);
+		}
+		
+		
+		/**
+		 * Hands out a recycled long expectation.
+		 *
+		 * @param value   the long value that is tested in this expectation
+		 * @param message the custom message, or {@code null}
+		 *
+		 * @return the expectation
+		 */
+		LongExpectation ofLong(long value, String message) {
+			
+			int slot = nextLong;
+			nextLong = (slot + 1) & (SLOTS - 1);
+			LongExpectation expectation = longs[slot];
+			if((expectation != null) && expectation.isReusable()) {
+				expectation.reuse(value, message);
+			} else {
+				expectation = longs[slot] = new LongExpectation(value, message);
+			}
+			return issue(expectation);
+		}
+		
+		
+		/**
+		 * Hands out a recycled double expectation.
+		 *
+		 * @param value   the double value that is tested in this expectation
+		 * @param message the custom message, or {@code null}
+		 *
+		 * @return the expectation
+		 */
+		DoubleExpectation ofDouble(double value, String message) {
+			
+			int slot = nextDouble;
+			nextDouble = (slot + 1) & (SLOTS - 1);
+			DoubleExpectation expectation = doubles[slot];
+			if((expectation != null) && expectation.isReusable()) {
+				expectation.reuse(value, message);
+			} else {
+				expectation = doubles[slot] = new DoubleExpectation(value, message);
+			}
+			return issue(expectation);
+		}
+		
+		
+		/**
+		 * Hands out a recycled boolean expectation.
+		 *
+		 * @param value   the boolean value that is tested in this expectation
+		 * @param message the custom message, or {@code null}
+		 *
+		 * @return the expectation
+		 */
+		BooleanExpectation ofBoolean(boolean value, String message) {
+			
+			int slot = nextBoolean;
+			nextBoolean = (slot + 1) & (SLOTS - 1);
+			BooleanExpectation expectation = booleans[slot];
+			if((expectation != null) && expectation.isReusable()) {
+				expectation.reuse(value, message);
+			} else {
+				expectation = booleans[slot] = new BooleanExpectation(value, message);
+			}
+			return issue(expectation);
+		}
+		
+		
+		/**
+		 * Retires the previously handed out expectation, so that
+		 * any retained reference to it fails loudly.
+		 *
+		 * @param expectation the expectation that is handed out next
+		 * @param <E>         the type of the expectation
+		 *
+		 * @return the expectation
+		 */
+		private <E extends BaseExpectation<E>> E issue(E expectation) {
+			
+			retireLast();
+			expectation.handOut();
+			last = expectation;
+			return expectation;
+		}
+		
+		
+		/**
+		 * Retires the expectation that has been handed out last.
+		 */
+		void retireLast() {
+			
+			if(last != null) {
+				last.retire();
+				last = null;
+			}
+		}
+	}
+}
@@ -0,0 +1,227 @@
+package chaij;
+
+
+import chaij.function.UnreliableRunnable;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A scope for expectations on other threads, which forks tasks and waits for
+ * all of them when it is closed, in the style of structured concurrency.
+ *
+ * <pre>
+ * try(ExpectationScope scope = ExpectationScope.open()) {
+ *     for(Shard shard : shards) {
+ *         scope.fork(() -&gt; expect(shard.size()).to.be.below(limit));
+ *     }
+ * }
+ * </pre>
+ *
+ * <p>
+ * The failures of the forked tasks, including any exception they throw, are
+ * reported to the run of {@link chaij.ExceptionReporter#runMultipleAndReport}
+ * that the opening thread is in, see {@link chaij.ExceptionReporter#propagating(Runnable)}.
+ * Outside of a run, the scope collects them on its own and reports them once
+ * it is closed, a single failure as is, and several ones together as a
+ * {@link chaij.ExceptionReporter.MultipleException}.
+ *
+ * @since 0.3.1
+ */
+public final class ExpectationScope implements AutoCloseable {
+	
+	/**
+	 * Creates a daemon thread for every task by default.
+	 */
+	private static final ThreadFactory DAEMONS = runnable -> {
+		Thread thread = new Thread(runnable, "chaij-scope");
+		thread.setDaemon(true);
+		return thread;
+	};
+	
+	private final Executor executor;
+	
+	private final FailureCollector collector;
+	
+	/**
+	 * Whether the collector belongs to this scope, instead of an enclosing run.
+	 */
+	private final boolean owned;
+	
+	private final Thread owner;
+	
+	/**
+	 * The number of forked tasks that are still running, plus one
+	 * for the scope itself until it is closed.
+	 */
+	private final AtomicInteger running = new AtomicInteger(1);
+	
+	private boolean closed = false;
+	
+	
+	/**
+	 * Creates a new scope.
+	 *
+	 * @param executor the executor for the forked tasks
+	 */
+	private ExpectationScope(Executor executor) {
+		
+		FailureCollector current = ExceptionReporter.currentCollector();
+		this.executor = executor;
+		this.owned = current == null;
+		this.collector = owned ? ExceptionReporter.defaultCollector() : current;
+		this.owner = Thread.currentThread();
+	}
+	
+	
+	/**
+	 * Opens a new scope which forks every task on a new daemon thread.
+	 *
+	 * @return the scope
+	 */
+	public static ExpectationScope open() {
+		
+		return open(DAEMONS);
+	}
+	
+	
+	/**
+	 * Opens a new scope which forks every task on a new thread of the given
+	 * factory, e.g. on a virtual thread.
+	 *
+	 * @param factory the factory for the threads
+	 *
+	 * @return the scope
+	 */
+	public static ExpectationScope open(ThreadFactory factory) {
+		
+		Objects.requireNonNull(factory);
+		return new ExpectationScope(task -> factory.newThread(task).start());
+	}
+	
+	
+	/**
+	 * Opens a new scope which forks every task on the given executor.
+	 *
+	 * @param executor the executor for the forked tasks
+	 *
+	 * @return the scope
+	 */
+	public static ExpectationScope openOn(Executor executor) {
+		
+		return new ExpectationScope(Objects.requireNonNull(executor));
+	}
+	
+	
+	/**
+	 * Forks a task, which may also be done from within another forked task.
+	 *
+	 * @param task the task that may also throw any exceptions.
+	 *
+	 * @return the scope itself for chaining
+	 *
+	 * @throws java.lang.IllegalStateException if the scope has already been closed
+	 */
+	public ExpectationScope fork(UnreliableRunnable task) {
+		
+		Objects.requireNonNull(task);
+		int count;
+		do {
+			count = running.get();
+			if(count == 0) {
+				throw new IllegalStateException("The scope has already been closed");
+			}
+		} while(!running.compareAndSet(count, count + 1));
+		try {
+			executor.execute(() -> {
+				try {
+					ExceptionReporter.runCollecting(collector, task);
+				} finally {
+					finished();
+				}
+			});
+		} catch (RuntimeException | Error e) {
+			finished();
+			throw e;
+		}
+		return this;
+	}
+	
+	
+	/**
+	 * Counts a forked task as finished, waking up the owner after the last one.
+	 */
+	private void finished() {
+		
+		if(running.decrementAndGet() == 0) {
+			LockSupport.unpark(owner);
+		}
+	}
+	
+	
+	/**
+	 * Waits for all forked tasks to finish, and reports their failures if there is no
+	 * enclosing run of {@link chaij.ExceptionReporter#runMultipleAndReport}.
+	 *
+	 * <p>
+	 * If the current thread is interrupted, it stops waiting and keeps its interrupted
+	 * status, and the tasks that are still running are reported as one more failure.
+	 *
+	 * <p>
+	 * Closing the scope again has no effect.
+	 *
+	 * @throws java.lang.IllegalStateException if the current thread has not opened the scope
+	 */
+	@Override
+	public void close() {
+		
+		if(Thread.currentThread() != owner) {
+			throw new IllegalStateException("Only " + owner + " can close the scope");
+		}
+		if(closed) {
+			return;
+		}
+		closed = true;
+		int left = running.decrementAndGet();
+		while((left > 0) && !Thread.currentThread().isInterrupted()) {
+			LockSupport.park(this);
+			left = running.get();
+		}
+		if(owned) {
+			try {
+				stillRunning(left);
+			} catch (FailureCollector.Aborted aborted) {
+				// The failures up to the abort threshold have been collected.
+			}
+			collector.verify();
+		} else {
+			stillRunning(left);
+		}
+	}
+	
+	
+	/**
+	 * Reports the tasks that were still running when waiting for them was interrupted.
+	 *
+	 * @param left the number of tasks
+	 */
+	private void stillRunning(int left) {
+		
+		if(left > 0) {
+			collector.add(new UnmetExpectationException(
+					((left == 1) ? "1 forked task was" : left + " forked tasks were")
+					+ " still running when waiting for them was interrupted."
+			));
+		}
+	}
+	
+	
+	@Override
+	public String toString() {
+		
+		return String.format("ExpectationScope(running=%d, owned=%s)", running.get(), owned);
+	}
+}
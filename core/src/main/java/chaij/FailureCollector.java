@@ -0,0 +1,197 @@
+package chaij;
+
+
+import chaij.ExceptionReporter.MultipleException;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects the failures of one run of {@link chaij.ExceptionReporter#runMultipleAndReport},
+ * retaining at most a fixed number of them and optionally aborting the run after too many.
+ *
+ * <p>
+ * The failures may be reported by any number of threads at once, e.g. by tasks
+ * that have been {@linkplain chaij.ExceptionReporter#propagating(Runnable) propagated}
+ * into an executor. Every failure draws a sequence number, and only the ones with
+ * the lowest numbers are retained, in a lock-free queue. They are sorted by their
+ * numbers once the run is verified, so the report lists them in the order they
+ * have been reported in, no matter which thread retained them first.
+ *
+ * @since 0.3.1
+ */
+final class FailureCollector {
+	
+	private final int maxRetained;
+	
+	private final int abortAfter;
+	
+	/**
+	 * Receives every failure, or is {@code null} if only the retained ones are kept.
+	 */
+	private final FailureSink sink;
+	
+	private final Queue<Failure> retained = new ConcurrentLinkedQueue<>();
+	
+	/**
+	 * The number of failures reported so far, which is also the
+	 * sequence number of the last one.
+	 */
+	private final AtomicLong total = new AtomicLong();
+	
+	private volatile boolean aborted = false;
+	
+	
+	/**
+	 * Creates a new, empty collector.
+	 *
+	 * @param maxRetained how many failures are kept for the final report
+	 * @param abortAfter  after how many failures the run is aborted
+	 *
+	 * @throws java.lang.IllegalArgumentException if either limit is not positive
+	 */
+	FailureCollector(int maxRetained, int abortAfter) {
+		
+		this(maxRetained, abortAfter, null);
+	}
+	
+	
+	/**
+	 * Creates a new, empty collector which also passes every failure on to a sink.
+	 *
+	 * @param maxRetained how many failures are kept for the final report
+	 * @param abortAfter  after how many failures the run is aborted
+	 * @param sink        the sink for every failure, or {@code null}
+	 *
+	 * @throws java.lang.IllegalArgumentException if either limit is not positive
+	 */
+	FailureCollector(int maxRetained, int abortAfter, FailureSink sink) {
+		
+		if(maxRetained < 1) {
+			throw new IllegalArgumentException("At least one failure must be retained, got " + maxRetained);
+		}
+		if(abortAfter < 1) {
+			throw new IllegalArgumentException("Cannot abort after " + abortAfter + " failures");
+		}
+		this.maxRetained = maxRetained;
+		this.abortAfter = abortAfter;
+		this.sink = sink;
+	}
+	
+	
+	/**
+	 * Records a failure, retaining it if there is still room.
+	 *
+	 * @param e the failure
+	 *
+	 * @throws chaij.FailureCollector.Aborted if this was the failure that reached the abort
+	 *                                        threshold, or the run already has been aborted.
+	 */
+	void add(ChaiJException e) {
+		
+		if(aborted) {
+			throw Aborted.INSTANCE;
+		}
+		long sequence = total.incrementAndGet();
+		if(sequence <= maxRetained) {
+			retained.add(new Failure(sequence, e));
+		}
+		if(sink != null) {
+			sink.accept(sequence, e);
+		}
+		if(sequence >= abortAfter) {
+			aborted = true;
+			throw Aborted.INSTANCE;
+		}
+	}
+	
+	
+	/**
+	 * Checks for any collected failures.
+	 *
+	 * <p>
+	 * If there was no failure, nothing will be thrown.
+	 *
+	 * <p>
+	 * If there was exactly one failure, it is rethrown.
+	 *
+	 * <p>
+	 * If there were two or more failures, the retained ones will be wrapped
+	 * inside a {@link chaij.ExceptionReporter.MultipleException}, together
+	 * with the number of dropped ones.
+	 *
+	 * <p>
+	 * Any threads that still report failures to this collector
+	 * must have finished before it is verified.
+	 */
+	void verify() {
+		
+		long count = total.get();
+		if(count == 0) {
+			return;
+		}
+		List<Failure> sorted = new ArrayList<>(retained);
+		sorted.sort(Comparator.comparingLong(failure -> failure.sequence));
+		if(count == 1) {
+			throw sorted.get(0).exception;
+		}
+		List<ChaiJException> failures = new ArrayList<>(sorted.size());
+		for(Failure failure : sorted) {
+			failures.add(failure.exception);
+		}
+		throw new MultipleException(failures, count - failures.size(), aborted);
+	}
+	
+	
+	/**
+	 * A retained failure with its sequence number.
+	 */
+	private static final class Failure {
+		
+		final long sequence;
+		
+		final ChaiJException exception;
+		
+		
+		/**
+		 * Creates a new retained failure.
+		 *
+		 * @param sequence  the sequence number of the failure
+		 * @param exception the failure
+		 */
+		Failure(long sequence, ChaiJException exception) {
+			
+			this.sequence = sequence;
+			this.exception = exception;
+		}
+	}
+	
+	
+	/**
+	 * Thrown into the code under test to abort it once the
+	 * configured number of failures has been reached.
+	 *
+	 * <p>
+	 * It deliberately carries no stack trace, it only unwinds the stack
+	 * up to {@link chaij.ExceptionReporter#runMultipleAndReport}.
+	 */
+	static final class Aborted extends RuntimeException {
+		
+		private static final long serialVersionUID = 4411384935470329337L;
+		
+		private static final Aborted INSTANCE = new Aborted();
+		
+		
+		/**
+		 * There only is one instance.
+		 */
+		private Aborted() {
+			
+			super("Aborted after too many failed expectations", null, false, false);
+		}
+	}
+}
@@ -0,0 +1,58 @@
+package chaij;
+
+
+/**
+ * Receives every failure of a run of {@link chaij.ExceptionReporter#runMultipleAndReport(int, int, FailureSink, chaij.function.UnreliableRunnable)}
+ * as it happens, e.g. to keep it out of the heap of a huge data-driven run.
+ *
+ * <p>
+ * The run itself only keeps its first failures for the final
+ * {@link chaij.ExceptionReporter.MultipleException}, as a summary, and
+ * counts the rest. A sink sees all of them, including the ones that have
+ * not been retained, each with its sequence number within the run.
+ *
+ * <p>
+ * The failures may be reported by several threads at once, e.g. by
+ * {@linkplain chaij.ExceptionReporter#propagating(Runnable) propagated} tasks,
+ * so sinks must be safe for concurrent use. A sink can be shared by any number of
+ * runs, and it is up to whoever has created it to close it once they are done.
+ *
+ * @see chaij.InMemoryFailureSink
+ * @see chaij.JsonLinesFailureSink
+ * @since 0.3.1
+ */
+public interface FailureSink extends AutoCloseable {
+	
+	/**
+	 * Receives a failure.
+	 *
+	 * @param sequence the sequence number of the failure within its run, starting at {@code 1}
+	 * @param failure  the failure
+	 */
+	void accept(long sequence, ChaiJException failure);
+	
+	
+	/**
+	 * Passes on all failures received so far, e.g. to the disk. It may do so
+	 * asynchronously, and is called at the end of every run.
+	 *
+	 * <p>
+	 * By default, this does nothing.
+	 */
+	default void flush() {
+	
+	}
+	
+	
+	/**
+	 * Passes on all failures received so far, waiting until it is done, and releases
+	 * all resources of the sink. Closing the sink again has no effect.
+	 *
+	 * <p>
+	 * By default, this does nothing.
+	 */
+	@Override
+	default void close() {
+	
+	}
+}
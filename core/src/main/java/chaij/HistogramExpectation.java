@@ -0,0 +1,230 @@
+package chaij;
+
+
+import java.time.Duration;
+
+/**
+ * A {@link chaij.LatencyHistogram} expectation checks the percentiles of
+ * the recorded latencies, with the same bounds as a {@link chaij.LongExpectation}:
+ *
+ * <pre>
+ * expect(histogram).to.have.percentile(99.9).below(Duration.ofMillis(2));
+ * </pre>
+ *
+ * <p>
+ * The checks refer to the {@linkplain #percentile(double) selected percentile},
+ * the median by default. A percentile is only ever as precise as the buckets
+ * of the histogram, so it is reported as the highest value of its bucket, i.e.
+ * slightly above the actual latency, rather than below it. If a check fails,
+ * the message also shows how all latencies are distributed.
+ *
+ * <p>
+ * A histogram without any latencies has no percentiles, so all checks fail for it.
+ *
+ * @since 0.3.1
+ */
+public final class HistogramExpectation extends BaseExpectation<HistogramExpectation> {
+	
+	private final LatencyHistogram my;
+	
+	private double percentile = 50;
+	
+	
+	/**
+	 * Constructs a new HistogramExpectation.
+	 *
+	 * <p>
+	 * You should not use this constructor directly, but instead get
+	 * an expectation through {@link chaij.ChaiJ#expect(LatencyHistogram)} or
+	 * {@link chaij.ChaiJ#expect(LatencyHistogram, java.lang.String)}
+	 *
+	 * @param histogram the histogram that is checked
+	 * @param s         an optional custom expectation message.
+	 */
+	HistogramExpectation(LatencyHistogram histogram, String s) {
+		
+		super(s);
+		my = histogram;
+	}
+	
+	
+	/**
+	 * Selects the percentile that the following checks refer to,
+	 * e.g. {@code 99.9} for all but the slowest thousandth.
+	 *
+	 * @param percentile the percentile, greater than {@code 0} and at most {@code 100}
+	 *
+	 * @return the expectation itself for chaining
+	 *
+	 * @throws java.lang.IllegalArgumentException if {@code percentile} is out of range
+	 */
+	public HistogramExpectation percentile(double percentile) {
+		
+		if(!((percentile > 0) && (percentile <= 100))) {
+			throw new IllegalArgumentException("The percentile must be within (0, 100], got " + percentile);
+		}
+		this.percentile = percentile;
+		return this;
+	}
+	
+	
+	/**
+	 * Checks whether the latency at the selected percentile is below {@code upperBound}.
+	 *
+	 * @param upperBound the smallest latency that is too big
+	 *
+	 * @return the expectation itself for chaining
+	 *
+	 * @see chaij.LongExpectation#below(long)
+	 */
+	public HistogramExpectation below(Duration upperBound) {
+		
+		return below(upperBound, null);
+	}
+	
+	
+	/**
+	 * Checks whether the latency at the selected percentile is below {@code upperBound}
+	 * with a custom message.
+	 *
+	 * @param upperBound the smallest latency that is too big
+	 * @param message    a custom message specifically for this check
+	 *
+	 * @return the expectation itself for chaining
+	 *
+	 * @see chaij.LongExpectation#below(long, String)
+	 */
+	public HistogramExpectation below(Duration upperBound, String message) {
+		
+		if(isInert()) {
+			return this;
+		}
+		long bound = upperBound.toNanos();
+		boolean empty = my.count() == 0;
+		if(fails("below", !empty && (my.percentile(percentile) < bound))) {
+			fail(message,
+			     "Expected the latencies to",
+			     "have " + Durations.percentile(percentile) + " below "
+			     + Durations.format(bound) + actual(empty) + '.'
+			);
+		}
+		return this;
+	}
+	
+	
+	/**
+	 * Checks whether the latency at the selected percentile is at most {@code upperBound}.
+	 *
+	 * @param upperBound the biggest latency that is allowed
+	 *
+	 * @return the expectation itself for chaining
+	 *
+	 * @see chaij.LongExpectation#most(long)
+	 */
+	public HistogramExpectation most(Duration upperBound) {
+		
+		return most(upperBound, null);
+	}
+	
+	
+	/**
+	 * Checks whether the latency at the selected percentile is at most {@code upperBound}
+	 * with a custom message.
+	 *
+	 * @param upperBound the biggest latency that is allowed
+	 * @param message    a custom message specifically for this check
+	 *
+	 * @return the expectation itself for chaining
+	 *
+	 * @see chaij.LongExpectation#most(long, String)
+	 */
+	public HistogramExpectation most(Duration upperBound, String message) {
+		
+		if(isInert()) {
+			return this;
+		}
+		long bound = upperBound.toNanos();
+		boolean empty = my.count() == 0;
+		if(fails("most", !empty && (my.percentile(percentile) <= bound))) {
+			fail(message,
+			     "Expected the latencies to",
+			     "have " + Durations.percentile(percentile) + " at most "
+			     + Durations.format(bound) + actual(empty) + '.'
+			);
+		}
+		return this;
+	}
+	
+	
+	/**
+	 * Checks whether the latency at the selected percentile is within
+	 * {@code min} and {@code max}, both inclusive.
+	 *
+	 * @param min the minimum latency
+	 * @param max the maximum latency
+	 *
+	 * @return the expectation itself for chaining
+	 *
+	 * @see chaij.LongExpectation#within(long, long)
+	 */
+	public HistogramExpectation within(Duration min, Duration max) {
+		
+		return within(min, max, null);
+	}
+	
+	
+	/**
+	 * Checks whether the latency at the selected percentile is within
+	 * {@code min} and {@code max}, both inclusive with a custom message.
+	 *
+	 * @param min     the minimum latency
+	 * @param max     the maximum latency
+	 * @param message a custom message specifically for this check
+	 *
+	 * @return the expectation itself for chaining
+	 *
+	 * @see chaij.LongExpectation#within(long, long, String)
+	 */
+	public HistogramExpectation within(Duration min, Duration max, String message) {
+		
+		if(isInert()) {
+			return this;
+		}
+		long lower = min.toNanos();
+		long upper = max.toNanos();
+		boolean empty = my.count() == 0;
+		long latency = empty ? 0 : my.percentile(percentile);
+		if(fails("within", !empty && (lower <= latency) && (latency <= upper))) {
+			fail(message,
+			     "Expected the latencies to",
+			     "have " + Durations.percentile(percentile) + " within "
+			     + Durations.format(lower) + " and " + Durations.format(upper) + actual(empty) + '.'
+			);
+		}
+		return this;
+	}
+	
+	
+	/**
+	 * Describes the actual latency at the selected percentile and the
+	 * distribution of all latencies for the messages.
+	 *
+	 * @param empty whether the histogram is empty
+	 *
+	 * @return the description, starting with {@code "; "}
+	 */
+	private String actual(boolean empty) {
+		
+		return empty ?
+		       "; there were no latencies" :
+		       "; it was " + Durations.format(my.percentile(percentile)) + " over " + my.count()
+		       + ((my.count() == 1) ? " latency" : " latencies") + ", distributed as " + my.distribution();
+	}
+	
+	
+	@Override
+	public String toString() {
+		
+		return String.format("HistogramExpectation(percentile=%s, customText=%s)", percentile, customText);
+	}
+}
@@ -0,0 +1,47 @@
+package chaij;
+
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * A {@link chaij.FailureSink} that keeps every failure in memory, in a lock-free queue,
+ * e.g. to inspect all failures of a run after the fact.
+ *
+ * <p>
+ * This is what every run does with the failures it retains anyway, without
+ * any limit. So for runs that only need their report, no sink is needed at all.
+ *
+ * @since 0.3.1
+ */
+public final class InMemoryFailureSink implements FailureSink {
+	
+	private final Queue<ChaiJException> failures = new ConcurrentLinkedQueue<>();
+	
+	
+	@Override
+	public void accept(long sequence, ChaiJException failure) {
+		
+		failures.add(failure);
+	}
+	
+	
+	/**
+	 * Returns the failures received so far, in the order they have been received in.
+	 *
+	 * @return a new list of the failures
+	 */
+	public List<ChaiJException> failures() {
+		
+		return new ArrayList<>(failures);
+	}
+	
+	
+	@Override
+	public String toString() {
+		
+		return String.format("InMemoryFailureSink(failures=%d)", failures.size());
+	}
+}
@@ -0,0 +1,45 @@
+package chaij;
+
+
+/**
+ * The shared inert expectations, all of whose checks pass without evaluating
+ * anything that is passed to them, for the checks that are not
+ * {@linkplain chaij.Sampler sampled}.
+ *
+ * <p>
+ * As every thread uses the same instances, their values and custom texts
+ * are meaningless, and the {@linkplain chaij.BaseExpectation#not() not} flag
+ * may be toggled by several threads at once, which does not matter,
+ * as no check ever reads it.
+ *
+ * @since 0.3.1
+ */
+final class InertExpectations {
+	
+	static final IntExpectation INT = new IntExpectation(0, null);
+	
+	static final LongExpectation LONG = new LongExpectation(0L, null);
+	
+	static final DoubleExpectation DOUBLE = new DoubleExpectation(0.0, null);
+	
+	static final BooleanExpectation BOOLEAN = new BooleanExpectation(false, null);
+	
+	static {
+		INT.makeInert();
+		LONG.makeInert();
+		DOUBLE.makeInert();
+		BOOLEAN.makeInert();
+	}
+	
+	
+	/**
+	 * Don't instantiate.
+	 *
+	 * @throws java.lang.IllegalAccessException ....don't instantiate it.
+	 */
+	private InertExpectations()
+			throws IllegalAccessException {
+		
+		throw new IllegalAccessException("Don't!");
+	}
+}
@@ -0,0 +1,496 @@
+package chaij;
+
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntPredicate;
+
+/**
+ * An {@code int[]} expectation checks all elements of an array at once,
+ * e.g. with {@link #allWithin(int, int)} or {@link #sorted()}.
+ *
+ * <p>
+ * The checks run as plain loops over the array without creating an
+ * expectation per element, and the message describing the offending
+ * elements is only built once a check has failed.
+ *
+ * <p>
+ * For really big arrays, {@link #parallel()} splits the checks
+ * across a {@link java.util.concurrent.ForkJoinPool}.
+ *
+ * <p>
+ * Note that {@link #not()} negates the whole check, i.e.
+ * {@code expect(arr).not().allAbove(0)} expects at least
+ * one element that is not above zero.
+ *
+ * @since 0.3.1
+ */
+public final class IntArrayExpectation extends BaseExpectation<IntArrayExpectation> {
+	
+	private final int[] my;
+	
+	private ForkJoinPool pool = null;
+	
+	private int threshold = ParallelScan.DEFAULT_THRESHOLD;
+	
+	
+	/**
+	 * Constructs a new IntArrayExpectation.
+	 *
+	 * <p>
+	 * You should not use this constructor directly, but instead get
+	 * an expectation through {@link chaij.ChaiJ#expect(int[])} or
+	 * {@link chaij.ChaiJ#expect(int[], java.lang.String)}
+	 *
+	 * @param arr the {@code int[]} that is used for all operations
+	 * @param s   an optional custom expectation message.
+	 */
+	IntArrayExpectation(int[] arr, String s) {
+		
+		super(s);
+		my = arr;
+	}
+	
+	
+	/**
+	 * Runs all further checks of this expectation in parallel on the
+	 * {@linkplain java.util.concurrent.ForkJoinPool#commonPool() common pool}.
+	 *
+	 * <p>
+	 * Arrays that are smaller than a default threshold are still checked
+	 * sequentially, see {@link #parallel(int)}.
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public IntArrayExpectation parallel() {
+		
+		return parallel(ForkJoinPool.commonPool(), ParallelScan.DEFAULT_THRESHOLD);
+	}
+	
+	
+	/**
+	 * Runs all further checks of this expectation in parallel on the
+	 * {@linkplain java.util.concurrent.ForkJoinPool#commonPool() common pool},
+	 * splitting the array into parts of at most {@code threshold} elements.
+	 *
+	 * @param threshold the number of elements below which a part of
+	 *                  the array is not split any further
+	 *
+	 * @return the expectation itself for chaining
+	 *
+	 * @throws java.lang.IllegalArgumentException if {@code threshold} is not positive
+	 */
+	public IntArrayExpectation parallel(int threshold) {
+		
+		return parallel(ForkJoinPool.commonPool(), threshold);
+	}
+	
+	
+	/**
+	 * Runs all further checks of this expectation in parallel on the given
+	 * {@code pool}, splitting the array into parts of at most {@code threshold}
+	 * elements.
+	 *
+	 * <p>
+	 * As soon as one part has found an offending element, the parts after it
+	 * are skipped. The offending elements reported in the message are the same
+	 * as for a sequential check.
+	 *
+	 * @param pool      the pool to run the checks on
+	 * @param threshold the number of elements below which a part of
+	 *                  the array is not split any further
+	 *
+	 * @return the expectation itself for chaining
+	 *
+	 * @throws java.lang.IllegalArgumentException if {@code threshold} is not positive
+	 */
+	public IntArrayExpectation parallel(ForkJoinPool pool, int threshold) {
+		
+		if(threshold < 1) {
+			throw new IllegalArgumentException("The threshold must be positive, got " + threshold);
+		}
+		this.pool = Objects.requireNonNull(pool);
+		this.threshold = threshold;
+		return this;
+	}
+	
+	
+	/**
+	 * Checks whether all elements are within {@code min} and
+	 * {@code max}, both inclusive.
+	 *
+	 * @param min the minimum value
+	 * @param max the maximum value
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public IntArrayExpectation allWithin(int min, int max) {
+		
+		return allWithin(min, max, null);
+	}
+	
+	
+	/**
+	 * Checks whether all elements are within {@code min} and
+	 * {@code max}, both inclusive with a custom message.
+	 *
+	 * @param min     the minimum value
+	 * @param max     the maximum value
+	 * @param message a custom message specifically for this check
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public IntArrayExpectation allWithin(int min, int max, String message) {
+		
+		if(isInert()) {
+			return this;
+		}
+		int first = (pool == null) ?
+		            firstOutside(my, 0, my.length, min, max) :
+		            inParallel(0, (from, to) -> firstOutside(my, from, to, min, max));
+		if(fails("allWithin", first < 0)) {
+			fail(message,
+			     "Expected " + describe() + " to",
+			     "have all elements within " + min + " and " + max
+			     + Offenders.describe(first, my.length,
+			                          i -> (my[i] < min) || (my[i] > max),
+			                          this::element)
+			     + '.'
+			);
+		}
+		return this;
+	}
+	
+	
+	/**
+	 * Checks whether all elements are above {@code lowerBound}.
+	 *
+	 * @param lowerBound the biggest value that is too small
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public IntArrayExpectation allAbove(int lowerBound) {
+		
+		return allAbove(lowerBound, null);
+	}
+	
+	
+	/**
+	 * Checks whether all elements are above {@code lowerBound}
+	 * with a custom message.
+	 *
+	 * @param lowerBound the biggest value that is too small
+	 * @param message    a custom message specifically for this check
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public IntArrayExpectation allAbove(int lowerBound, String message) {
+		
+		if(isInert()) {
+			return this;
+		}
+		int first = (pool == null) ?
+		            firstAtMost(my, 0, my.length, lowerBound) :
+		            inParallel(0, (from, to) -> firstAtMost(my, from, to, lowerBound));
+		if(fails("allAbove", first < 0)) {
+			fail(message,
+			     "Expected " + describe() + " to",
+			     "have all elements above " + lowerBound
+			     + Offenders.describe(first, my.length,
+			                          i -> my[i] <= lowerBound,
+			                          this::element)
+			     + '.'
+			);
+		}
+		return this;
+	}
+	
+	
+	/**
+	 * Checks whether all elements are below {@code upperBound}.
+	 *
+	 * @param upperBound the smallest value that is too big
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public IntArrayExpectation allBelow(int upperBound) {
+		
+		return allBelow(upperBound, null);
+	}
+	
+	
+	/**
+	 * Checks whether all elements are below {@code upperBound}
+	 * with a custom message.
+	 *
+	 * @param upperBound the smallest value that is too big
+	 * @param message    a custom message specifically for this check
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public IntArrayExpectation allBelow(int upperBound, String message) {
+		
+		if(isInert()) {
+			return this;
+		}
+		int first = (pool == null) ?
+		            firstAtLeast(my, 0, my.length, upperBound) :
+		            inParallel(0, (from, to) -> firstAtLeast(my, from, to, upperBound));
+		if(fails("allBelow", first < 0)) {
+			fail(message,
+			     "Expected " + describe() + " to",
+			     "have all elements below " + upperBound
+			     + Offenders.describe(first, my.length,
+			                          i -> my[i] >= upperBound,
+			                          this::element)
+			     + '.'
+			);
+		}
+		return this;
+	}
+	
+	
+	/**
+	 * Checks whether the elements are sorted in ascending order,
+	 * i.e. no element is smaller than the one before it.
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public IntArrayExpectation sorted() {
+		
+		return sorted(null);
+	}
+	
+	
+	/**
+	 * Checks whether the elements are sorted in ascending order,
+	 * i.e. no element is smaller than the one before it
+	 * with a custom message.
+	 *
+	 * @param message a custom message specifically for this check
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public IntArrayExpectation sorted(String message) {
+		
+		if(isInert()) {
+			return this;
+		}
+		int first = (pool == null) ?
+		            firstDescent(my, 1, my.length) :
+		            inParallel(1, (from, to) -> firstDescent(my, from, to));
+		if(fails("sorted", first < 0)) {
+			fail(message,
+			     "Expected " + describe() + " to",
+			     "be sorted"
+			     + Offenders.describe(first, my.length,
+			                          i -> my[i] < my[i - 1],
+			                          i -> my[i] + " after " + my[i - 1])
+			     + '.'
+			);
+		}
+		return this;
+	}
+	
+	
+	/**
+	 * Checks whether all elements satisfy the given {@code predicate}.
+	 *
+	 * @param predicate the predicate to check the elements with
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public IntArrayExpectation allSatisfy(IntPredicate predicate) {
+		
+		return allSatisfy(predicate, null);
+	}
+	
+	
+	/**
+	 * Checks whether all elements satisfy the given {@code predicate}
+	 * with a custom message.
+	 *
+	 * <p>
+	 * The predicate is called again for the offending elements in order to
+	 * describe them, and it must be thread-safe for {@link #parallel()} checks.
+	 *
+	 * @param predicate the predicate to check the elements with
+	 * @param message   a custom message specifically for this check
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public IntArrayExpectation allSatisfy(IntPredicate predicate, String message) {
+		
+		if(isInert()) {
+			return this;
+		}
+		int first = (pool == null) ?
+		            firstUnsatisfied(my, 0, my.length, predicate) :
+		            inParallel(0, (from, to) -> firstUnsatisfied(my, from, to, predicate));
+		if(fails("allSatisfy", first < 0)) {
+			fail(message,
+			     "Expected " + describe() + " to",
+			     "have all elements satisfy a custom predicate"
+			     + Offenders.describe(first, my.length,
+			                          i -> !predicate.test(my[i]),
+			                          this::element)
+			     + '.'
+			);
+		}
+		return this;
+	}
+	
+	
+	/**
+	 * Finds the first element in the range that is not within {@code min} and {@code max}.
+	 *
+	 * @param a    the array
+	 * @param from the first index, inclusive
+	 * @param to   the last index, exclusive
+	 * @param min  the minimum value
+	 * @param max  the maximum value
+	 *
+	 * @return the index, or {@code -1} if there is none
+	 */
+	static int firstOutside(int[] a, int from, int to, int min, int max) {
+		
+		for(int i = from; i < to; ++i) {
+			int v = a[i];
+			if((v < min) || (v > max)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+	
+	
+	/**
+	 * Finds the first element in the range that is at most {@code bound}.
+	 *
+	 * @param a     the array
+	 * @param from  the first index, inclusive
+	 * @param to    the last index, exclusive
+	 * @param bound the bound
+	 *
+	 * @return the index, or {@code -1} if there is none
+	 */
+	static int firstAtMost(int[] a, int from, int to, int bound) {
+		
+		for(int i = from; i < to; ++i) {
+			if(a[i] <= bound) {
+				return i;
+			}
+		}
+		return -1;
+	}
+	
+	
+	/**
+	 * Finds the first element in the range that is at least {@code bound}.
+	 *
+	 * @param a     the array
+	 * @param from  the first index, inclusive
+	 * @param to    the last index, exclusive
+	 * @param bound the bound
+	 *
+	 * @return the index, or {@code -1} if there is none
+	 */
+	static int firstAtLeast(int[] a, int from, int to, int bound) {
+		
+		for(int i = from; i < to; ++i) {
+			if(a[i] >= bound) {
+				return i;
+			}
+		}
+		return -1;
+	}
+	
+	
+	/**
+	 * Finds the first element in the range that is smaller than the one before it.
+	 *
+	 * @param a    the array
+	 * @param from the first index, inclusive, at least {@code 1}
+	 * @param to   the last index, exclusive
+	 *
+	 * @return the index, or {@code -1} if there is none
+	 */
+	static int firstDescent(int[] a, int from, int to) {
+		
+		for(int i = from; i < to; ++i) {
+			if(a[i] < a[i - 1]) {
+				return i;
+			}
+		}
+		return -1;
+	}
+	
+	
+	/**
+	 * Finds the first element in the range that does not satisfy {@code predicate}.
+	 *
+	 * @param a         the array
+	 * @param from      the first index, inclusive
+	 * @param to        the last index, exclusive
+	 * @param predicate the predicate
+	 *
+	 * @return the index, or {@code -1} if there is none
+	 */
+	static int firstUnsatisfied(int[] a, int from, int to, IntPredicate predicate) {
+		
+		for(int i = from; i < to; ++i) {
+			if(!predicate.test(a[i])) {
+				return i;
+			}
+		}
+		return -1;
+	}
+	
+	
+	/**
+	 * Searches the whole array from {@code from} on in parallel,
+	 * after {@link #parallel(ForkJoinPool, int)} has been called.
+	 *
+	 * @param from   the first index, inclusive
+	 * @param search the sequential search for a part of the array
+	 *
+	 * @return the lowest offending index, or {@code -1} if there is none
+	 */
+	private int inParallel(int from, ParallelScan.RangeSearch search) {
+		
+		return ParallelScan.first(pool, threshold, from, my.length, search);
+	}
+	
+	
+	/**
+	 * Describes the array for the messages, without listing all of its elements.
+	 *
+	 * @return the description
+	 */
+	private String describe() {
+		
+		return "int[" + my.length + ']';
+	}
+	
+	
+	/**
+	 * Describes a single element for the messages.
+	 *
+	 * @param index the index of the element
+	 *
+	 * @return the description
+	 */
+	private String element(int index) {
+		
+		return Integer.toString(my[index]);
+	}
+	
+	
+	@Override
+	public String toString() {
+		
+		return String.format("IntArrayExpectation(length=%d, customText=%s)",
+		                     my.length, customText
+		);
+	}
+}
@@ -14,7 +14,7 @@ import java.util.function.IntPredicate;
  */
 public final class IntExpectation extends BaseExpectation<IntExpectation> {
 	
-	private final int my;
+	private int my;
 	
 	
 	/**
@@ -35,6 +35,23 @@ public final class IntExpectation extends BaseExpectation<IntExpectation> {
 	}
 	
 	
+	/**
+	 * Reuses this expectation for a new value, as done
+	 * by {@link chaij.ExpectationRecycling}.
+	 *
+	 * @param value the {@code int} that is used for all further operations
+	 * @param s     an optional custom expectation message.
+	 *
+	 * @return the expectation itself
+	 */
+	IntExpectation reuse(int value, String s) {
+		
+		recycle(s);
+		my = value;
+		return this;
+	}
+	
+	
 	/**
 	 * Checks whether the {@code int} is equal to {@code expected}.
 	 *
@@ -60,11 +77,13 @@ public final class IntExpectation extends BaseExpectation<IntExpectation> {
 	 */
 	public IntExpectation equal(int expected, String message) {
 		
-		return test(my == expected,
-		            message,
-		            "Expected " + my + " to",
-		            "equal " + expected + '.'
-		);
+		if(fails("equal", my == expected)) {
+			fail(message,
+			     "Expected " + my + " to",
+			     "equal " + expected + '.'
+			);
+		}
+		return this;
 	}
 	
 	
@@ -92,11 +111,13 @@ public final class IntExpectation extends BaseExpectation<IntExpectation> {
 	 */
 	public IntExpectation above(int lowerBound, String message) {
 		
-		return test(my > lowerBound,
-		            message,
-		            "Expected " + my + " to",
-		            "be above " + lowerBound + '.'
-		);
+		if(fails("above", my > lowerBound)) {
+			fail(message,
+			     "Expected " + my + " to",
+			     "be above " + lowerBound + '.'
+			);
+		}
+		return this;
 	}
 	
 	
@@ -124,11 +145,13 @@ public final class IntExpectation extends BaseExpectation<IntExpectation> {
 	 */
 	public IntExpectation least(int lowerBound, String message) {
 		
-		return test(my >= lowerBound,
-		            message,
-		            "Expected " + my + " to",
-		            "be at least " + lowerBound + '.'
-		);
+		if(fails("least", my >= lowerBound)) {
+			fail(message,
+			     "Expected " + my + " to",
+			     "be at least " + lowerBound + '.'
+			);
+		}
+		return this;
 	}
 	
 	
@@ -156,11 +179,13 @@ public final class IntExpectation extends BaseExpectation<IntExpectation> {
 	 */
 	public IntExpectation below(int upperBound, String message) {
 		
-		return test(my < upperBound,
-		            message,
-		            "Expected " + my + " to",
-		            "be below " + upperBound + '.'
-		);
+		if(fails("below", my < upperBound)) {
+			fail(message,
+			     "Expected " + my + " to",
+			     "be below " + upperBound + '.'
+			);
+		}
+		return this;
 	}
 	
 	
@@ -188,11 +213,13 @@ public final class IntExpectation extends BaseExpectation<IntExpectation> {
 	 */
 	public IntExpectation most(int upperBound, String message) {
 		
-		return test(my <= upperBound,
-		            message,
-		            "Expected " + my + " to",
-		            "be at most " + upperBound + '.'
-		);
+		if(fails("most", my <= upperBound)) {
+			fail(message,
+			     "Expected " + my + " to",
+			     "be at most " + upperBound + '.'
+			);
+		}
+		return this;
 	}
 	
 	
@@ -223,11 +250,13 @@ public final class IntExpectation extends BaseExpectation<IntExpectation> {
 	 */
 	public IntExpectation within(int min, int max, String message) {
 		
-		return test((min <= my) && (my <= max),
-		            message,
-		            "Expected " + my + " to",
-		            "be within " + min + " and " + max + '.'
-		);
+		if(fails("within", (min <= my) && (my <= max))) {
+			fail(message,
+			     "Expected " + my + " to",
+			     "be within " + min + " and " + max + '.'
+			);
+		}
+		return this;
 	}
 	
 	
@@ -256,11 +285,19 @@ public final class IntExpectation extends BaseExpectation<IntExpectation> {
 	 */
 	public IntExpectation match(IntPredicate predicate, String message) {
 		
-		return test(predicate.test(my),
-		            message,
-		            "Expected " + my + " to",
-		            "match a custom predicate."
-		);
+		if(isInert()) {
+			return this;
+		}
+		long start = ExpectationMetrics.startTiming();
+		boolean result = predicate.test(my);
+		ExpectationMetrics.stopTiming(IntExpectation.class, "match", start);
+		if(fails("match", result)) {
+			fail(message,
+			     "Expected " + my + " to",
+			     "match a custom predicate."
+			);
+		}
+		return this;
 	}
 	
 	
@@ -289,11 +326,19 @@ public final class IntExpectation extends BaseExpectation<IntExpectation> {
 	 */
 	public IntExpectation satisfy(IntPredicate predicate, String message) {
 		
-		return test(predicate.test(my),
-		            message,
-		            "Expected " + my + " to",
-		            "satisfy a custom predicate."
-		);
+		if(isInert()) {
+			return this;
+		}
+		long start = ExpectationMetrics.startTiming();
+		boolean result = predicate.test(my);
+		ExpectationMetrics.stopTiming(IntExpectation.class, "satisfy", start);
+		if(fails("satisfy", result)) {
+			fail(message,
+			     "Expected " + my + " to",
+			     "satisfy a custom predicate."
+			);
+		}
+		return this;
 	}
 	
 	
@@ -324,11 +369,13 @@ public final class IntExpectation extends BaseExpectation<IntExpectation> {
 	 */
 	public IntExpectation closeTo(int expected, int delta, String message) {
 		
-		return test(Math.abs(my - expected) <= delta,
-		            message,
-		            "Expected " + my + " to",
-		            "be close to " + expected + " with a delta of " + delta + '.'
-		);
+		if(fails("closeTo", Math.abs(my - expected) <= delta)) {
+			fail(message,
+			     "Expected " + my + " to",
+			     "be close to " + expected + " with a delta of " + delta + '.'
+			);
+		}
+		return this;
 	}
 	
 	
@@ -366,11 +413,55 @@ public final class IntExpectation extends BaseExpectation<IntExpectation> {
 		for(int i = 0; (i < length) && !found; ++i) {
 			found = arr[i] == my;
 		}
-		return test(found,
-		            message,
-		            "Expected " + my + " to",
-		            "be one of " + Arrays.toString(arr) + '.'
-		);
+		if(fails("oneOf", found)) {
+			fail(message,
+			     "Expected " + my + " to",
+			     "be one of " + Arrays.toString(arr) + '.'
+			);
+		}
+		return this;
+	}
+	
+	
+	/**
+	 * Checks whether the {@code int} is part of the set.
+	 *
+	 * <p>
+	 * Build the set once with {@link chaij.IntSet#of(int...)} and reuse it
+	 * for many checks, each of them taking constant time.
+	 *
+	 * @param allowed the set of the possible values
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public IntExpectation oneOf(IntSet allowed) {
+		
+		return oneOf(allowed, null);
+	}
+	
+	
+	/**
+	 * Checks whether the {@code int} is part of the set
+	 * with a custom message.
+	 *
+	 * <p>
+	 * Build the set once with {@link chaij.IntSet#of(int...)} and reuse it
+	 * for many checks, each of them taking constant time.
+	 *
+	 * @param allowed the set of the possible values
+	 * @param message a custom message specifically for this check
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public IntExpectation oneOf(IntSet allowed, String message) {
+		
+		if(fails("oneOf", allowed.contains(my))) {
+			fail(message,
+			     "Expected " + my + " to",
+			     "be one of " + allowed + '.'
+			);
+		}
+		return this;
 	}
 	
 	
@@ -396,11 +487,13 @@ public final class IntExpectation extends BaseExpectation<IntExpectation> {
 	 */
 	public IntExpectation validByte(String message) {
 		
-		return test((Byte.MIN_VALUE <= my) && (my <= Byte.MAX_VALUE),
-		            message,
-		            "Expected " + my + " to",
-		            "be a valid byte value."
-		);
+		if(fails("validByte", (Byte.MIN_VALUE <= my) && (my <= Byte.MAX_VALUE))) {
+			fail(message,
+			     "Expected " + my + " to",
+			     "be a valid byte value."
+			);
+		}
+		return this;
 	}
 	
 	
@@ -426,11 +519,13 @@ public final class IntExpectation extends BaseExpectation<IntExpectation> {
 	 */
 	public IntExpectation validShort(String message) {
 		
-		return test((Short.MIN_VALUE <= my) && (my <= Short.MAX_VALUE),
-		            message,
-		            "Expected " + my + " to",
-		            "be a valid short value."
-		);
+		if(fails("validShort", (Short.MIN_VALUE <= my) && (my <= Short.MAX_VALUE))) {
+			fail(message,
+			     "Expected " + my + " to",
+			     "be a valid short value."
+			);
+		}
+		return this;
 	}
 	
 	
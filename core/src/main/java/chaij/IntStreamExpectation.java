@@ -0,0 +1,490 @@
+package chaij;
+
+
+import java.util.OptionalInt;
+import java.util.PrimitiveIterator;
+import java.util.stream.IntStream;
+
+/**
+ * An {@link java.util.stream.IntStream} expectation checks all elements of a
+ * stream in a single pass, without collecting them first.
+ *
+ * <p>
+ * As a stream can only be consumed once, every check of this expectation
+ * is a terminal operation, i.e. there can only be one check per expectation.
+ * The checks on all elements, e.g. {@link #allWithin(int, int)}, stop
+ * consuming the stream at the first offending element.
+ *
+ * @since 0.3.1
+ */
+public final class IntStreamExpectation extends BaseExpectation<IntStreamExpectation> {
+	
+	private final IntStream my;
+	
+	
+	/**
+	 * Constructs a new IntStreamExpectation.
+	 *
+	 * <p>
+	 * You should not use this constructor directly, but instead get
+	 * an expectation through {@link chaij.ChaiJ#expect(java.util.stream.IntStream)} or
+	 * {@link chaij.ChaiJ#expect(java.util.stream.IntStream, java.lang.String)}
+	 *
+	 * @param stream the {@code IntStream} that is consumed by the check
+	 * @param s      an optional custom expectation message.
+	 */
+	IntStreamExpectation(IntStream stream, String s) {
+		
+		super(s);
+		my = stream;
+	}
+	
+	
+	/**
+	 * Checks whether all elements are within {@code min} and
+	 * {@code max}, both inclusive.
+	 *
+	 * @param min the minimum value
+	 * @param max the maximum value
+	 *
+	 * @return the expectation itself for chaining
+	 *
+	 * @see chaij.IntExpectation#within(int, int)
+	 */
+	public IntStreamExpectation allWithin(int min, int max) {
+		
+		return allWithin(min, max, null);
+	}
+	
+	
+	/**
+	 * Checks whether all elements are within {@code min} and
+	 * {@code max}, both inclusive with a custom message.
+	 *
+	 * @param min     the minimum value
+	 * @param max     the maximum value
+	 * @param message a custom message specifically for this check
+	 *
+	 * @return the expectation itself for chaining
+	 *
+	 * @see chaij.IntExpectation#within(int, int, String)
+	 */
+	public IntStreamExpectation allWithin(int min, int max, String message) {
+		
+		if(isInert()) {
+			return this;
+		}
+		PrimitiveIterator.OfInt it = my.iterator();
+		long index = 0;
+		int offending = 0;
+		boolean found = false;
+		while(!found && it.hasNext()) {
+			offending = it.nextInt();
+			found = (offending < min) || (offending > max);
+			++index;
+		}
+		if(fails("allWithin", !found)) {
+			fail(message,
+			     "Expected IntStream to",
+			     "have all elements within " + min + " and " + max
+			     + offender(found, index - 1, offending) + '.'
+			);
+		}
+		return this;
+	}
+	
+	
+	/**
+	 * Checks whether all elements are above {@code lowerBound}.
+	 *
+	 * @param lowerBound the biggest value that is too small
+	 *
+	 * @return the expectation itself for chaining
+	 *
+	 * @see chaij.IntExpectation#above(int)
+	 */
+	public IntStreamExpectation allAbove(int lowerBound) {
+		
+		return allAbove(lowerBound, null);
+	}
+	
+	
+	/**
+	 * Checks whether all elements are above {@code lowerBound}
+	 * with a custom message.
+	 *
+	 * @param lowerBound the biggest value that is too small
+	 * @param message    a custom message specifically for this check
+	 *
+	 * @return the expectation itself for chaining
+	 *
+	 * @see chaij.IntExpectation#above(int, String)
+	 */
+	public IntStreamExpectation allAbove(int lowerBound, String message) {
+		
+		if(isInert()) {
+			return this;
+		}
+		PrimitiveIterator.OfInt it = my.iterator();
+		long index = 0;
+		int offending = 0;
+		boolean found = false;
+		while(!found && it.hasNext()) {
+			offending = it.nextInt();
+			found = offending <= lowerBound;
+			++index;
+		}
+		if(fails("allAbove", !found)) {
+			fail(message,
+			     "Expected IntStream to",
+			     "have all elements above " + lowerBound
+			     + offender(found, index - 1, offending) + '.'
+			);
+		}
+		return this;
+	}
+	
+	
+	/**
+	 * Checks whether all elements are below {@code upperBound}.
+	 *
+	 * @param upperBound the smallest value that is too big
+	 *
+	 * @return the expectation itself for chaining
+	 *
+	 * @see chaij.IntExpectation#below(int)
+	 */
+	public IntStreamExpectation allBelow(int upperBound) {
+		
+		return allBelow(upperBound, null);
+	}
+	
+	
+	/**
+	 * Checks whether all elements are below {@code upperBound}
+	 * with a custom message.
+	 *
+	 * @param upperBound the smallest value that is too big
+	 * @param message    a custom message specifically for this check
+	 *
+	 * @return the expectation itself for chaining
+	 *
+	 * @see chaij.IntExpectation#below(int, String)
+	 */
+	public IntStreamExpectation allBelow(int upperBound, String message) {
+		
+		if(isInert()) {
+			return this;
+		}
+		PrimitiveIterator.OfInt it = my.iterator();
+		long index = 0;
+		int offending = 0;
+		boolean found = false;
+		while(!found && it.hasNext()) {
+			offending = it.nextInt();
+			found = offending >= upperBound;
+			++index;
+		}
+		if(fails("allBelow", !found)) {
+			fail(message,
+			     "Expected IntStream to",
+			     "have all elements below " + upperBound
+			     + offender(found, index - 1, offending) + '.'
+			);
+		}
+		return this;
+	}
+	
+	
+	/**
+	 * Checks whether the elements are in ascending order,
+	 * i.e. no element is smaller than the one before it.
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public IntStreamExpectation increasing() {
+		
+		return increasing(null);
+	}
+	
+	
+	/**
+	 * Checks whether the elements are in ascending order,
+	 * i.e. no element is smaller than the one before it
+	 * with a custom message.
+	 *
+	 * @param message a custom message specifically for this check
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public IntStreamExpectation increasing(String message) {
+		
+		if(isInert()) {
+			return this;
+		}
+		PrimitiveIterator.OfInt it = my.iterator();
+		long index = 0;
+		int previous = Integer.MIN_VALUE;
+		int offending = 0;
+		boolean found = false;
+		while(!found && it.hasNext()) {
+			offending = it.nextInt();
+			found = offending < previous;
+			previous = found ? previous : offending;
+			++index;
+		}
+		if(fails("increasing", !found)) {
+			fail(message,
+			     "Expected IntStream to",
+			     "be increasing"
+			     + offender(found, index - 1, offending + " after " + previous) + '.'
+			);
+		}
+		return this;
+	}
+	
+	
+	/**
+	 * Checks whether the elements are in descending order,
+	 * i.e. no element is bigger than the one before it.
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public IntStreamExpectation decreasing() {
+		
+		return decreasing(null);
+	}
+	
+	
+	/**
+	 * Checks whether the elements are in descending order,
+	 * i.e. no element is bigger than the one before it
+	 * with a custom message.
+	 *
+	 * @param message a custom message specifically for this check
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public IntStreamExpectation decreasing(String message) {
+		
+		if(isInert()) {
+			return this;
+		}
+		PrimitiveIterator.OfInt it = my.iterator();
+		long index = 0;
+		int previous = Integer.MAX_VALUE;
+		int offending = 0;
+		boolean found = false;
+		while(!found && it.hasNext()) {
+			offending = it.nextInt();
+			found = offending > previous;
+			previous = found ? previous : offending;
+			++index;
+		}
+		if(fails("decreasing", !found)) {
+			fail(message,
+			     "Expected IntStream to",
+			     "be decreasing"
+			     + offender(found, index - 1, offending + " after " + previous) + '.'
+			);
+		}
+		return this;
+	}
+	
+	
+	/**
+	 * Checks whether the stream has exactly {@code expected} elements.
+	 *
+	 * @param expected the expected number of elements
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public IntStreamExpectation haveCount(long expected) {
+		
+		return haveCount(expected, null);
+	}
+	
+	
+	/**
+	 * Checks whether the stream has exactly {@code expected} elements
+	 * with a custom message.
+	 *
+	 * @param expected the expected number of elements
+	 * @param message  a custom message specifically for this check
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public IntStreamExpectation haveCount(long expected, String message) {
+		
+		if(isInert()) {
+			return this;
+		}
+		long count = my.count();
+		if(fails("haveCount", count == expected)) {
+			fail(message,
+			     "Expected IntStream to",
+			     "have " + expected + " elements; it had " + count + '.'
+			);
+		}
+		return this;
+	}
+	
+	
+	/**
+	 * Checks whether the elements sum up to {@code expected}.
+	 *
+	 * <p>
+	 * The sum is computed as a {@code long}, so it does not
+	 * overflow for streams of up to 2<sup>32</sup> elements.
+	 *
+	 * @param expected the expected sum
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public IntStreamExpectation sumTo(long expected) {
+		
+		return sumTo(expected, null);
+	}
+	
+	
+	/**
+	 * Checks whether the elements sum up to {@code expected}
+	 * with a custom message.
+	 *
+	 * <p>
+	 * The sum is computed as a {@code long}, so it does not
+	 * overflow for streams of up to 2<sup>32</sup> elements.
+	 *
+	 * @param expected the expected sum
+	 * @param message  a custom message specifically for this check
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public IntStreamExpectation sumTo(long expected, String message) {
+		
+		if(isInert()) {
+			return this;
+		}
+		long sum = my.asLongStream().sum();
+		if(fails("sumTo", sum == expected)) {
+			fail(message,
+			     "Expected IntStream to",
+			     "sum up to " + expected + "; it summed up to " + sum + '.'
+			);
+		}
+		return this;
+	}
+	
+	
+	/**
+	 * Checks whether the smallest element is {@code expected}.
+	 *
+	 * <p>
+	 * An empty stream has no smallest element, so this always fails for it.
+	 *
+	 * @param expected the expected minimum
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public IntStreamExpectation haveMin(int expected) {
+		
+		return haveMin(expected, null);
+	}
+	
+	
+	/**
+	 * Checks whether the smallest element is {@code expected}
+	 * with a custom message.
+	 *
+	 * <p>
+	 * An empty stream has no smallest element, so this always fails for it.
+	 *
+	 * @param expected the expected minimum
+	 * @param message  a custom message specifically for this check
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public IntStreamExpectation haveMin(int expected, String message) {
+		
+		if(isInert()) {
+			return this;
+		}
+		OptionalInt min = my.min();
+		if(fails("haveMin", min.isPresent() && (min.getAsInt() == expected))) {
+			fail(message,
+			     "Expected IntStream to",
+			     "have a minimum of " + expected
+			     + (min.isPresent() ? "; it was " + min.getAsInt() : "; it was empty") + '.'
+			);
+		}
+		return this;
+	}
+	
+	
+	/**
+	 * Checks whether the biggest element is {@code expected}.
+	 *
+	 * <p>
+	 * An empty stream has no biggest element, so this always fails for it.
+	 *
+	 * @param expected the expected maximum
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public IntStreamExpectation haveMax(int expected) {
+		
+		return haveMax(expected, null);
+	}
+	
+	
+	/**
+	 * Checks whether the biggest element is {@code expected}
+	 * with a custom message.
+	 *
+	 * <p>
+	 * An empty stream has no biggest element, so this always fails for it.
+	 *
+	 * @param expected the expected maximum
+	 * @param message  a custom message specifically for this check
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public IntStreamExpectation haveMax(int expected, String message) {
+		
+		if(isInert()) {
+			return this;
+		}
+		OptionalInt max = my.max();
+		if(fails("haveMax", max.isPresent() && (max.getAsInt() == expected))) {
+			fail(message,
+			     "Expected IntStream to",
+			     "have a maximum of " + expected
+			     + (max.isPresent() ? "; it was " + max.getAsInt() : "; it was empty") + '.'
+			);
+		}
+		return this;
+	}
+	
+	
+	/**
+	 * Describes the first offending element for the messages.
+	 *
+	 * @param found   whether there was an offending element
+	 * @param index   the index of the offending element
+	 * @param element the description of the offending element
+	 *
+	 * @return the description, starting with {@code "; "}, or an
+	 * empty string if there was no offending element
+	 */
+	private static String offender(boolean found, long index, Object element) {
+		
+		return found ? "; the element [" + index + "]=" + element + " violates it" : "";
+	}
+	
+	
+	@Override
+	public String toString() {
+		
+		return String.format("IntStreamExpectation(customText=%s)", customText);
+	}
+}
@@ -0,0 +1,337 @@
+package chaij;
+
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * A {@link chaij.FailureSink} that appends every failure to a file as one line of JSON.
+ *
+ * <pre>
+ * {"sequence":1,"thread":"main","type":"chaij.UnmetExpectationException","message":"Expected 1 to be above 2.","at":"RowTest.check(RowTest.java:42)"}
+ * </pre>
+ *
+ * <p>
+ * The {@code at} field holds the first frame of the stack trace, if there is one,
+ * and the {@code cause} field the cause of a {@link chaij.WrappedCheckedException}.
+ *
+ * <p>
+ * The lines are encoded straight into one of two reusable {@link java.nio.ByteBuffer ByteBuffers}.
+ * Once that is full, or the sink is {@linkplain #flush() flushed}, it is written to the
+ * {@link java.nio.channels.FileChannel} on a background thread, while the failures
+ * go on into the other one. Only if that is full as well before the write has
+ * finished, the failing thread waits for it. Nothing is allocated for the
+ * buffers after the sink has been opened.
+ *
+ * <p>
+ * If a write fails, all failures after it are dropped, and
+ * the {@link java.io.IOException} is thrown by {@link #close()}.
+ *
+ * @since 0.3.1
+ */
+public final class JsonLinesFailureSink implements FailureSink {
+	
+	/**
+	 * The size of each of the two buffers in bytes.
+	 */
+	static final int BUFFER_SIZE = 1 << 16;
+	
+	private final Path file;
+	
+	private final FileChannel channel;
+	
+	private final ExecutorService writer;
+	
+	private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+	
+	private final StringBuilder line = new StringBuilder(256);
+	
+	/**
+	 * Guards the encoding of the lines, so that a line is complete even if
+	 * the failing thread has to wait for the spare buffer in between.
+	 */
+	private final Object encoding = new Object();
+	
+	/**
+	 * Guards the handing over of the spare buffer and the failure of the writes.
+	 */
+	private final Object handover = new Object();
+	
+	/**
+	 * The buffer the failures are encoded into.
+	 */
+	private ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+	
+	/**
+	 * The other buffer, or {@code null} while it is being written.
+	 */
+	private ByteBuffer spare = ByteBuffer.allocateDirect(BUFFER_SIZE);
+	
+	private volatile IOException failure = null;
+	
+	private boolean closed = false;
+	
+	
+	/**
+	 * Creates a new sink writing to the given channel.
+	 *
+	 * @param file    the file of the channel
+	 * @param channel the channel to write to
+	 */
+	private JsonLinesFailureSink(Path file, FileChannel channel) {
+		
+		this.file = file;
+		this.channel = channel;
+		this.writer = Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "chaij-failure-sink");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+	
+	
+	/**
+	 * Opens a new sink which appends to the given file, creating it if needed.
+	 *
+	 * @param file the file to append to
+	 *
+	 * @return the sink
+	 *
+	 * @throws java.io.IOException if the file cannot be opened
+	 */
+	public static JsonLinesFailureSink open(Path file)
+			throws IOException {
+		
+		FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+		                                       StandardOpenOption.WRITE, StandardOpenOption.APPEND
+		);
+		return new JsonLinesFailureSink(file, channel);
+	}
+	
+	
+	/**
+	 * Appends a failure as one line.
+	 *
+	 * @param sequence the sequence number of the failure within its run, starting at {@code 1}
+	 * @param failure  the failure
+	 *
+	 * @throws java.lang.IllegalStateException if the sink has already been closed
+	 */
+	@Override
+	public void accept(long sequence, ChaiJException failure) {
+		
+		synchronized(encoding) {
+			if(closed) {
+				throw new IllegalStateException("The sink has already been closed");
+			}
+			line.setLength(0);
+			render(line, sequence, failure);
+			CharBuffer chars = CharBuffer.wrap(line);
+			encoder.reset();
+			while(encoder.encode(chars, buffer, true).isOverflow()) {
+				swap();
+			}
+		}
+	}
+	
+	
+	/**
+	 * Writes all failures received so far on the background thread, without waiting for it.
+	 */
+	@Override
+	public void flush() {
+		
+		synchronized(encoding) {
+			if(!closed && (buffer.position() > 0)) {
+				swap();
+			}
+		}
+	}
+	
+	
+	/**
+	 * Writes all failures received so far, waiting until they have been written,
+	 * and closes the file.
+	 *
+	 * @throws java.io.UncheckedIOException if a write or closing the file has failed
+	 */
+	@Override
+	public void close() {
+		
+		IOException e;
+		synchronized(encoding) {
+			if(closed) {
+				return;
+			}
+			flush();
+			awaitSpare();
+			closed = true;
+			writer.shutdown();
+			e = failure;
+			try {
+				channel.close();
+			} catch (IOException closing) {
+				if(e == null) {
+					e = closing;
+				} else {
+					e.addSuppressed(closing);
+				}
+			}
+		}
+		if(e != null) {
+			throw new UncheckedIOException("Could not write the failures to " + file, e);
+		}
+	}
+	
+	
+	/**
+	 * Hands the current buffer to the background thread and goes on with the spare one,
+	 * waiting for it to be written first if needed.
+	 */
+	private void swap() {
+		
+		awaitSpare();
+		ByteBuffer full = buffer;
+		synchronized(handover) {
+			buffer = spare;
+			spare = null;
+		}
+		full.flip();
+		writer.execute(() -> write(full));
+	}
+	
+	
+	/**
+	 * Waits until the spare buffer has been written. An interrupt does not stop
+	 * the waiting, so that no failure is lost, but the interrupted status is kept.
+	 */
+	private void awaitSpare() {
+		
+		boolean interrupted = false;
+		synchronized(handover) {
+			while(spare == null) {
+				try {
+					handover.wait();
+				} catch (InterruptedException e) {
+					interrupted = true;
+				}
+			}
+		}
+		if(interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	
+	/**
+	 * Writes a full buffer to the file, on the background thread.
+	 *
+	 * @param full the buffer, ready to be read
+	 */
+	private void write(ByteBuffer full) {
+		
+		IOException e = null;
+		if(failure == null) {
+			try {
+				while(full.hasRemaining()) {
+					channel.write(full);
+				}
+			} catch (IOException writing) {
+				e = writing;
+			}
+		}
+		full.clear();
+		synchronized(handover) {
+			if(failure == null) {
+				failure = e;
+			}
+			spare = full;
+			handover.notifyAll();
+		}
+	}
+	
+	
+	/**
+	 * Renders a failure as one line of JSON, including the line break.
+	 *
+	 * @param sb       the builder to render into
+	 * @param sequence the sequence number of the failure
+	 * @param failure  the failure
+	 */
+	static void render(StringBuilder sb, long sequence, ChaiJException failure) {
+		
+		sb.append("{\"sequence\":").append(sequence);
+		field(sb, "thread", Thread.currentThread().getName());
+		field(sb, "type", failure.getClass().getName());
+		field(sb, "message", failure.getMessage());
+		StackTraceElement[] trace = failure.getStackTrace();
+		if(trace.length > 0) {
+			field(sb, "at", trace[0].toString());
+		}
+		if(failure.getCause() != null) {
+			field(sb, "cause", failure.getCause().toString());
+		}
+		sb.append("}\n");
+	}
+	
+	
+	/**
+	 * Renders a string field of a JSON object, after another field.
+	 *
+	 * @param sb    the builder to render into
+	 * @param name  the name of the field
+	 * @param value the value of the field, or {@code null}
+	 */
+	private static void field(StringBuilder sb, String name, String value) {
+		
+		sb.append(",\"").append(name).append("\":");
+		if(value == null) {
+			sb.append("null");
+			return;
+		}
+		sb.append('"');
+		for(int i = 0; i < value.length(); ++i) {
+			char c = value.charAt(i);
+			switch(c) {
+				case '"':
+					sb.append("\\\"");
+					break;
+				case '\\':
+					sb.append("\\\\");
+					break;
+				case '\n':
+					sb.append("\\n");
+					break;
+				case '\r':
+					sb.append("\\r");
+					break;
+				case '\t':
+					sb.append("\\t");
+					break;
+				default:
+					if(c < 0x20) {
+						sb.append(String.format("\\u%04x", (int) c));
+					} else {
+						sb.append(c);
+					}
+			}
+		}
+		sb.append('"');
+	}
+	
+	
+	@Override
+	public String toString() {
+		
+		return "JsonLinesFailureSink(" + file + ')';
+	}
+}
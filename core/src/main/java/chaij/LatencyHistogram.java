@@ -0,0 +1,291 @@
+package chaij;
+
+
+import java.util.Arrays;
+
+/**
+ * A histogram of latencies in nanoseconds, for checking their percentiles
+ * with {@link chaij.ChaiJ#expect(LatencyHistogram)}.
+ *
+ * <p>
+ * The histogram is log-linear: values below {@value #EXACT} are counted
+ * exactly, and every power of two above is split into {@value #HALF} buckets
+ * of equal width, so a bucket is never wider than 1/{@value #HALF} of the
+ * values it counts. A percentile is reported as the highest value of its bucket,
+ * i.e. at most about 1.6% above the recorded latency, and never below it. The
+ * counts of all buckets are kept in a single fixed array of about 29 KiB, so
+ * recording a value does not allocate at all.
+ *
+ * <p>
+ * A histogram is not thread-safe. Let every thread record into its own one,
+ * and {@linkplain #merge(LatencyHistogram) merge} them once the threads are done:
+ *
+ * <pre>
+ * long start = System.nanoTime();
+ * service.call(request);
+ * histogram.record(System.nanoTime() - start);
+ * ...
+ * expect(histogram).to.have.percentile(99.9).below(Duration.ofMillis(2));
+ * </pre>
+ *
+ * @since 0.3.1
+ */
+public final class LatencyHistogram {
+	
+	/**
+	 * The number of bits that select a bucket within a power of two.
+	 */
+	private static final int SUB_BITS = 6;
+	
+	/**
+	 * The number of buckets per power of two.
+	 */
+	private static final int HALF = 1 << SUB_BITS;
+	
+	/**
+	 * The number of values that are counted exactly, starting at {@code 0}.
+	 */
+	private static final int EXACT = HALF << 1;
+	
+	/**
+	 * The number of buckets for all non-negative {@code long} values.
+	 */
+	private static final int BUCKETS = ((Long.SIZE - 1 - SUB_BITS) << SUB_BITS) + HALF;
+	
+	private final long[] counts = new long[BUCKETS];
+	
+	private long count = 0;
+	
+	private long min = Long.MAX_VALUE;
+	
+	private long max = 0;
+	
+	
+	/**
+	 * Records a latency.
+	 *
+	 * @param nanos the latency in nanoseconds
+	 *
+	 * @return the histogram itself for chaining
+	 *
+	 * @throws java.lang.IllegalArgumentException if {@code nanos} is negative
+	 */
+	public LatencyHistogram record(long nanos) {
+		
+		if(nanos < 0) {
+			throw new IllegalArgumentException("A latency must not be negative, got " + nanos);
+		}
+		++counts[index(nanos)];
+		++count;
+		min = Math.min(min, nanos);
+		max = Math.max(max, nanos);
+		return this;
+	}
+	
+	
+	/**
+	 * Adds all latencies recorded by another histogram to this one.
+	 *
+	 * @param other the other histogram, which is not changed
+	 *
+	 * @return the histogram itself for chaining
+	 */
+	public LatencyHistogram merge(LatencyHistogram other) {
+		
+		long[] theirs = other.counts;
+		for(int i = 0; i < BUCKETS; ++i) {
+			counts[i] += theirs[i];
+		}
+		count += other.count;
+		min = Math.min(min, other.min);
+		max = Math.max(max, other.max);
+		return this;
+	}
+	
+	
+	/**
+	 * Forgets all recorded latencies, so that the histogram can be reused.
+	 *
+	 * @return the histogram itself for chaining
+	 */
+	public LatencyHistogram reset() {
+		
+		Arrays.fill(counts, 0);
+		count = 0;
+		min = Long.MAX_VALUE;
+		max = 0;
+		return this;
+	}
+	
+	
+	/**
+	 * Returns the number of recorded latencies.
+	 *
+	 * @return the number of recorded latencies
+	 */
+	public long count() {
+		
+		return count;
+	}
+	
+	
+	/**
+	 * Returns the smallest recorded latency, exactly.
+	 *
+	 * @return the smallest latency in nanoseconds
+	 *
+	 * @throws java.lang.IllegalStateException if nothing has been recorded
+	 */
+	public long min() {
+		
+		requireValues();
+		return min;
+	}
+	
+	
+	/**
+	 * Returns the biggest recorded latency, exactly.
+	 *
+	 * @return the biggest latency in nanoseconds
+	 *
+	 * @throws java.lang.IllegalStateException if nothing has been recorded
+	 */
+	public long max() {
+		
+		requireValues();
+		return max;
+	}
+	
+	
+	/**
+	 * Returns the latency at the given percentile, e.g. {@code 99.9} for all
+	 * but the slowest thousandth, by the nearest rank.
+	 *
+	 * <p>
+	 * The latency is the highest value of the bucket it was counted in,
+	 * but never more than the biggest recorded latency.
+	 *
+	 * @param percentile the percentile, greater than {@code 0} and at most {@code 100}
+	 *
+	 * @return the latency in nanoseconds
+	 *
+	 * @throws java.lang.IllegalArgumentException if {@code percentile} is out of range
+	 * @throws java.lang.IllegalStateException if nothing has been recorded
+	 */
+	public long percentile(double percentile) {
+		
+		if(!((percentile > 0) && (percentile <= 100))) {
+			throw new IllegalArgumentException("The percentile must be within (0, 100], got " + percentile);
+		}
+		requireValues();
+		long rank = Math.max((long) Math.ceil(percentile / 100 * count), 1);
+		long seen = 0;
+		int i = 0;
+		while((seen += counts[i]) < rank) {
+			++i;
+		}
+		return Math.min(highest(i), max);
+	}
+	
+	
+	/**
+	 * Renders the recorded latencies, grouped by powers of two, for the messages,
+	 * e.g. {@code [128ns..255ns]=3, [256ns..511ns]=12}.
+	 *
+	 * @return the rendered distribution
+	 */
+	String distribution() {
+		
+		StringBuilder sb = new StringBuilder();
+		for(int group = 0; group < BUCKETS; group += HALF) {
+			long inGroup = 0;
+			for(int i = group; i < group + HALF; ++i) {
+				inGroup += counts[i];
+			}
+			if(inGroup != 0) {
+				sb.append((sb.length() == 0) ? "[" : ", [")
+				  .append(Durations.format(lowest(group))).append("..")
+				  .append(Durations.format(highest(group + HALF - 1))).append("]=")
+				  .append(inGroup);
+			}
+		}
+		return sb.toString();
+	}
+	
+	
+	/**
+	 * Throws if nothing has been recorded.
+	 *
+	 * @throws java.lang.IllegalStateException if nothing has been recorded
+	 */
+	private void requireValues() {
+		
+		if(count == 0) {
+			throw new IllegalStateException("No latencies have been recorded");
+		}
+	}
+	
+	
+	/**
+	 * Finds the bucket of a value.
+	 *
+	 * @param value the non-negative value
+	 *
+	 * @return the index of its bucket
+	 */
+	static int index(long value) {
+		
+		if(value < EXACT) {
+			return (int) value;
+		}
+		int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+		return (shift << SUB_BITS) + (int) (value >>> shift);
+	}
+	
+	
+	/**
+	 * Finds the lowest value of a bucket.
+	 *
+	 * @param index the index of the bucket
+	 *
+	 * @return the lowest value that is counted in it
+	 */
+	static long lowest(int index) {
+		
+		if(index < EXACT) {
+			return index;
+		}
+		int shift = (index >>> SUB_BITS) - 1;
+		return (long) (index - (shift << SUB_BITS)) << shift;
+	}
+	
+	
+	/**
+	 * Finds the highest value of a bucket.
+	 *
+	 * @param index the index of the bucket
+	 *
+	 * @return the highest value that is counted in it
+	 */
+	static long highest(int index) {
+		
+		if(index < EXACT) {
+			return index;
+		}
+		int shift = (index >>> SUB_BITS) - 1;
+		return lowest(index) + (1L << shift) - 1;
+	}
+	
+	
+	@Override
+	public String toString() {
+		
+		return (count == 0) ?
+		       "LatencyHistogram(count=0)" :
+		       "LatencyHistogram(count=" + count
+		       + ", min=" + Durations.format(min)
+		       + ", p50=" + Durations.format(percentile(50))
+		       + ", p99=" + Durations.format(percentile(99))
+		       + ", max=" + Durations.format(max) + ')';
+	}
+}
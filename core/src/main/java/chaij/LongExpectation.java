@@ -14,7 +14,7 @@ import java.util.function.LongPredicate;
  */
 public final class LongExpectation extends BaseExpectation<LongExpectation> {
 	
-	private final long my;
+	private long my;
 	
 	
 	/**
@@ -35,6 +35,23 @@ public final class LongExpectation extends BaseExpectation<LongExpectation> {
 	}
 	
 	
+	/**
+	 * Reuses this expectation for a new value, as done
+	 * by {@link chaij.ExpectationRecycling}.
+	 *
+	 * @param value the {@code long} that is used for all further operations
+	 * @param s     an optional custom expectation message.
+	 *
+	 * @return the expectation itself
+	 */
+	LongExpectation reuse(long value, String s) {
+		
+		recycle(s);
+		my = value;
+		return this;
+	}
+	
+	
 	/**
 	 * Checks whether the {@code long} is equal to {@code expected}.
 	 *
@@ -59,11 +76,13 @@ public final class LongExpectation extends BaseExpectation<LongExpectation> {
 	 */
 	public LongExpectation equal(long expected, String message) {
 		
-		return test(my == expected,
-		            message,
-		            "Expected " + my + " to",
-		            "equal " + expected + '.'
-		);
+		if(fails("equal", my == expected)) {
+			fail(message,
+			     "Expected " + my + " to",
+			     "equal " + expected + '.'
+			);
+		}
+		return this;
 	}
 	
 	
@@ -90,11 +109,13 @@ public final class LongExpectation extends BaseExpectation<LongExpectation> {
 	 */
 	public LongExpectation above(long lowerBound, String message) {
 		
-		return test(my > lowerBound,
-		            message,
-		            "Expected " + my + " to",
-		            "be above " + lowerBound + '.'
-		);
+		if(fails("above", my > lowerBound)) {
+			fail(message,
+			     "Expected " + my + " to",
+			     "be above " + lowerBound + '.'
+			);
+		}
+		return this;
 	}
 	
 	
@@ -121,11 +142,13 @@ public final class LongExpectation extends BaseExpectation<LongExpectation> {
 	 */
 	public LongExpectation least(long lowerBound, String message) {
 		
-		return test(my >= lowerBound,
-		            message,
-		            "Expected " + my + " to",
-		            "be at least " + lowerBound + '.'
-		);
+		if(fails("least", my >= lowerBound)) {
+			fail(message,
+			     "Expected " + my + " to",
+			     "be at least " + lowerBound + '.'
+			);
+		}
+		return this;
 	}
 	
 	
@@ -152,11 +175,13 @@ public final class LongExpectation extends BaseExpectation<LongExpectation> {
 	 */
 	public LongExpectation below(long upperBound, String message) {
 		
-		return test(my < upperBound,
-		            message,
-		            "Expected " + my + " to",
-		            "be below " + upperBound + '.'
-		);
+		if(fails("below", my < upperBound)) {
+			fail(message,
+			     "Expected " + my + " to",
+			     "be below " + upperBound + '.'
+			);
+		}
+		return this;
 	}
 	
 	
@@ -183,11 +208,13 @@ public final class LongExpectation extends BaseExpectation<LongExpectation> {
 	 */
 	public LongExpectation most(long upperBound, String message) {
 		
-		return test(my <= upperBound,
-		            message,
-		            "Expected " + my + " to",
-		            "be at most " + upperBound + '.'
-		);
+		if(fails("most", my <= upperBound)) {
+			fail(message,
+			     "Expected " + my + " to",
+			     "be at most " + upperBound + '.'
+			);
+		}
+		return this;
 	}
 	
 	
@@ -218,11 +245,13 @@ public final class LongExpectation extends BaseExpectation<LongExpectation> {
 	 */
 	public LongExpectation within(long min, long max, String message) {
 		
-		return test((min <= my) && (my <= max),
-		            message,
-		            "Expected " + my + " to",
-		            "be within " + min + " and " + max + '.'
-		);
+		if(fails("within", (min <= my) && (my <= max))) {
+			fail(message,
+			     "Expected " + my + " to",
+			     "be within " + min + " and " + max + '.'
+			);
+		}
+		return this;
 	}
 	
 	
@@ -251,11 +280,19 @@ public final class LongExpectation extends BaseExpectation<LongExpectation> {
 	 */
 	public LongExpectation match(LongPredicate predicate, String message) {
 		
-		return test(predicate.test(my),
-		            message,
-		            "Expected " + my + " to",
-		            "match a custom predicate."
-		);
+		if(isInert()) {
+			return this;
+		}
+		long start = ExpectationMetrics.startTiming();
+		boolean result = predicate.test(my);
+		ExpectationMetrics.stopTiming(LongExpectation.class, "match", start);
+		if(fails("match", result)) {
+			fail(message,
+			     "Expected " + my + " to",
+			     "match a custom predicate."
+			);
+		}
+		return this;
 	}
 	
 	
@@ -284,11 +321,19 @@ public final class LongExpectation extends BaseExpectation<LongExpectation> {
 	 */
 	public LongExpectation satisfy(LongPredicate predicate, String message) {
 		
-		return test(predicate.test(my),
-		            message,
-		            "Expected " + my + " to",
-		            "satisfy a custom predicate."
-		);
+		if(isInert()) {
+			return this;
+		}
+		long start = ExpectationMetrics.startTiming();
+		boolean result = predicate.test(my);
+		ExpectationMetrics.stopTiming(LongExpectation.class, "satisfy", start);
+		if(fails("satisfy", result)) {
+			fail(message,
+			     "Expected " + my + " to",
+			     "satisfy a custom predicate."
+			);
+		}
+		return this;
 	}
 	
 	
@@ -319,11 +364,13 @@ public final class LongExpectation extends BaseExpectation<LongExpectation> {
 	 */
 	public LongExpectation closeTo(long expected, long delta, String message) {
 		
-		return test(Math.abs(my - expected) <= delta,
-		            message,
-		            "Expected " + my + " to",
-		            "be close to " + expected + " with a delta of " + delta + '.'
-		);
+		if(fails("closeTo", Math.abs(my - expected) <= delta)) {
+			fail(message,
+			     "Expected " + my + " to",
+			     "be close to " + expected + " with a delta of " + delta + '.'
+			);
+		}
+		return this;
 	}
 	
 	
@@ -357,11 +404,55 @@ public final class LongExpectation extends BaseExpectation<LongExpectation> {
 		for(int i = 0; (i < length) && !found; ++i) {
 			found = arr[i] == my;
 		}
-		return test(found,
-		            message,
-		            "Expected " + my + " to",
-		            "be one of " + Arrays.toString(arr) + '.'
-		);
+		if(fails("oneOf", found)) {
+			fail(message,
+			     "Expected " + my + " to",
+			     "be one of " + Arrays.toString(arr) + '.'
+			);
+		}
+		return this;
+	}
+	
+	
+	/**
+	 * Checks whether the {@code long} is part of the set.
+	 *
+	 * <p>
+	 * Build the set once with {@link chaij.LongSet#of(long...)} and reuse it
+	 * for many checks, each of them taking constant time.
+	 *
+	 * @param allowed the set of the possible values
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public LongExpectation oneOf(LongSet allowed) {
+		
+		return oneOf(allowed, null);
+	}
+	
+	
+	/**
+	 * Checks whether the {@code long} is part of the set
+	 * with a custom message.
+	 *
+	 * <p>
+	 * Build the set once with {@link chaij.LongSet#of(long...)} and reuse it
+	 * for many checks, each of them taking constant time.
+	 *
+	 * @param allowed the set of the possible values
+	 * @param message a custom message specifically for this check
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public LongExpectation oneOf(LongSet allowed, String message) {
+		
+		if(fails("oneOf", allowed.contains(my))) {
+			fail(message,
+			     "Expected " + my + " to",
+			     "be one of " + allowed + '.'
+			);
+		}
+		return this;
 	}
 	
 	
@@ -387,11 +478,13 @@ public final class LongExpectation extends BaseExpectation<LongExpectation> {
 	 */
 	public LongExpectation validByte(String message) {
 		
-		return test((Byte.MIN_VALUE <= my) && (my <= Byte.MAX_VALUE),
-		            message,
-		            "Expected " + my + " to",
-		            "be a valid byte value."
-		);
+		if(fails("validByte", (Byte.MIN_VALUE <= my) && (my <= Byte.MAX_VALUE))) {
+			fail(message,
+			     "Expected " + my + " to",
+			     "be a valid byte value."
+			);
+		}
+		return this;
 	}
 	
 	
@@ -417,11 +510,13 @@ public final class LongExpectation extends BaseExpectation<LongExpectation> {
 	 */
 	public LongExpectation validShort(String message) {
 		
-		return test((Short.MIN_VALUE <= my) && (my <= Short.MAX_VALUE),
-		            message,
-		            "Expected " + my + " to",
-		            "be a valid short value."
-		);
+		if(fails("validShort", (Short.MIN_VALUE <= my) && (my <= Short.MAX_VALUE))) {
+			fail(message,
+			     "Expected " + my + " to",
+			     "be a valid short value."
+			);
+		}
+		return this;
 	}
 	
 	
@@ -447,11 +542,13 @@ public final class LongExpectation extends BaseExpectation<LongExpectation> {
 	 */
 	public LongExpectation validInt(String message) {
 		
-		return test((Integer.MIN_VALUE <= my) && (my <= Integer.MAX_VALUE),
-		            message,
-		            "Expected " + my + " to",
-		            "be a valid integer value."
-		);
+		if(fails("validInt", (Integer.MIN_VALUE <= my) && (my <= Integer.MAX_VALUE))) {
+			fail(message,
+			     "Expected " + my + " to",
+			     "be a valid integer value."
+			);
+		}
+		return this;
 	}
 	
 	
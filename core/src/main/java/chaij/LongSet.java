@@ -0,0 +1,178 @@
+package chaij;
+
+
+import java.util.Arrays;
+
+/**
+ * An immutable set of {@code long} values, meant to be built once and
+ * then passed to {@link chaij.LongExpectation#oneOf(LongSet)} many times.
+ *
+ * <p>
+ * Contrary to {@link chaij.LongExpectation#oneOf(long...)}, looking up a value
+ * takes constant time, as the values are kept in an open addressing hash
+ * table of primitive {@code long}s. Nothing is boxed, and the set is only
+ * rendered as a string once a check has failed, showing at most the first
+ * {@value #RENDERED} values.
+ *
+ * <pre>
+ * LongSet allowed = LongSet.of(ids);
+ * for(Row row : rows) {
+ *     expect(row.id).to.be.oneOf(allowed);
+ * }
+ * </pre>
+ *
+ * @since 0.3.1
+ */
+public final class LongSet {
+	
+	/**
+	 * How many values are shown at most when the set is rendered.
+	 */
+	private static final int RENDERED = 10;
+	
+	/**
+	 * The hash table, with {@code 0} marking an empty slot. Its length
+	 * is a power of two and at least twice the number of values, so
+	 * that there always is an empty slot to end a lookup.
+	 */
+	private final long[] table;
+	
+	private final int shift;
+	
+	private final boolean containsZero;
+	
+	/**
+	 * The distinct values in ascending order, for rendering the set.
+	 */
+	private final long[] values;
+	
+	private String rendered = null;
+	
+	
+	/**
+	 * Builds the hash table for the distinct, sorted values.
+	 *
+	 * @param values the distinct values in ascending order
+	 */
+	private LongSet(long[] values) {
+		
+		this.values = values;
+		int bits = 1;
+		while((1L << bits) < 2L * values.length) {
+			++bits;
+		}
+		table = new long[1 << bits];
+		shift = 64 - bits;
+		boolean zero = false;
+		int mask = table.length - 1;
+		for(long value : values) {
+			if(value == 0) {
+				zero = true;
+			} else {
+				int i = slot(value);
+				while(table[i] != 0) {
+					i = (i + 1) & mask;
+				}
+				table[i] = value;
+			}
+		}
+		containsZero = zero;
+	}
+	
+	
+	/**
+	 * Creates a new set of the given values, ignoring any duplicates.
+	 *
+	 * @param values the values of the set
+	 *
+	 * @return the set
+	 */
+	public static LongSet of(long... values) {
+		
+		long[] sorted = values.clone();
+		Arrays.sort(sorted);
+		int distinct = 0;
+		for(int i = 0; i < sorted.length; ++i) {
+			if((i == 0) || (sorted[i] != sorted[i - 1])) {
+				sorted[distinct++] = sorted[i];
+			}
+		}
+		return new LongSet(Arrays.copyOf(sorted, distinct));
+	}
+	
+	
+	/**
+	 * Checks whether the value is part of this set.
+	 *
+	 * @param value the value to look up
+	 *
+	 * @return whether it is part of this set
+	 */
+	public boolean contains(long value) {
+		
+		if(value == 0) {
+			return containsZero;
+		}
+		long[] t = table;
+		int mask = t.length - 1;
+		for(int i = slot(value); ; i = (i + 1) & mask) {
+			long candidate = t[i];
+			if(candidate == value) {
+				return true;
+			}
+			if(candidate == 0) {
+				return false;
+			}
+		}
+	}
+	
+	
+	/**
+	 * Returns the number of distinct values in this set.
+	 *
+	 * @return the size of this set
+	 */
+	public int size() {
+		
+		return values.length;
+	}
+	
+	
+	/**
+	 * Finds the preferred slot of a value by Fibonacci hashing.
+	 *
+	 * @param value the value
+	 *
+	 * @return the index into the hash table
+	 */
+	private int slot(long value) {
+		
+		return (int) ((value * 0x9E3779B97F4A7C15L) >>> shift);
+	}
+	
+	
+	/**
+	 * Renders the set with at most its first {@value #RENDERED}
+	 * values in ascending order, followed by the number of all
+	 * values if there are more, e.g. {@code [1, 2, 3]}.
+	 *
+	 * @return the rendered set
+	 */
+	@Override
+	public String toString() {
+		
+		String r = rendered;
+		if(r == null) {
+			StringBuilder sb = new StringBuilder("[");
+			int shown = Math.min(values.length, RENDERED);
+			for(int i = 0; i < shown; ++i) {
+				sb.append((i == 0) ? "" : ", ").append(values[i]);
+			}
+			if(shown < values.length) {
+				sb.append(", ... (").append(values.length).append(" values)");
+			}
+			rendered = r = sb.append(']').toString();
+		}
+		return r;
+	}
+}
@@ -0,0 +1,490 @@
+package chaij;
+
+
+import java.util.OptionalLong;
+import java.util.PrimitiveIterator;
+import java.util.stream.LongStream;
+
+/**
+ * An {@link java.util.stream.LongStream} expectation checks all elements of a
+ * stream in a single pass, without collecting them first.
+ *
+ * <p>
+ * As a stream can only be consumed once, every check of this expectation
+ * is a terminal operation, i.e. there can only be one check per expectation.
+ * The checks on all elements, e.g. {@link #allWithin(long, long)}, stop
+ * consuming the stream at the first offending element.
+ *
+ * @since 0.3.1
+ */
+public final class LongStreamExpectation extends BaseExpectation<LongStreamExpectation> {
+	
+	private final LongStream my;
+	
+	
+	/**
+	 * Constructs a new LongStreamExpectation.
+	 *
+	 * <p>
+	 * You should not use this constructor directly, but instead get
+	 * an expectation through {@link chaij.ChaiJ#expect(java.util.stream.LongStream)} or
+	 * {@link chaij.ChaiJ#expect(java.util.stream.LongStream, java.lang.String)}
+	 *
+	 * @param stream the {@code LongStream} that is consumed by the check
+	 * @param s      an optional custom expectation message.
+	 */
+	LongStreamExpectation(LongStream stream, String s) {
+		
+		super(s);
+		my = stream;
+	}
+	
+	
+	/**
+	 * Checks whether all elements are within {@code min} and
+	 * {@code max}, both inclusive.
+	 *
+	 * @param min the minimum value
+	 * @param max the maximum value
+	 *
+	 * @return the expectation itself for chaining
+	 *
+	 * @see chaij.LongExpectation#within(long, long)
+	 */
+	public LongStreamExpectation allWithin(long min, long max) {
+		
+		return allWithin(min, max, null);
+	}
+	
+	
+	/**
+	 * Checks whether all elements are within {@code min} and
+	 * {@code max}, both inclusive with a custom message.
+	 *
+	 * @param min     the minimum value
+	 * @param max     the maximum value
+	 * @param message a custom message specifically for this check
+	 *
+	 * @return the expectation itself for chaining
+	 *
+	 * @see chaij.LongExpectation#within(long, long, String)
+	 */
+	public LongStreamExpectation allWithin(long min, long max, String message) {
+		
+		if(isInert()) {
+			return this;
+		}
+		PrimitiveIterator.OfLong it = my.iterator();
+		long index = 0;
+		long offending = 0;
+		boolean found = false;
+		while(!found && it.hasNext()) {
+			offending = it.nextLong();
+			found = (offending < min) || (offending > max);
+			++index;
+		}
+		if(fails("allWithin", !found)) {
+			fail(message,
+			     "Expected LongStream to",
+			     "have all elements within " + min + " and " + max
+			     + offender(found, index - 1, offending) + '.'
+			);
+		}
+		return this;
+	}
+	
+	
+	/**
+	 * Checks whether all elements are above {@code lowerBound}.
+	 *
+	 * @param lowerBound the biggest value that is too small
+	 *
+	 * @return the expectation itself for chaining
+	 *
+	 * @see chaij.LongExpectation#above(long)
+	 */
+	public LongStreamExpectation allAbove(long lowerBound) {
+		
+		return allAbove(lowerBound, null);
+	}
+	
+	
+	/**
+	 * Checks whether all elements are above {@code lowerBound}
+	 * with a custom message.
+	 *
+	 * @param lowerBound the biggest value that is too small
+	 * @param message    a custom message specifically for this check
+	 *
+	 * @return the expectation itself for chaining
+	 *
+	 * @see chaij.LongExpectation#above(long, String)
+	 */
+	public LongStreamExpectation allAbove(long lowerBound, String message) {
+		
+		if(isInert()) {
+			return this;
+		}
+		PrimitiveIterator.OfLong it = my.iterator();
+		long index = 0;
+		long offending = 0;
+		boolean found = false;
+		while(!found && it.hasNext()) {
+			offending = it.nextLong();
+			found = offending <= lowerBound;
+			++index;
+		}
+		if(fails("allAbove", !found)) {
+			fail(message,
+			     "Expected LongStream to",
+			     "have all elements above " + lowerBound
+			     + offender(found, index - 1, offending) + '.'
+			);
+		}
+		return this;
+	}
+	
+	
+	/**
+	 * Checks whether all elements are below {@code upperBound}.
+	 *
+	 * @param upperBound the smallest value that is too big
+	 *
+	 * @return the expectation itself for chaining
+	 *
+	 * @see chaij.LongExpectation#below(long)
+	 */
+	public LongStreamExpectation allBelow(long upperBound) {
+		
+		return allBelow(upperBound, null);
+	}
+	
+	
+	/**
+	 * Checks whether all elements are below {@code upperBound}
+	 * with a custom message.
+	 *
+	 * @param upperBound the smallest value that is too big
+	 * @param message    a custom message specifically for this check
+	 *
+	 * @return the expectation itself for chaining
+	 *
+	 * @see chaij.LongExpectation#below(long, String)
+	 */
+	public LongStreamExpectation allBelow(long upperBound, String message) {
+		
+		if(isInert()) {
+			return this;
+		}
+		PrimitiveIterator.OfLong it = my.iterator();
+		long index = 0;
+		long offending = 0;
+		boolean found = false;
+		while(!found && it.hasNext()) {
+			offending = it.nextLong();
+			found = offending >= upperBound;
+			++index;
+		}
+		if(fails("allBelow", !found)) {
+			fail(message,
+			     "Expected LongStream to",
+			     "have all elements below " + upperBound
+			     + offender(found, index - 1, offending) + '.'
+			);
+		}
+		return this;
+	}
+	
+	
+	/**
+	 * Checks whether the elements are in ascending order,
+	 * i.e. no element is smaller than the one before it.
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public LongStreamExpectation increasing() {
+		
+		return increasing(null);
+	}
+	
+	
+	/**
+	 * Checks whether the elements are in ascending order,
+	 * i.e. no element is smaller than the one before it
+	 * with a custom message.
+	 *
+	 * @param message a custom message specifically for this check
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public LongStreamExpectation increasing(String message) {
+		
+		if(isInert()) {
+			return this;
+		}
+		PrimitiveIterator.OfLong it = my.iterator();
+		long index = 0;
+		long previous = Long.MIN_VALUE;
+		long offending = 0;
+		boolean found = false;
+		while(!found && it.hasNext()) {
+			offending = it.nextLong();
+			found = offending < previous;
+			previous = found ? previous : offending;
+			++index;
+		}
+		if(fails("increasing", !found)) {
+			fail(message,
+			     "Expected LongStream to",
+			     "be increasing"
+			     + offender(found, index - 1, offending + " after " + previous) + '.'
+			);
+		}
+		return this;
+	}
+	
+	
+	/**
+	 * Checks whether the elements are in descending order,
+	 * i.e. no element is bigger than the one before it.
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public LongStreamExpectation decreasing() {
+		
+		return decreasing(null);
+	}
+	
+	
+	/**
+	 * Checks whether the elements are in descending order,
+	 * i.e. no element is bigger than the one before it
+	 * with a custom message.
+	 *
+	 * @param message a custom message specifically for this check
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public LongStreamExpectation decreasing(String message) {
+		
+		if(isInert()) {
+			return this;
+		}
+		PrimitiveIterator.OfLong it = my.iterator();
+		long index = 0;
+		long previous = Long.MAX_VALUE;
+		long offending = 0;
+		boolean found = false;
+		while(!found && it.hasNext()) {
+			offending = it.nextLong();
+			found = offending > previous;
+			previous = found ? previous : offending;
+			++index;
+		}
+		if(fails("decreasing", !found)) {
+			fail(message,
+			     "Expected LongStream to",
+			     "be decreasing"
+			     + offender(found, index - 1, offending + " after " + previous) + '.'
+			);
+		}
+		return this;
+	}
+	
+	
+	/**
+	 * Checks whether the stream has exactly {@code expected} elements.
+	 *
+	 * @param expected the expected number of elements
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public LongStreamExpectation haveCount(long expected) {
+		
+		return haveCount(expected, null);
+	}
+	
+	
+	/**
+	 * Checks whether the stream has exactly {@code expected} elements
+	 * with a custom message.
+	 *
+	 * @param expected the expected number of elements
+	 * @param message  a custom message specifically for this check
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public LongStreamExpectation haveCount(long expected, String message) {
+		
+		if(isInert()) {
+			return this;
+		}
+		long count = my.count();
+		if(fails("haveCount", count == expected)) {
+			fail(message,
+			     "Expected LongStream to",
+			     "have " + expected + " elements; it had " + count + '.'
+			);
+		}
+		return this;
+	}
+	
+	
+	/**
+	 * Checks whether the elements sum up to {@code expected}.
+	 *
+	 * <p>
+	 * Like {@link java.util.stream.LongStream#sum()}, the sum
+	 * silently wraps around if it overflows.
+	 *
+	 * @param expected the expected sum
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public LongStreamExpectation sumTo(long expected) {
+		
+		return sumTo(expected, null);
+	}
+	
+	
+	/**
+	 * Checks whether the elements sum up to {@code expected}
+	 * with a custom message.
+	 *
+	 * <p>
+	 * Like {@link java.util.stream.LongStream#sum()}, the sum
+	 * silently wraps around if it overflows.
+	 *
+	 * @param expected the expected sum
+	 * @param message  a custom message specifically for this check
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public LongStreamExpectation sumTo(long expected, String message) {
+		
+		if(isInert()) {
+			return this;
+		}
+		long sum = my.sum();
+		if(fails("sumTo", sum == expected)) {
+			fail(message,
+			     "Expected LongStream to",
+			     "sum up to " + expected + "; it summed up to " + sum + '.'
+			);
+		}
+		return this;
+	}
+	
+	
+	/**
+	 * Checks whether the smallest element is {@code expected}.
+	 *
+	 * <p>
+	 * An empty stream has no smallest element, so this always fails for it.
+	 *
+	 * @param expected the expected minimum
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public LongStreamExpectation haveMin(long expected) {
+		
+		return haveMin(expected, null);
+	}
+	
+	
+	/**
+	 * Checks whether the smallest element is {@code expected}
+	 * with a custom message.
+	 *
+	 * <p>
+	 * An empty stream has no smallest element, so this always fails for it.
+	 *
+	 * @param expected the expected minimum
+	 * @param message  a custom message specifically for this check
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public LongStreamExpectation haveMin(long expected, String message) {
+		
+		if(isInert()) {
+			return this;
+		}
+		OptionalLong min = my.min();
+		if(fails("haveMin", min.isPresent() && (min.getAsLong() == expected))) {
+			fail(message,
+			     "Expected LongStream to",
+			     "have a minimum of " + expected
+			     + (min.isPresent() ? "; it was " + min.getAsLong() : "; it was empty") + '.'
+			);
+		}
+		return this;
+	}
+	
+	
+	/**
+	 * Checks whether the biggest element is {@code expected}.
+	 *
+	 * <p>
+	 * An empty stream has no biggest element, so this always fails for it.
+	 *
+	 * @param expected the expected maximum
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public LongStreamExpectation haveMax(long expected) {
+		
+		return haveMax(expected, null);
+	}
+	
+	
+	/**
+	 * Checks whether the biggest element is {@code expected}
+	 * with a custom message.
+	 *
+	 * <p>
+	 * An empty stream has no biggest element, so this always fails for it.
+	 *
+	 * @param expected the expected maximum
+	 * @param message  a custom message specifically for this check
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public LongStreamExpectation haveMax(long expected, String message) {
+		
+		if(isInert()) {
+			return this;
+		}
+		OptionalLong max = my.max();
+		if(fails("haveMax", max.isPresent() && (max.getAsLong() == expected))) {
+			fail(message,
+			     "Expected LongStream to",
+			     "have a maximum of " + expected
+			     + (max.isPresent() ? "; it was " + max.getAsLong() : "; it was empty") + '.'
+			);
+		}
+		return this;
+	}
+	
+	
+	/**
+	 * Describes the first offending element for the messages.
+	 *
+	 * @param found   whether there was an offending element
+	 * @param index   the index of the offending element
+	 * @param element the description of the offending element
+	 *
+	 * @return the description, starting with {@code "; "}, or an
+	 * empty string if there was no offending element
+	 */
+	private static String offender(boolean found, long index, Object element) {
+		
+		return found ? "; the element [" + index + "]=" + element + " violates it" : "";
+	}
+	
+	
+	@Override
+	public String toString() {
+		
+		return String.format("LongStreamExpectation(customText=%s)", customText);
+	}
+}
@@ -0,0 +1,75 @@
+package chaij;
+
+
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+
+/**
+ * Describes the offending elements of a failed check on an array.
+ *
+ * <p>
+ * The array expectations first search for the first offending index in a
+ * tight loop without any allocation. Only once a check has actually failed,
+ * the array is scanned a second time here to count all offenders and to list
+ * the first few of them in the message.
+ *
+ * @since 0.3.1
+ */
+final class Offenders {
+	
+	/**
+	 * How many offending elements are listed in a message at most.
+	 */
+	static final int LISTED = 5;
+	
+	
+	/**
+	 * Don't instantiate.
+	 *
+	 * @throws java.lang.IllegalAccessException ....don't instantiate it.
+	 */
+	private Offenders()
+			throws IllegalAccessException {
+		
+		throw new IllegalAccessException("Don't!");
+	}
+	
+	
+	/**
+	 * Describes the offending elements, starting at the first one that is known.
+	 *
+	 * @param first    the index of the first offending element,
+	 *                 or a negative value if there is none
+	 * @param length   the length of the array
+	 * @param offends  decides whether the element at an index is offending
+	 * @param elements describes the element at an index
+	 *
+	 * @return the description, starting with {@code "; "}, or an
+	 * empty string if there are no offending elements
+	 */
+	static String describe(int first,
+	                       int length,
+	                       IntPredicate offends,
+	                       IntFunction<String> elements) {
+		
+		if(first < 0) {
+			return "";
+		}
+		StringBuilder listed = new StringBuilder();
+		int count = 0;
+		for(int i = first; i < length; ++i) {
+			if(offends.test(i)) {
+				if(count < LISTED) {
+					listed.append((count == 0) ? "" : ", ")
+					      .append('[').append(i).append("]=")
+					      .append(elements.apply(i));
+				}
+				++count;
+			}
+		}
+		return "; " + count
+		       + ((count == 1) ? " element violates it: " : " elements violate it: ")
+		       + listed
+		       + ((count > LISTED) ? ", ..." : "");
+	}
+}
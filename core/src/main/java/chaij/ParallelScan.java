@@ -0,0 +1,150 @@
+package chaij;
+
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Searches for the first offending index of an array in parallel,
+ * for the {@code parallel()} mode of the array expectations.
+ *
+ * <p>
+ * The range is split recursively on a {@link java.util.concurrent.ForkJoinPool}.
+ * All workers share the lowest offending index found so far, and skip any
+ * range that starts at or after it, so that they stop soon after the first
+ * violation has been found. As every range before that index is still searched
+ * completely, the result is always the lowest offending index, exactly as
+ * if the array had been searched sequentially.
+ *
+ * @since 0.3.1
+ */
+final class ParallelScan {
+	
+	/**
+	 * The default number of elements below which a range is not split any further.
+	 */
+	static final int DEFAULT_THRESHOLD = 1 << 16;
+	
+	/**
+	 * How many elements a worker searches before it checks again whether
+	 * another worker has found an earlier violation in the meantime.
+	 */
+	private static final int CHUNK = 1 << 12;
+	
+	
+	/**
+	 * Don't instantiate.
+	 *
+	 * @throws java.lang.IllegalAccessException ....don't instantiate it.
+	 */
+	private ParallelScan()
+			throws IllegalAccessException {
+		
+		throw new IllegalAccessException("Don't!");
+	}
+	
+	
+	/**
+	 * Searches a range of an array sequentially.
+	 */
+	@FunctionalInterface
+	interface RangeSearch {
+		
+		/**
+		 * Finds the first offending index in the range.
+		 *
+		 * @param from the first index, inclusive
+		 * @param to   the last index, exclusive
+		 *
+		 * @return the index, or a negative value if there is none
+		 */
+		int first(int from, int to);
+	}
+	
+	
+	/**
+	 * Finds the lowest offending index in the range, splitting it across the pool.
+	 *
+	 * @param pool      the pool to run on
+	 * @param threshold the number of elements below which a range is not split any further
+	 * @param from      the first index, inclusive
+	 * @param to        the last index, exclusive
+	 * @param search    the sequential search for a part of the range
+	 *
+	 * @return the lowest offending index, or {@code -1} if there is none
+	 */
+	static int first(ForkJoinPool pool, int threshold, int from, int to, RangeSearch search) {
+		
+		if(to - from <= threshold) {
+			return search.first(from, to);
+		}
+		AtomicInteger lowest = new AtomicInteger(Integer.MAX_VALUE);
+		pool.invoke(new Task(search, lowest, threshold, from, to));
+		int found = lowest.get();
+		return (found == Integer.MAX_VALUE) ? -1 : found;
+	}
+	
+	
+	/**
+	 * Searches one part of the range, splitting it further if it is too big.
+	 */
+	private static final class Task extends RecursiveAction {
+		
+		private static final long serialVersionUID = -3260914874423905176L;
+		
+		private final RangeSearch search;
+		
+		private final AtomicInteger lowest;
+		
+		private final int threshold;
+		
+		private final int from;
+		
+		private final int to;
+		
+		
+		/**
+		 * Creates a new task for a part of the range.
+		 *
+		 * @param search    the sequential search
+		 * @param lowest    the lowest offending index found so far
+		 * @param threshold the number of elements below which the part is not split
+		 * @param from      the first index, inclusive
+		 * @param to        the last index, exclusive
+		 */
+		Task(RangeSearch search, AtomicInteger lowest, int threshold, int from, int to) {
+			
+			this.search = search;
+			this.lowest = lowest;
+			this.threshold = threshold;
+			this.from = from;
+			this.to = to;
+		}
+		
+		
+		@Override
+		protected void compute() {
+			
+			if(from >= lowest.get()) {
+				return;
+			}
+			if(to - from > threshold) {
+				int middle = (from + to) >>> 1;
+				invokeAll(new Task(search, lowest, threshold, from, middle),
+				          new Task(search, lowest, threshold, middle, to));
+				return;
+			}
+			int start = from;
+			while((start < to) && (start < lowest.get())) {
+				int end = (to - start > CHUNK) ? start + CHUNK : to;
+				int found = search.first(start, end);
+				if(found >= 0) {
+					lowest.accumulateAndGet(found, Math::min);
+					return;
+				}
+				start = end;
+			}
+		}
+	}
+}
@@ -0,0 +1,95 @@
+package chaij;
+
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps track of the asynchronous checks a thread has made, e.g. by a
+ * {@link chaij.StageExpectation}, until they have all been decided.
+ *
+ * <p>
+ * The checks are decided on whichever thread completes what they check,
+ * so all methods are synchronized. The failures are only reported to the
+ * {@link chaij.ExceptionReporter} context of the thread that made the checks
+ * once it {@linkplain chaij.ExceptionReporter#awaitAsync() waits} for them.
+ *
+ * @since 0.3.1
+ */
+final class PendingChecks {
+	
+	private final List<ChaiJException> failures = new ArrayList<>();
+	
+	private int pending = 0;
+	
+	
+	/**
+	 * Registers a check that is decided later.
+	 */
+	synchronized void register() {
+		
+		++pending;
+	}
+	
+	
+	/**
+	 * Decides a registered check.
+	 *
+	 * @param failure the failure of the check, or {@code null} if it passed
+	 */
+	synchronized void decide(ChaiJException failure) {
+		
+		if(failure != null) {
+			failures.add(failure);
+		}
+		if(--pending == 0) {
+			notifyAll();
+		}
+	}
+	
+	
+	/**
+	 * Waits until all registered checks have been decided, or the timeout has passed.
+	 *
+	 * <p>
+	 * If the current thread is interrupted, it stops waiting and
+	 * keeps its interrupted status.
+	 *
+	 * @param timeoutNanos how long to wait at most, or a negative value to wait
+	 *                     as long as it takes
+	 *
+	 * @return the number of checks that are still pending
+	 */
+	synchronized int await(long timeoutNanos) {
+		
+		long deadline = System.nanoTime() + timeoutNanos;
+		try {
+			while(pending > 0) {
+				if(timeoutNanos < 0) {
+					wait();
+				} else {
+					long left = deadline - System.nanoTime();
+					if(left <= 0) {
+						break;
+					}
+					TimeUnit.NANOSECONDS.timedWait(this, left);
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		return pending;
+	}
+	
+	
+	/**
+	 * Returns the failures of the checks decided so far.
+	 *
+	 * @return a copy of the failures
+	 */
+	synchronized List<ChaiJException> failures() {
+		
+		return new ArrayList<>(failures);
+	}
+}
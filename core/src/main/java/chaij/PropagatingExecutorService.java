@@ -0,0 +1,84 @@
+package chaij;
+
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An executor service that {@linkplain chaij.ExceptionReporter#propagating(Runnable)
+ * propagates} the run of the submitting thread into every task, and leaves
+ * running them to another executor service.
+ *
+ * <p>
+ * The tasks are submitted as {@link java.util.concurrent.FutureTask FutureTasks},
+ * which pass any exception other than a failed expectation on to their futures.
+ *
+ * @since 0.3.1
+ */
+final class PropagatingExecutorService extends AbstractExecutorService {
+	
+	private final ExecutorService delegate;
+	
+	
+	/**
+	 * Creates a new executor service running its tasks on the given one.
+	 *
+	 * @param delegate the executor service that runs the tasks
+	 */
+	PropagatingExecutorService(ExecutorService delegate) {
+		
+		this.delegate = delegate;
+	}
+	
+	
+	@Override
+	public void execute(Runnable command) {
+		
+		delegate.execute(ExceptionReporter.propagating(command));
+	}
+	
+	
+	@Override
+	public void shutdown() {
+		
+		delegate.shutdown();
+	}
+	
+	
+	@Override
+	public List<Runnable> shutdownNow() {
+		
+		return delegate.shutdownNow();
+	}
+	
+	
+	@Override
+	public boolean isShutdown() {
+		
+		return delegate.isShutdown();
+	}
+	
+	
+	@Override
+	public boolean isTerminated() {
+		
+		return delegate.isTerminated();
+	}
+	
+	
+	@Override
+	public boolean awaitTermination(long timeout, TimeUnit unit)
+			throws InterruptedException {
+		
+		return delegate.awaitTermination(timeout, unit);
+	}
+	
+	
+	@Override
+	public String toString() {
+		
+		return "PropagatingExecutorService(" + delegate + ')';
+	}
+}
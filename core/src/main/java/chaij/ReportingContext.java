@@ -0,0 +1,218 @@
+package chaij;
+
+
+import java.util.concurrent.Callable;
+
+/**
+ * The state of the {@link chaij.ExceptionReporter} for one thread, in a single
+ * compact object behind a single {@link java.lang.ThreadLocal}.
+ *
+ * <p>
+ * A thread only has a context while it needs one, i.e. while it is in
+ * multiple expectation mode or has asynchronous checks pending. Threads
+ * that only ever throw their failures right away never get a context at all,
+ * and the context of every other thread is removed as soon as it is idle
+ * again, so that even millions of short-lived virtual threads do not leave
+ * any entries behind. Entering and leaving multiple expectation mode is one
+ * lookup and at most one small allocation.
+ *
+ * <p>
+ * On Java 25 and later, where {@code java.lang.ScopedValue} is final, the context
+ * of a run that a thread starts while it has none is bound to the scope of the run
+ * by {@code chaij.ScopedReportingContexts} instead, which never touches the thread
+ * local at all. That class is compiled from {@code src/main/scoped}, and only if the
+ * JDK of the build is Java 25 or later. Setting the {@code chaij.scopedContexts}
+ * system property to {@code false} keeps every context in the thread local.
+ *
+ * @since 0.3.1
+ */
+final class ReportingContext {
+	
+	private static final ThreadLocal<ReportingContext> CURRENT = new ThreadLocal<>();
+	
+	/**
+	 * Binds the contexts of runs to their scopes, or {@code null} if the runtime cannot.
+	 */
+	private static final Scopes SCOPES = loadScopes();
+	
+	/**
+	 * Whether this context is bound to the scope of a run instead of the thread local.
+	 */
+	final boolean scoped;
+	
+	/**
+	 * Collects the failures in multiple expectation mode,
+	 * or is {@code null} if the failures are thrown right away.
+	 */
+	FailureCollector collector = null;
+	
+	/**
+	 * The asynchronous checks that have not been awaited yet, or {@code null} if there are none.
+	 */
+	PendingChecks pending = null;
+	
+	
+	/**
+	 * Only the threads and the scopes create their contexts.
+	 *
+	 * @param scoped whether the context is bound to the scope of a run
+	 */
+	ReportingContext(boolean scoped) {
+		
+		this.scoped = scoped;
+	}
+	
+	
+	/**
+	 * Loads the scoped contexts if the runtime has the final {@code ScopedValue} API
+	 * and they have been compiled, i.e. if both are at least Java 25.
+	 *
+	 * @return the scopes, or {@code null}
+	 */
+	private static Scopes loadScopes() {
+		
+		if(!Boolean.parseBoolean(System.getProperty("chaij.scopedContexts", "true"))) {
+			return null;
+		}
+		try {
+			String version = System.getProperty("java.specification.version", "1.8");
+			if(version.startsWith("1.") || (Integer.parseInt(version) < 25)) {
+				// Only a preview API before Java 25, if there at all.
+				return null;
+			}
+			return (Scopes) Class.forName("chaij.ScopedReportingContexts", true,
+			                              ReportingContext.class.getClassLoader())
+					.getDeclaredConstructor()
+					.newInstance();
+		} catch (NumberFormatException | ReflectiveOperationException | LinkageError e) {
+			// Not built with Java 25, every context lives in the thread local.
+			return null;
+		}
+	}
+	
+	
+	/**
+	 * Returns the context of the current thread, if it has one.
+	 *
+	 * @return the context, or {@code null} if the thread is idle
+	 */
+	static ReportingContext current() {
+		
+		if(SCOPES != null) {
+			ReportingContext context = SCOPES.current();
+			if(context != null) {
+				return context;
+			}
+		}
+		return CURRENT.get();
+	}
+	
+	
+	/**
+	 * Returns the context of the current thread, creating it if needed.
+	 *
+	 * @return the context
+	 */
+	static ReportingContext obtain() {
+		
+		ReportingContext context = current();
+		if(context == null) {
+			context = new ReportingContext(false);
+			CURRENT.set(context);
+		}
+		return context;
+	}
+	
+	
+	/**
+	 * Returns whether {@link #runScoped(Runnable)} would bind a new context
+	 * to the scope of the code, i.e. whether the runtime can and the current
+	 * thread has no context yet.
+	 *
+	 * @return whether it would
+	 */
+	static boolean bindsScope() {
+		
+		return (SCOPES != null) && (current() == null);
+	}
+	
+	
+	/**
+	 * Runs the given code with a new context bound to its scope,
+	 * if {@link #bindsScope()}.
+	 *
+	 * @param r the code
+	 */
+	static void runScoped(Runnable r) {
+		
+		SCOPES.run(new ReportingContext(true), r);
+	}
+	
+	
+	/**
+	 * Calls the given code with a new context bound to its scope,
+	 * if {@link #bindsScope()}.
+	 *
+	 * @param task the code
+	 * @param <V>  the type of its result
+	 *
+	 * @return its result
+	 *
+	 * @throws java.lang.Exception whatever the code throws
+	 */
+	static <V> V callScoped(Callable<V> task)
+			throws Exception {
+		
+		return SCOPES.call(new ReportingContext(true), task);
+	}
+	
+	
+	/**
+	 * Removes this context from the current thread if it is idle.
+	 * A context bound to the scope of a run goes away along with the scope.
+	 */
+	void releaseIfIdle() {
+		
+		if(!scoped && (collector == null) && (pending == null)) {
+			CURRENT.remove();
+		}
+	}
+	
+	
+	/**
+	 * Binds contexts to the scopes of the code that runs with them.
+	 */
+	interface Scopes {
+		
+		/**
+		 * Returns the context bound to the current scope.
+		 *
+		 * @return the context, or {@code null} if none is bound
+		 */
+		ReportingContext current();
+		
+		
+		/**
+		 * Runs the given code with the given context bound to its scope.
+		 *
+		 * @param context the context
+		 * @param r       the code
+		 */
+		void run(ReportingContext context, Runnable r);
+		
+		
+		/**
+		 * Calls the given code with the given context bound to its scope.
+		 *
+		 * @param context the context
+		 * @param task    the code
+		 * @param <V>     the type of its result
+		 *
+		 * @return its result
+		 *
+		 * @throws java.lang.Exception whatever the code throws
+		 */
+		<V> V call(ReportingContext context, Callable<V> task)
+				throws Exception;
+	}
+}
@@ -0,0 +1,839 @@
+package chaij;
+
+
+import chaij.ExceptionReporter.MultipleException;
+import chaij.function.UnreliableConsumer;
+import chaij.function.UnreliableRunnable;
+import com.sun.management.ThreadMXBean;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * A runnable expectation measures how a task performs, e.g. whether it
+ * {@linkplain #completeWithin(java.time.Duration) completes within} a
+ * time budget.
+ *
+ * <p>
+ * The task is first run for a number of {@linkplain #warmup(int) warmup}
+ * iterations, so that it has been compiled by the JIT, and then timed for a
+ * number of {@linkplain #measure(int) measurement} iterations. The measurement
+ * is only taken once per expectation, so several checks on the same
+ * expectation all refer to the same distribution:
+ *
+ * <pre>
+ * expect(bh -&gt; bh.consume(codec.encode(buf)))
+ *         .warmup(10_000).measure(1_000)
+ *         .to.completeWithin(Duration.ofNanos(50_000))
+ *         .and.completeWithin(Duration.ofNanos(200_000), 99);
+ * </pre>
+ *
+ * <p>
+ * Whether a hot path is free of allocations can be checked just the same, with
+ * {@code expect(() -> parser.parse(buf)).to.allocateAtMost(0)}, and whether
+ * a component {@linkplain #sustain(double) sustains} a throughput with several
+ * concurrent callers:
+ *
+ * <pre>
+ * expect(() -&gt; cache.get(key))
+ *         .threads(8).during(Duration.ofSeconds(2))
+ *         .to.sustain(1_000_000);
+ * </pre>
+ *
+ * <p>
+ * Or whether it {@linkplain #beThreadSafe(UnreliableRunnable) is thread-safe} at all:
+ *
+ * <pre>
+ * expect(counter::increment)
+ *         .threads(8).rounds(10_000)
+ *         .to.beThreadSafe(() -&gt; expect(counter.get() % 8).to.equal(0));
+ * </pre>
+ *
+ * <p>
+ * Every run is timed on its own with {@link System#nanoTime()}, so tasks
+ * that only take a few dozen nanoseconds are dominated by the resolution
+ * of the clock. Use a dedicated benchmark harness for those.
+ *
+ * <p>
+ * If the task throws an exception, it is rethrown as is if it is unchecked,
+ * or wrapped inside a {@link chaij.WrappedCheckedException} otherwise.
+ *
+ * @since 0.3.1
+ */
+public final class RunnableExpectation extends BaseExpectation<RunnableExpectation> {
+	
+	/**
+	 * How often the allocations are measured, keeping the least result.
+	 */
+	private static final int ALLOCATION_ROUNDS = 3;
+	
+	/**
+	 * Creates the daemon threads for the throughput checks by default.
+	 */
+	private static final ThreadFactory THROUGHPUT_THREADS = daemons("chaij-throughput");
+	
+	/**
+	 * Creates the daemon threads for the thread-safety checks by default.
+	 */
+	private static final ThreadFactory STRESS_THREADS = daemons("chaij-stress");
+	
+	/**
+	 * How many threads check whether a task is thread-safe by default,
+	 * as one thread alone could never break it.
+	 */
+	private static final int STRESS_THREAD_COUNT = Math.max(2, Runtime.getRuntime().availableProcessors());
+	
+	private final UnreliableConsumer<Blackhole> task;
+	
+	private int warmupIterations = 1_000;
+	
+	private int measureIterations = 1_000;
+	
+	/**
+	 * The measured durations of the single runs in nanoseconds, in ascending
+	 * order, or {@code null} if they have not been measured yet.
+	 */
+	private long[] samples = null;
+	
+	/**
+	 * The bytes allocated per run, rounded up, or {@code -1} if
+	 * they have not been measured yet.
+	 */
+	private long allocated = -1;
+	
+	/**
+	 * The number of threads, or {@code 0} for the default of each check.
+	 */
+	private int threadCount = 0;
+	
+	/**
+	 * Where the threads come from, or {@code null} for daemon threads named after the check.
+	 */
+	private ThreadFactory threadFactory = null;
+	
+	private long durationNanos = 1_000_000_000L;
+	
+	private int rounds = 1_000;
+	
+	/**
+	 * The completed runs of the throughput measurement, or {@code null}
+	 * if they have not been measured yet.
+	 */
+	private Throughput throughput = null;
+	
+	
+	/**
+	 * Constructs a new RunnableExpectation.
+	 *
+	 * <p>
+	 * You should not use this constructor directly, but instead get
+	 * an expectation through {@link chaij.ChaiJ#expect(chaij.function.UnreliableRunnable)},
+	 * {@link chaij.ChaiJ#expect(chaij.function.UnreliableConsumer)} or one of their
+	 * overloads with a custom message.
+	 *
+	 * @param task the task that is measured
+	 * @param s    an optional custom expectation message.
+	 */
+	RunnableExpectation(UnreliableConsumer<Blackhole> task, String s) {
+		
+		super(s);
+		this.task = task;
+	}
+	
+	
+	/**
+	 * Sets the number of times the task is run before measuring it.
+	 *
+	 * @param iterations the number of warmup iterations, {@code 1000} by default
+	 *
+	 * @return the expectation itself for chaining
+	 *
+	 * @throws java.lang.IllegalArgumentException if {@code iterations} is negative
+	 */
+	public RunnableExpectation warmup(int iterations) {
+		
+		if(iterations < 0) {
+			throw new IllegalArgumentException("The warmup iterations must not be negative, got " + iterations);
+		}
+		warmupIterations = iterations;
+		samples = null;
+		allocated = -1;
+		throughput = null;
+		return this;
+	}
+	
+	
+	/**
+	 * Sets the number of times the task is run and timed.
+	 *
+	 * @param iterations the number of measured iterations, {@code 1000} by default
+	 *
+	 * @return the expectation itself for chaining
+	 *
+	 * @throws java.lang.IllegalArgumentException if {@code iterations} is not positive
+	 */
+	public RunnableExpectation measure(int iterations) {
+		
+		if(iterations < 1) {
+			throw new IllegalArgumentException("The measured iterations must be positive, got " + iterations);
+		}
+		measureIterations = iterations;
+		samples = null;
+		allocated = -1;
+		return this;
+	}
+	
+	
+	/**
+	 * Sets the number of threads that run the task concurrently for
+	 * the throughput checks, {@code 1} by default, and for the
+	 * {@linkplain #beThreadSafe(UnreliableRunnable) thread-safety} checks,
+	 * one per processor but at least {@code 2} by default.
+	 *
+	 * @param count the number of threads
+	 *
+	 * @return the expectation itself for chaining
+	 *
+	 * @throws java.lang.IllegalArgumentException if {@code count} is not positive
+	 */
+	public RunnableExpectation threads(int count) {
+		
+		return useThreads(count, null);
+	}
+	
+	
+	/**
+	 * Sets the number of threads that run the task concurrently for
+	 * the throughput checks, and where they come from, e.g.
+	 * {@code Thread.ofVirtual().factory()} for virtual threads
+	 * on a JVM that has them.
+	 *
+	 * @param count   the number of threads
+	 * @param factory the factory for the threads, daemon platform threads by default
+	 *
+	 * @return the expectation itself for chaining
+	 *
+	 * @throws java.lang.IllegalArgumentException if {@code count} is not positive
+	 */
+	public RunnableExpectation threads(int count, ThreadFactory factory) {
+		
+		return useThreads(count, Objects.requireNonNull(factory, "factory"));
+	}
+	
+	
+	/**
+	 * Sets the number of threads and where they come from.
+	 *
+	 * @param count   the number of threads
+	 * @param factory the factory for the threads, or {@code null} for the default ones
+	 *
+	 * @return the expectation itself for chaining
+	 *
+	 * @throws java.lang.IllegalArgumentException if {@code count} is not positive
+	 */
+	private RunnableExpectation useThreads(int count, ThreadFactory factory) {
+		
+		if(count < 1) {
+			throw new IllegalArgumentException("The number of threads must be positive, got " + count);
+		}
+		threadCount = count;
+		threadFactory = factory;
+		throughput = null;
+		return this;
+	}
+	
+	
+	/**
+	 * Sets how long the threads run the task for the throughput
+	 * checks, one second by default.
+	 *
+	 * @param duration the duration of the measurement
+	 *
+	 * @return the expectation itself for chaining
+	 *
+	 * @throws java.lang.IllegalArgumentException if {@code duration} is not positive
+	 */
+	public RunnableExpectation during(Duration duration) {
+		
+		if(duration.isNegative() || duration.isZero()) {
+			throw new IllegalArgumentException("The duration must be positive, got " + duration);
+		}
+		durationNanos = duration.toNanos();
+		throughput = null;
+		return this;
+	}
+	
+	
+	/**
+	 * Sets how many rounds the threads run the task concurrently when checking
+	 * whether it {@linkplain #beThreadSafe(UnreliableRunnable) is thread-safe},
+	 * {@code 1000} by default.
+	 *
+	 * @param count the number of rounds
+	 *
+	 * @return the expectation itself for chaining
+	 *
+	 * @throws java.lang.IllegalArgumentException if {@code count} is not positive
+	 */
+	public RunnableExpectation rounds(int count) {
+		
+		if(count < 1) {
+			throw new IllegalArgumentException("The number of rounds must be positive, got " + count);
+		}
+		rounds = count;
+		return this;
+	}
+	
+	
+	/**
+	 * Checks whether the median run of the task completes within {@code limit}.
+	 *
+	 * @param limit the maximum duration of the median run
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public RunnableExpectation completeWithin(Duration limit) {
+		
+		return completeWithin(limit, 50, null);
+	}
+	
+	
+	/**
+	 * Checks whether the median run of the task completes within {@code limit}
+	 * with a custom message.
+	 *
+	 * @param limit   the maximum duration of the median run
+	 * @param message a custom message specifically for this check
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public RunnableExpectation completeWithin(Duration limit, String message) {
+		
+		return completeWithin(limit, 50, message);
+	}
+	
+	
+	/**
+	 * Checks whether the given percentile of the runs of the task completes
+	 * within {@code limit}, e.g. {@code 99} for all but the slowest percent.
+	 *
+	 * @param limit      the maximum duration of the run at the percentile
+	 * @param percentile the percentile, greater than {@code 0} and at most {@code 100}
+	 *
+	 * @return the expectation itself for chaining
+	 *
+	 * @throws java.lang.IllegalArgumentException if {@code percentile} is out of range
+	 */
+	public RunnableExpectation completeWithin(Duration limit, double percentile) {
+		
+		return completeWithin(limit, percentile, null);
+	}
+	
+	
+	/**
+	 * Checks whether the given percentile of the runs of the task completes
+	 * within {@code limit}, e.g. {@code 99} for all but the slowest percent
+	 * with a custom message.
+	 *
+	 * <p>
+	 * The percentile is taken by the nearest rank, i.e. it is always
+	 * the duration of one of the measured runs.
+	 *
+	 * @param limit      the maximum duration of the run at the percentile
+	 * @param percentile the percentile, greater than {@code 0} and at most {@code 100}
+	 * @param message    a custom message specifically for this check
+	 *
+	 * @return the expectation itself for chaining
+	 *
+	 * @throws java.lang.IllegalArgumentException if {@code percentile} is out of range
+	 */
+	public RunnableExpectation completeWithin(Duration limit, double percentile, String message) {
+		
+		if(isInert()) {
+			return this;
+		}
+		if(!((percentile > 0) && (percentile <= 100))) {
+			throw new IllegalArgumentException("The percentile must be within (0, 100], got " + percentile);
+		}
+		long limitNanos = limit.toNanos();
+		long[] measured = samples();
+		if(fails("completeWithin", percentile(measured, percentile) <= limitNanos)) {
+			fail(message,
+			     "Expected the task to",
+			     "complete within " + Durations.format(limitNanos)
+			     + " at " + Durations.percentile(percentile)
+			     + "; measured " + distribution(measured) + '.'
+			);
+		}
+		return this;
+	}
+	
+	
+	/**
+	 * Checks whether a run of the task allocates at most {@code bytes}
+	 * on the heap on average, e.g. {@code 0} for a hot path that must
+	 * not allocate at all.
+	 *
+	 * @param bytes the maximum number of bytes per run
+	 *
+	 * @return the expectation itself for chaining
+	 *
+	 * @throws java.lang.IllegalArgumentException if {@code bytes} is negative
+	 * @throws java.lang.UnsupportedOperationException if the JVM cannot measure
+	 *                                                 the allocations of a thread
+	 */
+	public RunnableExpectation allocateAtMost(long bytes) {
+		
+		return allocateAtMost(bytes, null);
+	}
+	
+	
+	/**
+	 * Checks whether a run of the task allocates at most {@code bytes}
+	 * on the heap on average, e.g. {@code 0} for a hot path that must
+	 * not allocate at all with a custom message.
+	 *
+	 * <p>
+	 * The allocations are measured with
+	 * {@link com.sun.management.ThreadMXBean#getThreadAllocatedBytes(long)} across
+	 * the {@linkplain #measure(int) measured} runs, after the {@linkplain #warmup(int) warmup}
+	 * runs, so that objects which only escape before the JIT has compiled the task
+	 * are not counted. The bytes that the measurement itself allocates are calibrated
+	 * with an empty task and subtracted, and the average is rounded up, so that even a
+	 * single allocation in all runs fails {@code allocateAtMost(0)}.
+	 *
+	 * <p>
+	 * Only the allocations of the current thread are measured, not the ones of
+	 * other threads the task hands work to.
+	 *
+	 * @param bytes   the maximum number of bytes per run
+	 * @param message a custom message specifically for this check
+	 *
+	 * @return the expectation itself for chaining
+	 *
+	 * @throws java.lang.IllegalArgumentException if {@code bytes} is negative
+	 * @throws java.lang.UnsupportedOperationException if the JVM cannot measure
+	 *                                                 the allocations of a thread
+	 */
+	public RunnableExpectation allocateAtMost(long bytes, String message) {
+		
+		if(isInert()) {
+			return this;
+		}
+		if(bytes < 0) {
+			throw new IllegalArgumentException("The allocated bytes must not be negative, got " + bytes);
+		}
+		long perRun = allocated();
+		if(fails("allocateAtMost", perRun <= bytes)) {
+			fail(message,
+			     "Expected the task to",
+			     "allocate at most " + bytes + " bytes per run; it allocated " + perRun
+			     + " bytes per run over " + measureIterations
+			     + ((measureIterations == 1) ? " run." : " runs.")
+			);
+		}
+		return this;
+	}
+	
+	
+	/**
+	 * Runs the task and measures its allocations, unless that has already been done.
+	 *
+	 * <p>
+	 * Both the task and the empty task for the calibration are measured
+	 * {@value #ALLOCATION_ROUNDS} times, keeping the least result, so that a one-off
+	 * allocation of the JVM, e.g. when a class is loaded late, does not count.
+	 *
+	 * @return the bytes allocated per run, rounded up
+	 *
+	 * @throws java.lang.UnsupportedOperationException if the JVM cannot measure
+	 *                                                 the allocations of a thread
+	 */
+	private long allocated() {
+		
+		long perRun = allocated;
+		if(perRun < 0) {
+			ThreadMXBean threads = Allocations.THREADS;
+			if(threads == null) {
+				throw new UnsupportedOperationException("This JVM cannot measure the allocations of a thread");
+			}
+			long id = Thread.currentThread().getId();
+			Blackhole blackhole = new Blackhole();
+			for(int i = 0; i < warmupIterations; ++i) {
+				run(blackhole);
+			}
+			long overhead = Long.MAX_VALUE;
+			long total = Long.MAX_VALUE;
+			for(int round = 0; round < ALLOCATION_ROUNDS; ++round) {
+				overhead = Math.min(overhead, allocations(threads, id, Allocations.NOTHING, blackhole));
+				total = Math.min(total, allocations(threads, id, task, blackhole));
+			}
+			blackhole.publish();
+			long bytes = Math.max(total - overhead, 0);
+			allocated = perRun = (bytes + measureIterations - 1) / measureIterations;
+		}
+		return perRun;
+	}
+	
+	
+	/**
+	 * Measures the bytes the current thread allocates while running a task
+	 * for the measured number of iterations.
+	 *
+	 * @param threads   the bean to measure with
+	 * @param id        the id of the current thread
+	 * @param measured  the task to run
+	 * @param blackhole the blackhole for the task
+	 *
+	 * @return the allocated bytes of all iterations
+	 */
+	private long allocations(ThreadMXBean threads, long id,
+	                         UnreliableConsumer<Blackhole> measured, Blackhole blackhole) {
+		
+		long before = threads.getThreadAllocatedBytes(id);
+		for(int i = 0; i < measureIterations; ++i) {
+			run(measured, blackhole);
+		}
+		return threads.getThreadAllocatedBytes(id) - before;
+	}
+	
+	
+	/**
+	 * Checks whether the {@linkplain #threads(int) threads} together complete at least
+	 * {@code opsPerSecond} runs of the task per second {@linkplain #during(Duration) during}
+	 * the measurement.
+	 *
+	 * @param opsPerSecond the minimum number of runs per second
+	 *
+	 * @return the expectation itself for chaining
+	 *
+	 * @throws java.lang.IllegalArgumentException if {@code opsPerSecond} is not positive
+	 */
+	public RunnableExpectation sustain(double opsPerSecond) {
+		
+		return sustain(opsPerSecond, null);
+	}
+	
+	
+	/**
+	 * Checks whether the {@linkplain #threads(int) threads} together complete at least
+	 * {@code opsPerSecond} runs of the task per second {@linkplain #during(Duration) during}
+	 * the measurement with a custom message.
+	 *
+	 * <p>
+	 * Every thread first runs the task for the {@linkplain #warmup(int) warmup} iterations,
+	 * and then all of them start together. If the check fails, the message also tells the
+	 * slowest and the fastest thread apart, as a skewed throughput often points at a lock
+	 * or some other shared resource the threads wait for.
+	 *
+	 * @param opsPerSecond the minimum number of runs per second
+	 * @param message      a custom message specifically for this check
+	 *
+	 * @return the expectation itself for chaining
+	 *
+	 * @throws java.lang.IllegalArgumentException if {@code opsPerSecond} is not positive
+	 */
+	public RunnableExpectation sustain(double opsPerSecond, String message) {
+		
+		if(isInert()) {
+			return this;
+		}
+		if(!(opsPerSecond > 0)) {
+			throw new IllegalArgumentException("The throughput must be positive, got " + opsPerSecond);
+		}
+		Throughput measured = throughput();
+		int threads = measured.perThread.length;
+		double seconds = measured.elapsedNanos / 1e9;
+		if(fails("sustain", measured.total >= opsPerSecond * seconds)) {
+			long slowest = Long.MAX_VALUE;
+			long fastest = 0;
+			for(long runs : measured.perThread) {
+				slowest = Math.min(slowest, runs);
+				fastest = Math.max(fastest, runs);
+			}
+			fail(message,
+			     "Expected the task to",
+			     "sustain " + rate(opsPerSecond) + " ops/s with " + threads
+			     + ((threads == 1) ? " thread" : " threads")
+			     + "; it completed " + rate(measured.total / seconds) + " ops/s ("
+			     + measured.total + " ops in " + Durations.format(measured.elapsedNanos)
+			     + "), per thread min=" + rate(slowest / seconds)
+			     + ", max=" + rate(fastest / seconds) + " ops/s."
+			);
+		}
+		return this;
+	}
+	
+	
+	/**
+	 * Checks whether the task is thread-safe, i.e. whether the {@linkplain #threads(int) threads}
+	 * can run it concurrently for a number of {@linkplain #rounds(int) rounds} without it
+	 * throwing, and without breaking the {@code invariants}.
+	 *
+	 * @param invariants the checks that must hold after every round, e.g. expectations
+	 *                   on the state the task changed
+	 *
+	 * @return the expectation itself for chaining
+	 *
+	 * @throws java.lang.IllegalStateException if only a single thread has been set
+	 */
+	public RunnableExpectation beThreadSafe(UnreliableRunnable invariants) {
+		
+		return beThreadSafe(invariants, null);
+	}
+	
+	
+	/**
+	 * Checks whether the task is thread-safe, i.e. whether the {@linkplain #threads(int) threads}
+	 * can run it concurrently for a number of {@linkplain #rounds(int) rounds} without it
+	 * throwing, and without breaking the {@code invariants} with a custom message.
+	 *
+	 * <p>
+	 * All threads are released into every round together by a shared barrier, after
+	 * stalling for a random moment each, so that they interleave differently from
+	 * round to round. Once all of them have run the task once, the invariants are
+	 * checked while they wait for the next round. The invariants are not checked
+	 * on the calling thread, so any expectation in them throws, even in
+	 * {@linkplain chaij.ExceptionReporter#runMultipleAndReport(UnreliableRunnable)
+	 * multiple mode}.
+	 *
+	 * <p>
+	 * The rounds stop at the first one that fails. All failures of that round, from any
+	 * thread and from the invariants, are the cause of the failed check, as a
+	 * {@link chaij.ExceptionReporter.MultipleException}.
+	 *
+	 * @param invariants the checks that must hold after every round, e.g. expectations
+	 *                   on the state the task changed
+	 * @param message    a custom message specifically for this check
+	 *
+	 * @return the expectation itself for chaining
+	 *
+	 * @throws java.lang.IllegalStateException if only a single thread has been set
+	 */
+	public RunnableExpectation beThreadSafe(UnreliableRunnable invariants, String message) {
+		
+		if(isInert()) {
+			return this;
+		}
+		Objects.requireNonNull(invariants, "invariants");
+		if(threadCount == 1) {
+			throw new IllegalStateException("A single thread cannot show whether the task is thread-safe");
+		}
+		int threads = (threadCount == 0) ? STRESS_THREAD_COUNT : threadCount;
+		Stress stress = Stress.run(task, invariants, threads,
+		                           (threadFactory == null) ? STRESS_THREADS : threadFactory, rounds
+		);
+		if(fails("beThreadSafe", stress.failedRound == 0)) {
+			fail(message,
+			     "Expected the task to",
+			     "be thread-safe with " + threads + " threads"
+			     + (stress.failedRound == 0 ?
+			        " over " + rounds + " rounds." :
+			        "; round " + stress.failedRound + " of " + rounds + " failed with "
+			        + stress.failures.size() + ((stress.failures.size() == 1) ? " error." : " errors.")),
+			     (stress.failedRound == 0) ? null : new MultipleException(stress.failures)
+			);
+		}
+		return this;
+	}
+	
+	
+	/**
+	 * Runs the task from all threads and counts the completed runs,
+	 * unless that has already been done.
+	 *
+	 * @return the completed runs
+	 */
+	private Throughput throughput() {
+		
+		Throughput measured = throughput;
+		if(measured == null) {
+			throughput = measured = Throughput.measure(task, (threadCount == 0) ? 1 : threadCount,
+			                                           (threadFactory == null) ? THROUGHPUT_THREADS : threadFactory,
+			                                           warmupIterations, durationNanos
+			);
+		}
+		return measured;
+	}
+	
+	
+	/**
+	 * Creates a factory for daemon threads with the given name.
+	 *
+	 * @param name the name of the threads
+	 *
+	 * @return the factory
+	 */
+	private static ThreadFactory daemons(String name) {
+		
+		return runnable -> {
+			Thread thread = new Thread(runnable, name);
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+	
+	
+	/**
+	 * Formats a throughput for the messages.
+	 *
+	 * @param opsPerSecond the runs per second
+	 *
+	 * @return the formatted throughput
+	 */
+	private static String rate(double opsPerSecond) {
+		
+		return String.format(Locale.ROOT, "%.1f", opsPerSecond);
+	}
+	
+	
+	/**
+	 * Runs and measures the task, unless that has already been done.
+	 *
+	 * @return the durations of the single runs in nanoseconds, in ascending order
+	 */
+	private long[] samples() {
+		
+		long[] measured = samples;
+		if(measured == null) {
+			Blackhole blackhole = new Blackhole();
+			for(int i = 0; i < warmupIterations; ++i) {
+				run(blackhole);
+			}
+			measured = new long[measureIterations];
+			for(int i = 0; i < measured.length; ++i) {
+				long start = System.nanoTime();
+				run(blackhole);
+				measured[i] = System.nanoTime() - start;
+			}
+			blackhole.publish();
+			Arrays.sort(measured);
+			samples = measured;
+		}
+		return measured;
+	}
+	
+	
+	/**
+	 * Runs the task once.
+	 *
+	 * @param blackhole the blackhole for the task
+	 *
+	 * @throws chaij.WrappedCheckedException if the task throws a checked exception.
+	 */
+	private void run(Blackhole blackhole) {
+		
+		run(task, blackhole);
+	}
+	
+	
+	/**
+	 * Runs a task once.
+	 *
+	 * @param measured  the task to run
+	 * @param blackhole the blackhole for the task
+	 *
+	 * @throws chaij.WrappedCheckedException if the task throws a checked exception.
+	 */
+	private static void run(UnreliableConsumer<Blackhole> measured, Blackhole blackhole) {
+		
+		try {
+			measured.accept(blackhole);
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable t) {
+			throw new WrappedCheckedException(t);
+		}
+	}
+	
+	
+	/**
+	 * Takes a percentile of the sorted samples by the nearest rank.
+	 *
+	 * @param measured   the samples in ascending order
+	 * @param percentile the percentile, greater than {@code 0} and at most {@code 100}
+	 *
+	 * @return the sample at the percentile
+	 */
+	private static long percentile(long[] measured, double percentile) {
+		
+		int rank = (int) Math.ceil(percentile / 100 * measured.length);
+		return measured[Math.min(Math.max(rank, 1), measured.length) - 1];
+	}
+	
+	
+	/**
+	 * Describes the distribution of the samples for the messages.
+	 *
+	 * @param measured the samples in ascending order
+	 *
+	 * @return the description
+	 */
+	private static String distribution(long[] measured) {
+		
+		return "min=" + Durations.format(measured[0])
+		       + ", p50=" + Durations.format(percentile(measured, 50))
+		       + ", p90=" + Durations.format(percentile(measured, 90))
+		       + ", p99=" + Durations.format(percentile(measured, 99))
+		       + ", max=" + Durations.format(measured[measured.length - 1])
+		       + " over " + measured.length + ((measured.length == 1) ? " run" : " runs");
+	}
+	
+	
+	@Override
+	public String toString() {
+		
+		return String.format("RunnableExpectation(warmup=%d, measure=%d, threads=%s, rounds=%d, customText=%s)",
+		                     warmupIterations, measureIterations,
+		                     (threadCount == 0) ? "default" : threadCount, rounds, customText
+		);
+	}
+	
+	
+	/**
+	 * Holds the bean for measuring allocations, so that it is only looked
+	 * up once an allocation is actually measured.
+	 */
+	private static final class Allocations {
+		
+		/**
+		 * The bean, or {@code null} if this JVM cannot measure the allocations of a thread.
+		 */
+		static final ThreadMXBean THREADS = threads();
+		
+		/**
+		 * The empty task for calibrating the measurement.
+		 */
+		static final UnreliableConsumer<Blackhole> NOTHING = blackhole -> { };
+		
+		
+		/**
+		 * Looks up the bean and enables the measurement, if needed.
+		 *
+		 * @return the bean, or {@code null} if this JVM cannot measure the allocations of a thread
+		 */
+		private static ThreadMXBean threads() {
+			
+			try {
+				java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+				if(!(bean instanceof ThreadMXBean)) {
+					return null;
+				}
+				ThreadMXBean threads = (ThreadMXBean) bean;
+				if(!threads.isThreadAllocatedMemorySupported()) {
+					return null;
+				}
+				if(!threads.isThreadAllocatedMemoryEnabled()) {
+					threads.setThreadAllocatedMemoryEnabled(true);
+				}
+				return threads;
+			} catch (LinkageError | SecurityException | UnsupportedOperationException e) {
+				return null;
+			}
+		}
+	}
+}
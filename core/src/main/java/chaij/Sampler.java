@@ -0,0 +1,370 @@
+package chaij;
+
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Hands out expectations for invariant checks in production code, of which only one
+ * in so many are actually evaluated, and whose failures go to a {@link chaij.FailureSink}
+ * instead of being thrown.
+ *
+ * <div class="example"><pre>
+ * private static final Sampler QUEUE_DEPTH = Sampler.oneIn(1000);
+ *
+ * void enqueue(Task task) {
+ *     QUEUE_DEPTH.expect(queue.size()).to.be.below(limit);
+ *     ...
+ * }
+ * </pre></div>
+ *
+ * <p>
+ * Each call site can have a sampler with a rate of its own, or use the
+ * {@linkplain #global() global} one, whose rate can be changed at runtime and
+ * starts out as the {@code chaij.sampling.rate} system property, or {@code 1}.
+ * Whether a check is sampled is decided by the {@link java.util.concurrent.ThreadLocalRandom}
+ * of the calling thread, so the threads do not contend on anything.
+ *
+ * <p>
+ * A check that is not sampled gets a shared, inert expectation, which allocates nothing
+ * and passes all checks without evaluating them, not even the predicates of {@code satisfy}.
+ * A check that is sampled gets a fresh expectation, whose failures are passed to the
+ * {@linkplain #setFailureSink(FailureSink) failure sink}, which logs them as warnings
+ * of the {@code chaij.Sampler} {@link java.util.logging.Logger} by default, numbered since
+ * the start of the JVM. The {@link chaij.ExceptionReporter} and its multiple expectation
+ * mode are not involved. A check never throws because of its sink, whatever the
+ * sink throws is only {@linkplain #getSinkErrors() counted}.
+ *
+ * @since 0.3.1
+ */
+public final class Sampler {
+	
+	private static final Logger LOGGER = Logger.getLogger(Sampler.class.getName());
+	
+	/**
+	 * The sink the failures go to unless another one has been set.
+	 */
+	private static final FailureSink LOG =
+			(sequence, failure) -> LOGGER.log(Level.WARNING, "Unmet invariant #" + sequence, failure);
+	
+	private static final Sampler GLOBAL = new Sampler(0);
+	
+	private static final AtomicLong FAILURES = new AtomicLong();
+	
+	private static final AtomicLong SINK_ERRORS = new AtomicLong();
+	
+	private static volatile int globalRate = checkedRate(Integer.getInteger("chaij.sampling.rate", 1));
+	
+	private static volatile int globalThreshold = threshold(globalRate);
+	
+	private static volatile FailureSink sink = LOG;
+	
+	/**
+	 * The rate of this sampler, or {@code 0} for the global one.
+	 */
+	private final int rate;
+	
+	/**
+	 * The highest random number for which a check is sampled, see {@link #threshold(int)}.
+	 */
+	private final int threshold;
+	
+	
+	/**
+	 * Creates a new sampler.
+	 *
+	 * @param rate the rate, or {@code 0} for the global one
+	 */
+	private Sampler(int rate) {
+		
+		this.rate = rate;
+		this.threshold = (rate == 0) ? 0 : threshold(rate);
+	}
+	
+	
+	/**
+	 * Returns a sampler that evaluates one in {@code rate} checks, at random.
+	 *
+	 * @param rate how many checks there are per evaluated one, {@code 1} to evaluate all
+	 *
+	 * @return the sampler
+	 *
+	 * @throws java.lang.IllegalArgumentException if the rate is less than {@code 1}
+	 */
+	public static Sampler oneIn(int rate) {
+		
+		return new Sampler(checkedRate(rate));
+	}
+	
+	
+	/**
+	 * Returns the sampler that uses the {@linkplain #setGlobalRate(int) global rate}.
+	 *
+	 * @return the global sampler
+	 */
+	public static Sampler global() {
+		
+		return GLOBAL;
+	}
+	
+	
+	/**
+	 * Returns the rate of the {@linkplain #global() global} sampler.
+	 *
+	 * @return how many checks there are per evaluated one
+	 */
+	public static int getGlobalRate() {
+		
+		return globalRate;
+	}
+	
+	
+	/**
+	 * Changes the rate of the {@linkplain #global() global} sampler.
+	 *
+	 * @param rate how many checks there are per evaluated one, {@code 1} to evaluate all
+	 *
+	 * @throws java.lang.IllegalArgumentException if the rate is less than {@code 1}
+	 */
+	public static void setGlobalRate(int rate) {
+		
+		globalThreshold = threshold(checkedRate(rate));
+		globalRate = rate;
+	}
+	
+	
+	/**
+	 * Changes where the failures of the sampled checks go. The sink is called on
+	 * the thread of the failed check, so it should be quick. If it throws, the
+	 * failure is lost and only {@linkplain #getSinkErrors() counted}.
+	 *
+	 * @param failureSink the sink, or {@code null} to log the failures
+	 */
+	public static void setFailureSink(FailureSink failureSink) {
+		
+		sink = (failureSink == null) ? LOG : failureSink;
+	}
+	
+	
+	/**
+	 * Returns how many failures have been lost since the start of the JVM,
+	 * because the failure sink threw instead of accepting them, e.g. as it
+	 * had already been closed.
+	 *
+	 * @return the number of lost failures
+	 */
+	public static long getSinkErrors() {
+		
+		return SINK_ERRORS.get();
+	}
+	
+	
+	/**
+	 * Passes the failure of a sampled check to the failure sink, without ever
+	 * throwing into the code that is checked.
+	 *
+	 * @param failure the failure
+	 */
+	static void report(UnmetExpectationException failure) {
+		
+		try {
+			sink.accept(FAILURES.incrementAndGet(), failure);
+		} catch (RuntimeException e) {
+			SINK_ERRORS.incrementAndGet();
+		}
+	}
+	
+	
+	/**
+	 * Checks that a rate is positive.
+	 *
+	 * @param rate the rate
+	 *
+	 * @return the rate
+	 *
+	 * @throws java.lang.IllegalArgumentException if the rate is less than {@code 1}
+	 */
+	private static int checkedRate(int rate) {
+		
+		if(rate < 1) {
+			throw new IllegalArgumentException("The sampling rate must be at least 1, but was " + rate);
+		}
+		return rate;
+	}
+	
+	
+	/**
+	 * Computes the highest of the non-negative random {@code int}s for which a check is
+	 * sampled, so that one in {@code rate} of them are, without dividing by the rate
+	 * for every check.
+	 *
+	 * @param rate the rate
+	 *
+	 * @return the threshold
+	 */
+	private static int threshold(int rate) {
+		
+		return (int) ((1L << 31) / rate - 1);
+	}
+	
+	
+	/**
+	 * Decides whether the next check is evaluated.
+	 *
+	 * @return whether it is sampled
+	 */
+	public boolean sample() {
+		
+		int current = (rate == 0) ? globalThreshold : threshold;
+		return (ThreadLocalRandom.current().nextInt() >>> 1) <= current;
+	}
+	
+	
+	/**
+	 * Returns an integer expectation, if the check is sampled,
+	 * or an inert one otherwise.
+	 *
+	 * @param value the int value that is tested in this expectation
+	 *
+	 * @return the expectation
+	 */
+	public IntExpectation expect(int value) {
+		
+		return expect(value, null);
+	}
+	
+	
+	/**
+	 * Returns an integer expectation, if the check is sampled,
+	 * or an inert one otherwise.
+	 *
+	 * @param value   the int value that is tested in this expectation
+	 * @param message a custom message that is prepended in front of all
+	 *                the error messages
+	 *
+	 * @return the expectation
+	 */
+	public IntExpectation expect(int value, String message) {
+		
+		if(!sample()) {
+			return InertExpectations.INT;
+		}
+		IntExpectation expectation = new IntExpectation(value, message);
+		expectation.makeSampled();
+		return expectation;
+	}
+	
+	
+	/**
+	 * Returns a long expectation, if the check is sampled,
+	 * or an inert one otherwise.
+	 *
+	 * @param value the long value that is tested in this expectation
+	 *
+	 * @return the expectation
+	 */
+	public LongExpectation expect(long value) {
+		
+		return expect(value, null);
+	}
+	
+	
+	/**
+	 * Returns a long expectation, if the check is sampled,
+	 * or an inert one otherwise.
+	 *
+	 * @param value   the long value that is tested in this expectation
+	 * @param message a custom message that is prepended in front of all
+	 *                the error messages
+	 *
+	 * @return the expectation
+	 */
+	public LongExpectation expect(long value, String message) {
+		
+		if(!sample()) {
+			return InertExpectations.LONG;
+		}
+		LongExpectation expectation = new LongExpectation(value, message);
+		expectation.makeSampled();
+		return expectation;
+	}
+	
+	
+	/**
+	 * Returns a double expectation, if the check is sampled,
+	 * or an inert one otherwise.
+	 *
+	 * @param value the double value that is tested in this expectation
+	 *
+	 * @return the expectation
+	 */
+	public DoubleExpectation expect(double value) {
+		
+		return expect(value, null);
+	}
+	
+	
+	/**
+	 * Returns a double expectation, if the check is sampled,
+	 * or an inert one otherwise.
+	 *
+	 * @param value   the double value that is tested in this expectation
+	 * @param message a custom message that is prepended in front of all
+	 *                the error messages
+	 *
+	 * @return the expectation
+	 */
+	public DoubleExpectation expect(double value, String message) {
+		
+		if(!sample()) {
+			return InertExpectations.DOUBLE;
+		}
+		DoubleExpectation expectation = new DoubleExpectation(value, message);
+		expectation.makeSampled();
+		return expectation;
+	}
+	
+	
+	/**
+	 * Returns a boolean expectation, if the check is sampled,
+	 * or an inert one otherwise.
+	 *
+	 * @param value the boolean value that is tested in this expectation
+	 *
+	 * @return the expectation
+	 */
+	public BooleanExpectation expect(boolean value) {
+		
+		return expect(value, null);
+	}
+	
+	
+	/**
+	 * Returns a boolean expectation, if the check is sampled,
+	 * or an inert one otherwise.
+	 *
+	 * @param value   the boolean value that is tested in this expectation
+	 * @param message a custom message that is prepended in front of all
+	 *                the error messages
+	 *
+	 * @return the expectation
+	 */
+	public BooleanExpectation expect(boolean value, String message) {
+		
+		if(!sample()) {
+			return InertExpectations.BOOLEAN;
+		}
+		BooleanExpectation expectation = new BooleanExpectation(value, message);
+		expectation.makeSampled();
+		return expectation;
+	}
+	
+	
+	@Override
+	public String toString() {
+		
+		return (rate == 0) ? "Sampler(global)" : "Sampler(oneIn=" + rate + ')';
+	}
+}
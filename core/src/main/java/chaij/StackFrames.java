@@ -0,0 +1,145 @@
+package chaij;
+
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Finds the caller of a failing check for {@link chaij.StackTracePolicy#CALLER}.
+ *
+ * <p>
+ * On Java 9 and later, this uses {@code java.lang.StackWalker}, which only
+ * materializes the topmost frames. As ChaiJ itself still targets Java 8, the
+ * walker is looked up reflectively, and on Java 8 the full stack trace of a
+ * fresh {@link java.lang.Throwable} is searched instead.
+ *
+ * @since 0.3.1
+ */
+final class StackFrames {
+	
+	private static final Object WALKER;
+	
+	private static final MethodHandle WALK;
+	
+	private static final MethodHandle CLASS_NAME;
+	
+	private static final MethodHandle TO_ELEMENT;
+	
+	static {
+		Object walker = null;
+		MethodHandle walk = null;
+		MethodHandle className = null;
+		MethodHandle toElement = null;
+		try {
+			Class<?> walkerClass = Class.forName("java.lang.StackWalker");
+			Class<?> frameClass = Class.forName("java.lang.StackWalker$StackFrame");
+			MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+			walker = walkerClass.getMethod("getInstance").invoke(null);
+			walk = lookup.findVirtual(walkerClass, "walk",
+			                          MethodType.methodType(Object.class, Function.class))
+			             .asType(MethodType.methodType(Object.class, Object.class, Function.class));
+			className = lookup.findVirtual(frameClass, "getClassName",
+			                               MethodType.methodType(String.class))
+			                  .asType(MethodType.methodType(String.class, Object.class));
+			toElement = lookup.findVirtual(frameClass, "toStackTraceElement",
+			                               MethodType.methodType(StackTraceElement.class))
+			                  .asType(MethodType.methodType(StackTraceElement.class, Object.class));
+		} catch (ReflectiveOperationException e) {
+			walker = null;
+		}
+		WALKER = walker;
+		WALK = walk;
+		CLASS_NAME = className;
+		TO_ELEMENT = toElement;
+	}
+	
+	
+	/**
+	 * Don't instantiate.
+	 *
+	 * @throws java.lang.IllegalAccessException ....don't instantiate it.
+	 */
+	private StackFrames()
+			throws IllegalAccessException {
+		
+		throw new IllegalAccessException("Don't!");
+	}
+	
+	
+	/**
+	 * Finds the topmost frame of the current thread that is neither
+	 * part of this class nor matched by {@code skipped}.
+	 *
+	 * @param skipped decides, by the name of their class, which frames to skip
+	 *
+	 * @return the frame, or {@code null} if all frames were skipped
+	 */
+	static StackTraceElement callerOf(Predicate<String> skipped) {
+		
+		Predicate<String> skippedOrOwn =
+				className -> className.equals(StackFrames.class.getName()) || skipped.test(className);
+		if(WALKER == null) {
+			for(StackTraceElement frame : new Throwable().getStackTrace()) {
+				if(!skippedOrOwn.test(frame.getClassName())) {
+					return frame;
+				}
+			}
+			return null;
+		}
+		
+		Function<Stream<?>, StackTraceElement> firstCaller =
+				frames -> frames.filter(frame -> !skippedOrOwn.test(className(frame)))
+				                .findFirst()
+				                .map(StackFrames::toElement)
+				                .orElse(null);
+		try {
+			return (StackTraceElement) (Object) WALK.invokeExact(WALKER, firstCaller);
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable t) {
+			throw new IllegalStateException(t);
+		}
+	}
+	
+	
+	/**
+	 * Calls {@code StackWalker.StackFrame#getClassName()}.
+	 *
+	 * @param frame the stack frame
+	 *
+	 * @return the name of the class of the frame
+	 */
+	private static String className(Object frame) {
+		
+		try {
+			return (String) CLASS_NAME.invokeExact(frame);
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable t) {
+			throw new IllegalStateException(t);
+		}
+	}
+	
+	
+	/**
+	 * Calls {@code StackWalker.StackFrame#toStackTraceElement()}.
+	 *
+	 * @param frame the stack frame
+	 *
+	 * @return the frame as a stack trace element
+	 */
+	private static StackTraceElement toElement(Object frame) {
+		
+		try {
+			return (StackTraceElement) TO_ELEMENT.invokeExact(frame);
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable t) {
+			throw new IllegalStateException(t);
+		}
+	}
+}
@@ -0,0 +1,124 @@
+package chaij;
+
+
+import java.util.Locale;
+import java.util.Objects;
+import java.util.logging.Logger;
+
+/**
+ * Decides how much of the stack trace is captured when an expectation fails.
+ *
+ * <p>
+ * Capturing the full stack trace is by far the most expensive part of a
+ * failing check. This does not matter when a test stops at its first failure,
+ * but it does dominate bulk data checks that run through
+ * {@link chaij.ExceptionReporter#runMultipleAndReport} and fail thousands of times.
+ *
+ * <p>
+ * The policy can be set globally with {@link #setGlobal(StackTracePolicy)}
+ * (or the {@code chaij.stackTracePolicy} system property, in any case), and overridden
+ * for the current thread with {@link #setForCurrentThread(StackTracePolicy)}.
+ *
+ * @since 0.3.1
+ */
+public enum StackTracePolicy {
+	
+	/**
+	 * Captures the full stack trace, as any other exception does. This is the default.
+	 */
+	FULL,
+	
+	/**
+	 * Only keeps the frame that called the failing check.
+	 *
+	 * <p>
+	 * This keeps failures cheap to retain and to print. Finding the caller still
+	 * walks the top of the stack though, which only beats capturing the full stack
+	 * trace on deep stacks. Use {@link #NONE} when failures have to be cheap.
+	 */
+	CALLER,
+	
+	/**
+	 * Does not capture any stack trace at all, leaving only the message.
+	 */
+	NONE;
+	
+	private static volatile StackTracePolicy global =
+			parse(System.getProperty("chaij.stackTracePolicy"));
+	
+	private static final ThreadLocal<StackTracePolicy> FOR_THREAD = new ThreadLocal<>();
+	
+	
+	/**
+	 * Parses the value of the {@code chaij.stackTracePolicy} system property, ignoring
+	 * its case. A value that names no policy only logs a warning, as failing here would
+	 * leave the class unusable and break every failing check with a {@code NoClassDefFoundError}.
+	 *
+	 * @param value the value of the property, or {@code null} if it is not set
+	 *
+	 * @return the policy it names, or {@link #FULL} if it is not set or names no policy
+	 */
+	static StackTracePolicy parse(String value) {
+		
+		if(value == null) {
+			return FULL;
+		}
+		try {
+			return valueOf(value.trim().toUpperCase(Locale.ROOT));
+		} catch (IllegalArgumentException e) {
+			Logger.getLogger(StackTracePolicy.class.getName()).warning(
+					"Unknown chaij.stackTracePolicy '" + value + "', using FULL instead.");
+			return FULL;
+		}
+	}
+	
+	
+	/**
+	 * Sets the policy for all threads that do not have their own.
+	 *
+	 * @param policy the new global policy
+	 */
+	public static void setGlobal(StackTracePolicy policy) {
+		
+		global = Objects.requireNonNull(policy);
+	}
+	
+	
+	/**
+	 * Returns the policy for all threads that do not have their own.
+	 *
+	 * @return the global policy
+	 */
+	public static StackTracePolicy getGlobal() {
+		
+		return global;
+	}
+	
+	
+	/**
+	 * Sets the policy for the current thread only.
+	 *
+	 * @param policy the policy for this thread, or {@code null}
+	 *               to use the global policy again
+	 */
+	public static void setForCurrentThread(StackTracePolicy policy) {
+		
+		if(policy == null) {
+			FOR_THREAD.remove();
+		} else {
+			FOR_THREAD.set(policy);
+		}
+	}
+	
+	
+	/**
+	 * Returns the policy that applies to the current thread.
+	 *
+	 * @return the thread's own policy if it has one, otherwise the global one
+	 */
+	public static StackTracePolicy current() {
+		
+		StackTracePolicy policy = FOR_THREAD.get();
+		return (policy == null) ? global : policy;
+	}
+}
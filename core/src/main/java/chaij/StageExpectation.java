@@ -0,0 +1,336 @@
+package chaij;
+
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A {@link java.util.concurrent.CompletionStage} expectation checks how a stage
+ * completes, without blocking until it does.
+ *
+ * <p>
+ * Every check registers a callback on the stage and returns right away. It is only
+ * decided once the stage completes, on the thread that completes it, or once its
+ * deadline has passed, on a timer thread that all deadlines share. The failures are
+ * reported to the {@link chaij.ExceptionReporter} context of the thread that made the
+ * checks once it {@linkplain chaij.ExceptionReporter#awaitAsync() waits} for them,
+ * which {@link chaij.ExceptionReporter#runMultipleAndReport(chaij.function.UnreliableRunnable)}
+ * and {@link chaij.ExceptionReporter#runSingleAndReport(chaij.function.UnreliableRunnable)},
+ * and so the JUnit integrations, do on their own at the end. So thousands of stages
+ * can be checked at once:
+ *
+ * <pre>
+ * runMultipleAndReport(() -&gt; {
+ *     for(Request request : requests) {
+ *         expect(client.send(request))
+ *                 .to.completeWithin(Duration.ofSeconds(1))
+ *                 .and.resolveTo(request.expectedResponse());
+ *     }
+ * });
+ * </pre>
+ *
+ * <p>
+ * The {@linkplain #not() not} flag and the {@link chaij.StackTracePolicy} are captured
+ * when a check is made. While all expectations are {@linkplain chaij.ChaiJ#isDisabled() disabled},
+ * a check does not even register a callback. The stack trace of a failure, if any, is the one of the thread
+ * that decided it.
+ *
+ * @param <T> the type of the result of the stage
+ *
+ * @since 0.3.1
+ */
+public final class StageExpectation<T> extends BaseExpectation<StageExpectation<T>> {
+	
+	private final CompletionStage<T> my;
+	
+	
+	/**
+	 * Constructs a new StageExpectation.
+	 *
+	 * <p>
+	 * You should not use this constructor directly, but instead get
+	 * an expectation through {@link chaij.ChaiJ#expect(java.util.concurrent.CompletionStage)} or
+	 * {@link chaij.ChaiJ#expect(java.util.concurrent.CompletionStage, java.lang.String)}
+	 *
+	 * @param stage the stage that is checked
+	 * @param s     an optional custom expectation message.
+	 */
+	StageExpectation(CompletionStage<T> stage, String s) {
+		
+		super(s);
+		my = stage;
+	}
+	
+	
+	/**
+	 * Checks whether the stage completes, either normally or exceptionally,
+	 * within {@code limit} from now.
+	 *
+	 * @param limit the time the stage has to complete
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public StageExpectation<T> completeWithin(Duration limit) {
+		
+		return completeWithin(limit, null);
+	}
+	
+	
+	/**
+	 * Checks whether the stage completes, either normally or exceptionally,
+	 * within {@code limit} from now with a custom message.
+	 *
+	 * @param limit   the time the stage has to complete
+	 * @param message a custom message specifically for this check
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public StageExpectation<T> completeWithin(Duration limit, String message) {
+		
+		if(isInert()) {
+			return this;
+		}
+		long limitNanos = limit.toNanos();
+		Check check = new Check("completeWithin", message);
+		long start = System.nanoTime();
+		AtomicBoolean decided = new AtomicBoolean();
+		ScheduledFuture<?> deadline = Deadlines.schedule(() -> {
+			if(decided.compareAndSet(false, true)) {
+				check.decide(false,
+				             "complete within " + Durations.format(limitNanos)
+				             + "; it was still pending.",
+				             null
+				);
+			}
+		}, limitNanos);
+		my.whenComplete((value, error) -> {
+			if(decided.compareAndSet(false, true)) {
+				deadline.cancel(false);
+				check.decide(true,
+				             "complete within " + Durations.format(limitNanos)
+				             + "; it completed after " + Durations.format(System.nanoTime() - start) + '.',
+				             null
+				);
+			}
+		});
+		return this;
+	}
+	
+	
+	/**
+	 * Checks whether the stage completes exceptionally.
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public StageExpectation<T> completeExceptionally() {
+		
+		return completeExceptionally(Throwable.class, null);
+	}
+	
+	
+	/**
+	 * Checks whether the stage completes exceptionally with a custom message.
+	 *
+	 * @param message a custom message specifically for this check
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public StageExpectation<T> completeExceptionally(String message) {
+		
+		return completeExceptionally(Throwable.class, message);
+	}
+	
+	
+	/**
+	 * Checks whether the stage completes exceptionally with an exception of the given type.
+	 *
+	 * @param type the type of the exception
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public StageExpectation<T> completeExceptionally(Class<? extends Throwable> type) {
+		
+		return completeExceptionally(type, null);
+	}
+	
+	
+	/**
+	 * Checks whether the stage completes exceptionally with an exception
+	 * of the given type with a custom message.
+	 *
+	 * <p>
+	 * If the stage wraps its exception in a {@link java.util.concurrent.CompletionException},
+	 * as a dependent stage does, the wrapped exception is checked instead.
+	 *
+	 * @param type    the type of the exception
+	 * @param message a custom message specifically for this check
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public StageExpectation<T> completeExceptionally(Class<? extends Throwable> type, String message) {
+		
+		Objects.requireNonNull(type, "type");
+		if(isInert()) {
+			return this;
+		}
+		Check check = new Check("completeExceptionally", message);
+		String expected = "complete exceptionally" + ((type == Throwable.class) ? "" : " with " + type.getName());
+		my.whenComplete((value, error) -> {
+			Throwable actual = unwrap(error);
+			check.decide(type.isInstance(actual),
+			             expected + outcome(value, actual) + '.',
+			             actual
+			);
+		});
+		return this;
+	}
+	
+	
+	/**
+	 * Checks whether the stage completes normally with a result that
+	 * equals {@code expected}, as by {@link java.util.Objects#equals(Object, Object)}.
+	 *
+	 * @param expected the expected result
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public StageExpectation<T> resolveTo(T expected) {
+		
+		return resolveTo(expected, null);
+	}
+	
+	
+	/**
+	 * Checks whether the stage completes normally with a result that
+	 * equals {@code expected}, as by {@link java.util.Objects#equals(Object, Object)}
+	 * with a custom message.
+	 *
+	 * @param expected the expected result
+	 * @param message  a custom message specifically for this check
+	 *
+	 * @return the expectation itself for chaining
+	 */
+	public StageExpectation<T> resolveTo(T expected, String message) {
+		
+		if(isInert()) {
+			return this;
+		}
+		Check check = new Check("resolveTo", message);
+		my.whenComplete((value, error) -> {
+			Throwable actual = unwrap(error);
+			check.decide((actual == null) && Objects.equals(value, expected),
+			             "resolve to " + expected + outcome(value, actual) + '.',
+			             actual
+			);
+		});
+		return this;
+	}
+	
+	
+	/**
+	 * Unwraps the exception of a dependent stage.
+	 *
+	 * @param error the exception the stage completed with, or {@code null}
+	 *
+	 * @return the actual exception, or {@code null}
+	 */
+	private static Throwable unwrap(Throwable error) {
+		
+		return ((error instanceof CompletionException) && (error.getCause() != null)) ?
+		       error.getCause() :
+		       error;
+	}
+	
+	
+	/**
+	 * Describes how the stage completed for the messages.
+	 *
+	 * @param value the result, if it completed normally
+	 * @param error the exception, if it completed exceptionally
+	 *
+	 * @return the description, starting with {@code "; "}
+	 */
+	private static String outcome(Object value, Throwable error) {
+		
+		return (error == null) ?
+		       "; it resolved to " + value :
+		       "; it failed with " + error;
+	}
+	
+	
+	@Override
+	public String toString() {
+		
+		return String.format("StageExpectation(customText=%s)", customText);
+	}
+	
+	
+	/**
+	 * One check that is registered with the context of the thread that made it,
+	 * and decided later on another thread.
+	 */
+	private final class Check {
+		
+		private final String name;
+		
+		private final String message;
+		
+		private final boolean negated;
+		
+		private final StackTracePolicy policy;
+		
+		private final PendingChecks pending;
+		
+		private final StackTraceElement callSite;
+		
+		
+		/**
+		 * Registers a new check, capturing the not flag, the stack trace policy and,
+		 * while failures are recorded by the Flight Recorder, the call site.
+		 *
+		 * @param name    the name of the check, for the {@link chaij.ExpectationMetrics}
+		 * @param message a custom message specifically for this check
+		 */
+		Check(String name, String message) {
+			
+			this.name = name;
+			this.message = message;
+			negated = negated();
+			policy = StackTracePolicy.current();
+			callSite = ExpectationEvents.recordsFailures() ? callSite() : null;
+			pending = ExceptionReporter.pendingChecks();
+			pending.register();
+		}
+		
+		
+		/**
+		 * Decides the check, counts it in the {@link chaij.ExpectationMetrics} if they are enabled,
+		 * and records its failure with the Flight Recorder if failures are recorded.
+		 *
+		 * @param result     the result of the check, before applying the not flag
+		 * @param secondPart the description of the expectation and the actual state
+		 * @param cause      the exception the stage completed with, or {@code null}
+		 */
+		void decide(boolean result, String secondPart, Throwable cause) {
+			
+			boolean failed = result == negated;
+			if(ExpectationMetrics.ENABLED) {
+				ExpectationMetrics.record(StageExpectation.class, name, failed);
+			}
+			if(!failed) {
+				pending.decide(null);
+				return;
+			}
+			UnmetExpectationException exception =
+					unmet(message, "Expected the stage to", secondPart, negated, policy, cause);
+			if(ExpectationEvents.recordsFailures()) {
+				recordFailure(secondPart, negated, exception, callSite);
+			}
+			pending.decide(exception);
+		}
+	}
+}
@@ -0,0 +1,251 @@
+package chaij;
+
+
+import chaij.function.UnreliableConsumer;
+import chaij.function.UnreliableRunnable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Runs a task concurrently from several threads for a number of rounds and checks
+ * invariants between them, for {@link chaij.RunnableExpectation#beThreadSafe(UnreliableRunnable)}.
+ *
+ * <p>
+ * All threads wait at a shared barrier before every round, so that they are released
+ * into the task at the same time, and every thread first stalls for a random moment,
+ * so that the threads interleave differently in every round. When all threads have
+ * run the task, the last one to arrive at the barrier checks the invariants, while
+ * the others are still waiting. As the invariants run on a worker thread, any failed
+ * expectation in them is thrown rather than collected for the calling thread.
+ *
+ * <p>
+ * The rounds stop after the first one with any failures, as the state of the
+ * task is broken from then on, and all its failures are returned together.
+ *
+ * @since 0.3.1
+ */
+final class Stress {
+	
+	/**
+	 * The most iterations a thread spins for before running the task.
+	 */
+	private static final int MAX_SPINS = 64;
+	
+	/**
+	 * The round that failed, from {@code 1}, or {@code 0} if none did.
+	 */
+	final int failedRound;
+	
+	/**
+	 * The failures of the failed round, of the task and of the invariants.
+	 */
+	final List<Throwable> failures;
+	
+	
+	/**
+	 * Creates the result of a stress test.
+	 *
+	 * @param failedRound the round that failed, or {@code 0}
+	 * @param failures    the failures of that round
+	 */
+	private Stress(int failedRound, List<Throwable> failures) {
+		
+		this.failedRound = failedRound;
+		this.failures = failures;
+	}
+	
+	
+	/**
+	 * Runs the task from the given number of threads for the given number
+	 * of rounds, checking the invariants after every round.
+	 *
+	 * @param task       the task to run
+	 * @param invariants the invariants to check after every round
+	 * @param threads    the number of threads
+	 * @param factory    the factory for the threads
+	 * @param rounds     the number of rounds
+	 *
+	 * @return the failures of the first failed round, if any
+	 */
+	static Stress run(UnreliableConsumer<Blackhole> task, UnreliableRunnable invariants,
+	                  int threads, ThreadFactory factory, int rounds) {
+		
+		Rounds state = new Rounds(task, invariants, threads, rounds);
+		Thread[] workers = new Thread[threads];
+		for(int i = 0; i < threads; ++i) {
+			int index = i;
+			workers[i] = factory.newThread(() -> state.work(index));
+		}
+		for(Thread worker : workers) {
+			worker.start();
+		}
+		joinAll(workers);
+		return new Stress(state.failedRound(), new ArrayList<>(state.failures));
+	}
+	
+	
+	/**
+	 * Waits for all threads to end, even if the current thread
+	 * is interrupted, which is only restored afterwards.
+	 *
+	 * @param workers the threads
+	 */
+	private static void joinAll(Thread[] workers) {
+		
+		boolean interrupted = false;
+		for(Thread worker : workers) {
+			while(worker.isAlive()) {
+				try {
+					worker.join();
+				} catch (InterruptedException e) {
+					interrupted = true;
+				}
+			}
+		}
+		if(interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	
+	/**
+	 * The state shared by all threads of one stress test.
+	 */
+	private static final class Rounds {
+		
+		private final UnreliableConsumer<Blackhole> task;
+		
+		private final UnreliableRunnable invariants;
+		
+		private final int rounds;
+		
+		/**
+		 * Releases all threads into a round, after checking the invariants of the last one.
+		 */
+		private final CyclicBarrier barrier;
+		
+		final Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+		
+		/**
+		 * The rounds that have been completed, only written by the barrier action.
+		 */
+		private int completed = -1;
+		
+		/**
+		 * The round that failed, only written by the barrier action.
+		 */
+		private int failedRound = 0;
+		
+		/**
+		 * Whether the threads stop, only written by the barrier action.
+		 */
+		private boolean stopped = false;
+		
+		
+		/**
+		 * Prepares a stress test.
+		 *
+		 * @param task       the task to run
+		 * @param invariants the invariants to check after every round
+		 * @param threads    the number of threads
+		 * @param rounds     the number of rounds
+		 */
+		Rounds(UnreliableConsumer<Blackhole> task, UnreliableRunnable invariants, int threads, int rounds) {
+			
+			this.task = task;
+			this.invariants = invariants;
+			this.rounds = rounds;
+			barrier = new CyclicBarrier(threads, this::betweenRounds);
+		}
+		
+		
+		/**
+		 * Runs the task on one thread for all rounds.
+		 *
+		 * @param index the index of the thread
+		 */
+		void work(int index) {
+			
+			Blackhole blackhole = new Blackhole(index);
+			ThreadLocalRandom random = ThreadLocalRandom.current();
+			boolean released = await();
+			while(released && !stopped) {
+				for(int spins = random.nextInt(MAX_SPINS); spins > 0; --spins) {
+					blackhole.consume(spins);
+				}
+				if(random.nextInt(4) == 0) {
+					Thread.yield();
+				}
+				try {
+					task.accept(blackhole);
+				} catch (Throwable t) {
+					failures.add(t);
+				}
+				released = await();
+			}
+			blackhole.publish();
+		}
+		
+		
+		/**
+		 * Waits for all threads at the barrier.
+		 *
+		 * <p>
+		 * If a thread is interrupted, the barrier breaks for all threads,
+		 * and the interruption is recorded as a failure of the round.
+		 *
+		 * @return whether all threads arrived, or {@code false} if the barrier broke
+		 */
+		private boolean await() {
+			
+			try {
+				barrier.await();
+				return true;
+			} catch (InterruptedException e) {
+				failures.add(e);
+				return false;
+			} catch (BrokenBarrierException e) {
+				return false;
+			}
+		}
+		
+		
+		/**
+		 * Returns the round that failed, once all threads have ended.
+		 *
+		 * @return the round, from {@code 1}, or {@code 0} if none did
+		 */
+		int failedRound() {
+			
+			return (failures.isEmpty() || (failedRound > 0)) ? failedRound : completed + 1;
+		}
+		
+		
+		/**
+		 * Checks the invariants after every round and decides whether the threads stop.
+		 */
+		private void betweenRounds() {
+			
+			if(++completed > 0) {
+				try {
+					invariants.run();
+				} catch (Throwable t) {
+					failures.add(t);
+				}
+			}
+			if(!failures.isEmpty()) {
+				failedRound = completed;
+				stopped = true;
+			} else if(completed == rounds) {
+				stopped = true;
+			}
+		}
+	}
+}
@@ -0,0 +1,222 @@
+package chaij;
+
+
+import chaij.function.UnreliableConsumer;
+
+import java.util.concurrent.Phaser;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives a task from several threads for a fixed duration, for the
+ * throughput checks of a {@link chaij.RunnableExpectation}.
+ *
+ * <p>
+ * All threads first warm the task up on their own, and then start together.
+ * The completed runs are counted in a {@link java.util.concurrent.atomic.LongAdder},
+ * whose striped cells keep the threads from contending on a single counter, and
+ * whose sum is taken right at the end of the duration, without waiting for the
+ * runs that are still going on. Every thread also counts its own runs, to tell
+ * how evenly the work was spread.
+ *
+ * @since 0.3.1
+ */
+final class Throughput {
+	
+	/**
+	 * The runs completed by all threads within the duration.
+	 */
+	final long total;
+	
+	/**
+	 * The actual duration in nanoseconds.
+	 */
+	final long elapsedNanos;
+	
+	/**
+	 * The runs completed by every single thread, including
+	 * the ones that ended after the duration.
+	 */
+	final long[] perThread;
+	
+	
+	/**
+	 * Creates the result of a measurement.
+	 *
+	 * @param total        the runs completed by all threads within the duration
+	 * @param elapsedNanos the actual duration in nanoseconds
+	 * @param perThread    the runs completed by every single thread
+	 */
+	private Throughput(long total, long elapsedNanos, long[] perThread) {
+		
+		this.total = total;
+		this.elapsedNanos = elapsedNanos;
+		this.perThread = perThread;
+	}
+	
+	
+	/**
+	 * Runs the task from the given number of threads and counts the completed runs.
+	 *
+	 * @param task          the task to run
+	 * @param threads       the number of threads
+	 * @param factory       the factory for the threads
+	 * @param warmup        the number of runs of every thread before the measurement
+	 * @param durationNanos the duration of the measurement in nanoseconds
+	 *
+	 * @return the completed runs
+	 *
+	 * @throws chaij.WrappedCheckedException if the task throws a checked exception.
+	 */
+	static Throughput measure(UnreliableConsumer<Blackhole> task, int threads, ThreadFactory factory,
+	                          int warmup, long durationNanos) {
+		
+		Run run = new Run(task, threads, warmup);
+		Thread[] workers = new Thread[threads];
+		for(int i = 0; i < threads; ++i) {
+			int index = i;
+			workers[i] = factory.newThread(() -> run.work(index));
+		}
+		for(Thread worker : workers) {
+			worker.start();
+		}
+		run.start.arriveAndAwaitAdvance();
+		long start = System.nanoTime();
+		long deadline = start + durationNanos;
+		for(long left = durationNanos; (left > 0) && (run.failure.get() == null); left = deadline - System.nanoTime()) {
+			LockSupport.parkNanos(left);
+		}
+		long total = run.completed.sum();
+		long elapsed = System.nanoTime() - start;
+		run.stopped = true;
+		joinAll(workers);
+		Throwable failure = run.failure.get();
+		if(failure instanceof RuntimeException) {
+			throw (RuntimeException) failure;
+		}
+		if(failure instanceof Error) {
+			throw (Error) failure;
+		}
+		return new Throughput(total, elapsed, run.perThread);
+	}
+	
+	
+	/**
+	 * Waits for all threads to end, even if the current thread
+	 * is interrupted, which is only restored afterwards.
+	 *
+	 * @param workers the threads
+	 */
+	private static void joinAll(Thread[] workers) {
+		
+		boolean interrupted = false;
+		for(Thread worker : workers) {
+			while(worker.isAlive()) {
+				try {
+					worker.join();
+				} catch (InterruptedException e) {
+					interrupted = true;
+				}
+			}
+		}
+		if(interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	
+	/**
+	 * The state shared by all threads of one measurement.
+	 */
+	private static final class Run {
+		
+		private final UnreliableConsumer<Blackhole> task;
+		
+		private final int warmup;
+		
+		/**
+		 * The thread that takes the measurement, to wake it up early if the task fails.
+		 */
+		private final Thread measuring = Thread.currentThread();
+		
+		/**
+		 * Lets all threads and the measuring one start together after the warmup.
+		 */
+		final Phaser start;
+		
+		final LongAdder completed = new LongAdder();
+		
+		final long[] perThread;
+		
+		/**
+		 * The first exception thrown by the task on any thread.
+		 */
+		final AtomicReference<Throwable> failure = new AtomicReference<>();
+		
+		volatile boolean stopped = false;
+		
+		
+		/**
+		 * Prepares a measurement.
+		 *
+		 * @param task    the task to run
+		 * @param threads the number of threads
+		 * @param warmup  the number of runs of every thread before the measurement
+		 */
+		Run(UnreliableConsumer<Blackhole> task, int threads, int warmup) {
+			
+			this.task = task;
+			this.warmup = warmup;
+			start = new Phaser(threads + 1);
+			perThread = new long[threads];
+		}
+		
+		
+		/**
+		 * Runs the task on one thread until the measurement is stopped.
+		 *
+		 * @param index the index of the thread
+		 */
+		void work(int index) {
+			
+			Blackhole blackhole = new Blackhole(index);
+			long runs = 0;
+			try {
+				for(int i = 0; i < warmup; ++i) {
+					task.accept(blackhole);
+				}
+			} catch (Throwable t) {
+				fail(t);
+			}
+			start.arriveAndAwaitAdvance();
+			try {
+				while(!stopped) {
+					task.accept(blackhole);
+					completed.increment();
+					++runs;
+				}
+			} catch (Throwable t) {
+				fail(t);
+			}
+			blackhole.publish();
+			perThread[index] = runs;
+		}
+		
+		
+		/**
+		 * Records the first exception of the task and stops the measurement.
+		 *
+		 * @param t the exception
+		 */
+		private void fail(Throwable t) {
+			
+			failure.compareAndSet(null, ((t instanceof RuntimeException) || (t instanceof Error)) ?
+			                            t :
+			                            new WrappedCheckedException(t));
+			stopped = true;
+			LockSupport.unpark(measuring);
+		}
+	}
+}
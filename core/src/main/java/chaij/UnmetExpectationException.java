@@ -11,6 +11,8 @@ public final class UnmetExpectationException extends ChaiJException {
 	
 	private static final long serialVersionUID = -7752693081656017911L;
 	
+	private boolean constructed = false;
+	
 	
 	/**
 	 * The constructor.<br>
@@ -21,6 +23,79 @@ public final class UnmetExpectationException extends ChaiJException {
 	 */
 	public UnmetExpectationException(String expectationMessage) {
 		
+		this(expectationMessage, StackTracePolicy.FULL);
+	}
+	
+	
+	/**
+	 * The constructor.<br>
+	 * Any questions?
+	 *
+	 * @param expectationMessage the message, preferably containing both
+	 *                           the expectation and the actual state.
+	 * @param policy             how much of the stack trace to capture. Note that
+	 *                           {@link chaij.StackTracePolicy#CALLER} captures nothing
+	 *                           here, it is up to the caller to set the calling frame
+	 *                           through {@link #setStackTrace(StackTraceElement[])}.
+	 */
+	public UnmetExpectationException(String expectationMessage, StackTracePolicy policy) {
+		
+		this(expectationMessage, null, policy);
+	}
+	
+	
+	/**
+	 * The constructor.<br>
+	 * Any questions?
+	 *
+	 * @param expectationMessage the message, preferably containing both
+	 *                           the expectation and the actual state.
+	 * @param cause              what made the expectation fail, or {@code null}
+	 *
+	 * @since 0.3.1
+	 */
+	public UnmetExpectationException(String expectationMessage, Throwable cause) {
+		
+		this(expectationMessage, cause, StackTracePolicy.FULL);
+	}
+	
+	
+	/**
+	 * The constructor.<br>
+	 * Any questions?
+	 *
+	 * @param expectationMessage the message, preferably containing both
+	 *                           the expectation and the actual state.
+	 * @param cause              what made the expectation fail, or {@code null}
+	 * @param policy             how much of the stack trace to capture, see
+	 *                           {@link #UnmetExpectationException(String, StackTracePolicy)}
+	 *
+	 * @since 0.3.1
+	 */
+	public UnmetExpectationException(String expectationMessage, Throwable cause, StackTracePolicy policy) {
+		
 		super(expectationMessage);
+		if(cause != null) {
+			initCause(cause);
+		}
+		if(policy == StackTracePolicy.FULL) {
+			super.fillInStackTrace();
+		}
+		constructed = true;
+	}
+	
+	
+	/**
+	 * Only fills in the stack trace once this exception has been constructed,
+	 * the constructor itself decides whether to capture it depending on the
+	 * {@link chaij.StackTracePolicy}. Without a cause, one can still be
+	 * {@linkplain #initCause(Throwable) set} later on.
+	 *
+	 * @return this exception
+	 */
+	@Override
+	public synchronized Throwable fillInStackTrace() {
+		
+		return constructed ? super.fillInStackTrace() : this;
 	}
 }
@@ -0,0 +1,24 @@
+package chaij.function;
+
+
+/**
+ * This is an alternative to {@link java.util.function.Consumer} that can also throw exceptions.
+ *
+ * @param <T> the type of the consumed value
+ *
+ * @since 0.3.1
+ */
+@SuppressWarnings("ProhibitedExceptionDeclared")
+@FunctionalInterface
+public interface UnreliableConsumer<T> {
+	
+	/**
+	 * The code that is executed.
+	 *
+	 * @param value the consumed value
+	 *
+	 * @throws Throwable any exception may be thrown by a specific implementation.
+	 */
+	void accept(T value)
+			throws Throwable;
+}
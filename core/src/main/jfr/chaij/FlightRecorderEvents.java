@@ -0,0 +1,177 @@
+package chaij;
+
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Recording;
+import jdk.jfr.Timespan;
+
+/**
+ * Records the events of {@link chaij.ExpectationEvents} with the JDK Flight Recorder.
+ *
+ * <p>
+ * This class is only ever loaded reflectively, when the {@code jdk.jfr} classes
+ * are available, and installs itself as soon as it is, if the Flight Recorder
+ * is available as well. Whenever a recording starts or stops, it hands
+ * a new recorder for the events that are now enabled to
+ * {@link chaij.ExpectationEvents}, or {@code null} if there are none.
+ * Changing the settings of a running recording is only noticed once
+ * another recording starts or stops.
+ *
+ * @since 0.3.1
+ */
+final class FlightRecorderEvents implements ExpectationEvents.Recorder {
+	
+	static {
+		if(FlightRecorder.isAvailable()) {
+			FlightRecorder.register(FailureEvent.class);
+			FlightRecorder.register(SlowPredicateEvent.class);
+			FlightRecorder.addListener(new FlightRecorderListener() {
+				@Override
+				public void recordingStateChanged(Recording recording) {
+					
+					update();
+				}
+			});
+			update();
+		}
+	}
+	
+	private final boolean failures;
+	
+	private final boolean slowPredicates;
+	
+	
+	/**
+	 * Creates a new recorder for the enabled events.
+	 *
+	 * @param failures       whether failures are recorded
+	 * @param slowPredicates whether slow predicates are recorded
+	 */
+	private FlightRecorderEvents(boolean failures, boolean slowPredicates) {
+		
+		this.failures = failures;
+		this.slowPredicates = slowPredicates;
+	}
+	
+	
+	/**
+	 * Hands a recorder for the events that are enabled right now to {@link chaij.ExpectationEvents}.
+	 */
+	private static synchronized void update() {
+		
+		boolean failures = EventType.getEventType(FailureEvent.class).isEnabled();
+		boolean slowPredicates = EventType.getEventType(SlowPredicateEvent.class).isEnabled();
+		ExpectationEvents.use((failures || slowPredicates) ?
+		                      new FlightRecorderEvents(failures, slowPredicates) :
+		                      null);
+	}
+	
+	
+	@Override
+	public boolean recordsFailures() {
+		
+		return failures;
+	}
+	
+	
+	@Override
+	public boolean recordsSlowPredicates() {
+		
+		return slowPredicates;
+	}
+	
+	
+	@Override
+	public void failure(Class<?> expectation,
+	                    String expected,
+	                    boolean negated,
+	                    String message,
+	                    StackTraceElement callSite) {
+		
+		FailureEvent event = new FailureEvent();
+		event.expectation = expectation;
+		event.expected = expected;
+		event.negated = negated;
+		event.message = message;
+		event.callSite = (callSite == null) ? null : callSite.toString();
+		event.commit();
+	}
+	
+	
+	@Override
+	public void slowPredicate(Class<?> expectation, String check, long nanos) {
+		
+		SlowPredicateEvent event = new SlowPredicateEvent();
+		event.expectation = expectation;
+		event.check = check;
+		event.evaluation = nanos;
+		event.commit();
+	}
+	
+	
+	@Override
+	public String toString() {
+		
+		return "FlightRecorderEvents(failures=" + failures + ", slowPredicates=" + slowPredicates + ')';
+	}
+	
+	
+	/**
+	 * A failed check.
+	 */
+	@Name("chaij.ExpectationFailure")
+	@Label("Expectation Failure")
+	@Category("ChaiJ")
+	@Description("A check of an expectation that has failed")
+	static final class FailureEvent extends Event {
+		
+		@Label("Expectation")
+		@Description("The class of the expectation")
+		Class<?> expectation;
+		
+		@Label("Expected")
+		@Description("The part of the message describing what was expected")
+		String expected;
+		
+		@Label("Negated")
+		@Description("Whether the check was negated")
+		boolean negated;
+		
+		@Label("Message")
+		String message;
+		
+		@Label("Call Site")
+		@Description("The frame that called the check")
+		String callSite;
+	}
+	
+	
+	/**
+	 * A slow evaluation of the predicate of {@code satisfy} or {@code match}.
+	 */
+	@Name("chaij.SlowPredicate")
+	@Label("Slow Predicate")
+	@Category("ChaiJ")
+	@Description("An evaluation of a predicate that took at least chaij.jfr.slowPredicateMillis")
+	static final class SlowPredicateEvent extends Event {
+		
+		@Label("Expectation")
+		@Description("The class of the expectation")
+		Class<?> expectation;
+		
+		@Label("Check")
+		String check;
+		
+		@Label("Evaluation")
+		@Description("How long the evaluation of the predicate took")
+		@Timespan(Timespan.NANOSECONDS)
+		long evaluation;
+	}
+}
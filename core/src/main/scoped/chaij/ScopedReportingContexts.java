@@ -0,0 +1,43 @@
+package chaij;
+
+
+import java.util.concurrent.Callable;
+
+/**
+ * Binds the {@link chaij.ReportingContext} of a run to its scope with a {@link java.lang.ScopedValue}.
+ *
+ * <p>
+ * This class is only ever loaded reflectively, on Java 25 and later, where the
+ * {@code ScopedValue} API is final. Entering and leaving a run then neither reads
+ * nor writes the thread local of the contexts, so a virtual thread that only
+ * runs a single test never gets a map of thread locals for it, and the context
+ * of a run is gone with the scope even if the code under test leaks the thread.
+ *
+ * @since 0.3.1
+ */
+final class ScopedReportingContexts implements ReportingContext.Scopes {
+	
+	private static final ScopedValue<ReportingContext> CURRENT = ScopedValue.newInstance();
+	
+	
+	@Override
+	public ReportingContext current() {
+		
+		return CURRENT.orElse(null);
+	}
+	
+	
+	@Override
+	public void run(ReportingContext context, Runnable r) {
+		
+		ScopedValue.where(CURRENT, context).run(r);
+	}
+	
+	
+	@Override
+	public <V> V call(ReportingContext context, Callable<V> task)
+			throws Exception {
+		
+		return ScopedValue.where(CURRENT, context).call(task::call);
+	}
+}
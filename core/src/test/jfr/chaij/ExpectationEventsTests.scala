@@ -0,0 +1,113 @@
+package chaij
+
+import java.nio.file.Files
+import java.util.concurrent.CompletableFuture
+
+import scala.collection.JavaConverters._
+
+import jdk.jfr.Recording
+import jdk.jfr.consumer.{ RecordedEvent, RecordingFile }
+import org.scalatest._
+import chaij.ChaiJ.expect
+
+class ExpectationEventsTests extends FlatSpec with Matchers {
+
+  private def record(events: String*)(code: => Unit): List[RecordedEvent] = {
+    val recording = new Recording
+    for(event <- List("chaij.ExpectationFailure", "chaij.SlowPredicate")) {
+      if(events.contains(event)) recording.enable(event).withoutStackTrace()
+      else recording.disable(event)
+    }
+    val file = Files.createTempFile("chaij-events", ".jfr")
+    try {
+      recording.start()
+      code
+      recording.stop()
+      recording.dump(file)
+      RecordingFile.readAllEvents(file).asScala.toList.filter(_.getEventType.getName.startsWith("chaij."))
+    } finally {
+      recording.close()
+      Files.deleteIfExists(file)
+    }
+  }
+
+  behavior of "The flight recorder events"
+
+  they should "not be recorded without a recording" in {
+    ExpectationEvents.recordsFailures should be (false)
+    ExpectationEvents.recordsSlowPredicates should be (false)
+  }
+
+  they should "be enabled by default" in {
+    record() {
+      ExpectationEvents.recordsFailures should be (false)
+    }
+    val recording = new Recording
+    try {
+      recording.start()
+      ExpectationEvents.recordsFailures should be (true)
+      ExpectationEvents.recordsSlowPredicates should be (true)
+    } finally {
+      recording.close()
+    }
+    ExpectationEvents.recordsFailures should be (false)
+  }
+
+  they should "record failures with their expectation and call site" in {
+    val events = record("chaij.ExpectationFailure") {
+      ExpectationEvents.recordsFailures should be (true)
+      ExpectationEvents.recordsSlowPredicates should be (false)
+      an [UnmetExpectationException] should be thrownBy expect(1).to.be.above(2, "one")
+      an [UnmetExpectationException] should be thrownBy expect(true).not.to.be.ok()
+      expect(3).to.be.above(2)
+    }
+    ExpectationEvents.recordsFailures should be (false)
+
+    events.map(_.getEventType.getName) should be (List("chaij.ExpectationFailure", "chaij.ExpectationFailure"))
+    val above = events.head
+    above.getClass("expectation").getName should be ("chaij.IntExpectation")
+    above.getString("expected") should be ("be above 2.")
+    above.getBoolean("negated") should be (false)
+    above.getString("message") should be ("one: Expected 1 to be above 2.")
+    above.getString("callSite") should startWith ("chaij.ExpectationEventsTests")
+    val ok = events(1)
+    ok.getClass("expectation").getName should be ("chaij.BooleanExpectation")
+    ok.getBoolean("negated") should be (true)
+    ok.getString("message") should be ("Expected a not ok-ish boolean.")
+  }
+
+  they should "record the failures of stage checks with the call site that made them" in {
+    val events = record("chaij.ExpectationFailure") {
+      val future = new CompletableFuture[String]
+      expect(future).to.resolveTo("y")
+      val completer = new Thread(() => future.complete("x"))
+      completer.start()
+      completer.join()
+      an [UnmetExpectationException] should be thrownBy ExceptionReporter.awaitAsync()
+    }
+
+    events should have size 1
+    val resolve = events.head
+    resolve.getClass("expectation").getName should be ("chaij.StageExpectation")
+    resolve.getString("expected") should be ("resolve to y; it resolved to x.")
+    resolve.getString("message") should be ("Expected the stage to resolve to y; it resolved to x.")
+    resolve.getString("callSite") should startWith ("chaij.ExpectationEventsTests")
+  }
+
+  they should "record slow predicates only" in {
+    val events = record("chaij.SlowPredicate") {
+      ExpectationEvents.recordsFailures should be (false)
+      ExpectationEvents.recordsSlowPredicates should be (true)
+      expect(1).to.satisfy(i => i > 0)
+      expect(2L).to.satisfy(l => { Thread.sleep(2 * ExpectationEvents.SLOW_PREDICATE_NANOS / 1000000); l > 0 })
+      an [UnmetExpectationException] should be thrownBy expect(3.0).to.`match`(d => d < 0)
+    }
+
+    events should have size 1
+    val slow = events.head
+    slow.getEventType.getName should be ("chaij.SlowPredicate")
+    slow.getClass("expectation").getName should be ("chaij.LongExpectation")
+    slow.getString("check") should be ("satisfy")
+    slow.getDuration("evaluation").toNanos should be >= ExpectationEvents.SLOW_PREDICATE_NANOS
+  }
+}
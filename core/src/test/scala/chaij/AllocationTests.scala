@@ -0,0 +1,118 @@
+package chaij
+
+import java.lang.management.ManagementFactory
+
+import com.sun.management.ThreadMXBean
+import org.scalatest._
+import chaij.ChaiJ.expect
+
+class AllocationTests extends FlatSpec with Matchers {
+
+  private val threads = ManagementFactory.getThreadMXBean.asInstanceOf[ThreadMXBean]
+  private val iterations = 100000
+
+  // Lets the expectations escape, so that both measurements allocate them.
+  private var sink: AnyRef = _
+
+  /**
+   * Runs the body once to warm it up, and then measures how many bytes
+   * the current thread allocates while running it again, taking the least
+   * of a few rounds, so that a late compilation does not skew the result.
+   */
+  private def allocatedBytes(body: Int => Unit): Long = {
+    val id = Thread.currentThread.getId
+    var i = 0
+    while(i < iterations) { body(i); i += 1 }
+
+    var least = Long.MaxValue
+    var round = 0
+    while(round < 3) {
+      val before = threads.getThreadAllocatedBytes(id)
+      i = 0
+      while(i < iterations) { body(i); i += 1 }
+      least = Math.min(least, threads.getThreadAllocatedBytes(id) - before)
+      round += 1
+    }
+    least
+  }
+
+  // The measurement itself may allocate a few bytes, but never one per iteration.
+  private def perIteration(bytes: Long): Long = bytes / iterations
+
+  "A passing check" should "allocate nothing beyond the expectation itself" in {
+    val expectationOnly = allocatedBytes(i => sink = expect(i))
+    val withCheck = allocatedBytes(i => sink = expect(i).to.be.within(0, iterations))
+
+    perIteration(withCheck - expectationOnly) should be (0L)
+  }
+
+  "Passing int checks" should "not allocate any message" in {
+    val e = expect(42)
+    val pred: java.util.function.IntPredicate = _ => true
+    perIteration(allocatedBytes { _ =>
+      e.equal(42).above(41).least(42).below(43).most(42).within(0, 100)
+       .`match`(pred).satisfy(pred).closeTo(43, 1).validByte().validShort()
+      e.not().equal(43).not()
+    }) should be (0L)
+  }
+
+  "Passing long checks" should "not allocate any message" in {
+    val e = expect(42L)
+    val pred: java.util.function.LongPredicate = _ => true
+    perIteration(allocatedBytes { _ =>
+      e.equal(42L).above(41L).least(42L).below(43L).most(42L).within(0L, 100L)
+       .`match`(pred).satisfy(pred).closeTo(43L, 1L).validByte().validShort().validInt()
+      e.not().equal(43L).not()
+    }) should be (0L)
+  }
+
+  "Passing double checks" should "not allocate any message" in {
+    val e = expect(42D)
+    val pred: java.util.function.DoublePredicate = _ => true
+    perIteration(allocatedBytes { _ =>
+      e.finite().equal(42D).above(41D).least(42D).below(43D).most(42D).within(0D, 100D)
+       .`match`(pred).satisfy(pred).closeTo(43D, 1D)
+      e.not().NaN().infinite().not()
+    }) should be (0L)
+  }
+
+  "Passing boolean checks" should "not allocate any message" in {
+    val e = expect(true)
+    perIteration(allocatedBytes { _ =>
+      e.ok()._true().equal(true)
+      e.not()._false().not()
+    }) should be (0L)
+  }
+
+  "Passing oneOf checks against sets" should "not allocate any message" in {
+    val ints = IntSet.of(0 until 10000: _*)
+    val longs = LongSet.of(0L until 10000L: _*)
+    val doubles = DoubleSet.of((0 until 10000).map(_.toDouble): _*)
+    val i = expect(42)
+    val l = expect(42L)
+    val d = expect(42D)
+    perIteration(allocatedBytes { n =>
+      i.oneOf(ints)
+      l.oneOf(longs)
+      d.oneOf(doubles)
+    }) should be (0L)
+  }
+
+  "Recording latencies" should "not allocate at all" in {
+    val histogram = new LatencyHistogram
+    perIteration(allocatedBytes { n =>
+      histogram.record(n * 1000L)
+    }) should be (0L)
+  }
+
+  "Recycled expectations" should "not allocate at all" in {
+    ExpectationRecycling.runRecycled { () =>
+      perIteration(allocatedBytes { i =>
+        expect(i).to.be.within(0, iterations)
+        expect(i.toLong).to.be.above(-1L)
+        expect(i.toDouble).to.be.finite()
+        expect(i >= 0).to.be.ok()
+      }) should be (0L)
+    }
+  }
+}
@@ -0,0 +1,201 @@
+package chaij
+
+import java.util.concurrent.ForkJoinPool
+import java.util.concurrent.atomic.AtomicInteger
+
+import org.scalatest._
+import chaij.ChaiJ.expect
+
+class ArrayExpectationTests extends FlatSpec with Matchers {
+
+  private def expectMessage(msg: String)(body: => Unit): Unit = {
+    the [UnmetExpectationException] thrownBy body should have message msg
+  }
+
+  behavior of "Int array expectations"
+
+  it should "pass when all elements are within the bounds" in {
+    expect(Array(1, 2, 3)).to.allWithin(1, 3).and.allAbove(0).and.allBelow(4)
+    expect(Array.emptyIntArray).to.allWithin(1, 0)
+  }
+
+  it should "list the offending elements on failure" in {
+    expectMessage("Expected int[6] to have all elements within 0 and 10; 2 elements violate it: [1]=11, [4]=-1.") {
+      expect(Array(0, 11, 5, 10, 0 - 1, 3)).to.allWithin(0, 10)
+    }
+    expectMessage("Expected int[3] to have all elements above 1; 1 element violates it: [0]=1.") {
+      expect(Array(1, 2, 3)).to.allAbove(1)
+    }
+    expectMessage("Expected int[3] to have all elements below 3; 1 element violates it: [2]=3.") {
+      expect(Array(1, 2, 3)).to.allBelow(3)
+    }
+  }
+
+  it should "only list the first few offending elements" in {
+    expectMessage("Custom: Expected int[10] to have all elements above 5; " +
+                  "6 elements violate it: [0]=0, [1]=1, [2]=2, [3]=3, [4]=4, ....") {
+      expect((0 until 10).toArray, "Custom").to.allAbove(5)
+    }
+  }
+
+  it should "check whether the elements are sorted" in {
+    expect(Array(1, 1, 2, 5)).to.be.sorted()
+    expect(Array.emptyIntArray).to.be.sorted()
+    expectMessage("Expected int[5] to be sorted; 2 elements violate it: [2]=0 after 3, [4]=1 after 4.") {
+      expect(Array(1, 3, 0, 4, 1)).to.be.sorted()
+    }
+  }
+
+  it should "negate the whole check" in {
+    expect(Array(1, 2, 3)).not().allAbove(1)
+    expectMessage("Expected int[3] to not have all elements above 0.") {
+      expect(Array(1, 2, 3)).not().allAbove(0)
+    }
+  }
+
+  it should "provide a standardized toString" in {
+    expect(Array(1, 2, 3), "Dummy-Text").toString should equal ("IntArrayExpectation(length=3, customText=Dummy-Text)")
+  }
+
+  behavior of "Long array expectations"
+
+  it should "check all elements" in {
+    expect(Array(1L, 2L, 3L)).to.allWithin(1L, 3L).and.allAbove(0L).and.allBelow(4L).and.be.sorted()
+    expectMessage("Expected long[3] to have all elements within 0 and 2; 1 element violates it: [2]=3.") {
+      expect(Array(1L, 2L, 3L)).to.allWithin(0L, 2L)
+    }
+    expectMessage("Expected long[2] to be sorted; 1 element violates it: [1]=1 after 2.") {
+      expect(Array(2L, 1L)).to.be.sorted()
+    }
+  }
+
+  it should "provide a standardized toString" in {
+    expect(Array(1L), "Dummy-Text").toString should equal ("LongArrayExpectation(length=1, customText=Dummy-Text)")
+  }
+
+  behavior of "Double array expectations"
+
+  it should "treat NaN as outside of any bounds" in {
+    expect(Array(0.5, 1.0)).to.allWithin(0.0, 1.0).and.allAbove(0.0).and.allBelow(1.5)
+    expectMessage("Expected double[2] to have all elements within 0.0 and 1.0; 1 element violates it: [1]=NaN.") {
+      expect(Array(0.5, Double.NaN)).to.allWithin(0.0, 1.0)
+    }
+    an [UnmetExpectationException] should be thrownBy expect(Array(Double.NaN)).to.allAbove(0.0)
+    an [UnmetExpectationException] should be thrownBy expect(Array(Double.NaN)).to.allBelow(0.0)
+  }
+
+  it should "check for NaN elements" in {
+    expect(Array(1.0, Double.PositiveInfinity)).to.have.noNaN()
+    expectMessage("Expected double[3] to have no NaN elements; 2 elements violate it: [0]=NaN, [2]=NaN.") {
+      expect(Array(Double.NaN, 1.0, Double.NaN)).to.have.noNaN()
+    }
+  }
+
+  it should "check for finite elements" in {
+    expect(Array(1.0, -1.0, Double.MaxValue, Double.MinPositiveValue)).to.allFinite()
+    expectMessage("Expected double[4] to have all elements finite; 3 elements violate it: " +
+                  "[1]=Infinity, [2]=-Infinity, [3]=NaN.") {
+      expect(Array(1.0, Double.PositiveInfinity, Double.NegativeInfinity, Double.NaN)).to.allFinite()
+    }
+  }
+
+  it should "sort like Arrays.sort" in {
+    expect(Array(-1.0, -0.0, 0.0, 1.0, Double.PositiveInfinity, Double.NaN)).to.be.sorted()
+    an [UnmetExpectationException] should be thrownBy expect(Array(0.0, -0.0)).to.be.sorted()
+    an [UnmetExpectationException] should be thrownBy expect(Array(Double.NaN, 1.0)).to.be.sorted()
+  }
+
+  it should "check whether the elements are close to the expected ones" in {
+    expect(Array(1.0, 2.0, 3.0)).to.be.elementwiseCloseTo(Array(1.1, 1.9, 3.0), 0.2)
+    expectMessage("Expected double[3] to be element-wise close to double[3] with a delta of 0.5; " +
+                  "2 elements violate it: [0]=1.0 instead of 2.0, [2]=3.0 instead of 5.0; " +
+                  "the largest distance is 2.0 at [2].") {
+      expect(Array(1.0, 2.0, 3.0)).to.be.elementwiseCloseTo(Array(2.0, 2.0, 5.0), 0.5)
+    }
+    expectMessage("Expected double[2] to be element-wise close to double[3] with a delta of 0.5; the lengths differ.") {
+      expect(Array(1.0, 2.0)).to.be.elementwiseCloseTo(Array(1.0, 2.0, 3.0), 0.5)
+    }
+    expectMessage("Expected double[2] to be element-wise close to double[2] with a delta of 0.5; " +
+                  "2 elements violate it: [0]=1.0 instead of 3.0, [1]=NaN instead of 2.0; " +
+                  "the largest distance is NaN at [1].") {
+      expect(Array(1.0, Double.NaN)).to.be.elementwiseCloseTo(Array(3.0, 2.0), 0.5)
+    }
+    expect(Array(1.0)).not().elementwiseCloseTo(Array(1.0, 2.0), 0.5)
+  }
+
+  it should "provide a standardized toString" in {
+    expect(Array(1.0, 2.0), "Dummy-Text").toString should equal ("DoubleArrayExpectation(length=2, customText=Dummy-Text)")
+  }
+
+  behavior of "Parallel array expectations"
+
+  private val pool = new ForkJoinPool(4)
+
+  it should "pass like sequential checks" in {
+    val ints = Array.tabulate(100000)(_ % 1000)
+    expect(ints).parallel(1000).allWithin(0, 999).and.allAbove(-1).and.allBelow(1000)
+    expect(ints.map(_.toLong)).parallel(pool, 1000).allWithin(0L, 999L)
+    expect(ints.sorted).parallel(1000).to.be.sorted()
+    expect(ints.map(_.toDouble)).parallel(1000).to.have.noNaN().and.allFinite().and.allCloseTo(500.0, 500.0)
+  }
+
+  it should "report the same offending elements as a sequential check" in {
+    val doubles = Array.tabulate(100000)(_.toDouble)
+    for(i <- Seq(99999, 77777, 50001, 50000, 12345, 3)) doubles(i) = Double.NaN
+
+    val sequential = the [UnmetExpectationException] thrownBy expect(doubles).to.have.noNaN()
+    for(_ <- 1 to 20) {
+      val parallel = the [UnmetExpectationException] thrownBy expect(doubles).parallel(pool, 128).to.have.noNaN()
+      parallel.getMessage should equal (sequential.getMessage)
+    }
+    sequential.getMessage should startWith ("Expected double[100000] to have no NaN elements; 6 elements violate it: [3]=NaN, [12345]=NaN")
+  }
+
+  it should "find a descent across the parts of the array" in {
+    val ints = Array.tabulate(10000)(identity)
+    ints(4096) = 0
+    expectMessage("Expected int[10000] to be sorted; 1 element violates it: [4096]=0 after 4095.") {
+      expect(ints).parallel(pool, 64).to.be.sorted()
+    }
+  }
+
+  it should "stop the other parts soon after a violation" in {
+    val calls = new AtomicInteger
+    val ints = new Array[Int](1 << 20)
+    ints(0) = 1
+    // Negated, so that the offending elements are not counted again for the message.
+    expect(ints).parallel(pool, 1 << 12).not().allSatisfy { i => calls.incrementAndGet(); i == 0 }
+    calls.get should be < (ints.length / 2)
+  }
+
+  it should "check custom predicates" in {
+    expect(Array(2, 4, 6)).parallel().allSatisfy(_ % 2 == 0)
+    expect(Array(2L, 4L)).allSatisfy(_ % 2 == 0)
+    expectMessage("Expected double[3] to have all elements satisfy a custom predicate; 1 element violates it: [1]=-1.0.") {
+      expect(Array(1.0, -1.0, 2.0)).parallel(1).allSatisfy(_ > 0)
+    }
+  }
+
+  it should "check whether all elements are close to a value" in {
+    expectMessage("Expected double[3] to have all elements close to 1.0 with a delta of 0.5; 1 element violates it: [2]=2.0.") {
+      expect(Array(1.0, 1.5, 2.0)).parallel(1).allCloseTo(1.0, 0.5)
+    }
+    expectMessage("Expected double[2] to be element-wise close to double[2] with a delta of 0.5; " +
+                  "1 element violates it: [1]=1.0 instead of 2.0; the largest distance is 1.0 at [1].") {
+      expect(Array(1.0, 1.0)).parallel(1).elementwiseCloseTo(Array(1.0, 2.0), 0.5)
+    }
+  }
+
+  it should "propagate exceptions of custom predicates" in {
+    // The fork/join pool may rethrow a copy of the exception in the calling thread.
+    the [IllegalStateException] thrownBy {
+      expect(new Array[Int](100000)).parallel(pool, 100).allSatisfy(_ => throw new IllegalStateException("Boom"))
+    } getMessage() should endWith ("Boom")
+  }
+
+  it should "reject invalid thresholds and pools" in {
+    an [IllegalArgumentException] should be thrownBy expect(Array(1)).parallel(0)
+    an [IllegalArgumentException] should be thrownBy expect(Array(1L)).parallel(pool, -1)
+    a [NullPointerException] should be thrownBy expect(Array(1.0)).parallel(null, 1)
+  }
+}
@@ -0,0 +1,40 @@
+package chaij
+
+import java.io.File
+import java.net.URLClassLoader
+import java.nio.charset.StandardCharsets
+
+import scala.io.Source
+
+/**
+ * Runs a probe in a JVM of its own, for whatever is only decided once per JVM,
+ * like the system properties that ChaiJ reads into constants.
+ */
+object ChildJvm {
+
+  /**
+   * The class path of the tests. When the tests run inside of the build tool,
+   * that is not the class path of the JVM, but the one of their class loaders.
+   */
+  lazy val classPath: String = {
+    def paths(loader: ClassLoader): List[String] = loader match {
+      case null => Nil
+      case urls: URLClassLoader => urls.getURLs.toList.map(url => new File(url.toURI).getPath) ++ paths(urls.getParent)
+      case other => paths(other.getParent)
+    }
+    (paths(getClass.getClassLoader) :+ System.getProperty("java.class.path")).distinct.mkString(File.pathSeparator)
+  }
+
+  /**
+   * Runs the main class with the given JVM options and arguments, and waits for it.
+   *
+   * @return the exit code and all lines of its standard output and error
+   */
+  def run(options: List[String], mainClass: String, args: List[String] = Nil): (Int, List[String]) = {
+    val java = new File(System.getProperty("java.home"), "bin/java").getPath
+    val command = (java :: "-cp" :: classPath :: options) ++ (mainClass :: args)
+    val process = new ProcessBuilder(command: _*).redirectErrorStream(true).start()
+    val output = Source.fromInputStream(process.getInputStream, StandardCharsets.UTF_8.name).getLines.toList
+    (process.waitFor(), output)
+  }
+}
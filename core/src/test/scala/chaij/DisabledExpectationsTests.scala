@@ -0,0 +1,112 @@
+package chaij
+
+import java.io.IOException
+import java.time.Duration
+import java.util.concurrent.CompletableFuture
+import java.util.stream.IntStream
+
+import org.scalatest._
+import chaij.ChaiJ.expect
+
+/**
+ * Runs checks in a JVM of its own, with the expectations disabled or not.
+ */
+object DisabledProbe {
+
+  def check(value: Int, limit: Int): Unit = expect(value).to.be.below(limit, "Queue full")
+
+  def main(args: Array[String]): Unit = {
+    if(args.headOption.contains("jit")) {
+      // Java 8 only inlines methods whose signature classes have been resolved by the
+      // loader and protection domain of their class, which String.format does for String.
+      expect(0).toString
+      for(i <- 0 until 1000000) check(i & 7, 10)
+    } else if(args.headOption.contains("stage")) {
+      val failed = new CompletableFuture[String]
+      failed.completeExceptionally(new IOException)
+      expect(new CompletableFuture[String]).to.completeWithin(Duration.ofMillis(1)).and.resolveTo("x")
+      expect(failed).to.resolveTo("x")
+      expect(CompletableFuture.completedFuture("x")).to.completeExceptionally()
+      println("pending=" + (ReportingContext.current() != null))
+      ExceptionReporter.awaitAsync()
+      println("passed")
+    } else {
+      println("disabled=" + ChaiJ.isDisabled)
+      println("shared=" + ((expect(1) eq expect(2)) && (expect(1L) eq expect(2L))
+                           && (expect(1.0) eq expect(2.0)) && (expect(true) eq expect(false))))
+      expect(1).to.be.above(2)
+      expect(1.0).not().to.equal(1.0)
+      expect(1L).to.satisfy(_ => throw new IllegalStateException("Evaluated!"))
+      expect(Array(1, 2)).to.be.allAbove(3)
+      val evaluated = new IllegalStateException("Evaluated!")
+      expect(Array(1.0, 2.0)).parallel(1).to.allSatisfy(_ => throw evaluated)
+      expect(IntStream.generate(() => throw evaluated)).to.haveCount(1)
+      expect(() => throw evaluated).to.completeWithin(Duration.ofNanos(1))
+      expect(() => throw evaluated).threads(4).to.beThreadSafe(() => ())
+      expect(() => throw evaluated).to.sustain(1e12).and.allocateAtMost(0)
+      ChaiJ.eventually(Duration.ofMillis(1), () => throw evaluated)
+      println("passed")
+    }
+  }
+}
+
+class DisabledExpectationsTests extends FlatSpec with Matchers {
+
+  private def probe(disabled: Boolean, options: List[String] = Nil, args: List[String] = Nil): List[String] = {
+    val (exitCode, output) = ChildJvm.run(s"-Dchaij.disabled=$disabled" :: options, "chaij.DisabledProbe", args)
+    withClue(output.mkString("\n")) {
+      exitCode should be (0)
+    }
+    output
+  }
+
+  /**
+   * The inlining tree of the first standalone compilation of {@code DisabledProbe.check}
+   * and the size of its machine code.
+   */
+  private def compiled(disabled: Boolean): (List[String], Int) = {
+    val output = probe(disabled,
+                       List("-XX:-TieredCompilation", "-Xbatch", "-XX:+UnlockDiagnosticVMOptions",
+                            "-XX:+PrintCompilation", "-XX:+PrintInlining",
+                            "-XX:CompileCommand=quiet", "-XX:CompileCommand=print,chaij.DisabledProbe$::check"),
+                       List("jit"))
+    val start = output.indexWhere(line => line.contains("chaij.DisabledProbe$::check") && !line.contains("@"))
+    withClue(output.mkString("\n")) {
+      start should be >= 0
+    }
+    // Java 8 prints the tree right after the compilation, newer ones after its machine code
+    val inlined = output.drop(start + 1).dropWhile(!_.trim.startsWith("@")).takeWhile(_.trim.startsWith("@"))
+    val size = output.collectFirst { case line if line.trim.startsWith("main code") => line.split("=").last.trim.toInt }
+    (inlined, size.get)
+  }
+
+  "Expectations" should "be enabled by default" in {
+    ChaiJ.isDisabled should be (false)
+    expect(1) should not be theSameInstanceAs (expect(1))
+  }
+
+  they should "pass all checks without evaluating them while disabled" in {
+    probe(disabled = true) should be (List("disabled=true", "shared=true", "passed"))
+  }
+
+  they should "pass stage checks without registering them while disabled" in {
+    probe(disabled = true, args = List("stage")) should be (List("pending=false", "passed"))
+  }
+
+  they should "be inlined without any reporting or allocation while disabled" in {
+    val (disabled, disabledSize) = compiled(true)
+    val (enabled, enabledSize) = compiled(false)
+
+    for(method <- List("chaij.ChaiJ::expect", "chaij.IntExpectation::below", "chaij.BaseExpectation::fails")) {
+      withClue(disabled.mkString("\n")) {
+        disabled.exists(line => line.contains(method) && line.contains("inline (hot)")) should be (true)
+      }
+    }
+    withClue(disabled.mkString("\n")) {
+      disabled.filterNot(_.contains("inline (hot)")) should be (empty)
+    }
+    disabled.mkString should not include "ExpectationRecycling::current"
+    enabled.mkString should include ("ExpectationRecycling::current")
+    disabledSize should be < (enabledSize)
+  }
+}
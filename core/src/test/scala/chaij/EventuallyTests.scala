@@ -0,0 +1,88 @@
+package chaij
+
+import java.io.IOException
+import java.time.Duration
+import java.util.concurrent.atomic.{ AtomicInteger, AtomicLong }
+
+import org.scalatest._
+import chaij.ChaiJ.{ eventually, expect }
+import chaij.ExceptionReporter.{ runMultipleAndReport, MultipleException }
+
+class EventuallyTests extends FlatSpec with Matchers {
+
+  private def later(millis: Long)(body: => Unit): Thread = {
+    val thread = new Thread(() => { Thread.sleep(millis); body })
+    thread.setDaemon(true)
+    thread.start()
+    thread
+  }
+
+  behavior of "Eventually"
+
+  it should "retry until the block passes" in {
+    val attempts = new AtomicInteger
+    eventually(Duration.ofSeconds(5), () => expect(attempts.incrementAndGet()).to.equal(5))
+    attempts.get should be (5)
+  }
+
+  it should "wait for another thread" in {
+    val done = new AtomicLong
+    later(50) { done.set(1) }
+    eventually(Duration.ofSeconds(5), () => expect(done.get).to.equal(1L))
+  }
+
+  it should "only report the last failure after the timeout" in {
+    val attempts = new AtomicInteger
+    val exception = the [UnmetExpectationException] thrownBy {
+      eventually(Duration.ofMillis(100), () => expect(attempts.incrementAndGet()).to.be.below(0))
+    }
+    exception.getMessage should be ("Expected " + attempts.get + " to be below 0.")
+    attempts.get should be > 1
+    // With exponential backoff from 0.1ms, 100ms do not take more than a few dozen attempts.
+    attempts.get should be < 30
+  }
+
+  it should "suppress the intermediate failures in multiple mode" in {
+    val attempts = new AtomicInteger
+    val exception = the [MultipleException] thrownBy {
+      runMultipleAndReport { () =>
+        eventually(Duration.ofMillis(20), () => expect(attempts.incrementAndGet()).to.be.below(0))
+        eventually(Duration.ofSeconds(5), () => expect(attempts.incrementAndGet() % 2).to.equal(0))
+        expect(1).to.equal(2)
+      }
+    }
+    exception.getErrors.size should be (2)
+  }
+
+  it should "end the retries at any other exception" in {
+    val attempts = new AtomicInteger
+    the [IllegalStateException] thrownBy {
+      eventually(Duration.ofSeconds(5), () => { attempts.incrementAndGet(); throw new IllegalStateException("Boom") })
+    } should have message "Boom"
+    attempts.get should be (1)
+    the [WrappedCheckedException] thrownBy {
+      eventually(Duration.ofSeconds(5), () => throw new IOException("Boom"))
+    } getCause() shouldBe an [IOException]
+  }
+
+  it should "retry right away when the monitored value changes" in {
+    val counter = new AtomicLong
+    val changedAt = new AtomicLong
+    // Let the waits grow to their longest of 100ms first, then change the value.
+    later(1000) { changedAt.set(System.nanoTime); counter.set(1) }
+    eventually(Duration.ofSeconds(5), () => counter.get, () => expect(counter.get).to.equal(1L))
+    // The value is read eight times per wait, so the change is noticed within about 12.5ms.
+    (System.nanoTime - changedAt.get) should be < 60000000L
+  }
+
+  it should "stop retrying when interrupted" in {
+    Thread.currentThread.interrupt()
+    try {
+      an [UnmetExpectationException] should be thrownBy {
+        eventually(Duration.ofSeconds(30), () => expect(1).to.equal(2))
+      }
+    } finally {
+      Thread.interrupted() should be (true)
+    }
+  }
+}
@@ -72,4 +72,124 @@ class ExceptionReporterTests extends FlatSpec with Matchers with OptionValues {
     thrownException.value shouldBe a [UnmetExpectationException]
     thrownException.value should have message "Some error!"
   }
+
+  it should "only retain the first failures when limited" in {
+    val exception = the [MultipleException] thrownBy {
+      runMultipleAndReport(2, ExceptionReporter.UNLIMITED, { () =>
+        for(i <- 1 to 5) reportException(new UnmetExpectationException(s"Some error $i!"))
+      })
+    }
+
+    exception.getDroppedCount should be (3L)
+    exception.isAborted should be (false)
+    exception.getErrors should have size 2
+    exception.getMessage.lines.toList should === (
+      "There were 5 errors, only the first 2 are shown:" ::
+      " - chaij.UnmetExpectationException(Some error 1!)" ::
+      " - chaij.UnmetExpectationException(Some error 2!)" ::
+      Nil
+    )
+  }
+
+  it should "retain only the first failure when limited to one" in {
+    val exception = the [MultipleException] thrownBy {
+      runMultipleAndReport(1, ExceptionReporter.UNLIMITED, { () =>
+        for(i <- 1 to 3) reportException(new UnmetExpectationException(s"Some error $i!"))
+      })
+    }
+
+    exception.getDroppedCount should be (2L)
+    exception.getMessage.lines.toList should === (
+      "There were 3 errors, only the first failure is shown:" ::
+      " - chaij.UnmetExpectationException(Some error 1!)" ::
+      Nil
+    )
+  }
+
+  it should "abort the code under test after too many failures" in {
+    var reached = 0
+    val exception = the [MultipleException] thrownBy {
+      runMultipleAndReport(ExceptionReporter.UNLIMITED, 3, { () =>
+        for(i <- 1 to 10) {
+          reached = i
+          expect(i).to.be.above(10)
+        }
+      })
+    }
+
+    reached should be (3)
+    exception.isAborted should be (true)
+    exception.getDroppedCount should be (0L)
+    exception.getMessage.lines.toList should === (
+      "There were 3 errors, aborted after the last one:" ::
+      " - chaij.UnmetExpectationException(Expected 1 to be above 10.)" ::
+      " - chaij.UnmetExpectationException(Expected 2 to be above 10.)" ::
+      " - chaij.UnmetExpectationException(Expected 3 to be above 10.)" ::
+      Nil
+    )
+  }
+
+  it should "rethrow the only failure when aborting after the first one" in {
+    the [UnmetExpectationException] thrownBy {
+      runMultipleAndReport(1, 1, { () =>
+        reportException(new UnmetExpectationException("Some error!"))
+        fail("Should have been aborted")
+      })
+    } should have message "Some error!"
+  }
+
+  it should "count an unexpected exception towards the limits" in {
+    val exception = the [MultipleException] thrownBy {
+      runMultipleAndReport(1, 2, { () =>
+        reportException(new UnmetExpectationException("Some error!"))
+        throw new RuntimeException("Abnormal! HELP!")
+      })
+    }
+
+    exception.isAborted should be (true)
+    exception.getDroppedCount should be (1L)
+    exception.getMessage.lines.toList should === (
+      "There were 2 errors, aborted after the last one, only the first failure is shown:" ::
+      " - chaij.UnmetExpectationException(Some error!)" ::
+      Nil
+    )
+  }
+
+  it should "reject limits below one" in {
+    an [IllegalArgumentException] should be thrownBy runMultipleAndReport(0, 1, () => ())
+    an [IllegalArgumentException] should be thrownBy runMultipleAndReport(1, 0, () => ())
+  }
+
+  it should "restore the enclosing run after a nested one" in {
+    val exception = the [MultipleException] thrownBy {
+      runMultipleAndReport { () =>
+        reportException(new UnmetExpectationException("Outer error 1!"))
+        val inner = the [UnmetExpectationException] thrownBy {
+          runMultipleAndReport { () =>
+            reportException(new UnmetExpectationException("Inner error!"))
+          }
+        }
+        inner.getMessage should be ("Inner error!")
+        reportException(new UnmetExpectationException("Outer error 2!"))
+      }
+    }
+
+    exception.getErrors.size should be (2)
+  }
+
+  it should "leave no context behind on an idle thread" in {
+    ReportingContext.current should be (null)
+    runMultipleAndReport { () =>
+      ReportingContext.current should not be (null)
+    }
+    ReportingContext.current should be (null)
+    an [UnmetExpectationException] should be thrownBy {
+      runMultipleAndReport { () =>
+        reportException(new UnmetExpectationException("Some error!"))
+      }
+    }
+    ReportingContext.current should be (null)
+    an [IllegalArgumentException] should be thrownBy runMultipleAndReport(0, 1, () => ())
+    ReportingContext.current should be (null)
+  }
 }
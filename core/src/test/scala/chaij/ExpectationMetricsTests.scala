@@ -0,0 +1,81 @@
+package chaij
+
+import java.lang.management.ManagementFactory
+import java.util.concurrent.CompletableFuture
+import javax.management.ObjectName
+import javax.management.openmbean.CompositeData
+
+import scala.collection.JavaConverters._
+
+import org.scalatest._
+import chaij.ChaiJ.expect
+import chaij.ExceptionReporter.runMultipleAndReport
+
+/**
+ * Runs some checks with the metrics enabled, in a JVM of its own.
+ */
+object MetricsProbe {
+
+  def main(args: Array[String]): Unit = {
+    for(i <- 1 to 10) {
+      try expect(i).to.be.within(1, 5) catch { case _: UnmetExpectationException => }
+    }
+    expect(3L).to.satisfy(l => l > 2)
+    expect(true).to.be.ok()
+    new CustomExpectation().odd(3)
+    try expect(2.0).to.be.closeTo(1.0, 0.5) catch { case _: UnmetExpectationException => }
+    expect(CompletableFuture.completedFuture("x")).to.resolveTo("x").and.completeExceptionally()
+    try ExceptionReporter.awaitAsync() catch { case _: UnmetExpectationException => }
+    ExpectationMetrics.snapshot.asScala.foreach(println)
+    val server = ManagementFactory.getPlatformMBeanServer
+    val name = new ObjectName(ExpectationMetrics.OBJECT_NAME)
+    println("jmx evaluations=" + server.getAttribute(name, "Evaluations") + ", failures=" + server.getAttribute(name, "Failures"))
+    val checks = server.getAttribute(name, "Checks").asInstanceOf[Array[CompositeData]]
+    println("jmx checks=" + checks.map(c => c.get("expectation") + "." + c.get("check")).mkString(", "))
+    server.invoke(name, "reset", Array(), Array())
+    println("after reset=" + ExpectationMetrics.snapshot.asScala.map(_.getEvaluations).sum)
+  }
+
+  final class CustomExpectation extends BaseExpectation[CustomExpectation](null) {
+    def odd(value: Int): CustomExpectation = {
+      if(fails(value % 2 == 1)) fail(null, "Expected " + value + " to", "be odd.")
+      this
+    }
+  }
+}
+
+class ExpectationMetricsTests extends FlatSpec with Matchers {
+
+  behavior of "ExpectationMetrics"
+
+  it should "be disabled by default" in {
+    ExpectationMetrics.isEnabled should be (false)
+    expect(1).to.be.below(2)
+    an [UnmetExpectationException] should be thrownBy runMultipleAndReport(() => expect(1).to.be.above(2))
+    ExpectationMetrics.snapshot should be (empty)
+  }
+
+  it should "count the evaluations and failures of every check when enabled" in {
+    val (exitCode, output) = ChildJvm.run(List("-Dchaij.metrics=true", "-Dchaij.metrics.timingInterval=1"),
+                                          "chaij.MetricsProbe")
+    withClue(output.mkString("\n")) {
+      exitCode should be (0)
+    }
+
+    output should contain allOf (
+      "CheckMetrics(expectation=chaij.BooleanExpectation, check=ok, evaluations=1, failures=0, timedEvaluations=0, timedNanos=0)",
+      "CheckMetrics(expectation=chaij.DoubleExpectation, check=closeTo, evaluations=1, failures=1, timedEvaluations=0, timedNanos=0)",
+      "CheckMetrics(expectation=chaij.IntExpectation, check=within, evaluations=10, failures=5, timedEvaluations=0, timedNanos=0)",
+      "CheckMetrics(expectation=chaij.MetricsProbe$CustomExpectation, check=(unnamed), evaluations=1, failures=0, timedEvaluations=0, timedNanos=0)",
+      "CheckMetrics(expectation=chaij.StageExpectation, check=completeExceptionally, evaluations=1, failures=1, timedEvaluations=0, timedNanos=0)",
+      "CheckMetrics(expectation=chaij.StageExpectation, check=resolveTo, evaluations=1, failures=0, timedEvaluations=0, timedNanos=0)",
+      "jmx evaluations=16, failures=7",
+      "jmx checks=chaij.BooleanExpectation.ok, chaij.DoubleExpectation.closeTo, chaij.IntExpectation.within, "
+      + "chaij.LongExpectation.satisfy, chaij.MetricsProbe$CustomExpectation.(unnamed), "
+      + "chaij.StageExpectation.completeExceptionally, chaij.StageExpectation.resolveTo",
+      "after reset=0"
+    )
+    output.find(_.contains("check=satisfy")).get should fullyMatch regex
+      "CheckMetrics\\(expectation=chaij.LongExpectation, check=satisfy, evaluations=1, failures=0, timedEvaluations=1, timedNanos=\\d+\\)"
+  }
+}
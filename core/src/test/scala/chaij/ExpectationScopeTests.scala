@@ -0,0 +1,206 @@
+package chaij
+
+import java.util.concurrent.{ Callable, ExecutionException, Executors, TimeUnit }
+
+import org.scalatest._
+import chaij.ChaiJ.expect
+import chaij.ExceptionReporter.{ propagating, runMultipleAndReport, MultipleException }
+
+class ExpectationScopeTests extends FlatSpec with Matchers {
+
+  behavior of "ExpectationScope"
+
+  it should "pass if all forked tasks pass" in {
+    val scope = ExpectationScope.open()
+    try {
+      for(i <- 1 to 10) scope.fork(() => expect(i).to.be.above(0))
+    } finally {
+      scope.close()
+    }
+  }
+
+  it should "report a single failure of a forked task as is" in {
+    val exception = the [UnmetExpectationException] thrownBy {
+      val scope = ExpectationScope.open()
+      try {
+        scope.fork(() => expect(1).to.be.above(2))
+      } finally {
+        scope.close()
+      }
+    }
+    exception.getMessage should be ("Expected 1 to be above 2.")
+  }
+
+  it should "collect the failures of all forked tasks" in {
+    val exception = the [MultipleException] thrownBy {
+      val scope = ExpectationScope.open()
+      try {
+        for(i <- 1 to 3) scope.fork(() => { expect(i).to.be.above(5); expect(i).to.be.above(6) })
+        scope.fork(() => throw new IllegalStateException("Broken!"))
+      } finally {
+        scope.close()
+      }
+    }
+    exception.getErrors.size should be (7)
+    exception.getErrors.toArray.count(_.isInstanceOf[WrappedCheckedException]) should be (1)
+  }
+
+  it should "report to the enclosing run" in {
+    val exception = the [MultipleException] thrownBy {
+      runMultipleAndReport { () =>
+        expect(1).to.be.above(2)
+        val scope = ExpectationScope.open()
+        try {
+          scope.fork(() => expect(3).to.be.above(4))
+        } finally {
+          scope.close()
+        }
+        expect(5).to.be.above(6)
+      }
+    }
+    exception.getErrors.toArray.map(_.asInstanceOf[Throwable].getMessage) should be (Array(
+      "Expected 1 to be above 2.", "Expected 3 to be above 4.", "Expected 5 to be above 6."
+    ))
+  }
+
+  it should "wait for tasks forked by forked tasks" in {
+    val exception = the [UnmetExpectationException] thrownBy {
+      val scope = ExpectationScope.open()
+      try {
+        scope.fork(() => scope.fork(() => { Thread.sleep(50); expect(1).to.be.above(2) }))
+      } finally {
+        scope.close()
+      }
+    }
+    exception.getMessage should be ("Expected 1 to be above 2.")
+  }
+
+  it should "run the tasks on the given executor" in {
+    val executor = Executors.newFixedThreadPool(2)
+    try {
+      val exception = the [MultipleException] thrownBy {
+        val scope = ExpectationScope.openOn(executor)
+        try {
+          for(i <- 1 to 100) scope.fork(() => expect(i % 10).to.be.above(0))
+        } finally {
+          scope.close()
+        }
+      }
+      exception.getErrors.size should be (10)
+    } finally {
+      executor.shutdown()
+    }
+  }
+
+  it should "not fork after it has been closed" in {
+    val scope = ExpectationScope.open()
+    scope.close()
+    scope.close()
+    an [IllegalStateException] should be thrownBy scope.fork(() => ())
+  }
+
+  it should "only be closed by the thread that opened it" in {
+    val scope = ExpectationScope.open()
+    var thrown: Throwable = null
+    val thread = new Thread(() => thrown = the [IllegalStateException] thrownBy scope.close())
+    thread.start()
+    thread.join()
+    thrown should not be (null)
+    scope.close()
+  }
+
+  it should "report the tasks that were still running when interrupted" in {
+    val scope = ExpectationScope.open()
+    scope.fork(() => Thread.sleep(10000))
+    Thread.currentThread.interrupt()
+    val exception = the [UnmetExpectationException] thrownBy scope.close()
+    Thread.interrupted should be (true)
+    exception.getMessage should be ("1 forked task was still running when waiting for them was interrupted.")
+  }
+
+  behavior of "A propagating executor"
+
+  it should "report the failures of its tasks to the run of the submitting thread" in {
+    val executor = propagating(Executors.newSingleThreadExecutor())
+    try {
+      val exception = the [MultipleException] thrownBy {
+        runMultipleAndReport { () =>
+          executor.submit(new Runnable {
+            override def run(): Unit = {
+              expect(1).to.be.above(2)
+              expect(3).to.be.above(4)
+            }
+          }).get()
+          executor.submit(new Runnable {
+            override def run(): Unit = throw new IllegalStateException("Broken!")
+          }).get()
+        }
+      }
+      exception.getErrors.toArray.map(_.asInstanceOf[Throwable].getMessage) should be (Array(
+        "Expected 1 to be above 2.", "Expected 3 to be above 4.",
+        "java.util.concurrent.ExecutionException: java.lang.IllegalStateException: Broken!"
+      ))
+    } finally {
+      executor.shutdown()
+      executor.awaitTermination(1, TimeUnit.SECONDS) should be (true)
+    }
+  }
+
+  it should "pass on the results and exceptions of callables" in {
+    val executor = propagating(Executors.newSingleThreadExecutor())
+    try {
+      runMultipleAndReport { () =>
+        executor.submit(new Callable[Int] {
+          override def call(): Int = 42
+        }).get() should be (42)
+        val exception = the [ExecutionException] thrownBy executor.submit(new Callable[Int] {
+          override def call(): Int = throw new IllegalStateException("Broken!")
+        }).get()
+        exception.getCause shouldBe an [IllegalStateException]
+      }
+    } finally {
+      executor.shutdown()
+    }
+  }
+
+  it should "leave the tasks as they are outside of a run" in {
+    val task: Runnable = () => ()
+    propagating(task) should be theSameInstanceAs task
+    val callable: Callable[Int] = () => 1
+    propagating(callable) should be theSameInstanceAs callable
+  }
+
+  it should "restore the mode of the worker thread" in {
+    val executor = Executors.newSingleThreadExecutor()
+    try {
+      an [UnmetExpectationException] should be thrownBy {
+        runMultipleAndReport { () =>
+          propagating(executor).execute(() => expect(1).to.be.above(2))
+          executor.submit(new Runnable {
+            override def run(): Unit = ReportingContext.current should be (null)
+          }).get()
+        }
+      }
+    } finally {
+      executor.shutdown()
+    }
+  }
+
+  it should "retain the first failures of all worker threads" in {
+    val executor = propagating(Executors.newFixedThreadPool(4))
+    try {
+      val exception = the [MultipleException] thrownBy {
+        runMultipleAndReport(5, ExceptionReporter.UNLIMITED, { () =>
+          val futures = for(i <- 1 to 100) yield executor.submit(new Runnable {
+            override def run(): Unit = expect(i).to.be.above(1000)
+          })
+          futures.foreach(_.get())
+        })
+      }
+      exception.getErrors.size should be (5)
+      exception.getDroppedCount should be (95)
+    } finally {
+      executor.shutdown()
+    }
+  }
+}
@@ -0,0 +1,139 @@
+package chaij
+
+import java.nio.charset.StandardCharsets
+import java.nio.file.{ Files, Path }
+import java.util.concurrent.{ Executors, TimeUnit }
+
+import scala.collection.JavaConverters._
+
+import org.scalatest._
+import chaij.ChaiJ.expect
+import chaij.ExceptionReporter.{ propagating, runMultipleAndReport, MultipleException, UNLIMITED }
+
+class FailureSinkTests extends FlatSpec with Matchers {
+
+  private def withFile(test: Path => Unit): Unit = {
+    val file = Files.createTempFile("chaij-failures", ".jsonl")
+    try test(file) finally Files.deleteIfExists(file)
+  }
+
+  private def lines(file: Path) = Files.readAllLines(file, StandardCharsets.UTF_8).asScala.toList
+
+  behavior of "An InMemoryFailureSink"
+
+  it should "receive every failure, even the ones that are not retained" in {
+    val sink = new InMemoryFailureSink
+    val exception = the [MultipleException] thrownBy {
+      runMultipleAndReport(2, UNLIMITED, sink, () => for(i <- 1 to 5) expect(i).to.be.above(10))
+    }
+    exception.getErrors.size should be (2)
+    exception.getDroppedCount should be (3)
+    sink.failures.asScala.map(_.getMessage) should be ((1 to 5).map(i => s"Expected $i to be above 10."))
+    sink.toString should be ("InMemoryFailureSink(failures=5)")
+  }
+
+  it should "be shared by several runs" in {
+    val sink = new InMemoryFailureSink
+    an [UnmetExpectationException] should be thrownBy {
+      runMultipleAndReport(1, UNLIMITED, sink, () => expect(1).to.be.above(2))
+    }
+    runMultipleAndReport(1, UNLIMITED, sink, () => expect(3).to.be.above(2))
+    a [WrappedCheckedException] should be thrownBy {
+      runMultipleAndReport(1, UNLIMITED, sink, () => throw new IllegalStateException("Broken!"))
+    }
+    sink.failures.size should be (2)
+  }
+
+  behavior of "A JsonLinesFailureSink"
+
+  it should "append one line per failure" in withFile { file =>
+    val sink = JsonLinesFailureSink.open(file)
+    try {
+      a [MultipleException] should be thrownBy {
+        runMultipleAndReport(1, UNLIMITED, sink, () => {
+          expect(1).to.be.above(2)
+          throw new IllegalStateException("Broken \"quoted\"\n\ttext")
+        })
+      }
+    } finally {
+      sink.close()
+    }
+    val written = lines(file)
+    written should have size 2
+    written.head should startWith ("{\"sequence\":1,\"thread\":\"" + Thread.currentThread.getName
+                                   + "\",\"type\":\"chaij.UnmetExpectationException\","
+                                   + "\"message\":\"Expected 1 to be above 2.\",\"at\":\"")
+    written.head should endWith ("}")
+    written(1) should startWith ("{\"sequence\":2,")
+    written(1) should endWith (",\"cause\":\"java.lang.IllegalStateException: Broken \\\"quoted\\\"\\n\\ttext\"}")
+  }
+
+  it should "escape control characters" in {
+    val sb = new java.lang.StringBuilder
+    JsonLinesFailureSink.render(sb, 7, new UnmetExpectationException("a\u0001b\\c\r", StackTracePolicy.NONE))
+    sb.toString should be ("{\"sequence\":7,\"thread\":\"" + Thread.currentThread.getName
+                           + "\",\"type\":\"chaij.UnmetExpectationException\",\"message\":\"a\\u0001b\\\\c\\r\"}\n")
+  }
+
+  it should "keep every failure across many buffers" in withFile { file =>
+    val count = 10000
+    val sink = JsonLinesFailureSink.open(file)
+    try {
+      a [MultipleException] should be thrownBy {
+        runMultipleAndReport(3, UNLIMITED, sink, () => for(i <- 1 to count) expect(i).to.be.below(0))
+      }
+    } finally {
+      sink.close()
+    }
+    val written = lines(file)
+    Files.size(file) should be > (2L * JsonLinesFailureSink.BUFFER_SIZE)
+    written should have size count
+    written.zipWithIndex.foreach { case (line, index) =>
+      line should include (s"""{"sequence":${index + 1},""")
+      line should include (s"""Expected ${index + 1} to be below 0.""")
+    }
+  }
+
+  it should "append to an existing file and flush at the end of every run" in withFile { file =>
+    Files.write(file, "previous\n".getBytes(StandardCharsets.UTF_8))
+    val sink = JsonLinesFailureSink.open(file)
+    try {
+      an [UnmetExpectationException] should be thrownBy {
+        runMultipleAndReport(1, UNLIMITED, sink, () => expect(1).to.be.above(2))
+      }
+      ChaiJ.eventually(java.time.Duration.ofSeconds(5), () => expect(lines(file).size).to.equal(2))
+    } finally {
+      sink.close()
+    }
+    lines(file).head should be ("previous")
+  }
+
+  it should "receive the failures of several threads" in withFile { file =>
+    val executor = propagating(Executors.newFixedThreadPool(4))
+    val sink = JsonLinesFailureSink.open(file)
+    try {
+      a [MultipleException] should be thrownBy {
+        runMultipleAndReport(1, UNLIMITED, sink, () => {
+          val futures = for(i <- 1 to 2000) yield executor.submit(new Runnable {
+            override def run(): Unit = expect(i).to.be.below(0)
+          })
+          futures.foreach(_.get())
+        })
+      }
+    } finally {
+      sink.close()
+      executor.shutdown()
+      executor.awaitTermination(1, TimeUnit.SECONDS)
+    }
+    val sequences = lines(file).map(_.split("[:,]")(1).toInt)
+    sequences.sorted should be ((1 to 2000).toList)
+  }
+
+  it should "only be closed once" in withFile { file =>
+    val sink = JsonLinesFailureSink.open(file)
+    sink.close()
+    sink.close()
+    an [IllegalStateException] should be thrownBy sink.accept(1, new UnmetExpectationException("Late!"))
+    sink.toString should be ("JsonLinesFailureSink(" + file + ")")
+  }
+}
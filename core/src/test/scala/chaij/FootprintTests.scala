@@ -0,0 +1,79 @@
+package chaij
+
+import scala.collection.JavaConverters._
+
+import org.openjdk.jol.info.ClassLayout
+import org.openjdk.jol.vm.VM
+import org.scalatest._
+
+/**
+ * Pins the exact layout of the primitive expectations. When a field is added
+ * on purpose, update the fields and the sizes here along with it.
+ */
+class FootprintTests extends FlatSpec with Matchers {
+
+  private val vm = VM.current()
+
+  /**
+   * Since Java 15, the fields of a class fill the gaps between the ones of its superclass.
+   */
+  private val packsFields = {
+    val version = System.getProperty("java.specification.version")
+    !version.startsWith("1.") && (version.toInt >= 15)
+  }
+
+  private val layout = (vm.objectHeaderSize(), vm.sizeOfField("java.lang.Object").toInt, packsFields)
+
+  /**
+   * The usual layouts of the header, the references and the fields: compressed references,
+   * no compressed class pointers and no compressed references, before and since Java 15.
+   */
+  private val layouts = List((12, 4, false), (16, 4, false), (16, 8, false),
+                             (12, 4, true), (16, 4, true), (12, 8, true))
+
+  /**
+   * The fields of every expectation: the linker words, the custom text,
+   * the not flag and the state.
+   */
+  private val baseFields =
+    List("to", "be", "been", "is", "that", "which", "and", "has", "have", "with", "at", "of", "same")
+      .map("chaij.BaseExpectation BaseExpectation." + _) ++
+    List("java.lang.String BaseExpectation.customText", "boolean BaseExpectation.notFlag", "byte BaseExpectation.state")
+
+  private def fields(cls: Class[_]): List[String] =
+    ClassLayout.parseClass(cls).fields().asScala.toList
+      .map(field => field.typeClass() + " " + field.shortFieldName())
+      .sorted
+
+  /**
+   * Checks the fields and, for the usual layouts, the exact instance size.
+   *
+   * @param sizes the instance size for each of the usual layouts
+   */
+  private def checkLayout(cls: Class[_], value: String, sizes: Long*): Unit = {
+    fields(cls) should be ((value :: baseFields).sorted)
+    val layoutSize = layouts.zip(sizes).toMap.get(layout)
+    assume(layoutSize.isDefined, s"No size is pinned for the layout $layout")
+    ClassLayout.parseClass(cls).instanceSize() should be (layoutSize.get)
+  }
+
+  "An int expectation" should "have exactly its linkers, its state and its value" in {
+    checkLayout(classOf[IntExpectation], "int IntExpectation.my",
+                80, 80, 144, 80, 80, 136)
+  }
+
+  "A long expectation" should "have exactly its linkers, its state and its value" in {
+    checkLayout(classOf[LongExpectation], "long LongExpectation.my",
+                80, 88, 144, 80, 88, 136)
+  }
+
+  "A double expectation" should "have exactly its linkers, its state and its value" in {
+    checkLayout(classOf[DoubleExpectation], "double DoubleExpectation.my",
+                80, 88, 144, 80, 88, 136)
+  }
+
+  "A boolean expectation" should "have exactly its linkers, its state and its value" in {
+    checkLayout(classOf[BooleanExpectation], "boolean BooleanExpectation.my",
+                80, 80, 144, 72, 80, 128)
+  }
+}
@@ -0,0 +1,121 @@
+package chaij
+
+import java.time.Duration
+
+import org.scalatest._
+import chaij.ChaiJ.expect
+import chaij.ExceptionReporter.{ runMultipleAndReport, MultipleException }
+
+class LatencyHistogramTests extends FlatSpec with Matchers {
+
+  private def expectMessage(msg: String)(body: => Unit): Unit = {
+    the [UnmetExpectationException] thrownBy body should have message msg
+  }
+
+  private def histogramOf(values: Long*): LatencyHistogram = {
+    val histogram = new LatencyHistogram
+    values.foreach(histogram.record)
+    histogram
+  }
+
+  behavior of "Latency histograms"
+
+  it should "use contiguous buckets for all values" in {
+    LatencyHistogram.index(0) should be (0)
+    LatencyHistogram.index(127) should be (127)
+    LatencyHistogram.index(128) should be (128)
+    LatencyHistogram.index(Long.MaxValue) should be (3711)
+    for(i <- 1 to 3711) {
+      LatencyHistogram.lowest(i) should be (LatencyHistogram.highest(i - 1) + 1)
+      LatencyHistogram.index(LatencyHistogram.lowest(i)) should be (i)
+      LatencyHistogram.index(LatencyHistogram.highest(i)) should be (i)
+    }
+    LatencyHistogram.highest(3711) should be (Long.MaxValue)
+  }
+
+  it should "report percentiles within the precision of the buckets" in {
+    val histogram = new LatencyHistogram
+    (1L to 10000L).foreach(i => histogram.record(i * 1000))
+    histogram.count should be (10000)
+    histogram.min should be (1000)
+    histogram.max should be (10000000)
+    histogram.percentile(100) should be (10000000)
+    for(p <- Seq(0.01, 1, 50, 90, 99, 99.9)) {
+      val exact = math.ceil(p / 100 * 10000).toLong * 1000
+      histogram.percentile(p) should (be >= exact and be <= exact + exact / 64)
+    }
+    histogramOf(5, 7, 100).percentile(50) should be (7)
+  }
+
+  it should "merge and reset" in {
+    val merged = histogramOf(1, 2).merge(histogramOf(1000000, 3))
+    merged.count should be (4)
+    merged.min should be (1)
+    merged.max should be (1000000)
+    merged.percentile(75) should be (3)
+    merged.merge(new LatencyHistogram).count should be (4)
+    merged.reset().count should be (0)
+    merged.toString should be ("LatencyHistogram(count=0)")
+    histogramOf(1, 2, 3).toString should be ("LatencyHistogram(count=3, min=1ns, p50=2ns, p99=3ns, max=3ns)")
+  }
+
+  it should "validate its arguments" in {
+    an [IllegalArgumentException] should be thrownBy { new LatencyHistogram().record(-1) }
+    an [IllegalArgumentException] should be thrownBy { histogramOf(1).percentile(0) }
+    an [IllegalArgumentException] should be thrownBy { histogramOf(1).percentile(101) }
+    an [IllegalStateException] should be thrownBy { new LatencyHistogram().percentile(50) }
+    an [IllegalStateException] should be thrownBy { new LatencyHistogram().min }
+    an [IllegalStateException] should be thrownBy { new LatencyHistogram().max }
+  }
+
+  behavior of "Histogram expectations"
+
+  it should "check the bounds of a percentile" in {
+    val histogram = histogramOf(1000, 2000, 3000, 2000000)
+    expect(histogram).to.have.percentile(75).below(Duration.ofNanos(3100))
+    expect(histogram).to.have.percentile(75).most(Duration.ofNanos(3100))
+    expect(histogram).to.have.percentile(100).within(Duration.ofMillis(1), Duration.ofMillis(3))
+    expect(histogram).to.have.below(Duration.ofNanos(2100))
+    expect(histogram).to.have.percentile(99.9).not.below(Duration.ofMillis(1))
+  }
+
+  it should "show the distribution on failure" in {
+    val histogram = histogramOf(1000, 2000, 3000, 2000000)
+    expectMessage("Expected the latencies to have p99.9 below 1.00ms; it was 2.00ms over 4 latencies, "
+      + "distributed as [512ns..1.02us]=1, [1.02us..2.05us]=1, [2.05us..4.10us]=1, [1.05ms..2.10ms]=1.") {
+      expect(histogram).to.have.percentile(99.9).below(Duration.ofMillis(1))
+    }
+    expectMessage("Custom: Expected the latencies to have the median at most 1.00us; it was 2.02us over 4 latencies, "
+      + "distributed as [512ns..1.02us]=1, [1.02us..2.05us]=1, [2.05us..4.10us]=1, [1.05ms..2.10ms]=1.") {
+      expect(histogram, "Custom").to.have.most(Duration.ofNanos(1000))
+    }
+    expectMessage("Expected the latencies to not have p90 within 0ns and 1.00s; it was 2.00ms over 4 latencies, "
+      + "distributed as [512ns..1.02us]=1, [1.02us..2.05us]=1, [2.05us..4.10us]=1, [1.05ms..2.10ms]=1.") {
+      expect(histogram).to.have.percentile(90).not.within(Duration.ZERO, Duration.ofSeconds(1))
+    }
+  }
+
+  it should "fail for an empty histogram" in {
+    expectMessage("Expected the latencies to have the median below 1.00s; there were no latencies.") {
+      expect(new LatencyHistogram).to.have.below(Duration.ofSeconds(1))
+    }
+    expect(new LatencyHistogram).to.not.have.most(Duration.ofSeconds(1))
+  }
+
+  it should "collect its failures in multiple mode" in {
+    val exception = the [MultipleException] thrownBy {
+      runMultipleAndReport { () =>
+        expect(histogramOf(10)).to.have.below(Duration.ofNanos(5))
+        expect(histogramOf(10)).to.have.percentile(99).below(Duration.ofNanos(5))
+      }
+    }
+    exception.getErrors.size should be (2)
+  }
+
+  it should "validate the percentile and have a meaningful toString" in {
+    an [IllegalArgumentException] should be thrownBy { expect(new LatencyHistogram).percentile(0) }
+    an [IllegalArgumentException] should be thrownBy { expect(new LatencyHistogram).percentile(Double.NaN) }
+    expect(new LatencyHistogram, "Custom").percentile(99.9).toString should be
+      ("HistogramExpectation(percentile=99.9, customText=Custom)")
+  }
+}
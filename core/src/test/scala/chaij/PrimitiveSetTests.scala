@@ -0,0 +1,87 @@
+package chaij
+
+import org.scalatest._
+import chaij.ChaiJ.expect
+
+class PrimitiveSetTests extends FlatSpec with Matchers {
+
+  private def expectMessage(msg: String)(body: => Unit): Unit = {
+    the [UnmetExpectationException] thrownBy body should have message msg
+  }
+
+  behavior of "Int sets"
+
+  it should "contain exactly the given values" in {
+    val values = Array.tabulate(20000)(i => (i - 10000) * 7919)
+    val set = IntSet.of(values: _*)
+    set.size should be (values.length)
+    for(v <- values) set.contains(v) should be (true)
+    for(v <- values) set.contains(v + 1) should be (false)
+    set.contains(0) should be (true)
+    IntSet.of(1, 2).contains(0) should be (false)
+    IntSet.of().contains(0) should be (false)
+    IntSet.of(Int.MinValue, Int.MaxValue).contains(Int.MaxValue) should be (true)
+  }
+
+  it should "ignore duplicates" in {
+    IntSet.of(3, 1, 3, 2, 1).size should be (3)
+  }
+
+  it should "render at most the first values in ascending order" in {
+    IntSet.of(3, 1, 2).toString should be ("[1, 2, 3]")
+    IntSet.of(0 until 20000: _*).toString should be ("[0, 1, 2, 3, 4, 5, 6, 7, 8, 9, ... (20000 values)]")
+  }
+
+  it should "be usable for oneOf" in {
+    val allowed = IntSet.of(41, 42, 43)
+    expect(42).to.be.oneOf(allowed)
+    expect(44).not().oneOf(allowed)
+    expectMessage("Expected 44 to be one of [41, 42, 43].") {
+      expect(44).to.be.oneOf(allowed)
+    }
+    expectMessage("Custom: Expected 42 to not be one of [41, 42, 43].") {
+      expect(42).not().oneOf(allowed, "Custom")
+    }
+  }
+
+  behavior of "Long sets"
+
+  it should "contain exactly the given values" in {
+    val values = Array.tabulate(20000)(i => (i - 10000) * 1000000007L)
+    val set = LongSet.of(values: _*)
+    set.size should be (values.length)
+    for(v <- values) set.contains(v) should be (true)
+    for(v <- values) set.contains(v + 1) should be (false)
+    LongSet.of(Long.MinValue, 0L).toString should be ("[-9223372036854775808, 0]")
+  }
+
+  it should "be usable for oneOf" in {
+    expect(42L).to.be.oneOf(LongSet.of(41L, 42L))
+    expectMessage("Expected 44 to be one of [41, 42].") {
+      expect(44L).to.be.oneOf(LongSet.of(41L, 42L))
+    }
+  }
+
+  behavior of "Double sets"
+
+  it should "compare the values bit by bit" in {
+    val set = DoubleSet.of(1.5, -0.0, Double.NaN, Double.NegativeInfinity)
+    set.contains(1.5) should be (true)
+    set.contains(-0.0) should be (true)
+    set.contains(0.0) should be (false)
+    set.contains(Double.NaN) should be (true)
+    set.contains(java.lang.Double.longBitsToDouble(0x7ff8000000000001L)) should be (true)
+    set.contains(Double.PositiveInfinity) should be (false)
+  }
+
+  it should "render the values in ascending order" in {
+    DoubleSet.of(Double.NaN, 2.0, 0.0, -0.0, 2.0).toString should be ("[-0.0, 0.0, 2.0, NaN]")
+  }
+
+  it should "be usable for oneOf" in {
+    expect(Double.NaN).to.be.oneOf(DoubleSet.of(Double.NaN))
+    expectMessage("Expected 0.0 to be one of [-0.0, 1.0].") {
+      expect(0.0).to.be.oneOf(DoubleSet.of(-0.0, 1.0))
+    }
+  }
+}
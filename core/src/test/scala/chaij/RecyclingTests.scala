@@ -0,0 +1,130 @@
+package chaij
+
+import org.scalatest._
+import chaij.ChaiJ.expect
+import chaij.ExpectationRecycling.{ runRecycled, isActive }
+
+class RecyclingTests extends FlatSpec with Matchers {
+
+  behavior of "Expectation recycling"
+
+  it should "only be active inside of runRecycled" in {
+    isActive should be (false)
+    runRecycled { () =>
+      isActive should be (true)
+      runRecycled { () =>
+        isActive should be (true)
+      }
+      isActive should be (true)
+    }
+    isActive should be (false)
+  }
+
+  it should "create new expectations outside of runRecycled" in {
+    val first = expect(1)
+    expect(2)
+    first.equal(1) should be theSameInstanceAs first
+  }
+
+  it should "reuse expectations inside of runRecycled" in {
+    runRecycled { () =>
+      val seen = (1 to 16).map(i => expect(i).to.equal(i)).toSet
+      seen.size should be < 16
+    }
+  }
+
+  it should "reset the value, the custom text and the not flag" in {
+    runRecycled { () =>
+      (1 to 16).foreach { i =>
+        expect(i).to.not().equal(i + 1)
+        expect(i).to.equal(i)
+        expect(i.toLong).to.equal(i.toLong)
+        expect(i.toDouble).to.equal(i.toDouble)
+        expect(i % 2 == 0).to.equal(i % 2 == 0)
+      }
+      the [UnmetExpectationException] thrownBy {
+        expect(1, "Custom").to.equal(2)
+      } should have message "Custom: Expected 1 to equal 2."
+      the [UnmetExpectationException] thrownBy {
+        expect(1).to.equal(2)
+      } should have message "Expected 1 to equal 2."
+    }
+  }
+
+  it should "detect an expectation that is used after the next expect call" in {
+    runRecycled { () =>
+      val retained = expect(1)
+      expect(2)
+      the [IllegalStateException] thrownBy {
+        retained.equal(1)
+      } should have message ("This IntExpectation was recycled and used again after a later " +
+        "expect call. Recycled expectations must not be stored, see ExpectationRecycling.")
+    }
+  }
+
+  it should "never hand out an expectation again that was stored before any check" in {
+    runRecycled { () =>
+      val retained = expect(0)
+      val later = (1 to 16).map { i =>
+        val expectation = expect(i)
+        expectation.to.equal(i)
+        expectation
+      }
+      later.exists(_ eq retained) should be (false)
+      an [IllegalStateException] should be thrownBy retained.equal(0)
+    }
+  }
+
+  it should "never hand out an expectation again that was used after it was retired" in {
+    runRecycled { () =>
+      val retained = expect(0)
+      retained.to.equal(0)
+      expect(1).to.equal(1)
+      an [IllegalStateException] should be thrownBy retained.equal(0)
+      (2 to 16).foreach(i => expect(i).to.equal(i))
+      an [IllegalStateException] should be thrownBy retained.equal(0)
+      an [IllegalStateException] should be thrownBy retained.not()
+    }
+  }
+
+  it should "not hand out an expectation again that has been dropped unchecked" in {
+    runRecycled { () =>
+      val unchecked = (1 to 8).map(i => expect(i.toLong))
+      unchecked.toSet.size should be (8)
+    }
+  }
+
+  it should "detect a retained expectation across different types" in {
+    runRecycled { () =>
+      val retained = expect(1L)
+      expect(true)
+      an [IllegalStateException] should be thrownBy retained.not()
+    }
+  }
+
+  it should "detect an expectation that is used after runRecycled has ended" in {
+    var retained: DoubleExpectation = null
+    runRecycled { () =>
+      retained = expect(1D)
+    }
+    an [IllegalStateException] should be thrownBy retained.finite()
+  }
+
+  it should "wrap checked exceptions" in {
+    val exception = the [WrappedCheckedException] thrownBy {
+      runRecycled { () =>
+        throw new java.io.IOException("Checked")
+      }
+    }
+    exception.getCause shouldBe a [java.io.IOException]
+    isActive should be (false)
+  }
+
+  it should "rethrow unmet expectations as they are" in {
+    the [UnmetExpectationException] thrownBy {
+      runRecycled { () =>
+        expect(false).to.be.ok()
+      }
+    } should have message "Expected a ok-ish boolean."
+  }
+}
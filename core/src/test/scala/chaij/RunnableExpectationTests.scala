@@ -0,0 +1,249 @@
+package chaij
+
+import java.io.IOException
+import java.time.Duration
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicInteger
+
+import scala.collection.JavaConverters._
+
+import org.scalatest._
+import chaij.ChaiJ.expect
+import chaij.ExceptionReporter.{ runMultipleAndReport, MultipleException }
+
+class RunnableExpectationTests extends FlatSpec with Matchers {
+
+  behavior of "Runnable expectations"
+
+  it should "pass a task within a generous budget" in {
+    expect(() => Math.sqrt(2.0)).to.completeWithin(Duration.ofSeconds(1))
+    expect((bh: Blackhole) => bh.consume(Math.sqrt(2.0))).to.completeWithin(Duration.ofSeconds(1), 99.9)
+    expect((bh: Blackhole) => bh.consume("x" * 3), "Custom").to.completeWithin(Duration.ofSeconds(1), 100)
+  }
+
+  it should "fail a slow task with the measured distribution" in {
+    val exception = the [UnmetExpectationException] thrownBy {
+      expect(() => Thread.sleep(2)).warmup(0).measure(5).to.completeWithin(Duration.ofNanos(1000))
+    }
+    exception.getMessage should fullyMatch regex
+      ("Expected the task to complete within 1\\.00us at the median; measured "
+        + "min=\\S+, p50=\\S+, p90=\\S+, p99=\\S+, max=\\S+ over 5 runs\\.")
+  }
+
+  it should "name the percentile in the message" in {
+    val exception = the [UnmetExpectationException] thrownBy {
+      expect(() => Thread.sleep(1), "Custom").warmup(0).measure(1).to.completeWithin(Duration.ofNanos(10), 99.9)
+    }
+    exception.getMessage should startWith ("Custom: Expected the task to complete within 10ns at p99.9; measured min=")
+    exception.getMessage should endWith (" over 1 run.")
+  }
+
+  it should "support not" in {
+    expect(() => Thread.sleep(1)).warmup(0).measure(3).to.not.completeWithin(Duration.ofNanos(10))
+    an [UnmetExpectationException] should be thrownBy {
+      expect(() => ()).warmup(0).to.not.completeWithin(Duration.ofSeconds(1))
+    }
+  }
+
+  it should "measure only once per expectation" in {
+    val runs = new AtomicInteger
+    expect(() => runs.incrementAndGet()).warmup(10).measure(20).to
+      .completeWithin(Duration.ofSeconds(1)).and.completeWithin(Duration.ofSeconds(1), 90)
+    runs.get should be (30)
+    expect(() => runs.incrementAndGet()).warmup(10).measure(20).measure(5).to
+      .completeWithin(Duration.ofSeconds(1))
+    runs.get should be (45)
+  }
+
+  it should "validate its arguments" in {
+    an [IllegalArgumentException] should be thrownBy { expect(() => ()).warmup(-1) }
+    an [IllegalArgumentException] should be thrownBy { expect(() => ()).measure(0) }
+    an [IllegalArgumentException] should be thrownBy { expect(() => ()).to.completeWithin(Duration.ofSeconds(1), 0) }
+    an [IllegalArgumentException] should be thrownBy { expect(() => ()).to.completeWithin(Duration.ofSeconds(1), 100.5) }
+    an [IllegalArgumentException] should be thrownBy {
+      expect(() => ()).to.completeWithin(Duration.ofSeconds(1), Double.NaN)
+    }
+  }
+
+  it should "propagate exceptions of the task" in {
+    the [IllegalStateException] thrownBy {
+      expect(() => throw new IllegalStateException("Boom")).to.completeWithin(Duration.ofSeconds(1))
+    } should have message "Boom"
+    val wrapped = the [WrappedCheckedException] thrownBy {
+      expect(() => throw new IOException("Boom")).to.completeWithin(Duration.ofSeconds(1))
+    }
+    wrapped.getCause shouldBe an [IOException]
+  }
+
+  it should "collect its failures in multiple mode" in {
+    val exception = the [MultipleException] thrownBy {
+      runMultipleAndReport { () =>
+        expect(() => Thread.sleep(1)).warmup(0).measure(1).to.completeWithin(Duration.ofNanos(1))
+        expect(() => Thread.sleep(1)).warmup(0).measure(1).to.completeWithin(Duration.ofNanos(2))
+      }
+    }
+    exception.getErrors.size should be (2)
+  }
+
+  it should "pass a task that does not allocate" in {
+    expect(() => ()).to.allocateAtMost(0)
+    val numbers = Array(1L, 2L, 3L)
+    expect((bh: Blackhole) => bh.consume(numbers(0) + numbers(2))).to.allocateAtMost(0)
+  }
+
+  it should "fail a task that allocates more than its budget" in {
+    expect((bh: Blackhole) => bh.consume(new Array[Byte](100))).to.allocateAtMost(1000)
+    val exception = the [UnmetExpectationException] thrownBy {
+      expect((bh: Blackhole) => bh.consume(new Array[Byte](100))).measure(50).to.allocateAtMost(0)
+    }
+    exception.getMessage should fullyMatch regex
+      "Expected the task to allocate at most 0 bytes per run; it allocated 1\\d\\d bytes per run over 50 runs\\."
+  }
+
+  it should "count rare allocations" in {
+    var i = 0
+    the [UnmetExpectationException] thrownBy {
+      expect { (bh: Blackhole) =>
+        i += 1
+        bh.consume(if(i % 100 == 0) new Object else null)
+      }.to.allocateAtMost(0)
+    } should have message "Expected the task to allocate at most 0 bytes per run; it allocated 1 bytes per run over 1000 runs."
+  }
+
+  it should "support not and multiple mode for allocations" in {
+    expect((bh: Blackhole) => bh.consume(new Array[Byte](100))).to.not.allocateAtMost(0)
+    val exception = the [MultipleException] thrownBy {
+      runMultipleAndReport { () =>
+        expect(() => ()).to.not.allocateAtMost(0)
+        expect((bh: Blackhole) => bh.consume(new Array[Byte](100)), "Custom").to.allocateAtMost(10)
+      }
+    }
+    exception.getErrors.size should be (2)
+    exception.getErrors.toArray.apply(1).asInstanceOf[Throwable].getMessage should startWith ("Custom: Expected the task to allocate at most 10 bytes per run")
+    an [IllegalArgumentException] should be thrownBy { expect(() => ()).to.allocateAtMost(-1) }
+  }
+
+  it should "pass a task that sustains its throughput" in {
+    expect(() => ()).threads(2).during(Duration.ofMillis(100)).to.sustain(1000)
+  }
+
+  it should "fail a task below its throughput with the per thread skew" in {
+    val exception = the [UnmetExpectationException] thrownBy {
+      expect(() => Thread.sleep(10)).warmup(0).threads(2).during(Duration.ofMillis(100)).to.sustain(1e6)
+    }
+    exception.getMessage should fullyMatch regex
+      ("Expected the task to sustain 1000000\\.0 ops/s with 2 threads; it completed \\d+\\.\\d ops/s "
+        + "\\(\\d+ ops in \\S+\\), per thread min=\\d+\\.\\d, max=\\d+\\.\\d ops/s\\.")
+    expect(() => Thread.sleep(10)).warmup(0).during(Duration.ofMillis(50)).to.not.sustain(1e6)
+  }
+
+  it should "tell every thread its index" in {
+    val seen = new java.util.concurrent.ConcurrentHashMap[Integer, java.lang.Boolean]
+    expect((bh: Blackhole) => seen.put(bh.thread(), true)).threads(3).during(Duration.ofMillis(50)).to.sustain(1)
+    seen.keySet should contain only (0, 1, 2)
+  }
+
+  it should "create the threads with the given factory" in {
+    val created = new AtomicInteger
+    val factory: java.util.concurrent.ThreadFactory = { r =>
+      created.incrementAndGet()
+      new Thread(r)
+    }
+    expect(() => ()).threads(4, factory).during(Duration.ofMillis(50)).to.sustain(1)
+    created.get should be (4)
+  }
+
+  it should "stop all threads at the first exception of the task" in {
+    the [IllegalStateException] thrownBy {
+      expect(() => throw new IllegalStateException("Boom")).threads(2).during(Duration.ofSeconds(30)).to.sustain(1)
+    } should have message "Boom"
+    val wrapped = the [WrappedCheckedException] thrownBy {
+      expect(() => throw new IOException("Boom")).warmup(0).threads(2).during(Duration.ofSeconds(30)).to.sustain(1)
+    }
+    wrapped.getCause shouldBe an [IOException]
+  }
+
+  it should "validate its throughput arguments" in {
+    an [IllegalArgumentException] should be thrownBy { expect(() => ()).threads(0) }
+    a [NullPointerException] should be thrownBy { expect(() => ()).threads(1, null) }
+    an [IllegalArgumentException] should be thrownBy { expect(() => ()).during(Duration.ZERO) }
+    an [IllegalArgumentException] should be thrownBy { expect(() => ()).to.sustain(0) }
+    an [IllegalArgumentException] should be thrownBy { expect(() => ()).to.sustain(Double.NaN) }
+  }
+
+  it should "pass a thread-safe task" in {
+    val counter = new AtomicInteger
+    val rounds = new AtomicInteger
+    expect(() => counter.incrementAndGet()).threads(4).rounds(200).to.beThreadSafe { () =>
+      expect(counter.get, "Counter").to.equal(4 * rounds.incrementAndGet())
+    }
+    counter.get should be (800)
+  }
+
+  it should "collect the failures of the first failing round" in {
+    val rounds = new AtomicInteger
+    val exception = the [UnmetExpectationException] thrownBy {
+      expect((bh: Blackhole) => if(bh.thread == 1 && rounds.get == 2) throw new IllegalStateException("Boom"))
+        .threads(3).rounds(10).to.beThreadSafe(() => expect(rounds.incrementAndGet()).to.be.below(3))
+    }
+    exception.getMessage should be ("Expected the task to be thread-safe with 3 threads; round 3 of 10 failed with 2 errors.")
+    rounds.get should be (3)
+    val cause = exception.getCause.asInstanceOf[MultipleException]
+    cause.getErrors.size should be (2)
+    cause.getMessage should include ("java.lang.IllegalStateException(Boom)")
+    cause.getMessage should include ("chaij.UnmetExpectationException(Expected 3 to be below 3.)")
+  }
+
+  it should "support not and multiple mode for thread safety" in {
+    expect(() => throw new IllegalStateException("Boom")).threads(2).rounds(5).to.not.beThreadSafe(() => ())
+    an [UnmetExpectationException] should be thrownBy {
+      expect(() => ()).threads(2).rounds(5).to.not.beThreadSafe(() => ())
+    }
+    val exception = the [UnmetExpectationException] thrownBy {
+      runMultipleAndReport { () =>
+        expect(() => (), "Custom").threads(2).rounds(5).to
+          .beThreadSafe(() => expect(1).to.equal(2))
+      }
+    }
+    exception.getMessage should be ("Custom: Expected the task to be thread-safe with 2 threads; round 1 of 5 failed with 1 error.")
+    exception.getCause.asInstanceOf[MultipleException].getErrors.size should be (1)
+    an [IllegalArgumentException] should be thrownBy { expect(() => ()).rounds(0) }
+  }
+
+  it should "check thread safety with at least two threads by default" in {
+    val threads = ConcurrentHashMap.newKeySet[String]
+    val expected = Math.max(2, Runtime.getRuntime.availableProcessors)
+    val exception = the [UnmetExpectationException] thrownBy {
+      expect(() => threads.add(Thread.currentThread.getName)).rounds(3).to.beThreadSafe(() => expect(1).to.equal(2))
+    }
+    exception.getMessage should startWith (s"Expected the task to be thread-safe with $expected threads;")
+    threads.asScala should contain only "chaij-stress"
+  }
+
+  it should "not check thread safety with a single thread" in {
+    an [IllegalStateException] should be thrownBy {
+      expect(() => ()).threads(1).rounds(3).to.beThreadSafe(() => ())
+    }
+  }
+
+  it should "still measure the throughput with a single thread by default" in {
+    val threads = ConcurrentHashMap.newKeySet[String]
+    expect(() => threads.add(Thread.currentThread.getName)).during(Duration.ofMillis(20)).to.sustain(1)
+    threads.asScala should contain only "chaij-throughput"
+    expect(() => ()).toString should include ("threads=default")
+  }
+
+  it should "have a meaningful toString" in {
+    expect(() => (), "Custom").warmup(3).measure(4).threads(5).rounds(6).toString should be
+      ("RunnableExpectation(warmup=3, measure=4, threads=5, rounds=6, customText=Custom)")
+  }
+
+  behavior of "Durations"
+
+  it should "format nanoseconds with three significant digits" in {
+    Durations.format(850) should be ("850ns")
+    Durations.format(12345) should be ("12.3us")
+    Durations.format(1500000) should be ("1.50ms")
+    Durations.format(1500000000L) should be ("1.50s")
+  }
+}
@@ -0,0 +1,144 @@
+package chaij
+
+import java.nio.file.Files
+import java.util.logging.{ Handler, Level, LogRecord, Logger }
+
+import scala.collection.JavaConverters._
+
+import org.scalatest._
+import chaij.ExceptionReporter.runMultipleAndReport
+
+class SamplerTests extends FlatSpec with Matchers {
+
+  private def withSink(test: InMemoryFailureSink => Unit): Unit = {
+    val sink = new InMemoryFailureSink
+    Sampler.setFailureSink(sink)
+    try test(sink) finally Sampler.setFailureSink(null)
+  }
+
+  behavior of "A sampler"
+
+  it should "report failures to its sink instead of throwing them" in withSink { sink =>
+    val all = Sampler.oneIn(1)
+    all.expect(1).to.be.above(2)
+    all.expect(2L, "long").to.be.below(1)
+    all.expect(3.0).to.not().be.closeTo(3.0, 0.5)
+    all.expect(false).to.be.ok()
+    all.expect(4).to.be.below(5)
+    sink.failures.asScala.map(_.getMessage) should be (List(
+      "Expected 1 to be above 2.",
+      "long: Expected 2 to be below 1.",
+      "Expected 3.0 to not be close to 3.0 with a delta of 0.5.",
+      "Expected a ok-ish boolean."
+    ))
+  }
+
+  it should "not take part in a run of multiple expectations" in withSink { sink =>
+    runMultipleAndReport(() => Sampler.oneIn(1).expect(1).to.be.above(2))
+    sink.failures.size should be (1)
+  }
+
+  it should "only evaluate one in so many checks" in withSink { sink =>
+    val sampler = Sampler.oneIn(10)
+    var evaluated = 0
+    for(_ <- 1 to 100000) {
+      sampler.expect(1).to.satisfy(i => { evaluated += 1; i > 1 })
+    }
+    evaluated should (be > 9000 and be < 11000)
+    sink.failures.size should be (evaluated)
+  }
+
+  it should "hand out a shared inert expectation for the checks that are not sampled" in withSink { sink =>
+    val never = Sampler.oneIn(Int.MaxValue)
+    var sampled = 0
+    for(_ <- 1 to 1000) {
+      val expectation = never.expect(1)
+      if(expectation eq InertExpectations.INT) {
+        expectation.to.be.above(2)
+        expectation.not().to.equal(1)
+        expectation.to.`match`(_ => fail("Evaluated an inert predicate"))
+        expectation.not().to.satisfy(_ => fail("Evaluated an inert predicate"))
+      } else {
+        sampled += 1
+      }
+    }
+    sampled should be < 2
+    sink.failures should be (empty)
+  }
+
+  it should "count the failures its sink throws on instead of throwing them" in {
+    val file = Files.createTempFile("chaij-sampler", ".jsonl")
+    val closed = JsonLinesFailureSink.open(file)
+    closed.close()
+    Sampler.setFailureSink(closed)
+    try {
+      val before = Sampler.getSinkErrors
+      Sampler.oneIn(1).expect(1).to.be.above(2)
+      Sampler.setFailureSink((_, _) => throw new IllegalStateException("Boom"))
+      Sampler.oneIn(1).expect(true).to.not().be.ok()
+      Sampler.getSinkErrors should be (before + 2)
+    } finally {
+      Sampler.setFailureSink(null)
+      Files.deleteIfExists(file)
+    }
+  }
+
+  it should "log the failures by default" in {
+    val logger = Logger.getLogger(classOf[Sampler].getName)
+    val records = List.newBuilder[LogRecord]
+    val handler = new Handler {
+      override def publish(record: LogRecord): Unit = records += record
+      override def flush(): Unit = ()
+      override def close(): Unit = ()
+    }
+    logger.addHandler(handler)
+    logger.setUseParentHandlers(false)
+    try {
+      Sampler.oneIn(1).expect(1, "depth").to.be.below(0)
+    } finally {
+      logger.setUseParentHandlers(true)
+      logger.removeHandler(handler)
+    }
+    val logged = records.result()
+    logged should have size 1
+    logged.head.getLevel should be (Level.WARNING)
+    logged.head.getMessage should startWith ("Unmet invariant #")
+    logged.head.getThrown.getMessage should be ("depth: Expected 1 to be below 0.")
+  }
+
+  it should "not accept rates below 1" in {
+    an [IllegalArgumentException] should be thrownBy Sampler.oneIn(0)
+    an [IllegalArgumentException] should be thrownBy Sampler.setGlobalRate(-1)
+  }
+
+  it should "have a correct toString" in {
+    Sampler.oneIn(1000).toString should be ("Sampler(oneIn=1000)")
+    Sampler.global.toString should be ("Sampler(global)")
+  }
+
+  behavior of "The global sampler"
+
+  it should "follow the global rate" in withSink { sink =>
+    Sampler.getGlobalRate should be (1)
+    try {
+      Sampler.setGlobalRate(Int.MaxValue)
+      val evaluated = (1 to 1000).count(_ => Sampler.global.sample())
+      evaluated should be < 2
+      Sampler.setGlobalRate(1)
+      Sampler.global.expect(true).to.not().be.ok()
+      sink.failures.asScala.map(_.getMessage) should be (List("Expected a not ok-ish boolean."))
+    } finally {
+      Sampler.setGlobalRate(1)
+    }
+  }
+
+  behavior of "An inert expectation"
+
+  it should "pass all of its checks" in {
+    InertExpectations.INT.to.be.above(1).and.below(-1)
+    InertExpectations.LONG.to.equal(1L)
+    InertExpectations.DOUBLE.to.be.closeTo(1.0, 0.5)
+    InertExpectations.BOOLEAN.to.be.ok()
+    InertExpectations.BOOLEAN.not().to.be.ok()
+  }
+}
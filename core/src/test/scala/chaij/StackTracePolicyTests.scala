@@ -0,0 +1,112 @@
+package chaij
+
+import java.util.logging.{ Handler, LogRecord, Logger }
+
+import org.scalatest._
+import chaij.ChaiJ.expect
+
+class StackTracePolicyTests extends FlatSpec with Matchers with BeforeAndAfter {
+
+  after {
+    StackTracePolicy.setGlobal(StackTracePolicy.FULL)
+    StackTracePolicy.setForCurrentThread(null)
+  }
+
+  private def failure(): UnmetExpectationException =
+    the [UnmetExpectationException] thrownBy expect(42).to.equal(43)
+
+  behavior of "The stack trace policy"
+
+  it should "capture the full stack trace by default" in {
+    StackTracePolicy.current() should be (StackTracePolicy.FULL)
+    val trace = failure().getStackTrace
+    trace.length should be > 1
+    trace.head.getClassName should be (classOf[BaseExpectation[_]].getName)
+  }
+
+  it should "only keep the calling frame with CALLER" in {
+    StackTracePolicy.setGlobal(StackTracePolicy.CALLER)
+    val trace = failure().getStackTrace
+    trace.length should be (1)
+    trace.head.getClassName should startWith (classOf[StackTracePolicyTests].getName)
+  }
+
+  it should "not capture any stack trace with NONE" in {
+    StackTracePolicy.setGlobal(StackTracePolicy.NONE)
+    val exception = failure()
+    exception.getStackTrace shouldBe empty
+    exception should have message "Expected 42 to equal 43."
+  }
+
+  it should "still let a cause be set later on" in {
+    val cause = new IllegalStateException("Boom")
+    new UnmetExpectationException("Failed").initCause(cause).getCause should be (cause)
+    for(policy <- StackTracePolicy.values) {
+      new UnmetExpectationException("Failed", policy).initCause(cause).getCause should be (cause)
+      new UnmetExpectationException("Failed", cause, policy).getCause should be (cause)
+      an [IllegalStateException] should be thrownBy new UnmetExpectationException("Failed", cause, policy).initCause(cause)
+    }
+  }
+
+  it should "prefer the policy of the current thread" in {
+    StackTracePolicy.setForCurrentThread(StackTracePolicy.NONE)
+    StackTracePolicy.getGlobal should be (StackTracePolicy.FULL)
+    StackTracePolicy.current() should be (StackTracePolicy.NONE)
+    failure().getStackTrace shouldBe empty
+
+    var otherThread: StackTracePolicy = null
+    val t = new Thread(() => otherThread = StackTracePolicy.current())
+    t.start()
+    t.join()
+    otherThread should be (StackTracePolicy.FULL)
+
+    StackTracePolicy.setForCurrentThread(null)
+    StackTracePolicy.current() should be (StackTracePolicy.FULL)
+  }
+
+  it should "apply to failures collected in multiple mode" in {
+    StackTracePolicy.setForCurrentThread(StackTracePolicy.NONE)
+    val exception = the [ExceptionReporter.MultipleException] thrownBy {
+      ExceptionReporter.runMultipleAndReport { () =>
+        expect(1).to.equal(2)
+        expect(3).to.equal(4)
+      }
+    }
+    exception.getMessage.lines.toList should === (
+      "There were 2 errors:" ::
+      " - chaij.UnmetExpectationException(Expected 1 to equal 2.)" ::
+      " - chaij.UnmetExpectationException(Expected 3 to equal 4.)" ::
+      Nil
+    )
+  }
+
+  it should "be parsed from the system property in any case" in {
+    StackTracePolicy.parse(null) should be (StackTracePolicy.FULL)
+    StackTracePolicy.parse("caller") should be (StackTracePolicy.CALLER)
+    StackTracePolicy.parse(" None ") should be (StackTracePolicy.NONE)
+    StackTracePolicy.parse("FULL") should be (StackTracePolicy.FULL)
+  }
+
+  it should "fall back to FULL for an unknown system property" in {
+    val logger = Logger.getLogger(classOf[StackTracePolicy].getName)
+    val warnings = List.newBuilder[String]
+    val handler = new Handler {
+      override def publish(record: LogRecord): Unit = warnings += record.getMessage
+      override def flush(): Unit = ()
+      override def close(): Unit = ()
+    }
+    logger.addHandler(handler)
+    logger.setUseParentHandlers(false)
+    try {
+      StackTracePolicy.parse("callr") should be (StackTracePolicy.FULL)
+    } finally {
+      logger.setUseParentHandlers(true)
+      logger.removeHandler(handler)
+    }
+    warnings.result() should be (List("Unknown chaij.stackTracePolicy 'callr', using FULL instead."))
+  }
+
+  it should "reject a null global policy" in {
+    a [NullPointerException] should be thrownBy StackTracePolicy.setGlobal(null)
+  }
+}
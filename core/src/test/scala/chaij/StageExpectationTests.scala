@@ -0,0 +1,151 @@
+package chaij
+
+import java.io.IOException
+import java.time.Duration
+import java.util.concurrent.CompletableFuture
+
+import org.scalatest._
+import chaij.ChaiJ.expect
+import chaij.ExceptionReporter.{ awaitAsync, runMultipleAndReport, runSingleAndReport, MultipleException }
+
+class StageExpectationTests extends FlatSpec with Matchers {
+
+  private def expectMessage(msg: String)(body: => Unit): Unit = {
+    the [UnmetExpectationException] thrownBy body should have message msg
+  }
+
+  private def failed[T](error: Throwable): CompletableFuture[T] = {
+    val future = new CompletableFuture[T]
+    future.completeExceptionally(error)
+    future
+  }
+
+  behavior of "Stage expectations"
+
+  it should "pass stages that complete as expected" in {
+    expect(CompletableFuture.completedFuture("x")).to.completeWithin(Duration.ofSeconds(1)).and.resolveTo("x")
+    expect(failed[String](new IOException)).to.completeExceptionally(classOf[IOException])
+    expect(failed[String](new IOException).thenApply[String](s => s)).to.completeExceptionally()
+    awaitAsync()
+  }
+
+  it should "not block until the stage completes" in {
+    val future = new CompletableFuture[Integer]
+    expect(future).to.resolveTo(42)
+    future.complete(41)
+    expectMessage("Expected the stage to resolve to 42; it resolved to 41.") {
+      awaitAsync()
+    }
+  }
+
+  it should "describe the actual outcome" in {
+    expectMessage("Custom: Expected the stage to resolve to 1; it failed with java.lang.IllegalStateException: Boom.") {
+      expect(failed[Integer](new IllegalStateException("Boom")), "Custom").to.resolveTo(1)
+      awaitAsync()
+    }
+    expectMessage("Expected the stage to complete exceptionally; it resolved to x.") {
+      expect(CompletableFuture.completedFuture("x")).to.completeExceptionally()
+      awaitAsync()
+    }
+    val exception = the [UnmetExpectationException] thrownBy {
+      expect(failed[String](new IllegalStateException("Boom")).thenApply[String](s => s))
+        .to.completeExceptionally(classOf[IOException])
+      awaitAsync()
+    }
+    exception.getMessage should be ("Expected the stage to complete exceptionally with java.io.IOException; "
+      + "it failed with java.lang.IllegalStateException: Boom.")
+    exception.getCause shouldBe an [IllegalStateException]
+  }
+
+  it should "fail stages that miss their deadline" in {
+    expectMessage("Expected the stage to complete within 20.0ms; it was still pending.") {
+      expect(new CompletableFuture[String]).to.completeWithin(Duration.ofMillis(20))
+      awaitAsync()
+    }
+    expect(new CompletableFuture[String]).to.not.completeWithin(Duration.ofMillis(20))
+    awaitAsync()
+  }
+
+  it should "capture the not flag when a check is made" in {
+    val future = new CompletableFuture[Integer]
+    val expectation = expect(future).to.not.resolveTo(1)
+    expectation.not()
+    future.complete(1)
+    expectMessage("Expected the stage to not resolve to 1; it resolved to 1.") {
+      awaitAsync()
+    }
+  }
+
+  it should "fan in many stages with a single deadline timer" in {
+    val threads = Thread.activeCount
+    val futures = (1 to 10000).map(_ => new CompletableFuture[Integer])
+    futures.zipWithIndex.foreach { case (f, i) =>
+      expect(f).to.completeWithin(Duration.ofSeconds(10)).and.resolveTo(i)
+    }
+    Thread.activeCount should be <= (threads + 1)
+    futures.zipWithIndex.foreach { case (f, i) => f.complete(i) }
+    awaitAsync()
+  }
+
+  it should "report into multiple mode" in {
+    val exception = the [MultipleException] thrownBy {
+      runMultipleAndReport { () =>
+        expect(CompletableFuture.completedFuture("x")).to.resolveTo("y")
+        expect(new CompletableFuture[String]).to.completeWithin(Duration.ofMillis(10))
+        expect(1).to.equal(2)
+      }
+    }
+    exception.getErrors.size should be (3)
+    the [MultipleException] thrownBy {
+      expect(CompletableFuture.completedFuture("x")).to.resolveTo("y")
+      expect(CompletableFuture.completedFuture("x")).to.resolveTo("z")
+      awaitAsync()
+    } should have message
+      (String.format("There were 2 errors:%n - chaij.UnmetExpectationException(Expected the stage to resolve to y; it resolved to x.)"
+        + "%n - chaij.UnmetExpectationException(Expected the stage to resolve to z; it resolved to x.)"))
+  }
+
+  it should "report the checks of a single mode run at its end" in {
+    expectMessage("Expected the stage to resolve to y; it resolved to x.") {
+      runSingleAndReport { () =>
+        expect(CompletableFuture.completedFuture("x")).to.resolveTo("y")
+      }
+    }
+    val future = new CompletableFuture[String]
+    runSingleAndReport { () =>
+      expect(future).to.completeWithin(Duration.ofSeconds(10))
+      future.complete("x")
+    }
+  }
+
+  it should "not leak checks made outside of a run into the next one" in {
+    expect(CompletableFuture.completedFuture("x")).to.resolveTo("outside")
+    runMultipleAndReport { () =>
+      expect(CompletableFuture.completedFuture("x")).to.resolveTo("x")
+    }
+    runSingleAndReport { () =>
+      expect(CompletableFuture.completedFuture("x")).to.resolveTo("x")
+    }
+    expectMessage("Custom: Expected the stage to resolve to inside; it resolved to x.") {
+      runMultipleAndReport { () =>
+        expect(CompletableFuture.completedFuture("x"), "Custom").to.resolveTo("inside")
+      }
+    }
+    expectMessage("Expected the stage to resolve to outside; it resolved to x.") {
+      awaitAsync()
+    }
+    ReportingContext.current() should be (null)
+  }
+
+  it should "stop waiting after a timeout" in {
+    expectMessage("1 asynchronous check was still pending after 50.0ms.") {
+      expect(new CompletableFuture[String]).to.resolveTo("x")
+      awaitAsync(Duration.ofMillis(50))
+    }
+    awaitAsync()
+  }
+
+  it should "have a meaningful toString" in {
+    expect(new CompletableFuture[String], "Custom").toString should be ("StageExpectation(customText=Custom)")
+  }
+}
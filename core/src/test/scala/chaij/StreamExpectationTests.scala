@@ -0,0 +1,152 @@
+package chaij
+
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.stream.{ DoubleStream, IntStream, LongStream }
+
+import org.scalatest._
+import chaij.ChaiJ.expect
+
+class StreamExpectationTests extends FlatSpec with Matchers {
+
+  private def expectMessage(msg: String)(body: => Unit): Unit = {
+    the [UnmetExpectationException] thrownBy body should have message msg
+  }
+
+  behavior of "Int stream expectations"
+
+  it should "check the bounds of all elements" in {
+    expect(IntStream.rangeClosed(1, 1000)).to.allWithin(1, 1000)
+    expect(IntStream.rangeClosed(1, 1000)).to.allAbove(0)
+    expect(IntStream.rangeClosed(1, 1000)).to.allBelow(1001)
+    expect(IntStream.empty()).to.allWithin(1, 0)
+    expectMessage("Expected IntStream to have all elements within 0 and 10; the element [3]=11 violates it.") {
+      expect(IntStream.of(0, 5, 10, 11, 12)).to.allWithin(0, 10)
+    }
+    expectMessage("Expected IntStream to have all elements above 1; the element [0]=1 violates it.") {
+      expect(IntStream.of(1, 2)).to.allAbove(1)
+    }
+    expectMessage("Custom: Expected IntStream to have all elements below 2; the element [1]=2 violates it.") {
+      expect(IntStream.of(1, 2), "Custom").to.allBelow(2)
+    }
+  }
+
+  it should "stop consuming the stream at the first violation" in {
+    val consumed = new AtomicInteger
+    an [UnmetExpectationException] should be thrownBy {
+      expect(IntStream.iterate(0, _ + 1).peek(_ => consumed.incrementAndGet())).to.allBelow(10)
+    }
+    consumed.get should be (11)
+  }
+
+  it should "check whether the elements are monotonic" in {
+    expect(IntStream.of(1, 1, 2, 3)).to.be.increasing()
+    expect(IntStream.of(3, 3, 2, Integer.MIN_VALUE)).to.be.decreasing()
+    expectMessage("Expected IntStream to be increasing; the element [2]=0 after 5 violates it.") {
+      expect(IntStream.of(1, 5, 0, 6)).to.be.increasing()
+    }
+    expectMessage("Expected IntStream to be decreasing; the element [1]=2 after 1 violates it.") {
+      expect(IntStream.of(1, 2)).to.be.decreasing()
+    }
+  }
+
+  it should "check the aggregates" in {
+    expect(IntStream.range(0, 100)).to.haveCount(100)
+    expect(IntStream.of(Int.MaxValue, Int.MaxValue)).to.sumTo(2L * Int.MaxValue)
+    expect(IntStream.of(3, 1, 2)).to.haveMin(1)
+    expect(IntStream.of(3, 1, 2)).to.haveMax(3)
+    expectMessage("Expected IntStream to have 3 elements; it had 2.") {
+      expect(IntStream.of(1, 2)).to.haveCount(3)
+    }
+    expectMessage("Expected IntStream to sum up to 4; it summed up to 3.") {
+      expect(IntStream.of(1, 2)).to.sumTo(4)
+    }
+    expectMessage("Expected IntStream to have a minimum of 2; it was 1.") {
+      expect(IntStream.of(1, 2)).to.haveMin(2)
+    }
+    expectMessage("Expected IntStream to have a maximum of 2; it was empty.") {
+      expect(IntStream.empty()).to.haveMax(2)
+    }
+  }
+
+  it should "negate the whole check" in {
+    expect(IntStream.of(1, 2)).not().allAbove(1)
+    expectMessage("Expected IntStream to not have a maximum of 2; it was 2.") {
+      expect(IntStream.of(1, 2)).not().haveMax(2)
+    }
+  }
+
+  it should "only allow a single check" in {
+    val expectation = expect(IntStream.of(1, 2))
+    expectation.allAbove(0)
+    an [IllegalStateException] should be thrownBy expectation.allBelow(3)
+  }
+
+  it should "provide a standardized toString" in {
+    expect(IntStream.empty(), "Dummy-Text").toString should equal ("IntStreamExpectation(customText=Dummy-Text)")
+  }
+
+  behavior of "Long stream expectations"
+
+  it should "check all elements" in {
+    expect(LongStream.rangeClosed(1L, 1000L)).to.allWithin(1L, 1000L)
+    expect(LongStream.of(1L, 2L, 2L)).to.be.increasing()
+    expect(LongStream.of(Long.MaxValue, 1L)).to.sumTo(Long.MinValue)
+    expectMessage("Expected LongStream to have all elements above 1; the element [0]=1 violates it.") {
+      expect(LongStream.of(1L, 2L)).to.allAbove(1L)
+    }
+    expectMessage("Expected LongStream to have a minimum of 2; it was 1.") {
+      expect(LongStream.of(1L, 2L)).to.haveMin(2L)
+    }
+  }
+
+  it should "provide a standardized toString" in {
+    expect(LongStream.empty(), "Dummy-Text").toString should equal ("LongStreamExpectation(customText=Dummy-Text)")
+  }
+
+  behavior of "Double stream expectations"
+
+  it should "treat NaN as outside of any bounds" in {
+    expect(DoubleStream.of(0.0, 0.5, 1.0)).to.allWithin(0.0, 1.0)
+    expectMessage("Expected DoubleStream to have all elements within 0.0 and 1.0; the element [1]=NaN violates it.") {
+      expect(DoubleStream.of(0.5, Double.NaN)).to.allWithin(0.0, 1.0)
+    }
+    an [UnmetExpectationException] should be thrownBy expect(DoubleStream.of(Double.NaN)).to.allAbove(0.0)
+    an [UnmetExpectationException] should be thrownBy expect(DoubleStream.of(Double.NaN)).to.allBelow(0.0)
+  }
+
+  it should "check for finite and NaN elements" in {
+    expect(DoubleStream.of(1.0, -1.0)).to.allFinite()
+    expect(DoubleStream.of(1.0, Double.PositiveInfinity)).to.have.noNaN()
+    expectMessage("Expected DoubleStream to have all elements finite; the element [1]=-Infinity violates it.") {
+      expect(DoubleStream.of(1.0, Double.NegativeInfinity, Double.NaN)).to.allFinite()
+    }
+    expectMessage("Expected DoubleStream to have no NaN elements; the element [2]=NaN violates it.") {
+      expect(DoubleStream.of(1.0, 2.0, Double.NaN)).to.have.noNaN()
+    }
+  }
+
+  it should "order the elements like Double.compare" in {
+    expect(DoubleStream.of(-0.0, 0.0, Double.PositiveInfinity, Double.NaN)).to.be.increasing()
+    expect(DoubleStream.of(Double.NaN, 1.0, Double.NegativeInfinity)).to.be.decreasing()
+    expectMessage("Expected DoubleStream to be increasing; the element [1]=-0.0 after 0.0 violates it.") {
+      expect(DoubleStream.of(0.0, -0.0)).to.be.increasing()
+    }
+  }
+
+  it should "check the aggregates" in {
+    expect(DoubleStream.generate(() => 0.1).limit(10)).to.sumTo(1.0, 1e-12)
+    expect(DoubleStream.of(1.0, Double.NaN)).to.haveMin(Double.NaN)
+    expect(DoubleStream.of(1.0, 3.0)).to.haveMax(3.0)
+    expect(DoubleStream.of(1.0, 3.0)).to.haveCount(2)
+    expectMessage("Expected DoubleStream to sum up to 1.0 with a delta of 0.1; it summed up to 3.0.") {
+      expect(DoubleStream.of(1.0, 2.0)).to.sumTo(1.0, 0.1)
+    }
+    expectMessage("Expected DoubleStream to have a minimum of 0.0; it was empty.") {
+      expect(DoubleStream.empty()).to.haveMin(0.0)
+    }
+  }
+
+  it should "provide a standardized toString" in {
+    expect(DoubleStream.empty(), "Dummy-Text").toString should equal ("DoubleStreamExpectation(customText=Dummy-Text)")
+  }
+}
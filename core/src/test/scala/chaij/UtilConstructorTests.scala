@@ -22,4 +22,94 @@ class UtilConstructorTests extends FlatSpec with Matchers {
     }
     exception.getCause shouldBe an [IllegalAccessException]
   }
+
+  "The expectation recycling constructor" should "disallow instantiation" in {
+    val exception = intercept[InvocationTargetException] {
+      val cons = classOf[ExpectationRecycling].getDeclaredConstructor()
+      cons.setAccessible(true)
+      cons.newInstance()
+    }
+    exception.getCause shouldBe an [IllegalAccessException]
+  }
+
+  "The stack frames constructor" should "disallow instantiation" in {
+    val exception = intercept[InvocationTargetException] {
+      val cons = classOf[StackFrames].getDeclaredConstructor()
+      cons.setAccessible(true)
+      cons.newInstance()
+    }
+    exception.getCause shouldBe an [IllegalAccessException]
+  }
+
+  "The offenders constructor" should "disallow instantiation" in {
+    val exception = intercept[InvocationTargetException] {
+      val cons = classOf[Offenders].getDeclaredConstructor()
+      cons.setAccessible(true)
+      cons.newInstance()
+    }
+    exception.getCause shouldBe an [IllegalAccessException]
+  }
+
+  "The parallel scan constructor" should "disallow instantiation" in {
+    val exception = intercept[InvocationTargetException] {
+      val cons = classOf[ParallelScan].getDeclaredConstructor()
+      cons.setAccessible(true)
+      cons.newInstance()
+    }
+    exception.getCause shouldBe an [IllegalAccessException]
+  }
+
+  "The durations constructor" should "disallow instantiation" in {
+    val exception = intercept[InvocationTargetException] {
+      val cons = classOf[Durations].getDeclaredConstructor()
+      cons.setAccessible(true)
+      cons.newInstance()
+    }
+    exception.getCause shouldBe an [IllegalAccessException]
+  }
+
+  "The deadlines constructor" should "disallow instantiation" in {
+    val exception = intercept[InvocationTargetException] {
+      val cons = classOf[Deadlines].getDeclaredConstructor()
+      cons.setAccessible(true)
+      cons.newInstance()
+    }
+    exception.getCause shouldBe an [IllegalAccessException]
+  }
+
+  "The eventually constructor" should "disallow instantiation" in {
+    val exception = intercept[InvocationTargetException] {
+      val cons = classOf[Eventually].getDeclaredConstructor()
+      cons.setAccessible(true)
+      cons.newInstance()
+    }
+    exception.getCause shouldBe an [IllegalAccessException]
+  }
+
+  "The expectation metrics constructor" should "disallow instantiation" in {
+    val exception = intercept[InvocationTargetException] {
+      val cons = classOf[ExpectationMetrics].getDeclaredConstructor()
+      cons.setAccessible(true)
+      cons.newInstance()
+    }
+    exception.getCause shouldBe an [IllegalAccessException]
+  }
+
+  "The expectation events constructor" should "disallow instantiation" in {
+    val exception = intercept[InvocationTargetException] {
+      val cons = classOf[ExpectationEvents].getDeclaredConstructor()
+      cons.setAccessible(true)
+      cons.newInstance()
+    }
+    exception.getCause shouldBe an [IllegalAccessException]
+  }
+
+  "The inert expectations constructor" should "disallow instantiation" in {
+    val exception = intercept[InvocationTargetException] {
+      val cons = classOf[InertExpectations].getDeclaredConstructor()
+      cons.setAccessible(true)
+      cons.newInstance()
+    }
+    exception.getCause shouldBe an [IllegalAccessException]
+  }
 }
@@ -0,0 +1,54 @@
+package chaij
+
+import java.util.concurrent.{ Callable, Executors }
+
+import org.scalatest._
+import chaij.ExceptionReporter._
+
+class ScopedReportingContextsTests extends FlatSpec with Matchers {
+
+  "A run on Java 25" should "bind its context to its scope" in {
+    val exception = the [MultipleException] thrownBy {
+      runMultipleAndReport { () =>
+        ReportingContext.current.scoped should be (true)
+        reportException(new UnmetExpectationException("Some error 1!"))
+        reportException(new UnmetExpectationException("Some error 2!"))
+      }
+    }
+
+    exception.getErrors.size should be (2)
+    ReportingContext.current should be (null)
+  }
+
+  it should "keep using the context the thread already has" in {
+    pendingChecks()
+    try {
+      runMultipleAndReport { () =>
+        ReportingContext.current.scoped should be (false)
+      }
+    } finally {
+      awaitAsync()
+    }
+    ReportingContext.current should be (null)
+  }
+
+  it should "bind the context of a propagated task on a virtual thread" in {
+    val executor = Executors.newVirtualThreadPerTaskExecutor()
+    val exception = the [UnmetExpectationException] thrownBy {
+      try {
+        runMultipleAndReport { () =>
+          executor.submit(propagating(new Callable[Boolean] {
+            override def call(): Boolean = {
+              reportException(new UnmetExpectationException("Some error!"))
+              ReportingContext.current.scoped
+            }
+          })).get should be (true)
+        }
+      } finally {
+        executor.shutdown()
+      }
+    }
+
+    exception.getMessage should be ("Some error!")
+  }
+}
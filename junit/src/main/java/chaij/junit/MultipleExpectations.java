@@ -27,6 +27,11 @@ import org.junit.runners.model.Statement;
  * } // Now, at the end of the day, of course this test still fails. But it throws an Exception containing all failures!
  * </pre>
  *
+ * <p>
+ * Every test waits for the asynchronous checks it has made, e.g. of a
+ * {@link chaij.StageExpectation}, at its end, also if it only expects a single
+ * failure. Their failures are reported with the test that made them.
+ *
  * @since 0.1.0
  */
 public final class MultipleExpectations implements TestRule {
@@ -62,7 +67,7 @@ public final class MultipleExpectations implements TestRule {
 					
 					ExceptionReporter.runMultipleAndReport(base::evaluate);
 				} else {
-					base.evaluate();
+					ExceptionReporter.runSingleAndReport(base::evaluate);
 				}
 			}
 		};
@@ -9,9 +9,10 @@ import org.junit.runner.Description.{ createTestDescription => testDesc, EMPTY =
 import org.junit.runners.model.Statement
 
 import java.lang.annotation.{ Annotation => JAnnot }
+import java.util.concurrent.CompletableFuture
 
 import chaij.ChaiJ.expect
-import chaij.ExceptionReporter.MultipleException
+import chaij.ExceptionReporter.{ awaitAsync, MultipleException }
 import chaij.UnmetExpectationException
 
 class MultipleExpectationsTests extends FlatSpec with Matchers {
@@ -114,6 +115,20 @@ class MultipleExpectationsTests extends FlatSpec with Matchers {
     } should have message "Expected a ok-ish boolean."
   }
 
+  it should "report the asynchronous checks of a test with it" in {
+    expect(CompletableFuture.completedFuture("x")).to.resolveTo("before")
+    the [UnmetExpectationException] thrownBy {
+      run(noneRule) {
+        expect(CompletableFuture.completedFuture("x")).to.resolveTo("y")
+      }
+    } should have message "Expected the stage to resolve to y; it resolved to x."
+    run(noneRule) {
+      expect(CompletableFuture.completedFuture("x")).to.resolveTo("x")
+    }
+    the [UnmetExpectationException] thrownBy awaitAsync() should have message
+      "Expected the stage to resolve to before; it resolved to x."
+  }
+
   it should "correctly recognize the 'multiple' annotation" in {
     val caught = the [MultipleException] thrownBy {
       run(noneRule, testDesc(getClass, "exceptionForMultiple", multiple)) {
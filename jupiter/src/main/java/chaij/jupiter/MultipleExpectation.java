@@ -0,0 +1,26 @@
+package chaij.jupiter;
+
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Annotates a test method or class to specifically use multiple expectations.
+ *
+ * <p>
+ * Use in combination with {@link MultipleExpectations#none()}. The annotation
+ * closest to a test decides, so a method annotated with {@link SingleExpectation}
+ * in a class annotated with this one still uses a single expectation.
+ *
+ * @since 0.3.1
+ */
+@Documented
+@Inherited
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface MultipleExpectation {
+}
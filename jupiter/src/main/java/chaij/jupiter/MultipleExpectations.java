@@ -0,0 +1,214 @@
+package chaij.jupiter;
+
+
+import chaij.ExceptionReporter;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.InvocationInterceptor;
+import org.junit.jupiter.api.extension.ReflectiveInvocationContext;
+import org.opentest4j.TestAbortedException;
+
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Method;
+import java.util.Optional;
+
+import static org.junit.platform.commons.support.AnnotationSupport.isAnnotated;
+
+/**
+ * This JUnit Jupiter extension is used for enabling multiple
+ * expectations that can fail within a single test case.
+ *
+ * <p>
+ * Like the {@code chaij.junit.MultipleExpectations} rule for JUnit 4, this
+ * extension works like a marker. You do not need to interact with
+ * it during a test case at all.
+ *
+ * <pre>
+ * {@literal @}ExtendWith(MultipleExpectations.class)
+ * class ExampleTest {
+ *
+ *     {@literal @}Test
+ *     void testExample() {
+ *         expect(42).to.equal(43); // Normally, this would fail here already.
+ *         expect(13).to.not().be.above(1); // But it doesn't, simply because of the extension.
+ *         expect(false).to.be.ok(); // Awesome, right?
+ *     } // Now the test fails with an Exception containing all failures!
+ * }
+ * </pre>
+ *
+ * <p>
+ * Test methods, test templates like parameterized and repeated tests, and dynamic
+ * tests are all covered. The failures are kept apart for every single invocation
+ * on the thread that runs it, so the extension is safe to use with
+ * {@code junit.jupiter.execution.parallel.enabled=true}. It has no state
+ * of its own, and a thread that runs another test while one is still
+ * going on restores the one it has interrupted afterwards.
+ *
+ * <p>
+ * Every test waits for the asynchronous checks it has made, e.g. of a
+ * {@link chaij.StageExpectation}, at its end, also if it only expects a single
+ * failure. Their failures are reported with the test that made them.
+ *
+ * <p>
+ * If a test is aborted, e.g. by a failed assumption, without any failed
+ * expectations before, it is still reported as aborted.
+ *
+ * @since 0.3.1
+ */
+public final class MultipleExpectations implements InvocationInterceptor {
+	
+	private static final MultipleExpectations ALL_MULTIPLE = new MultipleExpectations(true);
+	
+	private static final MultipleExpectations NONE_MULTIPLE = new MultipleExpectations(false);
+	
+	private final boolean enabledByDefault;
+	
+	
+	/**
+	 * Creates an extension that makes all tests use multiple expectations
+	 * by default, for {@link org.junit.jupiter.api.extension.ExtendWith}.
+	 *
+	 * @see #all()
+	 */
+	public MultipleExpectations() {
+		
+		this(true);
+	}
+	
+	
+	/**
+	 * A constructor. Why do you search for these?
+	 *
+	 * @param enabledByDefault whether this extension expects multiple
+	 *                         possible failures or not.
+	 */
+	private MultipleExpectations(boolean enabledByDefault) {
+		
+		this.enabledByDefault = enabledByDefault;
+	}
+	
+	
+	/**
+	 * Makes all tests use multiple expectations by default,
+	 * meaning they won't fail on the first error.
+	 *
+	 * <p>
+	 * If you want to exclude specific tests or classes, use the
+	 * {@link SingleExpectation} annotation.
+	 *
+	 * @return an extension that can handle multiple test failures
+	 * within one unit test, for {@link org.junit.jupiter.api.extension.RegisterExtension}
+	 */
+	public static MultipleExpectations all() {
+		
+		return ALL_MULTIPLE;
+	}
+	
+	
+	/**
+	 * Makes all tests use single expectations by default,
+	 * meaning they will fail on the first error.
+	 *
+	 * <p>
+	 * If you want to exclude specific tests or classes, use the
+	 * {@link MultipleExpectation} annotation.
+	 *
+	 * @return an extension that accepts only a single failing expectation
+	 * per test case, for {@link org.junit.jupiter.api.extension.RegisterExtension}
+	 */
+	public static MultipleExpectations none() {
+		
+		return NONE_MULTIPLE;
+	}
+	
+	
+	@Override
+	public void interceptTestMethod(Invocation<Void> invocation,
+	                                ReflectiveInvocationContext<Method> invocationContext,
+	                                ExtensionContext extensionContext)
+			throws Throwable {
+		
+		intercept(invocation, extensionContext);
+	}
+	
+	
+	@Override
+	public void interceptTestTemplateMethod(Invocation<Void> invocation,
+	                                        ReflectiveInvocationContext<Method> invocationContext,
+	                                        ExtensionContext extensionContext)
+			throws Throwable {
+		
+		intercept(invocation, extensionContext);
+	}
+	
+	
+	@Override
+	public void interceptDynamicTest(Invocation<Void> invocation, ExtensionContext extensionContext)
+			throws Throwable {
+		
+		intercept(invocation, extensionContext);
+	}
+	
+	
+	/**
+	 * Runs a single test, with multiple expectations if it should use them.
+	 *
+	 * @param invocation the invocation of the test
+	 * @param context    the context of the test
+	 *
+	 * @throws java.lang.Throwable the failures of the test
+	 */
+	private void intercept(Invocation<Void> invocation, ExtensionContext context)
+			throws Throwable {
+		
+		if(!enabled(context)) {
+			ExceptionReporter.runSingleAndReport(invocation::proceed);
+			return;
+		}
+		TestAbortedException[] aborted = {null};
+		ExceptionReporter.runMultipleAndReport(() -> {
+			try {
+				invocation.proceed();
+			} catch (TestAbortedException e) {
+				aborted[0] = e;
+			}
+		});
+		if(aborted[0] != null) {
+			throw aborted[0];
+		}
+	}
+	
+	
+	/**
+	 * Decides whether a test uses multiple expectations, by the annotation
+	 * closest to it. Dynamic tests have no element of their own, so they
+	 * are decided by their factory method.
+	 *
+	 * @param context the context of the test
+	 *
+	 * @return whether it uses multiple expectations
+	 */
+	private boolean enabled(ExtensionContext context) {
+		
+		for(Optional<ExtensionContext> c = Optional.of(context); c.isPresent(); c = c.get().getParent()) {
+			Optional<AnnotatedElement> element = c.get().getElement();
+			if(element.isPresent()) {
+				if(isAnnotated(element, SingleExpectation.class)) {
+					return false;
+				}
+				if(isAnnotated(element, MultipleExpectation.class)) {
+					return true;
+				}
+			}
+		}
+		return enabledByDefault;
+	}
+	
+	
+	@Override
+	public String toString() {
+		
+		return String.format("MultipleExpectations(enabledByDefault=%b)",
+		                     enabledByDefault
+		);
+	}
+}
@@ -0,0 +1,10 @@
+/**
+ * This package is used for a simple JUnit Jupiter integration
+ * of multiple expectations in one unit test.
+ *
+ * <p>
+ * Use the {@link chaij.jupiter.MultipleExpectations} extension.
+ *
+ * @since 0.3.1
+ */
+package chaij.jupiter;
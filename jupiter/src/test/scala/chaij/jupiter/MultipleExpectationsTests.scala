@@ -0,0 +1,191 @@
+package chaij
+package jupiter
+
+import org.scalatest._
+
+import java.lang.reflect.{ AnnotatedElement, Method }
+import java.util.Optional
+import java.util.concurrent.{ Callable, CompletableFuture, CyclicBarrier, Executors, TimeUnit }
+
+import org.junit.jupiter.api.extension.{ ExtensionContext, ReflectiveInvocationContext }
+import org.junit.jupiter.api.extension.InvocationInterceptor.Invocation
+import org.mockito.Mockito.{ mock, when }
+import org.opentest4j.TestAbortedException
+
+import chaij.ChaiJ.expect
+import chaij.ExceptionReporter.{ awaitAsync, MultipleException }
+import chaij.UnmetExpectationException
+
+@SingleExpectation class SingleFixture {
+  @MultipleExpectation def multiple(): Unit = ()
+  def plain(): Unit = ()
+}
+
+class MultipleExpectationsTests extends FlatSpec with Matchers {
+
+  val allExtension:  MultipleExpectations = MultipleExpectations.all()
+  val noneExtension: MultipleExpectations = MultipleExpectations.none()
+
+  @MultipleExpectation def multiple(): Unit = ()
+  @SingleExpectation   def single():   Unit = ()
+
+  private val invocationContext = mock(classOf[ReflectiveInvocationContext[Method]])
+
+  private def context(element: AnnotatedElement = null, parent: ExtensionContext = null): ExtensionContext = {
+    val c = mock(classOf[ExtensionContext])
+    when(c.getElement).thenReturn(Optional.ofNullable(element))
+    when(c.getParent).thenReturn(Optional.ofNullable(parent))
+    c
+  }
+
+  private def method(name: String, on: Class[_] = getClass) = context(on.getMethod(name), context(on))
+
+  private def invocation(code: => Unit) = new Invocation[Void] {
+    override def proceed(): Void = { code; null }
+  }
+
+  private def run(extension: MultipleExpectations, ctx: ExtensionContext = context())(code: => Unit): Unit =
+    extension.interceptTestMethod(invocation(code), invocationContext, ctx)
+
+  private def failTwice(): Unit = {
+    expect(false).to.be.ok()
+    expect(2).to.be.above(3)
+  }
+
+  private val twoErrors =
+    "There were 2 errors:" ::
+    " - chaij.UnmetExpectationException(Expected a ok-ish boolean.)" ::
+    " - chaij.UnmetExpectationException(Expected 2 to be above 3.)" ::
+    Nil
+
+  "MultipleExpectations.all" should "have a correct toString" in {
+    allExtension.toString should equal ("MultipleExpectations(enabledByDefault=true)")
+    new MultipleExpectations().toString should equal ("MultipleExpectations(enabledByDefault=true)")
+  }
+
+  it should "accept a single truth" in {
+    run(allExtension) {
+      expect(true).to.be.ok()
+    }
+  }
+
+  it should "report multiple falsehoods" in {
+    val caught = the [MultipleException] thrownBy run(allExtension)(failTwice())
+    caught.getMessage.lines.toList should === (twoErrors)
+  }
+
+  it should "correctly recognize the 'single' annotation" in {
+    the [UnmetExpectationException] thrownBy {
+      run(allExtension, method("single"))(failTwice())
+    } should have message "Expected a ok-ish boolean."
+  }
+
+  it should "let the closest annotation decide" in {
+    the [UnmetExpectationException] thrownBy {
+      run(allExtension, method("plain", classOf[SingleFixture]))(failTwice())
+    } should have message "Expected a ok-ish boolean."
+    a [MultipleException] should be thrownBy {
+      run(allExtension, method("multiple", classOf[SingleFixture]))(failTwice())
+    }
+  }
+
+  it should "cover test templates" in {
+    a [MultipleException] should be thrownBy {
+      allExtension.interceptTestTemplateMethod(invocation(failTwice()), invocationContext, method("multiple"))
+    }
+  }
+
+  it should "decide dynamic tests by their factory method" in {
+    val dynamic = context(parent = context(parent = method("single")))
+    the [UnmetExpectationException] thrownBy {
+      allExtension.interceptDynamicTest(invocation(failTwice()), dynamic)
+    } should have message "Expected a ok-ish boolean."
+    a [MultipleException] should be thrownBy {
+      allExtension.interceptDynamicTest(invocation(failTwice()), context())
+    }
+  }
+
+  it should "still report an aborted test as aborted" in {
+    the [TestAbortedException] thrownBy {
+      run(allExtension) {
+        throw new TestAbortedException("Assumption failed")
+      }
+    } should have message "Assumption failed"
+  }
+
+  it should "prefer the failures before an aborted test" in {
+    the [UnmetExpectationException] thrownBy {
+      run(allExtension) {
+        expect(false).to.be.ok()
+        throw new TestAbortedException("Assumption failed")
+      }
+    } should have message "Expected a ok-ish boolean."
+  }
+
+  it should "keep the failures of parallel tests apart" in {
+    val threads = 4
+    val pool = Executors.newFixedThreadPool(threads)
+    val barrier = new CyclicBarrier(threads)
+    try {
+      val results = (1 to threads * 25).map { i =>
+        pool.submit(new Callable[Throwable] {
+          override def call(): Throwable = try {
+            run(allExtension) {
+              expect(i).to.be.below(0)
+              if(i <= threads) barrier.await()
+              expect(-i).to.be.above(0)
+            }
+            null
+          } catch {
+            case e: MultipleException => e
+          }
+        })
+      }.map(_.get(10, TimeUnit.SECONDS))
+      results.zipWithIndex.foreach { case (result, index) =>
+        val i = index + 1
+        result.getMessage.lines.toList should === (
+          "There were 2 errors:" ::
+          s" - chaij.UnmetExpectationException(Expected $i to be below 0.)" ::
+          s" - chaij.UnmetExpectationException(Expected ${-i} to be above 0.)" ::
+          Nil
+        )
+      }
+    } finally {
+      pool.shutdown()
+    }
+  }
+
+  "MultipleExpectations.none" should "have a correct toString" in {
+    noneExtension.toString should equal ("MultipleExpectations(enabledByDefault=false)")
+  }
+
+  it should "not report multiple falsehoods" in {
+    the [UnmetExpectationException] thrownBy {
+      run(noneExtension)(failTwice())
+    } should have message "Expected a ok-ish boolean."
+  }
+
+  it should "report the asynchronous checks of a test with it" in {
+    expect(CompletableFuture.completedFuture("x")).to.resolveTo("before")
+    the [UnmetExpectationException] thrownBy {
+      run(noneExtension) {
+        expect(CompletableFuture.completedFuture("x")).to.resolveTo("y")
+      }
+    } should have message "Expected the stage to resolve to y; it resolved to x."
+    run(noneExtension) {
+      expect(CompletableFuture.completedFuture("x")).to.resolveTo("x")
+    }
+    the [UnmetExpectationException] thrownBy awaitAsync() should have message
+      "Expected the stage to resolve to before; it resolved to x."
+  }
+
+  it should "correctly recognize the 'multiple' annotation" in {
+    val caught = the [MultipleException] thrownBy run(noneExtension, method("multiple"))(failTwice())
+    caught.getMessage.lines.toList should === (twoErrors)
+  }
+
+  it should "recognize the 'multiple' annotation on a class" in {
+    @MultipleExpectation class Annotated
+    a [MultipleException] should be thrownBy run(noneExtension, context(classOf[Annotated]))(failTwice())
+  }
+}